@@ -0,0 +1,71 @@
+package com.deliverytech.delivery.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.deliverytech.delivery.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.repository.produtoRepository;
+import com.deliverytech.delivery.service.impl.pedidoServiceImpl;
+
+/**
+ * Cálculo do total em {@code pedidoServiceImpl.calcularValorTotalPedido}
+ * (POST /pedidos/calcular) com o repositório de produtos em memória: mede só
+ * a lógica do serviço — busca por item, multiplicação e soma em BigDecimal —
+ * sem o custo do banco, que é medido pelo teste de carga.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculoPedidoBenchmark {
+
+    @Param({ "1", "5", "20" })
+    private int itens;
+
+    private pedidoServiceImpl pedidoService;
+    private List<ItemPedidoRequestDTO> requisicao;
+
+    @Setup
+    public void setup() {
+        Map<Long, Produto> produtos = new HashMap<>();
+        for (Produto produto : DadosBenchmark.cardapio(DadosBenchmark.restaurante(), 50)) {
+            produtos.put(produto.getId(), produto);
+        }
+        pedidoService = new pedidoServiceImpl();
+        ReflectionTestUtils.setField(pedidoService, "produtoRepository",
+                DadosBenchmark.repositorio(produtoRepository.class, produtos));
+
+        requisicao = new ArrayList<>(itens);
+        for (int i = 0; i < itens; i++) {
+            ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+            item.setProdutoId((long) (i * 7 % 50) + 1);
+            item.setQuantidade(i % 3 + 1);
+            requisicao.add(item);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calcularTotal() {
+        return pedidoService.calcularValorTotalPedido(requisicao);
+    }
+}
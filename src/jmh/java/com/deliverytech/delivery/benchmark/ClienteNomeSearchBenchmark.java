@@ -0,0 +1,139 @@
+package com.deliverytech.delivery.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.deliverytech.delivery.busca.ClienteNomeSearch;
+import com.deliverytech.delivery.busca.TrigramIndex;
+import com.deliverytech.delivery.dados.AplicacaoComDados;
+
+/**
+ * Busca por trecho do nome: a varredura completa (o que LOWER(nome) LIKE
+ * '%x%' faz) contra o índice de trigramas, primeira página de 20.
+ *
+ * <p>{@code indice=memoria} gera {@code clientes} nomes sintéticos e compara a
+ * varredura de uma lista com o {@link TrigramIndex}. {@code indice=postgres}
+ * sobe a aplicação no Postgres do application.properties, que já deve ter a
+ * tabela clientes populada (ver GeradorDados) e a migração V2 aplicada, e
+ * compara o LIKE com o {@link ClienteNomeSearch} de produção:
+ * {@code -Djmh.args="ClienteNomeSearch -p indice=postgres"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ClienteNomeSearchBenchmark {
+
+    private static final String[] NOMES = {"Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela",
+            "Heitor", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael", "Sofia",
+            "Thiago", "Valentina", "Wesley"};
+    private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes",
+            "Soares", "Fernandes", "Vieira", "Barbosa"};
+    // Sílabas para sobrenomes sintéticos: dá cardinalidade parecida com uma base real
+    private static final String[] SILABAS = {"ba", "ca", "da", "fe", "ga", "li", "ma", "no", "pa", "ri", "sa", "to",
+            "ve", "zo", "lu", "mi", "ra", "te", "qui", "nho", "go", "dri", "ler", "tan", "bor", "cel", "mon", "var"};
+
+    private static final int TAMANHO_PAGINA = 20;
+
+    @Param({ "Gabriela Ferreira", "Otávio", "natalia barb", "Wesley Vieira Limanho", "isabel" })
+    private String termo;
+
+    @Param({ "memoria" })
+    private String indice;
+
+    @Param({ "1000000" })
+    private int clientes;
+
+    private List<String> nomes;
+    private TrigramIndex trigramas;
+    private ConfigurableApplicationContext aplicacao;
+    private ClienteNomeSearch clienteNomeSearch;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setup() {
+        if ("postgres".equals(indice)) {
+            aplicacao = AplicacaoComDados.subir("postgres", WebApplicationType.NONE);
+            clienteNomeSearch = aplicacao.getBean(ClienteNomeSearch.class);
+            jdbcTemplate = aplicacao.getBean(JdbcTemplate.class);
+            return;
+        }
+        if (!"memoria".equals(indice)) {
+            throw new IllegalArgumentException("Índice desconhecido: " + indice + " (memoria|postgres)");
+        }
+        Random random = new Random(42);
+        nomes = new ArrayList<>(clientes);
+        trigramas = new TrigramIndex(0.3);
+        for (int i = 0; i < clientes; i++) {
+            String nome = NOMES[random.nextInt(NOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)]
+                    + " " + sobrenomeSintetico(random);
+            nomes.add(nome);
+            trigramas.indexar((long) i, nome);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (aplicacao != null) {
+            aplicacao.close();
+        }
+    }
+
+    @Benchmark
+    public List<?> varredura() {
+        if (jdbcTemplate != null) {
+            return jdbcTemplate.queryForList(
+                    "SELECT usuario_id FROM clientes WHERE LOWER(nome) LIKE ? ORDER BY nome LIMIT " + TAMANHO_PAGINA,
+                    Long.class, "%" + termo.toLowerCase() + "%");
+        }
+        String consulta = termo.toLowerCase();
+        List<String> encontrados = new ArrayList<>();
+        for (String nome : nomes) {
+            if (nome.toLowerCase().contains(consulta) && encontrados.size() < TAMANHO_PAGINA) {
+                encontrados.add(nome);
+            }
+        }
+        return encontrados;
+    }
+
+    @Benchmark
+    public List<?> trigramas() {
+        if (clienteNomeSearch != null) {
+            return clienteNomeSearch.buscar(termo, PageRequest.of(0, TAMANHO_PAGINA)).getContent();
+        }
+        List<TrigramIndex.Resultado> todos = trigramas.buscar(termo);
+        return todos.subList(0, Math.min(TAMANHO_PAGINA, todos.size()));
+    }
+
+    private static String sobrenomeSintetico(Random random) {
+        StringBuilder sobrenome = new StringBuilder();
+        int silabas = 2 + random.nextInt(3);
+        for (int i = 0; i < silabas; i++) {
+            sobrenome.append(SILABAS[random.nextInt(SILABAS.length)]);
+        }
+        sobrenome.setCharAt(0, Character.toUpperCase(sobrenome.charAt(0)));
+        return sobrenome.toString();
+    }
+}
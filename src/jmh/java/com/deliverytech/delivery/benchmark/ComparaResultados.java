@@ -0,0 +1,95 @@
+package com.deliverytech.delivery.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compara dois resultados JSON do JMH ({@code -rf json}) benchmark a benchmark:
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@comparar -Djmh.base=base.json -Djmh.atual=target/jmh-resultado.json
+ * </pre>
+ *
+ * Imprime score, variação e se a diferença passa da soma das margens de erro
+ * (abaixo disso é ruído). Sai com código 1 quando algum benchmark piorou além
+ * de {@code -Djmh.tolerancia} por cento (padrão 10), para poder barrar um build.
+ */
+public final class ComparaResultados {
+
+    private ComparaResultados() {
+    }
+
+    record Resultado(double score, double erro, String unidade) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("uso: ComparaResultados <base.json> <atual.json> [tolerancia%]");
+            System.exit(2);
+        }
+        double tolerancia = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Resultado> base = ler(new File(args[0]));
+        Map<String, Resultado> atual = ler(new File(args[1]));
+
+        boolean regressao = false;
+        System.out.printf("%-70s %14s %14s %9s%n", "benchmark", "base", "atual", "variação");
+        for (Map.Entry<String, Resultado> entrada : atual.entrySet()) {
+            Resultado depois = entrada.getValue();
+            Resultado antes = base.get(entrada.getKey());
+            if (antes == null) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", entrada.getKey(), "-", depois.score(), "novo");
+                continue;
+            }
+            // Em AverageTime/SampleTime maior é pior; em Throughput (ops/tempo) é o contrário
+            boolean menorMelhor = !depois.unidade().startsWith("ops/");
+            double variacao = (depois.score() - antes.score()) / antes.score() * 100.0;
+            double piora = menorMelhor ? variacao : -variacao;
+            boolean significativa = Math.abs(depois.score() - antes.score()) > antes.erro() + depois.erro();
+            String marca = !significativa ? "" : piora > tolerancia ? "  PIOROU" : piora < 0 ? "  melhorou" : "";
+            regressao |= significativa && piora > tolerancia;
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %s%s%n", entrada.getKey(), antes.score(), depois.score(),
+                    variacao, depois.unidade(), marca);
+        }
+        for (String nome : base.keySet()) {
+            if (!atual.containsKey(nome)) {
+                System.out.printf("%-70s %14.3f %14s %9s%n", nome, base.get(nome).score(), "-", "removido");
+            }
+        }
+        if (regressao) {
+            System.exit(1);
+        }
+    }
+
+    // Chave: nome do benchmark + parâmetros (ex.: ModelMapperBenchmark.pedido[itens=10])
+    private static Map<String, Resultado> ler(File arquivo) throws IOException {
+        Map<String, Resultado> resultados = new LinkedHashMap<>();
+        for (JsonNode execucao : new ObjectMapper().readTree(arquivo)) {
+            StringBuilder chave = new StringBuilder(execucao.path("benchmark").asText()
+                    .replace(ComparaResultados.class.getPackageName() + ".", ""));
+            JsonNode params = execucao.path("params");
+            if (!params.isMissingNode() && params.size() > 0) {
+                chave.append('[');
+                Iterator<Map.Entry<String, JsonNode>> campos = params.fields();
+                while (campos.hasNext()) {
+                    Map.Entry<String, JsonNode> campo = campos.next();
+                    chave.append(campo.getKey()).append('=').append(campo.getValue().asText());
+                    if (campos.hasNext()) {
+                        chave.append(',');
+                    }
+                }
+                chave.append(']');
+            }
+            JsonNode metrica = execucao.path("primaryMetric");
+            double erro = metrica.path("scoreError").asDouble(0.0);
+            resultados.put(chave.toString(), new Resultado(metrica.path("score").asDouble(),
+                    Double.isNaN(erro) ? 0.0 : erro, metrica.path("scoreUnit").asText()));
+        }
+        return resultados;
+    }
+}
@@ -0,0 +1,94 @@
+package com.deliverytech.delivery.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.deliverytech.delivery.dados.AplicacaoComDados;
+import com.deliverytech.delivery.dados.GeradorDados;
+import com.deliverytech.delivery.dados.Volume;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.repository.pedidoRepository;
+import com.deliverytech.delivery.repository.produtoRepository;
+
+/**
+ * Consultas dos repositórios sobre uma massa gerada com o
+ * {@link GeradorDados} (contexto Spring sem web, H2 em memória por padrão).
+ * O restaurante mais popular e o da cauda mostram quanto a mesma consulta
+ * muda com a distribuição real dos pedidos — algo que o data.sql, com três
+ * restaurantes, nunca revelaria.
+ *
+ * <p>O setup gera a massa uma vez por execução: {@code -Djmh.args="ConsultasVolume -p volume=medio"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConsultasVolumeBenchmark {
+
+    @Param({ "pequeno" })
+    private String volume;
+
+    @Param({ "h2" })
+    private String banco;
+
+    private ConfigurableApplicationContext aplicacao;
+    private pedidoRepository pedidoRepository;
+    private produtoRepository produtoRepository;
+    private long restaurantePopular;
+    private long restauranteCauda;
+
+    @Setup
+    public void setup() throws Exception {
+        aplicacao = AplicacaoComDados.subir(banco, WebApplicationType.NONE);
+        GeradorDados.Resumo massa = AplicacaoComDados.gerar(aplicacao, Volume.porNome(volume),
+                GeradorDados.SEMENTE_PADRAO);
+        long[] porPopularidade = massa.restaurantesPorPopularidade();
+        restaurantePopular = porPopularidade[0];
+        restauranteCauda = porPopularidade[porPopularidade.length - 1];
+        pedidoRepository = aplicacao.getBean(pedidoRepository.class);
+        produtoRepository = aplicacao.getBean(produtoRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        aplicacao.close();
+    }
+
+    @Benchmark
+    public List<Pedido> pedidosRestaurantePopular() {
+        return pedidoRepository.findByRestauranteIdOrderByDataPedidoDesc(restaurantePopular);
+    }
+
+    @Benchmark
+    public List<Pedido> pedidosRestauranteCauda() {
+        return pedidoRepository.findByRestauranteIdOrderByDataPedidoDesc(restauranteCauda);
+    }
+
+    @Benchmark
+    public List<Pedido> pedidosRecentes() {
+        return pedidoRepository.findTop10ByOrderByDataPedidoDesc();
+    }
+
+    @Benchmark
+    public List<Produto> cardapioRestaurantePopular() {
+        return produtoRepository.findByRestauranteId(restaurantePopular);
+    }
+}
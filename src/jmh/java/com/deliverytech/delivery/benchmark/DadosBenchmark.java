@@ -0,0 +1,125 @@
+package com.deliverytech.delivery.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.entity.ItemPedido;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+
+/**
+ * Massa de dados comum aos benchmarks: um restaurante com cardápio, um
+ * cliente e pedidos do tamanho pedido, montados sem banco nem contexto Spring.
+ */
+final class DadosBenchmark {
+
+    private DadosBenchmark() {
+    }
+
+    static Restaurante restaurante() {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(1L);
+        restaurante.setNome("Pizzaria Bella");
+        restaurante.setCategoria("Italiana");
+        restaurante.setEndereco("Av. Paulista, 1000, São Paulo, SP");
+        restaurante.setTelefone("(11) 3333-4444");
+        restaurante.setCep("01310-100");
+        restaurante.setTaxaEntrega(new BigDecimal("5.00"));
+        restaurante.setAvaliacao(new BigDecimal("4.5"));
+        restaurante.setAtivo(true);
+        return restaurante;
+    }
+
+    static Cliente cliente() {
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+        cliente.setNome("João da Silva");
+        cliente.setEmail("joao@email.com");
+        cliente.setTelefone("(11) 91234-5678");
+        cliente.setEndereco("Rua das Flores, 123, São Paulo, SP");
+        cliente.setCep("01310-100");
+        cliente.setDataCadastro(LocalDateTime.of(2024, 1, 15, 10, 30));
+        cliente.setAtivo(true);
+        return cliente;
+    }
+
+    static List<Produto> cardapio(Restaurante restaurante, int tamanho) {
+        List<Produto> produtos = new ArrayList<>(tamanho);
+        for (int i = 1; i <= tamanho; i++) {
+            Produto produto = new Produto();
+            produto.setId((long) i);
+            produto.setNome("Produto " + i);
+            produto.setDescricao("Descrição do produto " + i);
+            produto.setCategoria(i % 2 == 0 ? "Bebida" : "Prato");
+            produto.setPreco(new BigDecimal("12.90").add(BigDecimal.valueOf(i)));
+            produto.setDisponivel(true);
+            produto.setRestaurante(restaurante);
+            produtos.add(produto);
+        }
+        return produtos;
+    }
+
+    static Pedido pedido(int quantidadeItens) {
+        Restaurante restaurante = restaurante();
+        Pedido pedido = new Pedido();
+        pedido.setId(1L);
+        pedido.setNumeroPedido("PED-1700000000000");
+        pedido.setDataPedido(LocalDateTime.of(2024, 3, 10, 19, 45));
+        pedido.setStatus("PENDENTE");
+        pedido.setObservacoes("Sem cebola");
+        pedido.setEnderecoEntrega("Rua das Flores, 123, São Paulo, SP");
+        pedido.setCep("01310-100");
+        pedido.setTaxaEntrega(restaurante.getTaxaEntrega());
+        pedido.setCliente(cliente());
+        pedido.setRestaurante(restaurante);
+
+        List<ItemPedido> itens = new ArrayList<>(quantidadeItens);
+        BigDecimal total = restaurante.getTaxaEntrega();
+        for (Produto produto : cardapio(restaurante, quantidadeItens)) {
+            ItemPedido item = new ItemPedido();
+            item.setId(produto.getId());
+            item.setQuantidade(2);
+            item.setPrecoUnitario(produto.getPreco());
+            item.setSubtotal(produto.getPreco().multiply(BigDecimal.valueOf(2)));
+            item.setProduto(produto);
+            item.setPedido(pedido);
+            itens.add(item);
+            total = total.add(item.getSubtotal());
+        }
+        pedido.setItens(itens);
+        pedido.setValorTotal(total);
+        return pedido;
+    }
+
+    /**
+     * Repositório Spring Data em memória: responde findById e existsById a
+     * partir do mapa; qualquer outro método falha, para o benchmark não medir
+     * sem querer um caminho que no serviço real iria ao banco.
+     */
+    @SuppressWarnings("unchecked")
+    static <R> R repositorio(Class<R> tipo, Map<Long, ?> dados) {
+        return (R) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[] { tipo }, (proxy, metodo, args) -> {
+            switch (metodo.getName()) {
+                case "findById":
+                    return Optional.ofNullable(dados.get(args[0]));
+                case "existsById":
+                    return dados.containsKey(args[0]);
+                case "toString":
+                    return tipo.getSimpleName() + "EmMemoria";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    throw new UnsupportedOperationException(metodo.getName());
+            }
+        });
+    }
+}
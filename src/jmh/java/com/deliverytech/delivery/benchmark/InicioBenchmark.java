@@ -0,0 +1,177 @@
+package com.deliverytech.delivery.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.distribution.TDistribution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Tempo até a primeira requisição: sobe o jar empacotado num processo novo,
+ * várias vezes, e mede do {@code exec} até a primeira resposta 200 — o que
+ * pesa no autoscaling, e que um benchmark JMH dentro de uma JVM já aquecida
+ * não enxerga. Grava o resultado no formato JSON do JMH para comparar builds
+ * com o {@link ComparaResultados}:
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:java@inicio -Dinicio.modo=padrao
+ * mvn -Pbenchmark test-compile exec:java@inicio -Dinicio.modo=inicio-rapido \
+ *     -Dinicio.jar=target/aplicacao/com.deliverytech-0.0.1-SNAPSHOT.jar \
+ *     -Dinicio.jvm-args="-XX:SharedArchiveFile=target/aplicacao/app.jsa -Dspring.aot.enabled=true" \
+ *     -Dinicio.args="--spring.profiles.active=inicio-rapido"
+ * </pre>
+ *
+ * (o segundo usa o jar extraído e treinado como no dockerfile.inicio-rapido;
+ * ver o README).
+ *
+ * Propriedades ({@code -D}):
+ * <ul>
+ *   <li>{@code inicio.jar}: jar da aplicação (o primeiro de target/);</li>
+ *   <li>{@code inicio.modo}: rótulo da configuração, vira o parâmetro
+ *   {@code modo} do resultado ({@code padrao});</li>
+ *   <li>{@code inicio.jvm-args}, {@code inicio.args}: flags da JVM e
+ *   argumentos da aplicação, separados por espaço; o banco é o do
+ *   application.properties, a menos que {@code inicio.args} troque o
+ *   {@code spring.datasource.*};</li>
+ *   <li>{@code inicio.rodadas}: partidas medidas (5), depois de uma descartada
+ *   para aquecer o cache de disco;</li>
+ *   <li>{@code inicio.caminho}: rota da primeira requisição ({@code /health},
+ *   que já passa pelos filtros, pela segurança e por um controller);
+ *   {@code inicio.token} envia um Bearer para medir uma rota autenticada;</li>
+ *   <li>{@code inicio.porta} (18080), {@code inicio.limite-segundos} (120),
+ *   {@code inicio.resultado} (target/inicio-resultado.json).</li>
+ * </ul>
+ */
+public final class InicioBenchmark {
+
+    private static final long INTERVALO_SONDAGEM_MS = 10;
+
+    private InicioBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        File jar = jar(System.getProperty("inicio.jar", ""));
+        String modo = System.getProperty("inicio.modo", "padrao");
+        int rodadas = Integer.getInteger("inicio.rodadas", 5);
+        int porta = Integer.getInteger("inicio.porta", 18080);
+        String caminho = System.getProperty("inicio.caminho", "/health");
+        String token = System.getProperty("inicio.token", "");
+        Duration limite = Duration.ofSeconds(Integer.getInteger("inicio.limite-segundos", 120));
+        File resultado = new File(System.getProperty("inicio.resultado", "target/inicio-resultado.json")).getAbsoluteFile();
+        resultado.getParentFile().mkdirs();
+
+        List<String> comando = new ArrayList<>();
+        comando.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        comando.addAll(separar(System.getProperty("inicio.jvm-args", "")));
+        comando.add("-jar");
+        comando.add(jar.getPath());
+        comando.add("--server.port=" + porta);
+        comando.addAll(separar(System.getProperty("inicio.args", "")));
+
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .timeout(Duration.ofSeconds(5))
+                .GET();
+        if (!token.isBlank()) {
+            requisicao.header("Authorization", "Bearer " + token);
+        }
+
+        System.out.printf("%s (%s): %s%n", jar.getName(), modo, String.join(" ", comando));
+        double[] tempos = new double[rodadas];
+        for (int rodada = 0; rodada <= rodadas; rodada++) {
+            File log = new File(resultado.getParentFile(), "inicio-" + modo + "-" + rodada + ".log");
+            double ms = medir(comando, cliente, requisicao.build(), limite, log);
+            if (rodada == 0) {
+                System.out.printf("aquecimento: %.0f ms%n", ms);
+            } else {
+                tempos[rodada - 1] = ms;
+                System.out.printf("rodada %d: %.0f ms%n", rodada, ms);
+            }
+        }
+        gravar(resultado, modo, caminho, tempos);
+    }
+
+    // Do exec do processo até a primeira resposta 200 em caminho
+    private static double medir(List<String> comando, HttpClient cliente, HttpRequest requisicao, Duration limite,
+                                File log) throws IOException, InterruptedException {
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(comando).redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            long prazo = inicio + limite.toNanos();
+            while (System.nanoTime() < prazo) {
+                if (!processo.isAlive()) {
+                    throw new IllegalStateException("A aplicação terminou antes de responder (código "
+                            + processo.exitValue() + "); ver " + log);
+                }
+                try {
+                    if (cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - inicio) / 1_000_000.0;
+                    }
+                } catch (IOException e) {
+                    // Ainda subindo: conexão recusada, resetada ou sem resposta no prazo
+                }
+                Thread.sleep(INTERVALO_SONDAGEM_MS);
+            }
+            throw new IllegalStateException("Sem resposta 200 em " + limite.toSeconds() + " s; ver " + log);
+        } finally {
+            processo.destroy();
+            if (!processo.waitFor(30, TimeUnit.SECONDS)) {
+                processo.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // Mesmo formato do -rf json do JMH (modo single shot, margem de 99,9%)
+    private static void gravar(File arquivo, String modo, String caminho, double[] tempos) throws IOException {
+        double media = Arrays.stream(tempos).average().orElse(Double.NaN);
+        double variancia = Arrays.stream(tempos).map(t -> (t - media) * (t - media)).sum() / Math.max(1, tempos.length - 1);
+        double erro = tempos.length < 2 ? Double.NaN
+                : new TDistribution(tempos.length - 1).inverseCumulativeProbability(0.9995)
+                * Math.sqrt(variancia / tempos.length);
+        System.out.printf("média %.0f ms ± %.0f (min %.0f, max %.0f)%n", media, erro,
+                Arrays.stream(tempos).min().orElse(Double.NaN), Arrays.stream(tempos).max().orElse(Double.NaN));
+
+        // Ordem fixa dos parâmetros: o ComparaResultados monta a chave com eles
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("modo", modo);
+        params.put("caminho", caminho);
+        Map<String, Object> execucao = Map.of(
+                "benchmark", InicioBenchmark.class.getName() + ".primeiraRequisicao",
+                "mode", "ss",
+                "params", params,
+                "primaryMetric", Map.of(
+                        "score", media,
+                        "scoreError", Double.isNaN(erro) ? 0.0 : erro,
+                        "scoreUnit", "ms/op",
+                        "rawData", List.of(tempos)));
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(arquivo, List.of(execucao));
+        System.out.println("Resultado em " + arquivo);
+    }
+
+    private static File jar(String informado) {
+        if (!informado.isBlank()) {
+            return new File(informado);
+        }
+        File[] jars = new File("target").listFiles((dir, nome) -> nome.endsWith(".jar"));
+        if (jars == null || jars.length == 0) {
+            throw new IllegalStateException("Nenhum jar em target/; rode mvn package ou informe -Dinicio.jar");
+        }
+        return jars[0];
+    }
+
+    private static List<String> separar(String valor) {
+        return valor.isBlank() ? List.of() : List.of(valor.trim().split("\\s+"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.deliverytech.delivery.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.enums.Role;
+import com.deliverytech.delivery.security.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Custo da parte JWT do JwtAuthenticationFilter por requisição (sem o
+ * loadUserByUsername, que é acesso a banco).
+ *
+ * <ul>
+ *   <li>{@code antes}: o fluxo antigo — extractUsername + isTokenValid, ou seja,
+ *   três builds de parser/chave e três verificações HMAC;</li>
+ *   <li>{@code semCache}: parser pré-construído, uma verificação por requisição;</li>
+ *   <li>{@code comCache}: o que o filtro faz hoje — mesmo token repetido sai do cache.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificacaoBenchmark {
+
+    private static final String SECRET_KEY = "super-secret-key-para-assinatura-jwt-muito-segura-e-grande-256bits";
+
+    private JwtUtil jwtComCache;
+    private JwtUtil jwtSemCache;
+    private String token;
+    private UserDetails userDetails;
+
+    @Setup
+    public void setup() {
+        jwtComCache = new JwtUtil(10_000);
+        jwtSemCache = new JwtUtil(0);
+        Usuario usuario = Usuario.builder().id(1L).email("cliente@email.com").role(Role.CLIENTE).build();
+        userDetails = User.withUsername(usuario.getEmail()).password("x").authorities("ROLE_CLIENTE").build();
+        token = jwtComCache.generateToken(userDetails, usuario);
+    }
+
+    @Benchmark
+    public boolean antes() {
+        String username = parseAntigo(token).getSubject();
+        return parseAntigo(token).getSubject().equals(username)
+                && !parseAntigo(token).getExpiration().before(new java.util.Date());
+    }
+
+    @Benchmark
+    public String semCache() {
+        return jwtSemCache.validarToken(token).getSubject();
+    }
+
+    @Benchmark
+    public String comCache() {
+        return jwtComCache.validarToken(token).getSubject();
+    }
+
+    // Como JwtUtil fazia antes: chave e parser recriados a cada chamada
+    private static Claims parseAntigo(String token) {
+        return Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET_KEY.getBytes())).build()
+                .parseClaimsJws(token).getBody();
+    }
+}
@@ -0,0 +1,123 @@
+package com.deliverytech.delivery.benchmark;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.deliverytech.delivery.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.monitoramento.ContadorCache;
+import com.deliverytech.delivery.monitoramento.MetricasServico;
+import com.deliverytech.delivery.monitoramento.ServicoTimerAspect;
+import com.deliverytech.delivery.repository.produtoRepository;
+import com.deliverytech.delivery.service.impl.pedidoServiceImpl;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * Sobrecarga da instrumentação no caminho quente, com o mesmo registro
+ * Prometheus (percentis + SLOs) usado em produção. A meta é
+ * {@code medido - direto} e {@code servicoComAspecto - servicoDireto} abaixo
+ * de 1 µs por chamada.
+ *
+ * <ul>
+ *   <li>{@code direto}: a operação sem medição (linha de base);</li>
+ *   <li>{@code medido}: a mesma operação passando por {@link MetricasServico#medir};</li>
+ *   <li>{@code servicoDireto} / {@code servicoComAspecto}: um método real de
+ *   {@code service.impl} chamado direto e pelo proxy do {@link ServicoTimerAspect},
+ *   que soma o custo do proxy e do join point ao da medição;</li>
+ *   <li>{@code contadorCache}: um acerto de cache contado.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class MetricasServicoBenchmark {
+
+    private MetricasServico metricas;
+    private ContadorCache contador;
+    private Method metodo;
+    private long valor;
+    private pedidoServiceImpl servico;
+    private pedidoServiceImpl servicoMedido;
+    private List<ItemPedidoRequestDTO> itens;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        metricas = new MetricasServico(registry, new double[] { 0.5, 0.95, 0.99 },
+                new Duration[] { Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMillis(100),
+                        Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1) });
+        contador = ContadorCache.de(registry, "benchmark");
+        metodo = MetricasServicoBenchmark.class.getMethod("operacao");
+        valor = 42;
+
+        Map<Long, Produto> produtos = new HashMap<>();
+        for (Produto produto : DadosBenchmark.cardapio(DadosBenchmark.restaurante(), 5)) {
+            produtos.put(produto.getId(), produto);
+        }
+        servico = new pedidoServiceImpl();
+        ReflectionTestUtils.setField(servico, "produtoRepository",
+                DadosBenchmark.repositorio(produtoRepository.class, produtos));
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(servico);
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new ServicoTimerAspect(metricas));
+        servicoMedido = fabrica.getProxy();
+        ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+        item.setProdutoId(1L);
+        item.setQuantidade(2);
+        itens = List.of(item);
+    }
+
+    public Object operacao() {
+        return valor * 31;
+    }
+
+    @Benchmark
+    public Object direto() {
+        return operacao();
+    }
+
+    @Benchmark
+    public Object medido() throws Throwable {
+        return metricas.medir(metodo, this::operacao);
+    }
+
+    @Benchmark
+    public BigDecimal servicoDireto() {
+        return servico.calcularValorTotalPedido(itens);
+    }
+
+    @Benchmark
+    public BigDecimal servicoComAspecto() {
+        return servicoMedido.calcularValorTotalPedido(itens);
+    }
+
+    @Benchmark
+    public void contadorCache() {
+        contador.acerto();
+    }
+}
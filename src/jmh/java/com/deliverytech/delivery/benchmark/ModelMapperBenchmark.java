@@ -0,0 +1,62 @@
+package com.deliverytech.delivery.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.deliverytech.delivery.config.ModelMapperConfig;
+import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
+import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Produto;
+
+/**
+ * Conversão entidade → DTO com o ModelMapper configurado como na aplicação
+ * (LOOSE + acesso a campos privados). O mapeamento já vem aquecido do setup,
+ * então o número é o custo de cada resposta, não o da primeira.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelMapperBenchmark {
+
+    @Param({ "1", "10" })
+    private int itens;
+
+    private ModelMapper modelMapper;
+    private Pedido pedido;
+    private Produto produto;
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapperConfig().modelMapper();
+        pedido = DadosBenchmark.pedido(itens);
+        produto = pedido.getItens().get(0).getProduto();
+        modelMapper.map(pedido, PedidoResponseDTO.class);
+        modelMapper.map(produto, ProdutoResponseDTO.class);
+    }
+
+    @Benchmark
+    public PedidoResponseDTO pedido() {
+        return modelMapper.map(pedido, PedidoResponseDTO.class);
+    }
+
+    @Benchmark
+    public ProdutoResponseDTO produto() {
+        return modelMapper.map(produto, ProdutoResponseDTO.class);
+    }
+}
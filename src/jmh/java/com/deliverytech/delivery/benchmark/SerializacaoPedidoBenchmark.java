@@ -0,0 +1,56 @@
+package com.deliverytech.delivery.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.deliverytech.delivery.config.ModelMapperConfig;
+import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialização JSON do {@link PedidoResponseDTO} com um ObjectMapper montado
+ * pelo mesmo builder que o Spring MVC usa (módulos java.time etc.), para
+ * bytes — como o conversor HTTP faz — e para String.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoPedidoBenchmark {
+
+    @Param({ "1", "10" })
+    private int itens;
+
+    private ObjectMapper objectMapper;
+    private PedidoResponseDTO pedido;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        pedido = new ModelMapperConfig().modelMapper().map(DadosBenchmark.pedido(itens), PedidoResponseDTO.class);
+    }
+
+    @Benchmark
+    public byte[] paraBytes() throws Exception {
+        return objectMapper.writeValueAsBytes(pedido);
+    }
+
+    @Benchmark
+    public String paraString() throws Exception {
+        return objectMapper.writeValueAsString(pedido);
+    }
+}
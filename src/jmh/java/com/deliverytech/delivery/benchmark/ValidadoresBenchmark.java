@@ -0,0 +1,59 @@
+package com.deliverytech.delivery.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.deliverytech.delivery.validation.CEPValidator;
+import com.deliverytech.delivery.validation.TelefoneValidator;
+
+/**
+ * Validadores de CEP e telefone chamados direto (sem o Hibernate Validator em
+ * volta), com entrada válida e inválida: o inválido costuma ser o caminho
+ * mais caro para regex, porque o backtracking só desiste no fim.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidadoresBenchmark {
+
+    @Param({ "valido", "invalido" })
+    private String entrada;
+
+    private CEPValidator cepValidator;
+    private TelefoneValidator telefoneValidator;
+    private String cep;
+    private String telefone;
+
+    @Setup
+    public void setup() {
+        cepValidator = new CEPValidator();
+        telefoneValidator = new TelefoneValidator();
+        boolean valido = "valido".equals(entrada);
+        cep = valido ? "01310-100" : "01310-10X";
+        telefone = valido ? "(11) 91234-5678" : "(11) 91234-567X";
+    }
+
+    @Benchmark
+    public boolean cep() {
+        return cepValidator.isValid(cep, null);
+    }
+
+    @Benchmark
+    public boolean telefone() {
+        return telefoneValidator.isValid(telefone, null);
+    }
+}
@@ -0,0 +1,137 @@
+package com.deliverytech.delivery.bloom;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Filtro de Bloom na frente de {@code existsByEmail}.
+ *
+ * <p>Um "definitivamente ausente" dispensa a consulta; qualquer outra resposta
+ * cai no banco. Até a primeira carga o filtro não existe e toda verificação vai
+ * ao banco. E-mails gravados por outros nós só entram no filtro na próxima
+ * reconstrução, por isso a restrição única da coluna continua sendo a garantia
+ * final contra duplicidade.
+ */
+public class EmailBloomFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailBloomFilter.class);
+
+    private final String nome;
+    private final LongSupplier contarEmails;
+    // Entrega cada e-mail da tabela ao consumidor, sem materializar a tabela em memória
+    private final Consumer<Consumer<String>> percorrerEmails;
+    private final double taxaFalsoPositivo;
+    private final long capacidadeMinima;
+
+    private final Counter consultasEvitadas;
+    private final Counter consultasRealizadas;
+
+    private volatile BloomFilter atual;
+    private volatile BloomFilter emConstrucao;
+    // Recarga lê a tabela inteira; um monitor aqui fixaria a thread virtual durante a consulta
+    private final ReentrantLock trava = new ReentrantLock();
+
+    public EmailBloomFilter(String nome, LongSupplier contarEmails, Consumer<Consumer<String>> percorrerEmails,
+            double taxaFalsoPositivo, long capacidadeMinima, MeterRegistry meterRegistry) {
+        this.nome = nome;
+        this.contarEmails = contarEmails;
+        this.percorrerEmails = percorrerEmails;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.capacidadeMinima = capacidadeMinima;
+        this.consultasEvitadas = Counter.builder("email.bloom.consultas")
+                .tag("tabela", nome).tag("resultado", "evitada")
+                .description("Verificações de e-mail resolvidas pelo filtro sem ir ao banco")
+                .register(meterRegistry);
+        this.consultasRealizadas = Counter.builder("email.bloom.consultas")
+                .tag("tabela", nome).tag("resultado", "banco")
+                .description("Verificações de e-mail que precisaram consultar o banco")
+                .register(meterRegistry);
+        Gauge.builder("email.bloom.elementos", this, f -> f.atual != null ? f.atual.getElementos() : 0)
+                .tag("tabela", nome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verdadeiro quando o e-mail com certeza não está cadastrado.
+     */
+    public boolean definitivamenteAusente(String email) {
+        BloomFilter filtro = atual;
+        if (email != null && filtro != null && !filtro.podeConter(email)) {
+            consultasEvitadas.increment();
+            return true;
+        }
+        consultasRealizadas.increment();
+        return false;
+    }
+
+    /**
+     * Registra um e-mail recém-gravado. Se houver uma reconstrução em andamento
+     * o e-mail também vai para o filtro novo.
+     */
+    public void registrar(String email) {
+        if (email == null) {
+            return;
+        }
+        BloomFilter filtro = atual;
+        if (filtro != null) {
+            filtro.adicionar(email);
+        }
+        BloomFilter novo = emConstrucao;
+        if (novo != null) {
+            novo.adicionar(email);
+        }
+    }
+
+    /**
+     * Dimensiona pelo tamanho da tabela (com folga para o crescimento) e
+     * recarrega todos os e-mails.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        trava.lock();
+        try {
+            long total = contarEmails.getAsLong();
+            BloomFilter novo = new BloomFilter(Math.max(capacidadeMinima, total * 2), taxaFalsoPositivo);
+            emConstrucao = novo;
+            try {
+                percorrerEmails.accept(email -> {
+                    if (email != null) {
+                        novo.adicionar(email);
+                    }
+                });
+                atual = novo;
+                log.info("Filtro de e-mails '{}' carregado: {} e-mails, {} bits, {} hashes",
+                        nome, novo.getElementos(), novo.getTotalBits(), novo.getFuncoesHash());
+            } catch (RuntimeException e) {
+                log.warn("Falha ao carregar filtro de e-mails '{}', verificações seguirão no banco", nome, e);
+            } finally {
+                emConstrucao = null;
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Passando da capacidade a taxa de falso positivo sobe rápido; reconstrói
+     * com o novo tamanho da tabela.
+     */
+    @Scheduled(fixedDelayString = "${bloom.email.verificacao-ms:300000}")
+    public void reconstruirSeSaturado() {
+        BloomFilter filtro = atual;
+        if (filtro != null && filtro.isSaturado()) {
+            reconstruir();
+        }
+    }
+}
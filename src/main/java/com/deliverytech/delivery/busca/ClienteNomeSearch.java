@@ -0,0 +1,22 @@
+package com.deliverytech.delivery.busca;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Busca de clientes por nome ordenada por similaridade de trigramas.
+ * Devolve só IDs e pontuação; quem chama carrega as entidades da página.
+ */
+public interface ClienteNomeSearch {
+
+    record Resultado(Long clienteId, double similaridade) {
+    }
+
+    Page<Resultado> buscar(String termo, Pageable pageable);
+
+    /**
+     * Mantém índices em memória em dia; no Postgres o índice GIN é do próprio banco.
+     */
+    default void indexar(Long clienteId, String nome) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.deliverytech.delivery.busca;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import com.deliverytech.delivery.projection.ClienteNome;
+import com.deliverytech.delivery.repository.clienteRepository;
+
+/**
+ * Equivalente em memória do pg_trgm, usado com H2. Carregado ao subir a
+ * aplicação e atualizado pelo serviço a cada cadastro/alteração.
+ */
+public class MemoriaClienteNomeSearch implements ClienteNomeSearch {
+
+    private static final Logger log = LoggerFactory.getLogger(MemoriaClienteNomeSearch.class);
+
+    // Mesmo limite padrão do operador % do pg_trgm
+    private static final double SIMILARIDADE_MINIMA = 0.3;
+
+    private final clienteRepository clienteRepository;
+    private final TrigramIndex indice = new TrigramIndex(SIMILARIDADE_MINIMA);
+
+    public MemoriaClienteNomeSearch(clienteRepository clienteRepository) {
+        this.clienteRepository = clienteRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        indice.limpar();
+        for (ClienteNome cliente : clienteRepository.listarNomes()) {
+            indice.indexar(cliente.getId(), cliente.getNome());
+        }
+        log.info("Índice de trigramas de clientes carregado: {} nomes", indice.tamanho());
+    }
+
+    @Override
+    public Page<Resultado> buscar(String termo, Pageable pageable) {
+        List<TrigramIndex.Resultado> todos = indice.buscar(termo);
+        int inicio = (int) Math.min(pageable.getOffset(), todos.size());
+        int fim = Math.min(inicio + pageable.getPageSize(), todos.size());
+        List<Resultado> pagina = todos.subList(inicio, fim).stream()
+                .map(r -> new Resultado(r.id(), r.similaridade()))
+                .toList();
+        return new PageImpl<>(pagina, pageable, todos.size());
+    }
+
+    @Override
+    public void indexar(Long clienteId, String nome) {
+        indice.indexar(clienteId, nome);
+    }
+}
@@ -0,0 +1,126 @@
+package com.deliverytech.delivery.busca;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.deliverytech.delivery.cache.ContagemAproximada;
+
+/**
+ * Busca por nome com pg_trgm. O índice GIN atende tanto o ILIKE '%termo%'
+ * quanto o operador de similaridade %, e a ordenação usa similarity().
+ * A extensão e o índice vêm da migração V2 (db/migration/postgresql): o
+ * Flyway a aplica no perfil inicio-rapido e, fora dele, esta classe roda o
+ * mesmo script na partida se o índice faltar (ambos os comandos são
+ * IF NOT EXISTS). Se ainda assim faltar, tipicamente por falta de permissão
+ * de CREATE EXTENSION, a aplicação não sobe: um ILIKE '%termo%' sem índice
+ * varre a tabela inteira a cada busca. Com
+ * {@code busca.clientes.exigir-indice=false} ela sobe assim mesmo e cai para
+ * ILIKE ordenado por nome.
+ *
+ * <p>Sem {@code count(*)} por página: lê uma linha a mais para saber se há
+ * próxima página. O total é exato quando a página é a última e, nas demais,
+ * a estimativa do planejador ({@link ContagemAproximada#estimarLinhas}).
+ */
+public class PostgresClienteNomeSearch implements ClienteNomeSearch {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresClienteNomeSearch.class);
+
+    private static final String MIGRACAO_TRGM = "db/migration/postgresql/V2__indice_trigramas_clientes.sql";
+
+    private static final String FILTRO_TRGM = " FROM clientes WHERE nome ILIKE :padrao OR nome % :termo";
+    private static final String FILTRO_LIKE = " FROM clientes WHERE nome ILIKE :padrao";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ContagemAproximada contagemAproximada;
+    private final boolean exigirIndice;
+    private volatile boolean trigramasDisponiveis;
+
+    public PostgresClienteNomeSearch(NamedParameterJdbcTemplate jdbcTemplate, ContagemAproximada contagemAproximada,
+            boolean exigirIndice) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.contagemAproximada = contagemAproximada;
+        this.exigirIndice = exigirIndice;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verificarTrigramas() {
+        trigramasDisponiveis = indicePresente();
+        if (trigramasDisponiveis) {
+            return;
+        }
+        try {
+            ResourceDatabasePopulator migracao = new ResourceDatabasePopulator(new ClassPathResource(MIGRACAO_TRGM));
+            jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Void>) conexao -> {
+                migracao.populate(conexao);
+                return null;
+            });
+            log.info("pg_trgm e o índice idx_clientes_nome_trgm criados a partir de {}", MIGRACAO_TRGM);
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível aplicar {}: {}", MIGRACAO_TRGM, e.getMessage());
+        }
+        trigramasDisponiveis = indicePresente();
+        if (trigramasDisponiveis) {
+            return;
+        }
+        if (exigirIndice) {
+            throw new IllegalStateException("pg_trgm ou o índice idx_clientes_nome_trgm ausente e não foi possível criá-los"
+                    + " (" + MIGRACAO_TRGM + "): a busca de clientes por nome varreria a tabela."
+                    + " Aplique o script com um usuário que possa criar a extensão ou use busca.clientes.exigir-indice=false");
+        }
+        log.warn("pg_trgm ou o índice idx_clientes_nome_trgm ausente, busca de clientes por nome usará ILIKE sem índice");
+    }
+
+    private boolean indicePresente() {
+        try {
+            return Boolean.TRUE.equals(jdbcTemplate.getJdbcTemplate().queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')"
+                            + " AND to_regclass('idx_clientes_nome_trgm') IS NOT NULL", Boolean.class));
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Page<Resultado> buscar(String termo, Pageable pageable) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("termo", termo)
+                .addValue("padrao", "%" + escaparLike(termo) + "%")
+                .addValue("limite", pageable.getPageSize() + 1)
+                .addValue("offset", pageable.getOffset());
+
+        String filtro = trigramasDisponiveis ? FILTRO_TRGM : FILTRO_LIKE;
+        String ordem = trigramasDisponiveis
+                ? "SELECT usuario_id, similarity(nome, :termo) AS sim" + filtro + " ORDER BY sim DESC, usuario_id"
+                : "SELECT usuario_id, 0 AS sim" + filtro + " ORDER BY nome, usuario_id";
+
+        List<Resultado> linhas = jdbcTemplate.query(ordem + " LIMIT :limite OFFSET :offset", parametros,
+                (rs, linha) -> new Resultado(rs.getLong("usuario_id"), rs.getDouble("sim")));
+        boolean temProxima = linhas.size() > pageable.getPageSize();
+        List<Resultado> pagina = temProxima ? linhas.subList(0, pageable.getPageSize()) : linhas;
+
+        long vistos = pageable.getOffset() + pagina.size();
+        if (!temProxima) {
+            return new PageImpl<>(pagina, pageable, vistos);
+        }
+        // Nunca abaixo do que a própria leitura já provou existir
+        Long estimativa = contagemAproximada.estimarLinhas("SELECT 1" + filtro, parametros);
+        return new PageImpl<>(pagina, pageable, Math.max(vistos + 1, estimativa != null ? estimativa : 0));
+    }
+
+    private static String escaparLike(String termo) {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
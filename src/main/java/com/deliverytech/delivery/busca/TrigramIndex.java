@@ -0,0 +1,243 @@
+package com.deliverytech.delivery.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Índice invertido de trigramas em memória, com a mesma semântica do pg_trgm:
+ * cada palavra é normalizada e preenchida com dois espaços à esquerda e um à
+ * direita, e a similaridade é |A ∩ B| / |A ∪ B| entre os conjuntos de trigramas.
+ *
+ * <p>Cada ID ganha uma posição fixa; as listas de postagem guardam posições,
+ * então a contagem de trigramas em comum é feita num array denso, sem hash.
+ * Escritas são serializadas; leituras não travam. Uma postagem pode ficar
+ * obsoleta depois que o nome muda, por isso todo candidato é conferido contra
+ * a entrada atual antes de entrar no resultado.
+ */
+public class TrigramIndex {
+
+    public record Resultado(Long id, double similaridade) {
+    }
+
+    private record Entrada(long id, String normalizado, long[] trigramas) {
+    }
+
+    // Lista de posições que só cresce; leitores leem o tamanho antes do array
+    private static final class Postagem {
+        private volatile int[] posicoes = new int[4];
+        private volatile int tamanho;
+
+        void adicionar(int posicao) {
+            int[] atual = posicoes;
+            if (tamanho == atual.length) {
+                atual = Arrays.copyOf(atual, atual.length * 2);
+            }
+            atual[tamanho] = posicao;
+            posicoes = atual;
+            tamanho = tamanho + 1;
+        }
+    }
+
+    private final double similaridadeMinima;
+    private final Map<Long, Integer> posicoesPorId = new HashMap<>();
+    private final Map<Long, Postagem> postagens = new ConcurrentHashMap<>();
+    private volatile AtomicReferenceArray<Entrada> entradas = new AtomicReferenceArray<>(1024);
+    private volatile int proximaPosicao;
+    private volatile int tamanho;
+
+    public TrigramIndex(double similaridadeMinima) {
+        this.similaridadeMinima = similaridadeMinima;
+    }
+
+    public synchronized void indexar(Long id, String texto) {
+        if (texto == null) {
+            remover(id);
+            return;
+        }
+        String normalizado = normalizar(texto);
+        long[] trigramas = trigramas(normalizado);
+        Integer posicao = posicoesPorId.get(id);
+        Entrada anterior = null;
+        if (posicao == null) {
+            posicao = proximaPosicao;
+            garantirCapacidade(posicao + 1);
+            posicoesPorId.put(id, posicao);
+            proximaPosicao = posicao + 1;
+        } else {
+            anterior = entradas.get(posicao);
+        }
+        if (anterior == null) {
+            tamanho++;
+        }
+        entradas.set(posicao, new Entrada(id, normalizado, trigramas));
+        for (long trigrama : trigramas) {
+            // Só acrescenta postagens novas; as antigas continuam válidas
+            if (anterior == null || Arrays.binarySearch(anterior.trigramas(), trigrama) < 0) {
+                postagens.computeIfAbsent(trigrama, t -> new Postagem()).adicionar(posicao);
+            }
+        }
+    }
+
+    public synchronized void remover(Long id) {
+        Integer posicao = posicoesPorId.get(id);
+        if (posicao != null && entradas.getAndSet(posicao, null) != null) {
+            tamanho--;
+        }
+    }
+
+    public synchronized void limpar() {
+        posicoesPorId.clear();
+        postagens.clear();
+        entradas = new AtomicReferenceArray<>(1024);
+        proximaPosicao = 0;
+        tamanho = 0;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Entradas que contêm o termo ou cuja similaridade atinge o mínimo,
+     * ordenadas da mais para a menos parecida (empate por ID).
+     */
+    public List<Resultado> buscar(String termo) {
+        String consulta = normalizar(termo);
+        if (consulta.isBlank()) {
+            return List.of();
+        }
+        long[] trigramasConsulta = trigramas(consulta);
+        AtomicReferenceArray<Entrada> atuais = entradas;
+        int limite = Math.min(proximaPosicao, atuais.length());
+        List<Resultado> resultados = new ArrayList<>();
+
+        if (consulta.length() < 3) {
+            // Termos curtos não têm trigrama interno suficiente; varre como o LIKE faria
+            for (int posicao = 0; posicao < limite; posicao++) {
+                avaliar(atuais.get(posicao), consulta, trigramasConsulta, resultados);
+            }
+        } else {
+            // Quem contém o termo tem todos os trigramas internos dele; quem atinge a
+            // similaridade mínima tem pelo menos similaridadeMinima * |consulta| em comum
+            int minimo = Math.max(1, Math.min(internos(trigramasConsulta),
+                    (int) Math.ceil(similaridadeMinima * trigramasConsulta.length)));
+            int[] contagens = new int[limite];
+            for (long trigrama : trigramasConsulta) {
+                Postagem postagem = postagens.get(trigrama);
+                if (postagem == null) {
+                    continue;
+                }
+                int quantidade = postagem.tamanho;
+                int[] posicoes = postagem.posicoes;
+                for (int i = 0; i < quantidade; i++) {
+                    int posicao = posicoes[i];
+                    if (posicao < limite) {
+                        contagens[posicao]++;
+                    }
+                }
+            }
+            for (int posicao = 0; posicao < limite; posicao++) {
+                if (contagens[posicao] >= minimo) {
+                    avaliar(atuais.get(posicao), consulta, trigramasConsulta, resultados);
+                }
+            }
+        }
+
+        resultados.sort(Comparator.comparingDouble(Resultado::similaridade).reversed()
+                .thenComparing(Resultado::id));
+        return resultados;
+    }
+
+    private void avaliar(Entrada entrada, String consulta, long[] trigramasConsulta, List<Resultado> resultados) {
+        if (entrada == null) {
+            return;
+        }
+        double similaridade = similaridade(entrada.trigramas(), trigramasConsulta);
+        if (similaridade >= similaridadeMinima || entrada.normalizado().contains(consulta)) {
+            resultados.add(new Resultado(entrada.id(), similaridade));
+        }
+    }
+
+    private void garantirCapacidade(int capacidade) {
+        AtomicReferenceArray<Entrada> atuais = entradas;
+        if (capacidade <= atuais.length()) {
+            return;
+        }
+        AtomicReferenceArray<Entrada> maiores = new AtomicReferenceArray<>(Math.max(capacidade, atuais.length() * 2));
+        for (int i = 0; i < proximaPosicao; i++) {
+            maiores.set(i, atuais.get(i));
+        }
+        entradas = maiores;
+    }
+
+    // Trigramas sem espaço, presentes em qualquer texto que contenha o termo
+    private static int internos(long[] trigramas) {
+        int internos = 0;
+        for (long trigrama : trigramas) {
+            if ((trigrama >>> 32) != ' ' && ((trigrama >>> 16) & 0xFFFF) != ' ' && (trigrama & 0xFFFF) != ' ') {
+                internos++;
+            }
+        }
+        return internos;
+    }
+
+    static double similaridade(long[] a, long[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return 0;
+        }
+        int i = 0;
+        int j = 0;
+        int comuns = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                comuns++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) comuns / (a.length + b.length - comuns);
+    }
+
+    // Minúsculas, sem acentos, só letras e dígitos separados por um espaço
+    static String normalizar(String texto) {
+        String semAcento = Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return semAcento.toLowerCase().replaceAll("[^\\p{Alnum}]+", " ").trim();
+    }
+
+    // Trigramas distintos e ordenados, cada um codificado em 48 bits
+    static long[] trigramas(String normalizado) {
+        if (normalizado.isEmpty()) {
+            return new long[0];
+        }
+        String[] palavras = normalizado.split(" ");
+        long[] trigramas = new long[normalizado.length() + 2 * palavras.length];
+        int n = 0;
+        for (String palavra : palavras) {
+            String preenchida = "  " + palavra + " ";
+            for (int i = 0; i + 3 <= preenchida.length(); i++) {
+                trigramas[n++] = ((long) preenchida.charAt(i) << 32)
+                        | ((long) preenchida.charAt(i + 1) << 16)
+                        | preenchida.charAt(i + 2);
+            }
+        }
+        Arrays.sort(trigramas, 0, n);
+        int distintos = 0;
+        for (int i = 0; i < n; i++) {
+            if (distintos == 0 || trigramas[distintos - 1] != trigramas[i]) {
+                trigramas[distintos++] = trigramas[i];
+            }
+        }
+        return Arrays.copyOf(trigramas, distintos);
+    }
+}
@@ -0,0 +1,157 @@
+package com.deliverytech.delivery.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Barramento de invalidação de cache entre nós.
+ * Cada escrita no catálogo chama {@link #evict} ou {@link #clear}: o nó local
+ * remove a chave na hora e o evento é publicado no transporte depois do commit,
+ * para que os outros nós removam apenas as chaves afetadas.
+ *
+ * <p>Quando o transporte pode ter perdido eventos, e de tempos em tempos como
+ * garantia (o {@code ConcurrentMapCache} não expira nada), o nó descarta todos
+ * os caches e recarrega os snapshots: ver {@link #ressincronizar()}.
+ */
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final CacheManager cacheManager;
+    private final CacheInvalidationTransport transport;
+    private final String nodeId;
+    private final Map<String, Consumer<Object>> ouvintesRemotos = new ConcurrentHashMap<>();
+    private final List<Consumer<CacheInvalidationEvent>> ouvintes = new CopyOnWriteArrayList<>();
+
+    public CacheInvalidationBus(CacheManager cacheManager, CacheInvalidationTransport transport) {
+        this(cacheManager, transport, UUID.randomUUID().toString().substring(0, 8));
+    }
+
+    public CacheInvalidationBus(CacheManager cacheManager, CacheInvalidationTransport transport, String nodeId) {
+        this.cacheManager = cacheManager;
+        this.transport = transport;
+        this.nodeId = nodeId;
+        this.transport.assinar(this::receber);
+        this.transport.aoPerderEventos(this::ressincronizar);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Registra um ouvinte para caches que não vivem no CacheManager (ex.: snapshots em memória).
+     * É chamado só para eventos vindos de outros nós; a chave é nula quando o cache inteiro mudou.
+     */
+    public void aoReceberRemoto(String cache, Consumer<Object> ouvinte) {
+        ouvintesRemotos.put(cache, ouvinte);
+    }
+
+    /**
+     * Registra um ouvinte de todas as invalidações aplicadas neste nó, locais ou remotas,
+     * para caches derivados que precisam cair junto (ex.: respostas já serializadas).
+     * Como a remoção local, é chamado de novo após o commit. Numa ressincronização recebe
+     * um evento com {@link CacheInvalidationEvent#isRessincronizacao()} e deve descartar tudo.
+     */
+    public void aoInvalidar(Consumer<CacheInvalidationEvent> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    public void evict(String cache, Object chave) {
+        publicar(CacheInvalidationEvent.chave(nodeId, cache, chave));
+    }
+
+    public void clear(String cache) {
+        publicar(CacheInvalidationEvent.todas(nodeId, cache));
+    }
+
+    /**
+     * Descarta todos os caches deste nó e chama os ouvintes remotos com chave
+     * nula, para que os snapshots se recarreguem do banco. Roda após uma
+     * reconexão do transporte, quando outro nó não conseguiu publicar e a cada
+     * {@code cache.invalidacao.ressincronizar-ms}, o que limita quanto tempo um
+     * evento perdido deixa um valor velho em memória.
+     */
+    @Scheduled(fixedDelayString = "${cache.invalidacao.ressincronizar-ms:900000}",
+            initialDelayString = "${cache.invalidacao.ressincronizar-ms:900000}")
+    public void ressincronizar() {
+        log.info("Ressincronizando caches");
+        CacheInvalidationEvent ressincronizacao = CacheInvalidationEvent.ressincronizacao(nodeId);
+        for (Consumer<CacheInvalidationEvent> ouvinte : ouvintes) {
+            ouvinte.accept(ressincronizacao);
+        }
+        for (String nome : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(nome);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        ouvintesRemotos.forEach((nome, ouvinte) -> {
+            try {
+                ouvinte.accept(null);
+            } catch (RuntimeException e) {
+                // Um snapshot que não recarregou não impede os demais; a próxima ressincronização tenta de novo
+                log.warn("Falha ao recarregar o cache {} na ressincronização", nome, e);
+            }
+        });
+    }
+
+    private void publicar(CacheInvalidationEvent evento) {
+        aplicar(evento);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Remove de novo após o commit: uma leitura concorrente pode ter repopulado com o valor antigo
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar(evento);
+                    transport.publicar(evento);
+                }
+            });
+        } else {
+            transport.publicar(evento);
+        }
+    }
+
+    private void receber(CacheInvalidationEvent evento) {
+        if (nodeId.equals(evento.origem())) {
+            return;
+        }
+        log.debug("Invalidação recebida do nó {}: {}", evento.origem(), evento);
+        if (evento.isRessincronizacao()) {
+            ressincronizar();
+            return;
+        }
+        aplicar(evento);
+        Consumer<Object> ouvinte = ouvintesRemotos.get(evento.cache());
+        if (ouvinte != null) {
+            ouvinte.accept(evento.chave());
+        }
+    }
+
+    private void aplicar(CacheInvalidationEvent evento) {
+        for (Consumer<CacheInvalidationEvent> ouvinte : ouvintes) {
+            ouvinte.accept(evento);
+        }
+        Cache cache = cacheManager.getCache(evento.cache());
+        if (cache == null) {
+            return;
+        }
+        if (evento.isTodas()) {
+            cache.clear();
+        } else {
+            cache.evict(evento.chave());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.deliverytech.delivery.cache;
+
+/**
+ * Evento compacto de invalidação trafegado entre os nós.
+ * Formato no fio: origem|cache|chave, onde a chave leva um prefixo de tipo
+ * (L = Long, B = Boolean, S = String) ou "*" para limpar o cache inteiro.
+ * O cache "*" pede a ressincronização de todos os caches do nó.
+ */
+public record CacheInvalidationEvent(String origem, String cache, Object chave) {
+
+    private static final String SEPARADOR = "|";
+    private static final String TODAS = "*";
+
+    public static CacheInvalidationEvent chave(String origem, String cache, Object chave) {
+        return new CacheInvalidationEvent(origem, cache, chave);
+    }
+
+    public static CacheInvalidationEvent todas(String origem, String cache) {
+        return new CacheInvalidationEvent(origem, cache, null);
+    }
+
+    public static CacheInvalidationEvent ressincronizacao(String origem) {
+        return new CacheInvalidationEvent(origem, TODAS, null);
+    }
+
+    public boolean isTodas() {
+        return chave == null;
+    }
+
+    public boolean isRessincronizacao() {
+        return TODAS.equals(cache);
+    }
+
+    public String encode() {
+        return origem + SEPARADOR + cache + SEPARADOR + encodeChave(chave);
+    }
+
+    public static CacheInvalidationEvent decode(String payload) {
+        String[] partes = payload.split("\\|", 3);
+        if (partes.length != 3) {
+            throw new IllegalArgumentException("Evento de invalidação inválido: " + payload);
+        }
+        return new CacheInvalidationEvent(partes[0], partes[1], decodeChave(partes[2]));
+    }
+
+    private static String encodeChave(Object chave) {
+        if (chave == null) {
+            return TODAS;
+        }
+        if (chave instanceof Long l) {
+            return "L" + l;
+        }
+        if (chave instanceof Boolean b) {
+            return "B" + b;
+        }
+        if (chave instanceof String s) {
+            return "S" + s;
+        }
+        throw new IllegalArgumentException("Tipo de chave não suportado: " + chave.getClass().getName());
+    }
+
+    private static Object decodeChave(String valor) {
+        if (TODAS.equals(valor)) {
+            return null;
+        }
+        String conteudo = valor.substring(1);
+        return switch (valor.charAt(0)) {
+            case 'L' -> Long.valueOf(conteudo);
+            case 'B' -> Boolean.valueOf(conteudo);
+            case 'S' -> conteudo;
+            default -> throw new IllegalArgumentException("Tipo de chave desconhecido: " + valor);
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.deliverytech.delivery.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Transporte plugável usado pelo {@link CacheInvalidationBus} para
+ * espalhar invalidações entre as réplicas da aplicação.
+ */
+public interface CacheInvalidationTransport {
+
+    void publicar(CacheInvalidationEvent evento);
+
+    void assinar(Consumer<CacheInvalidationEvent> listener);
+
+    /**
+     * Registra a ação a executar quando eventos podem ter sido perdidos (ex.: a
+     * conexão de escuta caiu e voltou). Transportes que não perdem eventos ignoram.
+     */
+    default void aoPerderEventos(Runnable acao) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.deliverytech.delivery.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Totais aproximados para listagens grandes, guardados por alguns minutos.
+ *
+ * <p>Quando há tabela informada e o banco é Postgres, usa {@code pg_class.reltuples}
+ * (estimativa mantida pelo ANALYZE, custo constante). Nos demais casos, ou se a
+ * tabela ainda não foi analisada, roda a contagem exata recebida, no máximo uma
+ * vez por intervalo de validade.
+ *
+ * <p>Para consultas filtradas, {@link #estimarLinhas} devolve a estimativa de
+ * linhas do planejador do Postgres, sem executar a consulta.
+ */
+@Component
+public class ContagemAproximada {
+
+    private static final Logger log = LoggerFactory.getLogger(ContagemAproximada.class);
+
+    // Linhas estimadas do nó raiz no EXPLAIN (FORMAT JSON)
+    private static final Pattern LINHAS_PLANO = Pattern.compile("\"Plan Rows\"\\s*:\\s*(\\d+)");
+
+    private record Valor(long total, long calculadoEm) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long validadeMillis;
+    // Um futuro por chave: o cálculo roda fora do mapa e quem chega durante ele espera o mesmo resultado
+    private final Map<String, CompletableFuture<Valor>> valores = new ConcurrentHashMap<>();
+    private volatile boolean reltuplesDisponivel = true;
+    private volatile boolean explainDisponivel = true;
+
+    public ContagemAproximada(JdbcTemplate jdbcTemplate,
+            @Value("${contagem.aproximada.validade-segundos:300}") long validadeSegundos) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.validadeMillis = validadeSegundos * 1000;
+    }
+
+    public long estimar(String chave, String tabela, LongSupplier contagemExata) {
+        while (true) {
+            CompletableFuture<Valor> atual = valores.get(chave);
+            if (atual != null && !atual.isDone()) {
+                return aguardar(atual).total();
+            }
+            Valor valor = atual != null && !atual.isCompletedExceptionally() ? atual.join() : null;
+            if (valor != null && System.currentTimeMillis() - valor.calculadoEm() < validadeMillis) {
+                return valor.total();
+            }
+            CompletableFuture<Valor> novo = new CompletableFuture<>();
+            boolean meu = atual == null ? valores.putIfAbsent(chave, novo) == null : valores.replace(chave, atual, novo);
+            if (meu) {
+                return calcular(chave, novo, tabela, contagemExata).total();
+            }
+            // Outra thread trocou o futuro antes: volta e usa o dela
+        }
+    }
+
+    // Fora de qualquer trava do mapa: a consulta ao banco não segura o bin do ConcurrentHashMap
+    private Valor calcular(String chave, CompletableFuture<Valor> futuro, String tabela, LongSupplier contagemExata) {
+        try {
+            Long estimativa = tabela != null ? reltuples(tabela) : null;
+            Valor valor = new Valor(estimativa != null ? estimativa : contagemExata.getAsLong(), System.currentTimeMillis());
+            futuro.complete(valor);
+            return valor;
+        } catch (RuntimeException e) {
+            // Quem esperava recebe o mesmo erro; a próxima chamada tenta de novo
+            valores.remove(chave, futuro);
+            futuro.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Valor aguardar(CompletableFuture<Valor> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException causa ? causa : e;
+        }
+    }
+
+    public void invalidar(String chave) {
+        valores.remove(chave);
+    }
+
+    /**
+     * Linhas que o planejador espera para a consulta, ou nulo fora do Postgres.
+     * Custa um planejamento, não uma execução; a precisão depende das
+     * estatísticas do ANALYZE.
+     */
+    public Long estimarLinhas(String consulta, SqlParameterSource parametros) {
+        if (!explainDisponivel) {
+            return null;
+        }
+        try {
+            String plano = new NamedParameterJdbcTemplate(jdbcTemplate)
+                    .queryForObject("EXPLAIN (FORMAT JSON) " + consulta, parametros, String.class);
+            Matcher linhas = plano != null ? LINHAS_PLANO.matcher(plano) : null;
+            return linhas != null && linhas.find() ? Long.valueOf(linhas.group(1)) : null;
+        } catch (DataAccessException e) {
+            log.info("EXPLAIN indisponível neste banco, consultas filtradas ficam sem total estimado");
+            explainDisponivel = false;
+            return null;
+        }
+    }
+
+    private Long reltuples(String tabela) {
+        if (!reltuplesDisponivel) {
+            return null;
+        }
+        try {
+            Long estimativa = jdbcTemplate.queryForObject(
+                    "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, tabela);
+            // -1 (ou 0 em versões antigas) = tabela nunca analisada
+            return estimativa != null && estimativa > 0 ? estimativa : null;
+        } catch (DataAccessException e) {
+            log.info("reltuples indisponível neste banco, totais aproximados usarão contagem exata em cache");
+            reltuplesDisponivel = false;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.deliverytech.delivery.cache;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Transporte em processo: todos os contextos da mesma JVM que usam o mesmo
+ * canal recebem os eventos uns dos outros. Serve para rodar vários "nós"
+ * num único teste e como padrão em instalações de uma réplica só.
+ *
+ * <p>O registro de canais é estático (é ele que liga os contextos), então
+ * {@link #close()} tira deste canal os assinantes desta instância e o Spring o
+ * chama ao fechar o contexto: um nó encerrado não continua recebendo eventos
+ * nem fica preso na memória.
+ */
+public class LoopbackInvalidationTransport implements CacheInvalidationTransport, AutoCloseable {
+
+    private static final ConcurrentHashMap<String, List<Consumer<CacheInvalidationEvent>>> CANAIS = new ConcurrentHashMap<>();
+
+    private final String canal;
+    private final List<Consumer<CacheInvalidationEvent>> proprios = new CopyOnWriteArrayList<>();
+
+    public LoopbackInvalidationTransport(String canal) {
+        this.canal = canal;
+    }
+
+    @Override
+    public void publicar(CacheInvalidationEvent evento) {
+        List<Consumer<CacheInvalidationEvent>> assinantes = CANAIS.get(canal);
+        if (assinantes == null) {
+            return;
+        }
+        for (Consumer<CacheInvalidationEvent> assinante : assinantes) {
+            assinante.accept(evento);
+        }
+    }
+
+    @Override
+    public void assinar(Consumer<CacheInvalidationEvent> listener) {
+        proprios.add(listener);
+        CANAIS.compute(canal, (c, assinantes) -> {
+            List<Consumer<CacheInvalidationEvent>> lista = assinantes != null ? assinantes : new CopyOnWriteArrayList<>();
+            lista.add(listener);
+            return lista;
+        });
+    }
+
+    public void cancelar(Consumer<CacheInvalidationEvent> listener) {
+        proprios.remove(listener);
+        // Remove o canal vazio junto, atômico com quem estiver assinando nele
+        CANAIS.computeIfPresent(canal, (c, assinantes) -> {
+            assinantes.remove(listener);
+            return assinantes.isEmpty() ? null : assinantes;
+        });
+    }
+
+    @Override
+    public void close() {
+        proprios.forEach(this::cancelar);
+    }
+
+    static int assinantes(String canal) {
+        List<Consumer<CacheInvalidationEvent>> assinantes = CANAIS.get(canal);
+        return assinantes != null ? assinantes.size() : 0;
+    }
+}
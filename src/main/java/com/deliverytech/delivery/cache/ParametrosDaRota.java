@@ -0,0 +1,103 @@
+package com.deliverytech.delivery.cache;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.server.RequestPath;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Parâmetros de query que o método do controller de uma rota lê: os
+ * {@code @RequestParam}, os tipos simples sem anotação (ligados pelo nome) e
+ * {@code page}/{@code size}/{@code sort} de um {@link Pageable}. O
+ * {@link RespostaCacheFilter} monta a chave só com eles, para que parâmetros
+ * que o controller ignora não gerem chaves novas.
+ *
+ * <p>Resolvido uma vez por método e guardado. Devolve {@code null} quando a
+ * rota não tem handler ou o método aceita parâmetros livres (um
+ * {@code Map} ou um objeto ligado da query): aí não há como normalizar.
+ */
+public class ParametrosDaRota {
+
+    private static final ParameterNameDiscoverer NOMES = new DefaultParameterNameDiscoverer();
+
+    private final Supplier<HandlerMapping> handlerMapping;
+    // Vazio: método com parâmetros livres
+    private final Map<Method, Optional<Set<String>>> porMetodo = new ConcurrentHashMap<>();
+
+    public ParametrosDaRota(Supplier<HandlerMapping> handlerMapping) {
+        this.handlerMapping = handlerMapping;
+    }
+
+    public Set<String> aceitos(HttpServletRequest request) {
+        HandlerMethod handler = handler(request);
+        if (handler == null) {
+            return null;
+        }
+        return porMetodo.computeIfAbsent(handler.getMethod(), m -> lidos(handler)).orElse(null);
+    }
+
+    // O caminho ainda não foi analisado (estamos antes do DispatcherServlet): analisa e devolve como estava
+    private HandlerMethod handler(HttpServletRequest request) {
+        RequestPath anterior = ServletRequestPathUtils.hasParsedRequestPath(request)
+                ? ServletRequestPathUtils.getParsedRequestPath(request) : null;
+        ServletRequestPathUtils.parseAndCache(request);
+        try {
+            HandlerExecutionChain cadeia = handlerMapping.get().getHandler(request);
+            return cadeia != null && cadeia.getHandler() instanceof HandlerMethod metodo ? metodo : null;
+        } catch (Exception e) {
+            return null;
+        } finally {
+            ServletRequestPathUtils.setParsedRequestPath(anterior, request);
+        }
+    }
+
+    private static Optional<Set<String>> lidos(HandlerMethod handler) {
+        Set<String> nomes = new HashSet<>();
+        for (MethodParameter parametro : handler.getMethodParameters()) {
+            Class<?> tipo = parametro.getParameterType();
+            RequestParam requestParam = parametro.getParameterAnnotation(RequestParam.class);
+            if (Pageable.class.isAssignableFrom(tipo)) {
+                nomes.addAll(Set.of("page", "size", "sort"));
+            } else if (Sort.class.isAssignableFrom(tipo)) {
+                nomes.add("sort");
+            } else if (requestParam != null) {
+                if (Map.class.isAssignableFrom(tipo)) {
+                    return Optional.empty();
+                }
+                nomes.add(!requestParam.name().isEmpty() ? requestParam.name() : nome(parametro));
+            } else if (parametro.hasParameterAnnotations()) {
+                // @PathVariable, @RequestHeader, @RequestBody...: não vêm da query
+            } else if (BeanUtils.isSimpleProperty(tipo)) {
+                nomes.add(nome(parametro));
+            } else if (!tipo.getName().startsWith("jakarta.") && !tipo.getName().startsWith("org.springframework.")
+                    && !tipo.getName().startsWith("java.")) {
+                // Objeto do projeto sem anotação: o Spring o liga a partir de qualquer parâmetro da query
+                return Optional.empty();
+            }
+        }
+        return Optional.of(Set.copyOf(nomes));
+    }
+
+    private static String nome(MethodParameter parametro) {
+        parametro.initParameterNameDiscovery(NOMES);
+        return parametro.getParameterName();
+    }
+}
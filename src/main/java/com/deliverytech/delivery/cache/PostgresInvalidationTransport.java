@@ -0,0 +1,186 @@
+package com.deliverytech.delivery.cache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Transporte via LISTEN/NOTIFY do Postgres. Uma thread dedicada mantém uma
+ * conexão em LISTEN no canal configurado; a publicação usa pg_notify numa
+ * conexão qualquer do pool.
+ *
+ * <p>NOTIFY não é durável, então as duas pontas tratam a perda:
+ * <ul>
+ *   <li>publicação que falha vai para uma fila e a thread de LISTEN a reenvia
+ *   pela sua conexão; se a fila encher, os eventos são trocados por um único
+ *   pedido de ressincronização a todos os nós;</li>
+ *   <li>depois de uma reconexão do LISTEN, os eventos do intervalo se perderam:
+ *   o nó avisa o barramento, que descarta os caches e recarrega os snapshots.</li>
+ * </ul>
+ */
+public class PostgresInvalidationTransport implements CacheInvalidationTransport, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresInvalidationTransport.class);
+
+    private static final int TIMEOUT_POLL_MS = 500;
+    private static final long ESPERA_RECONEXAO_MS = 2000;
+    private static final int MAX_PENDENTES = 1000;
+
+    private final DataSource dataSource;
+    private final String canal;
+    private final List<Consumer<CacheInvalidationEvent>> assinantes = new CopyOnWriteArrayList<>();
+    private final List<Runnable> aoPerder = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<CacheInvalidationEvent> pendentes = new LinkedBlockingQueue<>(MAX_PENDENTES);
+    // Origem do pedido de ressincronização a enviar no lugar da fila que transbordou
+    private final AtomicReference<String> ressincronizacaoPendente = new AtomicReference<>();
+
+    private volatile boolean rodando;
+    private Thread ouvinte;
+
+    public PostgresInvalidationTransport(DataSource dataSource, String canal) {
+        if (!canal.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Nome de canal inválido: " + canal);
+        }
+        this.dataSource = dataSource;
+        this.canal = canal;
+    }
+
+    @Override
+    public void publicar(CacheInvalidationEvent evento) {
+        try (Connection conn = dataSource.getConnection()) {
+            notificar(conn, evento);
+        } catch (SQLException e) {
+            // Falha ao notificar não pode derrubar a escrita (já commitada): a thread de LISTEN reenvia
+            log.warn("Falha ao publicar invalidação {} no canal {}, reenvio agendado", evento, canal, e);
+            if (!pendentes.offer(evento)) {
+                ressincronizacaoPendente.set(evento.origem());
+            }
+        }
+    }
+
+    @Override
+    public void assinar(Consumer<CacheInvalidationEvent> listener) {
+        assinantes.add(listener);
+    }
+
+    @Override
+    public void aoPerderEventos(Runnable acao) {
+        aoPerder.add(acao);
+    }
+
+    @Override
+    public void start() {
+        rodando = true;
+        ouvinte = new Thread(this::escutar, "cache-invalidation-listener");
+        ouvinte.setDaemon(true);
+        ouvinte.start();
+    }
+
+    @Override
+    public void stop() {
+        rodando = false;
+        if (ouvinte != null) {
+            ouvinte.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return rodando;
+    }
+
+    private void escutar() {
+        boolean reconexao = false;
+        while (rodando) {
+            try (Connection conn = dataSource.getConnection()) {
+                try (Statement st = conn.createStatement()) {
+                    st.execute("LISTEN " + canal);
+                }
+                if (reconexao) {
+                    // Já em LISTEN de novo: o que chegar daqui em diante não se perde
+                    log.info("LISTEN no canal {} restabelecido, ressincronizando caches", canal);
+                    aoPerder.forEach(Runnable::run);
+                }
+                reconexao = true;
+                PGConnection pg = conn.unwrap(PGConnection.class);
+                while (rodando) {
+                    reenviarPendentes(conn);
+                    PGNotification[] notificacoes = pg.getNotifications(TIMEOUT_POLL_MS);
+                    if (notificacoes == null) {
+                        continue;
+                    }
+                    for (PGNotification n : notificacoes) {
+                        entregar(n.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!rodando) {
+                    return;
+                }
+                log.warn("Conexão de LISTEN no canal {} perdida, reconectando", canal, e);
+                try {
+                    Thread.sleep(ESPERA_RECONEXAO_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Só esta thread consome a fila; um evento sai dela depois de enviado
+    private void reenviarPendentes(Connection conn) throws SQLException {
+        String origem = ressincronizacaoPendente.getAndSet(null);
+        if (origem != null) {
+            pendentes.clear();
+            try {
+                notificar(conn, CacheInvalidationEvent.ressincronizacao(origem));
+            } catch (SQLException e) {
+                ressincronizacaoPendente.compareAndSet(null, origem);
+                throw e;
+            }
+            log.info("Fila de invalidações do canal {} transbordou, pedida ressincronização aos outros nós", canal);
+        }
+        CacheInvalidationEvent evento;
+        while ((evento = pendentes.peek()) != null) {
+            notificar(conn, evento);
+            pendentes.poll();
+        }
+    }
+
+    private void notificar(Connection conn, CacheInvalidationEvent evento) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT pg_notify(?, ?)")) {
+            ps.setString(1, canal);
+            ps.setString(2, evento.encode());
+            ps.execute();
+        }
+    }
+
+    private void entregar(String payload) {
+        CacheInvalidationEvent evento;
+        try {
+            evento = CacheInvalidationEvent.decode(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Payload de invalidação ignorado: {}", payload);
+            return;
+        }
+        for (Consumer<CacheInvalidationEvent> assinante : assinantes) {
+            assinante.accept(evento);
+        }
+    }
+}
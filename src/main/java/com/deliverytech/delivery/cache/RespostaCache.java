@@ -0,0 +1,115 @@
+package com.deliverytech.delivery.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import com.deliverytech.delivery.monitoramento.ContadorCache;
+
+/**
+ * Respostas HTTP do catálogo já prontas: o JSON final em UTF-8 e, se valer a
+ * pena, a versão gzip. Um acerto é só cópia de bytes para o socket, sem
+ * serviço, ModelMapper nem Jackson.
+ *
+ * <p>Qualquer invalidação dos caches listados em {@code invalidadoPor},
+ * vinda do {@link CacheInvalidationBus} (local ou de outro nó), descarta tudo:
+ * escritas no catálogo são raras e uma mesma entidade aparece em várias
+ * listagens. Cada entrada guarda a geração em que começou a ser montada; se
+ * houve invalidação no meio, ela nunca é servida.
+ */
+public class RespostaCache {
+
+    static final int TAMANHO_MINIMO_GZIP = 1024;
+
+    private final Set<String> invalidadoPor;
+    private final int capacidade;
+    private final int tamanhoMaximo;
+    private final ContadorCache contador;
+    private final Map<String, Resposta> respostas = new ConcurrentHashMap<>();
+    private final AtomicLong geracao = new AtomicLong();
+
+    public RespostaCache(CacheInvalidationBus cacheInvalidationBus, Set<String> invalidadoPor, int capacidade,
+                         int tamanhoMaximo, ContadorCache contador) {
+        this.invalidadoPor = Set.copyOf(invalidadoPor);
+        this.capacidade = capacidade;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.contador = contador;
+        cacheInvalidationBus.aoInvalidar(evento -> {
+            if (evento.isRessincronizacao() || this.invalidadoPor.contains(evento.cache())) {
+                invalidar();
+            }
+        });
+    }
+
+    /**
+     * Resposta guardada: corpo, corpo em gzip (nulo se pequeno demais) e os
+     * headers a repetir (CORS, Vary e os validadores ETag/Last-Modified).
+     */
+    public record Resposta(long geracao, String contentType, byte[] corpo, byte[] gzip,
+                           Map<String, List<String>> headers) {
+    }
+
+    public Resposta buscar(String chave) {
+        Resposta resposta = respostas.get(chave);
+        if (resposta == null || resposta.geracao() != geracao.get()) {
+            contador.falha();
+            return null;
+        }
+        contador.acerto();
+        return resposta;
+    }
+
+    /** Geração a ser informada em {@link #guardar}; lida antes de montar a resposta. */
+    public long geracaoAtual() {
+        return geracao.get();
+    }
+
+    public void guardar(String chave, long geracaoInicial, String contentType, byte[] corpo,
+                        Map<String, List<String>> headers) {
+        if (corpo.length > tamanhoMaximo || geracaoInicial != geracao.get()) {
+            return;
+        }
+        if (respostas.size() >= capacidade) {
+            descartarAlgumas();
+        }
+        byte[] gzip = corpo.length >= TAMANHO_MINIMO_GZIP ? gzip(corpo) : null;
+        respostas.put(chave, new Resposta(geracaoInicial, contentType, corpo, gzip, Map.copyOf(headers)));
+    }
+
+    public void invalidar() {
+        geracao.incrementAndGet();
+        respostas.clear();
+    }
+
+    public int tamanho() {
+        return respostas.size();
+    }
+
+    // Sem LRU: abre espaço descartando um oitavo das entradas, quaisquer que sejam
+    private void descartarAlgumas() {
+        int descartar = Math.max(1, capacidade / 8);
+        Iterator<String> chaves = respostas.keySet().iterator();
+        while (descartar-- > 0 && chaves.hasNext()) {
+            chaves.next();
+            chaves.remove();
+        }
+    }
+
+    private static byte[] gzip(byte[] corpo) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(corpo.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(corpo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] compactado = saida.toByteArray();
+        return compactado.length < corpo.length ? compactado : null;
+    }
+}
@@ -0,0 +1,216 @@
+package com.deliverytech.delivery.cache;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serve os GETs do catálogo a partir do {@link RespostaCache}. Roda depois da
+ * cadeia do Spring Security (autenticação, autorização e rate limit já
+ * aplicados) e antes do DispatcherServlet.
+ *
+ * <p>A chave é papel + Origin + caminho + parâmetros: o conteúdo do catálogo
+ * não depende do usuário, mas o papel separa as respostas por garantia e o
+ * Origin mantém corretos os headers de CORS guardados. Os parâmetros entram
+ * em ordem de nome e só se a rota os lê ({@link ParametrosDaRota}); com um
+ * parâmetro desconhecido a requisição passa sem cache, para que query
+ * aleatória não crie chaves que expulsem as respostas reais. Na falha, a resposta do
+ * controller é capturada e guardada se for um 200 em JSON, sem cookie.
+ * Com os validadores guardados ({@code ETag}/{@code Last-Modified}), o acerto
+ * também responde 304 a GETs condicionais sem tocar no corpo.
+ */
+public class RespostaCacheFilter extends OncePerRequestFilter {
+
+    static final String HEADER_RESULTADO = "X-Cache-Resposta";
+
+    // Headers do controller que precisam voltar no acerto; o resto vem dos filtros anteriores
+    private static final List<String> HEADERS_GUARDADOS = List.of(
+            HttpHeaders.VARY,
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN,
+            HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS,
+            HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS);
+
+    private final RespostaCache respostaCache;
+    private final RequestMatcher rotas;
+    private final Function<HttpServletRequest, Set<String>> parametrosAceitos;
+
+    public RespostaCacheFilter(RespostaCache respostaCache, RequestMatcher rotas,
+                               Function<HttpServletRequest, Set<String>> parametrosAceitos) {
+        this.respostaCache = respostaCache;
+        this.rotas = rotas;
+        this.parametrosAceitos = parametrosAceitos;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !rotas.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String chave = chave(request, parametrosAceitos.apply(request));
+        if (chave == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RespostaCache.Resposta guardada = respostaCache.buscar(chave);
+        if (guardada != null) {
+            escrever(request, response, guardada);
+            return;
+        }
+
+        long geracao = respostaCache.geracaoAtual();
+        ContentCachingResponseWrapper captura = new ContentCachingResponseWrapper(response);
+        captura.setHeader(HEADER_RESULTADO, "MISS");
+        try {
+            filterChain.doFilter(request, captura);
+            if (cacheavel(captura)) {
+                respostaCache.guardar(chave, geracao, captura.getContentType(), captura.getContentAsByteArray(),
+                        headersGuardados(captura));
+            }
+        } finally {
+            captura.copyBodyToResponse();
+        }
+    }
+
+    private static void escrever(HttpServletRequest request, HttpServletResponse response,
+                                 RespostaCache.Resposta guardada) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(guardada.contentType());
+        guardada.headers().forEach((nome, valores) -> valores.forEach(valor -> response.addHeader(nome, valor)));
+        response.setHeader(HEADER_RESULTADO, "HIT");
+        if (guardada.gzip() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (naoModificado(request, response, guardada)) {
+            return;
+        }
+        byte[] corpo = guardada.corpo();
+        if (guardada.gzip() != null) {
+            if (aceitaGzip(request)) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                corpo = guardada.gzip();
+            }
+        }
+        response.setContentLength(corpo.length);
+        response.getOutputStream().write(corpo);
+    }
+
+    // Mesma regra dos controllers (ServletWebRequest.checkNotModified), com os validadores guardados
+    private static boolean naoModificado(HttpServletRequest request, HttpServletResponse response,
+                                         RespostaCache.Resposta guardada) {
+        List<String> etag = guardada.headers().get(HttpHeaders.ETAG);
+        List<String> ultimaAlteracao = guardada.headers().get(HttpHeaders.LAST_MODIFIED);
+        if (etag == null && ultimaAlteracao == null) {
+            return false;
+        }
+        long ultimaAlteracaoMillis = -1;
+        if (ultimaAlteracao != null) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.LAST_MODIFIED, ultimaAlteracao.get(0));
+            ultimaAlteracaoMillis = headers.getLastModified();
+        }
+        return new ServletWebRequest(request, response)
+                .checkNotModified(etag != null ? etag.get(0) : null, ultimaAlteracaoMillis);
+    }
+
+    private static boolean cacheavel(ContentCachingResponseWrapper captura) {
+        String contentType = captura.getContentType();
+        return captura.getStatus() == HttpServletResponse.SC_OK
+                && contentType != null
+                && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                && captura.getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                && captura.getHeader(HttpHeaders.SET_COOKIE) == null;
+    }
+
+    private static Map<String, List<String>> headersGuardados(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String nome : HEADERS_GUARDADOS) {
+            Collection<String> valores = response.getHeaders(nome);
+            if (valores != null && !valores.isEmpty()) {
+                headers.put(nome, List.copyOf(valores));
+            }
+        }
+        return headers;
+    }
+
+    static boolean aceitaGzip(HttpServletRequest request) {
+        String aceitos = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (aceitos == null) {
+            return false;
+        }
+        for (String item : aceitos.split(",")) {
+            String[] partes = item.trim().split(";");
+            if (partes[0].trim().equalsIgnoreCase("gzip")) {
+                return partes.length == 1 || !partes[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    // null: a rota não é normalizável ou veio parâmetro que ela não lê
+    static String chave(HttpServletRequest request, Set<String> aceitos) {
+        if (aceitos == null) {
+            return null;
+        }
+        Map<String, String[]> parametros = new TreeMap<>(request.getParameterMap());
+        if (!aceitos.containsAll(parametros.keySet())) {
+            return null;
+        }
+        StringBuilder chave = new StringBuilder(papel()).append('|');
+        String origem = request.getHeader(HttpHeaders.ORIGIN);
+        if (origem != null) {
+            chave.append(origem);
+        }
+        chave.append('|').append(request.getRequestURI());
+        char separador = '?';
+        for (Map.Entry<String, String[]> parametro : parametros.entrySet()) {
+            // Valores repetidos na ordem recebida: em sort=a&sort=b a ordem importa
+            for (String valor : parametro.getValue()) {
+                chave.append(separador).append(parametro.getKey()).append('=')
+                        .append(URLEncoder.encode(valor, StandardCharsets.UTF_8));
+                separador = '&';
+            }
+        }
+        return chave.toString();
+    }
+
+    private static String papel() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao == null || !autenticacao.isAuthenticated() || autenticacao instanceof AnonymousAuthenticationToken) {
+            return "anonimo";
+        }
+        return autenticacao.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,212 @@
+package com.deliverytech.delivery.cache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.deliverytech.delivery.condicional.Versao;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.geo.CepGeocoder;
+import com.deliverytech.delivery.geo.RestauranteSpatialIndex;
+import com.deliverytech.delivery.repository.restauranteRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Cache write-through, de leitura predominante, dos restaurantes.
+ * Todas as leituras vão a um snapshot imutável; cada escrita monta um novo
+ * snapshot e o troca de uma vez, então quem lê nunca vê um estado parcial
+ * e não toma lock. As escritas de outros nós chegam pelo
+ * {@link CacheInvalidationBus} e recarregam só o restaurante afetado.
+ */
+@Component
+public class RestauranteCatalogCache {
+
+    public static final String NOME_CACHE = "restaurantes-catalogo";
+
+    private static final Logger log = LoggerFactory.getLogger(RestauranteCatalogCache.class);
+
+    private static final Comparator<RestauranteCatalogado> POR_NOME =
+            Comparator.comparing(RestauranteCatalogado::nome, Comparator.nullsLast(String::compareTo));
+
+    private final restauranteRepository restauranteRepository;
+    private final CepGeocoder cepGeocoder;
+    private final RestauranteSpatialIndex restauranteSpatialIndex;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private volatile Snapshot snapshot;
+
+    // ReentrantLock e não synchronized: carregar faz JDBC e, em thread virtual, synchronized prenderia a carrier
+    private final ReentrantLock trava = new ReentrantLock();
+
+    public RestauranteCatalogCache(restauranteRepository restauranteRepository, CepGeocoder cepGeocoder,
+                                   RestauranteSpatialIndex restauranteSpatialIndex, CacheInvalidationBus cacheInvalidationBus) {
+        this.restauranteRepository = restauranteRepository;
+        this.cepGeocoder = cepGeocoder;
+        this.restauranteSpatialIndex = restauranteSpatialIndex;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @PostConstruct
+    void registrarOuvinteRemoto() {
+        cacheInvalidationBus.aoReceberRemoto(NOME_CACHE, chave -> {
+            if (chave instanceof Long id) {
+                recarregar(id);
+            } else {
+                carregar();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        trava.lock();
+        try {
+            List<Restaurante> todos = restauranteRepository.findAll();
+            todos.forEach(cepGeocoder::completarCoordenadas);
+            restauranteSpatialIndex.recarregar(todos.stream().filter(Restaurante::isAtivo).toList());
+            snapshot = Snapshot.de(todos.stream().map(RestauranteCatalogado::de).toList());
+            log.info("Catálogo de restaurantes carregado: {} restaurantes", todos.size());
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    public Optional<RestauranteCatalogado> buscarPorId(Long id) {
+        return Optional.ofNullable(atual().porId().get(id));
+    }
+
+    public Optional<RestauranteCatalogado> buscarAtivoPorNome(String nome) {
+        return Optional.ofNullable(atual().ativosPorNome().get(nome));
+    }
+
+    public List<RestauranteCatalogado> listarPorCategoria(String categoria) {
+        return atual().porCategoria().getOrDefault(categoria, List.of());
+    }
+
+    public List<RestauranteCatalogado> listarAtivos() {
+        return atual().ativos();
+    }
+
+    public List<RestauranteCatalogado> listarTop5PorNome() {
+        return atual().top5PorNome();
+    }
+
+    /** Versão do catálogo inteiro, calculada junto com o snapshot: ETag das listagens sem ir ao banco. */
+    public Versao versao() {
+        return atual().versao();
+    }
+
+    /**
+     * Grava o restaurante no catálogo depois do commit da transação corrente
+     * e avisa os demais nós.
+     */
+    public void gravar(Restaurante restaurante) {
+        cepGeocoder.completarCoordenadas(restaurante);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A cópia é tirada só após o commit, com a versão que o flush gravou
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar(RestauranteCatalogado.de(restaurante));
+                }
+            });
+        } else {
+            aplicar(RestauranteCatalogado.de(restaurante));
+        }
+        cacheInvalidationBus.evict(NOME_CACHE, restaurante.getId());
+    }
+
+    private void recarregar(Long id) {
+        restauranteRepository.findById(id).ifPresent(restaurante -> {
+            cepGeocoder.completarCoordenadas(restaurante);
+            aplicar(RestauranteCatalogado.de(restaurante));
+        });
+    }
+
+    private void aplicar(RestauranteCatalogado catalogado) {
+        trava.lock();
+        try {
+            Map<Long, RestauranteCatalogado> porId = new HashMap<>(atual().porId());
+            // Commits concorrentes podem chegar fora de ordem: não troca uma versão mais nova por uma antiga
+            RestauranteCatalogado anterior = porId.get(catalogado.id());
+            if (anterior != null && anterior.versao() != null && catalogado.versao() != null
+                    && anterior.versao() > catalogado.versao()) {
+                return;
+            }
+            porId.put(catalogado.id(), catalogado);
+            snapshot = Snapshot.de(porId.values());
+            restauranteSpatialIndex.atualizar(catalogado.toEntity());
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private Snapshot atual() {
+        Snapshot atual = snapshot;
+        if (atual == null) {
+            // Primeira leitura antes do ApplicationReadyEvent
+            carregar();
+            atual = snapshot;
+        }
+        return atual;
+    }
+
+    private record Snapshot(Map<Long, RestauranteCatalogado> porId,
+                            Map<String, RestauranteCatalogado> ativosPorNome,
+                            Map<String, List<RestauranteCatalogado>> porCategoria,
+                            List<RestauranteCatalogado> ativos,
+                            List<RestauranteCatalogado> top5PorNome,
+                            Versao versao) {
+
+        static Snapshot de(Collection<RestauranteCatalogado> restaurantes) {
+            List<RestauranteCatalogado> ordenados = new ArrayList<>(restaurantes);
+            ordenados.sort(POR_NOME);
+
+            Map<Long, RestauranteCatalogado> porId = new HashMap<>();
+            Map<String, RestauranteCatalogado> ativosPorNome = new HashMap<>();
+            Map<String, List<RestauranteCatalogado>> porCategoria = new HashMap<>();
+            List<RestauranteCatalogado> ativos = new ArrayList<>();
+            long somaVersoes = 0;
+            long maiorId = 0;
+            LocalDateTime ultimaAlteracao = null;
+            for (RestauranteCatalogado r : ordenados) {
+                porId.put(r.id(), r);
+                somaVersoes += r.versao() == null ? 0 : r.versao();
+                maiorId = Math.max(maiorId, r.id());
+                if (r.atualizadoEm() != null && (ultimaAlteracao == null || r.atualizadoEm().isAfter(ultimaAlteracao))) {
+                    ultimaAlteracao = r.atualizadoEm();
+                }
+                if (r.categoria() != null) {
+                    porCategoria.computeIfAbsent(r.categoria(), c -> new ArrayList<>()).add(r);
+                }
+                if (r.ativo()) {
+                    ativos.add(r);
+                    if (r.nome() != null) {
+                        ativosPorNome.putIfAbsent(r.nome(), r);
+                    }
+                }
+            }
+            Map<String, List<RestauranteCatalogado>> categoriasImutaveis = new HashMap<>();
+            porCategoria.forEach((categoria, lista) -> categoriasImutaveis.put(categoria, List.copyOf(lista)));
+
+            return new Snapshot(Map.copyOf(porId), Map.copyOf(ativosPorNome), Map.copyOf(categoriasImutaveis),
+                    List.copyOf(ativos), List.copyOf(ativos.subList(0, Math.min(5, ativos.size()))),
+                    Versao.daColecao("restaurantes", ordenados.size(), somaVersoes, maiorId, ultimaAlteracao));
+        }
+    }
+}
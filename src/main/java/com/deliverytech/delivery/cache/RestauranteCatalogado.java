@@ -0,0 +1,60 @@
+package com.deliverytech.delivery.cache;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.deliverytech.delivery.dto.response.RestauranteResponseDTO;
+import com.deliverytech.delivery.entity.Restaurante;
+
+/**
+ * Cópia imutável dos metadados de um restaurante guardada no
+ * {@link RestauranteCatalogCache}.
+ */
+public record RestauranteCatalogado(Long id, String nome, String categoria, String endereco, String telefone,
+                                    String cep, BigDecimal taxaEntrega, BigDecimal avaliacao, Long totalAvaliacoes,
+                                    boolean ativo, Double latitude, Double longitude, Long versao,
+                                    LocalDateTime atualizadoEm) {
+
+    public static RestauranteCatalogado de(Restaurante restaurante) {
+        return new RestauranteCatalogado(restaurante.getId(), restaurante.getNome(), restaurante.getCategoria(),
+                restaurante.getEndereco(), restaurante.getTelefone(), restaurante.getCep(),
+                restaurante.getTaxaEntrega(), restaurante.getAvaliacao(), restaurante.getTotalAvaliacoes(), restaurante.isAtivo(),
+                restaurante.getLatitude(), restaurante.getLongitude(), restaurante.getVersao(), restaurante.getAtualizadoEm());
+    }
+
+    public RestauranteResponseDTO toResponseDTO() {
+        RestauranteResponseDTO dto = new RestauranteResponseDTO();
+        dto.setId(id);
+        dto.setNome(nome);
+        dto.setCategoria(categoria);
+        dto.setEndereco(endereco);
+        dto.setTelefone(telefone);
+        dto.setTaxaEntrega(taxaEntrega);
+        dto.setAvaliacao(avaliacao);
+        dto.setTotalAvaliacoes(totalAvaliacoes);
+        dto.setAtivo(ativo);
+        dto.setLatitude(latitude);
+        dto.setLongitude(longitude);
+        return dto;
+    }
+
+    // Entidade desanexada com o mesmo ID, para os índices em memória; FKs usam getReferenceById
+    public Restaurante toEntity() {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(id);
+        restaurante.setNome(nome);
+        restaurante.setCategoria(categoria);
+        restaurante.setEndereco(endereco);
+        restaurante.setTelefone(telefone);
+        restaurante.setCep(cep);
+        restaurante.setTaxaEntrega(taxaEntrega);
+        restaurante.setAvaliacao(avaliacao);
+        restaurante.setTotalAvaliacoes(totalAvaliacoes);
+        restaurante.setAtivo(ativo);
+        restaurante.setLatitude(latitude);
+        restaurante.setLongitude(longitude);
+        restaurante.setVersao(versao);
+        restaurante.setAtualizadoEm(atualizadoEm);
+        return restaurante;
+    }
+}
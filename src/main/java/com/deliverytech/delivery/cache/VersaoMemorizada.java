@@ -0,0 +1,49 @@
+package com.deliverytech.delivery.cache;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.deliverytech.delivery.condicional.Versao;
+
+/**
+ * Validador de uma coleção calculado no banco uma vez e reaproveitado até a
+ * próxima invalidação de um dos caches de {@code invalidadoPor} (local ou
+ * vinda de outro nó). O valor continua vindo do banco, então o ETag é o mesmo
+ * em todas as réplicas; só deixa de custar uma agregação por GET.
+ *
+ * <p>Como no {@link RespostaCache}, um valor calculado enquanto havia uma
+ * invalidação em curso não é guardado: a leitura pode ter visto o estado de
+ * antes do commit.
+ */
+public class VersaoMemorizada {
+
+    private record Registro(long geracao, Versao versao) {
+    }
+
+    private final Set<String> invalidadoPor;
+    private final AtomicLong geracao = new AtomicLong();
+    private volatile Registro registro;
+
+    public VersaoMemorizada(CacheInvalidationBus cacheInvalidationBus, Set<String> invalidadoPor) {
+        this.invalidadoPor = Set.copyOf(invalidadoPor);
+        cacheInvalidationBus.aoInvalidar(evento -> {
+            if (evento.isRessincronizacao() || this.invalidadoPor.contains(evento.cache())) {
+                geracao.incrementAndGet();
+            }
+        });
+    }
+
+    public Versao obter(Supplier<Versao> calcular) {
+        long geracaoInicial = geracao.get();
+        Registro atual = registro;
+        if (atual != null && atual.geracao() == geracaoInicial) {
+            return atual.versao();
+        }
+        Versao versao = calcular.get();
+        if (geracao.get() == geracaoInicial) {
+            registro = new Registro(geracaoInicial, versao);
+        }
+        return versao;
+    }
+}
@@ -0,0 +1,102 @@
+package com.deliverytech.delivery.concorrencia;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Acompanha, via JFR, os momentos em que uma thread virtual ficou presa à
+ * thread carrier (bloqueio dentro de synchronized ou de código nativo, como
+ * um driver JDBC antigo). Cada ocorrência acima do limiar vira a métrica
+ * {@code threads.virtuais.pinning}, marcada com o primeiro frame da aplicação;
+ * a primeira de cada origem é logada com a pilha.
+ */
+public class PinningMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PinningMonitor.class);
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final String PACOTE_APP = "com.deliverytech.";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration limiar;
+    private final Set<String> origensLogadas = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public PinningMonitor(MeterRegistry meterRegistry, Duration limiar) {
+        this.meterRegistry = meterRegistry;
+        this.limiar = limiar;
+    }
+
+    public void iniciar() {
+        try {
+            stream = new RecordingStream();
+            stream.enable(EVENTO).withThreshold(limiar).withStackTrace();
+            stream.onEvent(EVENTO, this::registrar);
+            stream.startAsync();
+            log.info("Monitor de pinning de threads virtuais ativo (limiar {} ms)", limiar.toMillis());
+        } catch (RuntimeException e) {
+            // JFR indisponível (ex.: imagem nativa): segue sem o monitor
+            log.warn("Não foi possível iniciar o monitor de pinning: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void registrar(RecordedEvent evento) {
+        String origem = origem(evento.getStackTrace());
+        Timer.builder("threads.virtuais.pinning")
+                .description("Tempo em que uma thread virtual ficou presa à carrier")
+                .tag("origem", origem)
+                .register(meterRegistry)
+                .record(evento.getDuration());
+        if (origensLogadas.add(origem)) {
+            log.warn("Thread virtual presa à carrier por {} ms em {}:\n{}",
+                    evento.getDuration().toMillis(), origem, pilha(evento.getStackTrace()));
+        }
+    }
+
+    // Primeiro frame do nosso código; se não houver, o frame do topo
+    static String origem(RecordedStackTrace pilha) {
+        if (pilha == null || pilha.getFrames().isEmpty()) {
+            return "desconhecida";
+        }
+        List<RecordedFrame> frames = pilha.getFrames();
+        for (RecordedFrame frame : frames) {
+            String tipo = frame.getMethod().getType().getName();
+            if (tipo.startsWith(PACOTE_APP)) {
+                return tipo + "." + frame.getMethod().getName();
+            }
+        }
+        RecordedFrame topo = frames.get(0);
+        return topo.getMethod().getType().getName() + "." + topo.getMethod().getName();
+    }
+
+    private static String pilha(RecordedStackTrace pilha) {
+        if (pilha == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (RecordedFrame frame : pilha.getFrames()) {
+            sb.append("\tat ").append(frame.getMethod().getType().getName()).append('.')
+                    .append(frame.getMethod().getName()).append(':').append(frame.getLineNumber()).append('\n');
+        }
+        return sb.toString();
+    }
+}
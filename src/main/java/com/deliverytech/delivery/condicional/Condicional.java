@@ -0,0 +1,51 @@
+package com.deliverytech.delivery.condicional;
+
+import java.time.ZoneId;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * GET condicional para os controllers. Uso:
+ *
+ * <pre>
+ * if (Condicional.naoModificado(request, service.versao(id))) {
+ *     return null; // 304 já preenchido
+ * }
+ * </pre>
+ *
+ * Compara {@code If-None-Match}/{@code If-Modified-Since} com a {@link Versao}
+ * (via {@link WebRequest#checkNotModified(String, long)}), grava
+ * {@code ETag}/{@code Last-Modified} na resposta e troca o {@code no-store}
+ * padrão do Spring Security por {@code private, no-cache}: o cliente guarda a
+ * resposta, mas revalida antes de usar.
+ */
+public final class Condicional {
+
+    static final String CACHE_CONTROL = "private, no-cache";
+
+    private Condicional() {
+    }
+
+    /**
+     * @param versao nula quando o recurso não existe; a requisição segue e o
+     *               controller responde o erro de sempre
+     */
+    public static boolean naoModificado(WebRequest request, Versao versao) {
+        if (versao == null) {
+            return false;
+        }
+        if (request instanceof NativeWebRequest nativo) {
+            HttpServletResponse response = nativo.getNativeResponse(HttpServletResponse.class);
+            if (response != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            }
+        }
+        long ultimaAlteracao = versao.ultimaAlteracao() == null ? -1
+                : versao.ultimaAlteracao().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return request.checkNotModified(versao.etag(), ultimaAlteracao);
+    }
+}
@@ -0,0 +1,40 @@
+package com.deliverytech.delivery.condicional;
+
+import java.time.LocalDateTime;
+
+import com.deliverytech.delivery.projection.VersaoColecao;
+import com.deliverytech.delivery.projection.VersaoEntidade;
+
+/**
+ * Validadores HTTP de um recurso: ETag fraco montado só com metadados de
+ * versão (id + versão da entidade, ou total + soma das versões + maior id de
+ * uma coleção) e a data da última alteração para o {@code Last-Modified}.
+ * Fraco porque o mesmo conteúdo pode sair em JSON puro ou em gzip.
+ */
+public record Versao(String etag, LocalDateTime ultimaAlteracao) {
+
+    public static Versao daEntidade(String tipo, Long id, Long versao, LocalDateTime atualizadoEm) {
+        return new Versao(etag(tipo + "-" + id + "-" + (versao == null ? 0 : versao)), atualizadoEm);
+    }
+
+    public static Versao daEntidade(String tipo, VersaoEntidade entidade) {
+        return daEntidade(tipo, entidade.getId(), entidade.getVersao(), entidade.getAtualizadoEm());
+    }
+
+    public static Versao daColecao(String tipo, long total, long somaVersoes, long maiorId, LocalDateTime ultimaAlteracao) {
+        return new Versao(etag(tipo + "-c" + total + "-" + somaVersoes + "-" + maiorId), ultimaAlteracao);
+    }
+
+    public static Versao daColecao(String tipo, VersaoColecao colecao) {
+        return daColecao(tipo, valor(colecao.getTotal()), valor(colecao.getSomaVersoes()), valor(colecao.getMaiorId()),
+                colecao.getUltimaAlteracao());
+    }
+
+    private static long valor(Long numero) {
+        return numero == null ? 0 : numero;
+    }
+
+    private static String etag(String conteudo) {
+        return "W/\"" + conteudo + "\"";
+    }
+}
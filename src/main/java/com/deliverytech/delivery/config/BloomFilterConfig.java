@@ -0,0 +1,55 @@
+package com.deliverytech.delivery.config;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deliverytech.delivery.bloom.EmailBloomFilter;
+import com.deliverytech.delivery.repository.clienteRepository;
+import com.deliverytech.delivery.repository.usuarioRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class BloomFilterConfig {
+
+    @Value("${bloom.email.taxa-falso-positivo:0.01}")
+    private double taxaFalsoPositivo;
+
+    @Value("${bloom.email.capacidade-minima:10000}")
+    private long capacidadeMinima;
+
+    @Bean
+    public EmailBloomFilter usuarioEmailFilter(usuarioRepository usuarioRepository, MeterRegistry meterRegistry,
+                                               PlatformTransactionManager transactionManager) {
+        return new EmailBloomFilter("usuarios", usuarioRepository::count,
+                percorrer(transactionManager, usuarioRepository::percorrerEmails),
+                taxaFalsoPositivo, capacidadeMinima, meterRegistry);
+    }
+
+    @Bean
+    public EmailBloomFilter clienteEmailFilter(clienteRepository clienteRepository, MeterRegistry meterRegistry,
+                                               PlatformTransactionManager transactionManager) {
+        return new EmailBloomFilter("clientes", clienteRepository::count,
+                percorrer(transactionManager, clienteRepository::percorrerEmails),
+                taxaFalsoPositivo, capacidadeMinima, meterRegistry);
+    }
+
+    // O cursor do Stream vive dentro de uma transação só de leitura, aberta pelo tempo da carga
+    private static Consumer<Consumer<String>> percorrer(PlatformTransactionManager transactionManager,
+                                                        Supplier<Stream<String>> emails) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+        return acao -> transacao.executeWithoutResult(status -> {
+            try (Stream<String> stream = emails.get()) {
+                stream.forEach(acao);
+            }
+        });
+    }
+}
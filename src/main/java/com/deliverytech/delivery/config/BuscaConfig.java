@@ -0,0 +1,31 @@
+package com.deliverytech.delivery.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.deliverytech.delivery.busca.ClienteNomeSearch;
+import com.deliverytech.delivery.busca.MemoriaClienteNomeSearch;
+import com.deliverytech.delivery.busca.PostgresClienteNomeSearch;
+import com.deliverytech.delivery.cache.ContagemAproximada;
+import com.deliverytech.delivery.repository.clienteRepository;
+
+@Configuration
+public class BuscaConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "busca.clientes.indice", havingValue = "postgres")
+    public ClienteNomeSearch postgresClienteNomeSearch(NamedParameterJdbcTemplate jdbcTemplate,
+                                                       ContagemAproximada contagemAproximada,
+                                                       @Value("${busca.clientes.exigir-indice:true}") boolean exigirIndice) {
+        return new PostgresClienteNomeSearch(jdbcTemplate, contagemAproximada, exigirIndice);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "busca.clientes.indice", havingValue = "memoria", matchIfMissing = true)
+    public ClienteNomeSearch memoriaClienteNomeSearch(clienteRepository clienteRepository) {
+        return new MemoriaClienteNomeSearch(clienteRepository);
+    }
+}
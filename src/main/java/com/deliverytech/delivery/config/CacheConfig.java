@@ -1,10 +1,106 @@
 package com.deliverytech.delivery.config;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.deliverytech.delivery.cache.CacheInvalidationBus;
+import com.deliverytech.delivery.cache.CacheInvalidationTransport;
+import com.deliverytech.delivery.cache.LoopbackInvalidationTransport;
+import com.deliverytech.delivery.cache.ParametrosDaRota;
+import com.deliverytech.delivery.cache.PostgresInvalidationTransport;
+import com.deliverytech.delivery.cache.RespostaCache;
+import com.deliverytech.delivery.cache.RespostaCacheFilter;
+import com.deliverytech.delivery.cache.VersaoMemorizada;
+import com.deliverytech.delivery.monitoramento.ContadorCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
-    
+
+    @Value("${cache.invalidacao.canal:catalogo_cache}")
+    private String canal;
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.invalidacao.transporte", havingValue = "postgres")
+    public CacheInvalidationTransport postgresInvalidationTransport(DataSource dataSource) {
+        return new PostgresInvalidationTransport(dataSource, canal);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.invalidacao.transporte", havingValue = "loopback", matchIfMissing = true)
+    public CacheInvalidationTransport loopbackInvalidationTransport() {
+        return new LoopbackInvalidationTransport(canal);
+    }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(CacheManager cacheManager, CacheInvalidationTransport transport) {
+        return new CacheInvalidationBus(cacheManager, transport);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.respostas.habilitado", havingValue = "true", matchIfMissing = true)
+    public RespostaCache respostaCache(CacheInvalidationBus cacheInvalidationBus, MeterRegistry meterRegistry,
+            @Value("${cache.respostas.invalidado-por:produto,produtos,produtos-disponiveis,restaurantes-catalogo,restaurantes-contagem}") String[] invalidadoPor,
+            @Value("${cache.respostas.capacidade:2000}") int capacidade,
+            @Value("${cache.respostas.tamanho-maximo-kb:1024}") int tamanhoMaximoKb) {
+        Set<String> caches = Set.copyOf(Arrays.stream(invalidadoPor).map(String::trim).toList());
+        return new RespostaCache(cacheInvalidationBus, caches, capacidade, tamanhoMaximoKb * 1024,
+                ContadorCache.de(meterRegistry, "respostas"));
+    }
+
+    // Toda escrita de produto passa por evict("produtos", "todos"): a versão do catálogo cai junto
+    @Bean
+    public VersaoMemorizada versaoCatalogoProdutos(CacheInvalidationBus cacheInvalidationBus) {
+        return new VersaoMemorizada(cacheInvalidationBus, Set.of("produtos", "produto"));
+    }
+
+    // Depois da cadeia do Spring Security: só chega aqui quem já passou por autorização e rate limit.
+    // O mapping do MVC é buscado na primeira requisição: ainda não existe quando os filtros são registrados.
+    @Bean
+    @ConditionalOnProperty(name = "cache.respostas.habilitado", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RespostaCacheFilter> respostaCacheFilter(RespostaCache respostaCache,
+            @Value("${cache.respostas.rotas:/produtos/**,/restaurantes/**}") String[] rotas,
+            @Value("${cache.respostas.ignorar:}") String[] ignorar,
+            @Qualifier("requestMappingHandlerMapping") ObjectProvider<HandlerMapping> handlerMapping) {
+        RequestMatcher alvo = new OrRequestMatcher(padroes(rotas));
+        List<RequestMatcher> ignoradas = padroes(ignorar);
+        if (!ignoradas.isEmpty()) {
+            alvo = new AndRequestMatcher(alvo, new NegatedRequestMatcher(new OrRequestMatcher(ignoradas)));
+        }
+        FilterRegistrationBean<RespostaCacheFilter> registro =
+                new FilterRegistrationBean<>(new RespostaCacheFilter(respostaCache, alvo,
+                        new ParametrosDaRota(handlerMapping::getObject)::aceitos));
+        registro.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registro;
+    }
+
+    private static List<RequestMatcher> padroes(String[] padroes) {
+        return Arrays.stream(padroes)
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .<RequestMatcher>map(AntPathRequestMatcher::new)
+                .toList();
+    }
 }
@@ -0,0 +1,46 @@
+package com.deliverytech.delivery.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+
+import com.deliverytech.delivery.monitoramento.PrimeiraRequisicaoFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class InicializacaoConfig {
+
+    // Com spring.main.lazy-initialization=true (perfil inicio-rapido) continuam na partida os controllers
+    // (e, pelas dependências, serviços, repositórios e caches) e os beans com @Scheduled, que num bean
+    // preguiçoso nunca seriam agendados. Adia-se o que não está no caminho das requisições.
+    @Bean
+    public static LazyInitializationExcludeFilter beansDaPartida() {
+        return (nome, definicao, tipo) -> tipo != null
+                && (AnnotatedElementUtils.hasAnnotation(tipo, Controller.class)
+                || AnnotatedElementUtils.hasAnnotation(tipo, ControllerAdvice.class)
+                || temAgendamento(tipo));
+    }
+
+    @Bean
+    public FilterRegistrationBean<PrimeiraRequisicaoFilter> primeiraRequisicaoFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<PrimeiraRequisicaoFilter> registro =
+                new FilterRegistrationBean<>(new PrimeiraRequisicaoFilter(meterRegistry));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+
+    private static boolean temAgendamento(Class<?> tipo) {
+        boolean[] encontrado = {false};
+        ReflectionUtils.doWithMethods(tipo, metodo -> encontrado[0] = true,
+                metodo -> !encontrado[0] && AnnotatedElementUtils.hasAnnotation(metodo, Scheduled.class));
+        return encontrado[0];
+    }
+}
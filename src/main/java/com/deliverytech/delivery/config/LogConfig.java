@@ -0,0 +1,31 @@
+package com.deliverytech.delivery.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import com.deliverytech.delivery.monitoramento.LogRequisicaoFilter;
+
+@Configuration
+public class LogConfig {
+
+    // Primeiro da cadeia: o requestId e o nível valem para tudo que vem depois, inclusive a segurança.
+    // Fica por fora do SqlMonitorFilter para já encontrar as estatísticas de SQL na volta.
+    @Bean
+    public FilterRegistrationBean<LogRequisicaoFilter> logRequisicaoFilter(
+            @Value("${logging.requisicao.amostragem:0.01}") double amostragem,
+            @Value("${logging.requisicao.respeitar-traceparent:false}") boolean respeitarTraceparent,
+            @Value("${logging.requisicao.token:}") String token,
+            Environment environment) {
+        // Sem token, o X-Log-Level só vale em desenvolvimento
+        boolean headerSemToken = environment.acceptsProfiles(Profiles.of("dev"));
+        FilterRegistrationBean<LogRequisicaoFilter> registro = new FilterRegistrationBean<>(
+                new LogRequisicaoFilter(amostragem, respeitarTraceparent, token, headerSemToken));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registro;
+    }
+}
@@ -0,0 +1,46 @@
+package com.deliverytech.delivery.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.deliverytech.delivery.monitoramento.CacheManagerMedido;
+import com.deliverytech.delivery.monitoramento.MetricasServico;
+import com.deliverytech.delivery.monitoramento.ServicoTimerAspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public MetricasServico metricasServico(MeterRegistry meterRegistry,
+            @Value("${metricas.servicos.percentis:0.5,0.95,0.99}") double[] percentis,
+            @Value("${metricas.servicos.slo:10ms,50ms,100ms,250ms,500ms,1s}") Duration[] slos) {
+        return new MetricasServico(meterRegistry, percentis, slos);
+    }
+
+    @Bean
+    public ServicoTimerAspect servicoTimerAspect(MetricasServico metricasServico) {
+        return new ServicoTimerAspect(metricasServico);
+    }
+
+    // static e com ObjectProvider: o registry só é buscado quando o CacheManager aparece
+    @Bean
+    public static BeanPostProcessor cacheManagerMedidoPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager && !(bean instanceof CacheManagerMedido)) {
+                    return new CacheManagerMedido(cacheManager, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
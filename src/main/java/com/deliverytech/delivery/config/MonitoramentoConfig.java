@@ -0,0 +1,42 @@
+package com.deliverytech.delivery.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.deliverytech.delivery.monitoramento.SqlMonitor;
+import com.deliverytech.delivery.monitoramento.SqlMonitorFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "sql.monitor.habilitado", havingValue = "true", matchIfMissing = true)
+public class MonitoramentoConfig {
+
+    // static: o post-processor precisa existir antes do DataSource ser criado
+    @Bean
+    public static BeanPostProcessor sqlMonitorDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? SqlMonitor.envolver(dataSource) : bean;
+            }
+        };
+    }
+
+    // Antes do Spring Security, para contar também o SQL da autenticação
+    @Bean
+    public FilterRegistrationBean<SqlMonitorFilter> sqlMonitorFilter(MeterRegistry meterRegistry,
+            @Value("${sql.monitor.limiar-repeticao:5}") int limiarRepeticao) {
+        FilterRegistrationBean<SqlMonitorFilter> registro =
+                new FilterRegistrationBean<>(new SqlMonitorFilter(meterRegistry, limiarRepeticao));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+}
@@ -0,0 +1,74 @@
+package com.deliverytech.delivery.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import com.deliverytech.delivery.ratelimit.GrupoLimite;
+import com.deliverytech.delivery.ratelimit.RateLimiter;
+import com.deliverytech.delivery.security.RateLimitFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Grupos de limite lidos de {@code ratelimit.grupos} (em ordem; vale o primeiro
+ * que casar) e de {@code ratelimit.grupo.<nome>.*}:
+ * <ul>
+ * <li>{@code rotas}: lista separada por vírgula, "MÉTODO /padrão" ou só "/padrão";</li>
+ * <li>{@code limite} e {@code periodo-segundos}: requisições por período, por chave.</li>
+ * </ul>
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(Environment env, MeterRegistry meterRegistry) {
+        return new RateLimitFilter(grupos(env), meterRegistry);
+    }
+
+    // O filtro roda dentro da cadeia do Spring Security (depois do JWT), não como filtro solto do servlet
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filtro) {
+        FilterRegistrationBean<RateLimitFilter> registro = new FilterRegistrationBean<>(filtro);
+        registro.setEnabled(false);
+        return registro;
+    }
+
+    private static List<GrupoLimite> grupos(Environment env) {
+        List<GrupoLimite> grupos = new ArrayList<>();
+        if (!env.getProperty("ratelimit.habilitado", Boolean.class, true)) {
+            return grupos;
+        }
+        int maxChaves = env.getProperty("ratelimit.max-chaves", Integer.class, 100_000);
+        for (String nome : env.getProperty("ratelimit.grupos", String[].class, new String[0])) {
+            String prefixo = "ratelimit.grupo." + nome.trim() + ".";
+            int limite = env.getRequiredProperty(prefixo + "limite", Integer.class);
+            long periodo = env.getProperty(prefixo + "periodo-segundos", Long.class, 60L);
+            List<RequestMatcher> rotas = Arrays.stream(env.getRequiredProperty(prefixo + "rotas", String[].class))
+                    .map(RateLimitConfig::rota)
+                    .toList();
+            grupos.add(new GrupoLimite(
+                    new RateLimiter(nome.trim(), limite, TimeUnit.SECONDS.toNanos(periodo), maxChaves),
+                    new OrRequestMatcher(rotas)));
+        }
+        return grupos;
+    }
+
+    private static RequestMatcher rota(String definicao) {
+        String[] partes = definicao.trim().split("\\s+", 2);
+        if (partes.length == 2) {
+            return new AntPathRequestMatcher(partes[1], HttpMethod.valueOf(partes[0].toUpperCase()).name());
+        }
+        return new AntPathRequestMatcher(partes[0]);
+    }
+}
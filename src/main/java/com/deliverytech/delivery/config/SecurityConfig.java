@@ -1,9 +1,15 @@
 package com.deliverytech.delivery.config;
 
+import com.deliverytech.delivery.security.AcessoMetricas;
 import com.deliverytech.delivery.security.JwtAuthenticationFilter;
+import com.deliverytech.delivery.security.RateLimitFilter;
 import com.deliverytech.delivery.security.CustomAccessDeniedHandler;
 import com.deliverytech.delivery.security.CustomAuthenticationEntryPoint;
 import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -24,20 +30,25 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @RequiredArgsConstructor
 public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final UserDetailsService userDetailsService;
     private final CustomAuthenticationEntryPoint customAuthEntryPoint;
     private final CustomAccessDeniedHandler customAccessDeniedHandler;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AcessoMetricas acessoMetricas) throws Exception {
         return http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/auth/usuarios/**").hasAuthority("ADMIN")
                         .requestMatchers("/auth/**", "/swagger-ui.html", "/swagger-ui/**", "/api-docs/**", "/h2-console/**", "/index.html", "/static/**", "/error/**", "/health" ).permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/prometheus", "/actuator/metrics/**").access(acessoMetricas)
                         // ENDPOINTS CLIENTE
                         .requestMatchers(HttpMethod.GET, "/clientes").hasAuthority("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/clientes/email/**").hasAnyAuthority("CLIENTE", "ADMIN")
                         .requestMatchers(HttpMethod.GET, "/clientes/buscar").hasAuthority( "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/clientes/todos", "/clientes/exportar").hasAuthority("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/clientes/**").hasAnyAuthority("CLIENTE", "ADMIN")
                         .requestMatchers(HttpMethod.PATCH, "/clientes/{id}/status").hasAnyAuthority("CLIENTE", "ADMIN")
                         .requestMatchers(HttpMethod.POST, "/clientes").hasAuthority("ADMIN")
@@ -65,6 +76,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PATCH, "/produtos/{id}/ativar-desativar").hasAnyAuthority("RESTAURANTE", "ADMIN")
                         .requestMatchers(HttpMethod.POST, "/produtos").hasAnyAuthority("RESTAURANTE", "ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/produtos/**").hasAnyAuthority("RESTAURANTE", "ADMIN")
+                        // ENDPOINTS AVALIACAO
+                        .requestMatchers(HttpMethod.POST, "/avaliacoes").hasAnyAuthority("CLIENTE", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/avaliacoes/**").hasAnyAuthority("CLIENTE", "RESTAURANTE", "ADMIN")
                         // ENDPOINTS RESTAURANTE
                         .requestMatchers(HttpMethod.GET, "/restaurantes/").hasAnyAuthority("CLIENTE", "RESTAURANTE", "ADMIN")
                         .requestMatchers(HttpMethod.GET, "/restaurantes/top-cinco").hasAnyAuthority("CLIENTE", "ADMIN")
@@ -84,10 +98,18 @@ public class SecurityConfig {
                     .accessDeniedHandler(customAccessDeniedHandler) // 403 Forbidden
                 )
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Depois do JWT para limitar por usuário quando houver token
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
                 .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()))
                 .build();
     }
 
+    @Bean
+    public AcessoMetricas acessoMetricas(
+            @Value("${metricas.prometheus.redes-permitidas:127.0.0.1/32,::1/128}") List<String> redesPermitidas) {
+        return new AcessoMetricas(redesPermitidas);
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
         return configuration.getAuthenticationManager();
@@ -0,0 +1,31 @@
+package com.deliverytech.delivery.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.deliverytech.delivery.concorrencia.PinningMonitor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Modo de threads. Com {@code spring.threads.virtual.enabled=true} o Spring Boot
+ * passa a usar threads virtuais no Tomcat e no agendador do {@code @Scheduled};
+ * aqui fica só o monitor de pinning, ligado nesse modo.
+ */
+@Configuration
+public class ThreadsConfig {
+
+    @Bean(initMethod = "iniciar", destroyMethod = "close")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    @ConditionalOnProperty(name = "threads.virtuais.monitor-pinning", havingValue = "true", matchIfMissing = true)
+    public PinningMonitor pinningMonitor(MeterRegistry meterRegistry,
+            @Value("${threads.virtuais.pinning-limiar-ms:20}") long limiarMs) {
+        return new PinningMonitor(meterRegistry, Duration.ofMillis(limiarMs));
+    }
+}
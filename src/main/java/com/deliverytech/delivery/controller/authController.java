@@ -1,6 +1,7 @@
 package com.deliverytech.delivery.controller;
 
 import com.deliverytech.delivery.dto.request.LoginRequestDTO;
+import com.deliverytech.delivery.dto.request.RefreshTokenRequestDTO;
 import com.deliverytech.delivery.dto.request.RegisterRequestDTO;
 import com.deliverytech.delivery.dto.response.LoginResponseDTO;
 import com.deliverytech.delivery.dto.response.UsuarioResponseDTO;
@@ -45,4 +46,48 @@ public class authController {
         LoginResponseDTO login = usuarioService.login(dto);
         return ResponseEntity.ok(login);
     }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Renovar token", description = "Troca um refresh token por um novo access token e um novo refresh token. Cada refresh token vale uma vez só; reutilizá-lo revoga a sessão")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Token renovado com sucesso"),
+            @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado, já utilizado ou revogado")
+    })
+    public ResponseEntity<LoginResponseDTO> renovarToken(@Valid @RequestBody RefreshTokenRequestDTO dto) {
+        return ResponseEntity.ok(usuarioService.renovarToken(dto));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoga o access token enviado no cabeçalho Authorization e, se informado, o refresh token da mesma sessão")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Logout realizado"),
+            @ApiResponse(responseCode = "401", description = "Token ausente ou inválido")
+    })
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequestDTO dto) {
+        String token = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        usuarioService.logout(token, dto != null ? dto.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PatchMapping("/usuarios/{id}/status")
+    @Operation(summary = "Ativar/desativar usuário", description = "Ativa ou desativa um usuário; tokens de um usuário desativado deixam de valer em segundos")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Status alterado com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
+    })
+    public ResponseEntity<UsuarioResponseDTO> alterarStatus(@PathVariable Long id, @RequestParam boolean ativo) {
+        return ResponseEntity.ok(usuarioService.alterarStatus(id, ativo));
+    }
+
+    @PostMapping("/usuarios/{id}/revogar-tokens")
+    @Operation(summary = "Revogar tokens do usuário", description = "Invalida todos os tokens emitidos até agora para o usuário")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Tokens revogados"),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado")
+    })
+    public ResponseEntity<Void> revogarTokens(@PathVariable Long id) {
+        usuarioService.revogarTokens(id);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.deliverytech.delivery.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.deliverytech.delivery.dto.request.AvaliacaoRequestDTO;
+import com.deliverytech.delivery.dto.response.AvaliacaoResponseDTO;
+import com.deliverytech.delivery.dto.response.PagedResponseWrapper;
+import com.deliverytech.delivery.service.avaliacaoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/avaliacoes")
+@CrossOrigin(origins = "*")
+public class avaliacaoController {
+
+    @Autowired
+    private avaliacaoService avaliacaoService;
+
+    /**
+     * Avaliar pedido entregue
+     */
+    @PostMapping
+    @Operation(summary = "Avaliar pedido", description = "Registra a nota do cliente para um pedido entregue e atualiza a avaliação do restaurante")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Avaliação registrada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Pedido não entregue, já avaliado ou dados inválidos"),
+            @ApiResponse(responseCode = "403", description = "Pedido de outro cliente"),
+            @ApiResponse(responseCode = "404", description = "Pedido não encontrado")
+    })
+    public ResponseEntity<AvaliacaoResponseDTO> avaliar(@Valid @RequestBody AvaliacaoRequestDTO dto) {
+        AvaliacaoResponseDTO avaliacao = avaliacaoService.avaliar(dto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(avaliacao);
+    }
+
+    /**
+     * Listar avaliações de um restaurante
+     */
+    @GetMapping("/restaurante/{restauranteId}")
+    @Operation(summary = "Listar avaliações do restaurante", description = "Lista as avaliações de um restaurante, das mais recentes para as mais antigas")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Avaliações recuperadas com sucesso")
+    })
+    public ResponseEntity<PagedResponseWrapper<AvaliacaoResponseDTO>> listarPorRestaurante(
+            @PathVariable Long restauranteId,
+            @PageableDefault(size = 20) Pageable pageable) {
+        Page<AvaliacaoResponseDTO> avaliacoes = avaliacaoService.listarPorRestaurante(restauranteId, pageable);
+        return ResponseEntity.ok(new PagedResponseWrapper<>(avaliacoes));
+    }
+}
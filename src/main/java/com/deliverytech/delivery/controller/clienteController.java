@@ -1,9 +1,13 @@
 package com.deliverytech.delivery.controller;
 
-import java.util.List;
+import java.io.IOException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -16,14 +20,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.deliverytech.delivery.condicional.Condicional;
 import com.deliverytech.delivery.dto.request.ClienteRequestDTO;
 import com.deliverytech.delivery.dto.response.ClienteResponseDTO;
+import com.deliverytech.delivery.dto.response.CursorResponseWrapper;
+import com.deliverytech.delivery.dto.response.PagedResponseWrapper;
 import com.deliverytech.delivery.service.clienteService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -50,19 +59,50 @@ public class clienteController {
     }
 
     /**
-     * Listar todos os clientes ativos
+     * Listar clientes ativos (paginação por cursor)
      */
     @GetMapping
-    @Operation(summary = "Listar clientes ativos", description = "Lista todos os clientes que estão ativos no sistema")
+    @Operation(summary = "Listar clientes ativos", description = "Lista os clientes ativos por cursor: passe o nextCursor da resposta em ?cursor= para a próxima página. Com ?total=true inclui um total aproximado")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Lista de clientes recuperada com sucesso"),
-            @ApiResponse(responseCode = "404", description = "Nenhum cliente encontrado")
+            @ApiResponse(responseCode = "200", description = "Lista de clientes recuperada com sucesso")
     })
-     public ResponseEntity<List<ClienteResponseDTO>> listarAtivos() {
-        List<ClienteResponseDTO> clientes = clienteService.listarAtivos();
-        return ResponseEntity.ok(clientes);
+     public ResponseEntity<CursorResponseWrapper<ClienteResponseDTO>> listarAtivos(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean total) {
+        return ResponseEntity.ok(clienteService.listarAtivos(cursor, size, total));
      }
 
+    /**
+     * Listar todos os clientes, ativos ou não (paginação por cursor)
+     */
+    @GetMapping("/todos")
+    @Operation(summary = "Listar todos os clientes", description = "Lista todos os clientes por cursor, sem COUNT por página. Com ?total=true inclui um total aproximado")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lista de clientes recuperada com sucesso")
+    })
+    public ResponseEntity<CursorResponseWrapper<ClienteResponseDTO>> listarTodos(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean total) {
+        return ResponseEntity.ok(clienteService.listarTodosPaginado(cursor, size, total));
+    }
+
+    /**
+     * Exportar clientes em NDJSON
+     */
+    @GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar clientes", description = "Exporta os clientes em NDJSON (um JSON por linha), em streaming")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Exportação gerada com sucesso")
+    })
+    public void exportar(@RequestParam(defaultValue = "false") boolean apenasAtivos, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"clientes.ndjson\"");
+        clienteService.exportarNdjson(apenasAtivos, response.getOutputStream());
+    }
+
 
     /**
      * Buscar cliente por ID
@@ -73,7 +113,10 @@ public class clienteController {
             @ApiResponse(responseCode = "200", description = "Cliente encontrado"),
             @ApiResponse(responseCode = "404", description = "Cliente não encontrado")
     })
-     public ResponseEntity<ClienteResponseDTO> buscarPorId(@PathVariable Long id) {
+     public ResponseEntity<ClienteResponseDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        if (Condicional.naoModificado(request, clienteService.versao(id))) {
+            return null;
+        }
         ClienteResponseDTO cliente = clienteService.buscarPorId(id);
         return ResponseEntity.ok(cliente);
      }
@@ -111,14 +154,15 @@ public class clienteController {
      * Buscar cliente por nome
      */
     @GetMapping("/buscar")
-    @Operation(summary = "Buscar clientes por nome", description = "Recupera uma lista de clientes que correspondem ao nome fornecido")
+    @Operation(summary = "Buscar clientes por nome", description = "Recupera clientes cujo nome contém ou se parece com o termo, ordenados por similaridade")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Clientes encontrados"),
             @ApiResponse(responseCode = "404", description = "Nenhum cliente encontrado com o nome fornecido")
     })
-     public ResponseEntity<List<ClienteResponseDTO>> buscarPorNome(@RequestParam String nome) {
-        List<ClienteResponseDTO> clientes = clienteService.buscarPorNome(nome);
-        return ResponseEntity.ok(clientes);
+     public ResponseEntity<PagedResponseWrapper<ClienteResponseDTO>> buscarPorNome(@RequestParam String nome,
+            @PageableDefault(size = 20) Pageable pageable) {
+        Page<ClienteResponseDTO> clientes = clienteService.buscarPorNome(nome, pageable);
+        return ResponseEntity.ok(new PagedResponseWrapper<>(clientes));
      }
 
      /**
@@ -130,7 +174,10 @@ public class clienteController {
             @ApiResponse(responseCode = "200", description = "Cliente encontrado"),
             @ApiResponse(responseCode = "404", description = "Cliente não encontrado")
     })
-    public ResponseEntity<ClienteResponseDTO> buscarPorEmail(@PathVariable String email) {
+    public ResponseEntity<ClienteResponseDTO> buscarPorEmail(@PathVariable String email, WebRequest request) {
+        if (Condicional.naoModificado(request, clienteService.versaoPorEmail(email))) {
+            return null;
+        }
         ClienteResponseDTO cliente = clienteService.buscarPorEmail(email);
         return ResponseEntity.ok(cliente);
     }
@@ -16,7 +16,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.deliverytech.delivery.condicional.Condicional;
 import com.deliverytech.delivery.dto.request.ProdutoRequestDTO;
 import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
 
@@ -56,7 +58,10 @@ public class produtoController {
             @ApiResponse(responseCode = "200", description = "Lista de produtos recuperada com sucesso"),
             @ApiResponse(responseCode = "404", description = "Nenhum produto encontrado")
     })
-    public ResponseEntity <List<ProdutoResponseDTO>> buscarTodosProdutos() {
+    public ResponseEntity <List<ProdutoResponseDTO>> buscarTodosProdutos(WebRequest request) {
+        if (Condicional.naoModificado(request, produtoService.versaoCatalogo())) {
+            return null;
+        }
         List<ProdutoResponseDTO> produtos = produtoService.buscarTodosProdutos();
         return ResponseEntity.ok(produtos);
     }
@@ -70,7 +75,10 @@ public class produtoController {
             @ApiResponse(responseCode = "200", description = "Produto encontrado"),
             @ApiResponse(responseCode = "404", description = "Produto não encontrado")
     })
-    public ResponseEntity<ProdutoResponseDTO> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<ProdutoResponseDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        if (Condicional.naoModificado(request, produtoService.versao(id))) {
+            return null;
+        }
         ProdutoResponseDTO produto = produtoService.buscarPorId(id);
         return ResponseEntity.ok(produto);
     }
@@ -84,7 +92,10 @@ public class produtoController {
             @ApiResponse(responseCode = "200", description = "Produto encontrado"),
             @ApiResponse(responseCode = "404", description = "Produto não encontrado")
     })
-    public ResponseEntity<ProdutoResponseDTO> buscarPorNome(@PathVariable String nome) {
+    public ResponseEntity<ProdutoResponseDTO> buscarPorNome(@PathVariable String nome, WebRequest request) {
+        if (Condicional.naoModificado(request, produtoService.versaoCatalogo())) {
+            return null;
+        }
         ProdutoResponseDTO produto = produtoService.buscarPorNome(nome);
         return ResponseEntity.ok(produto);
     }
@@ -98,7 +109,10 @@ public class produtoController {
             @ApiResponse(responseCode = "200", description = "Produtos encontrados"),
             @ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
     })
-    public ResponseEntity<List<ProdutoResponseDTO>> buscarPorRestaurante(@PathVariable Long restauranteId) {
+    public ResponseEntity<List<ProdutoResponseDTO>> buscarPorRestaurante(@PathVariable Long restauranteId, WebRequest request) {
+        if (Condicional.naoModificado(request, produtoService.versaoPorRestaurante(restauranteId))) {
+            return null;
+        }
         List<ProdutoResponseDTO> produtos = produtoService.buscarPorRestaurante(restauranteId);
         return ResponseEntity.ok(produtos);
     }
@@ -112,7 +126,10 @@ public class produtoController {
             @ApiResponse(responseCode = "200", description = "Produtos encontrados"),
             @ApiResponse(responseCode = "404", description = "Categoria não encontrada")
     })
-    public ResponseEntity<List<ProdutoResponseDTO>> buscarPorCategoria(@PathVariable String categoria) {
+    public ResponseEntity<List<ProdutoResponseDTO>> buscarPorCategoria(@PathVariable String categoria, WebRequest request) {
+        if (Condicional.naoModificado(request, produtoService.versaoCatalogo())) {
+            return null;
+        }
         List<ProdutoResponseDTO> produtos = produtoService.buscarPorCategoria(categoria);
         return ResponseEntity.ok(produtos);
     }
@@ -126,7 +143,10 @@ public class produtoController {
             @ApiResponse(responseCode = "200", description = "Produtos encontrados"),
             @ApiResponse(responseCode = "404", description = "Nenhum produto encontrado na faixa de preço")
     })
-    public ResponseEntity<List<ProdutoResponseDTO>>buscarPorPreco(@RequestParam BigDecimal precoMinimo, @RequestParam BigDecimal precoMaximo) {
+    public ResponseEntity<List<ProdutoResponseDTO>>buscarPorPreco(@RequestParam BigDecimal precoMinimo, @RequestParam BigDecimal precoMaximo, WebRequest request) {
+        if (Condicional.naoModificado(request, produtoService.versaoCatalogo())) {
+            return null;
+        }
         List<ProdutoResponseDTO> produtos = produtoService.buscarPorPreco(precoMinimo, precoMaximo);
         return ResponseEntity.ok(produtos);
     }
@@ -169,11 +189,31 @@ public class produtoController {
             @ApiResponse(responseCode = "200", description = "Produtos encontrados"),
             @ApiResponse(responseCode = "404", description = "Nenhum produto encontrado com preço menor ou igual ao valor especificado")
     })
-    public ResponseEntity<List<ProdutoResponseDTO>> buscarPorPrecoMenorOuIgual(@PathVariable BigDecimal valor) {
+    public ResponseEntity<List<ProdutoResponseDTO>> buscarPorPrecoMenorOuIgual(@PathVariable BigDecimal valor, WebRequest request) {
+        if (Condicional.naoModificado(request, produtoService.versaoCatalogo())) {
+            return null;
+        }
         List<ProdutoResponseDTO> produtos = produtoService.buscarPorPrecoMenorOuIgual(valor);
         return ResponseEntity.ok(produtos);
     }
 
+    /**
+     * Listar produtos populares
+     */
+    @GetMapping("/populares")
+    @Operation(summary = "Listar produtos populares", description = "Ranking por quantidade vendida, global ou por categoria. janela=total soma os pedidos desde a partida e os dos dias anteriores carregados nela (ranking.historico.dias); janela=agora dá mais peso às vendas recentes")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Ranking retornado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Janela ou limite inválidos")
+    })
+    public ResponseEntity<List<ProdutoResponseDTO>> listarPopulares(
+            @RequestParam(required = false) String categoria,
+            @RequestParam(defaultValue = "total") String janela,
+            @RequestParam(defaultValue = "10") int limite) {
+        List<ProdutoResponseDTO> produtos = produtoService.listarPopulares(categoria, janela, limite);
+        return ResponseEntity.ok(produtos);
+    }
+
     /**
      * Listar apenas produtos disponíveis (ativos)
      */
@@ -183,7 +223,10 @@ public class produtoController {
             @ApiResponse(responseCode = "200", description = "Lista de produtos recuperada com sucesso"),
             @ApiResponse(responseCode = "404", description = "Nenhum produto disponível encontrado")
     })
-    public ResponseEntity<List<ProdutoResponseDTO>> buscarProdutosDisponiveis() {
+    public ResponseEntity<List<ProdutoResponseDTO>> buscarProdutosDisponiveis(WebRequest request) {
+        if (Condicional.naoModificado(request, produtoService.versaoCatalogo())) {
+            return null;
+        }
         // Chama o service passando 'true'
         List<ProdutoResponseDTO> produtos = produtoService.buscarProdutosDisponiveis(true);
         
@@ -1,15 +1,20 @@
 package com.deliverytech.delivery.controller;
 
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import com.deliverytech.delivery.condicional.Condicional;
 import com.deliverytech.delivery.dto.request.RestauranteRequestDTO;
-import com.deliverytech.delivery.dto.response.ApiResponseWrapper;
+import com.deliverytech.delivery.dto.response.PagedResponseWrapper;
+import com.deliverytech.delivery.dto.response.RestauranteProximoDTO;
 import com.deliverytech.delivery.dto.response.RestauranteResponseDTO;
 import com.deliverytech.delivery.projection.RelatorioVendas;
 import com.deliverytech.delivery.service.restauranteService;
@@ -21,7 +26,6 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -49,21 +53,24 @@ public class restauranteController {
     
 
     /**
-     * Listar pedidos
+     * Listar restaurantes ativos
      */
     @GetMapping
-    @Operation(summary = "Listar pedidos", description = "Lista pedidos com filtros opcionais e paginação")
+    @Operation(summary = "Listar restaurantes", description = "Lista restaurantes ativos com filtro opcional por categoria, paginação e ordenação por nome, avaliacao ou taxaEntrega")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Lista recuperada com sucesso")
+            @ApiResponse(responseCode = "200", description = "Lista recuperada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Ordenação não suportada")
     })
-    public ResponseEntity<ApiResponseWrapper<List<RestauranteResponseDTO>>> listarTodos(
-            @RequestParam(required = false)
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
-            @Parameter(description = "Parâmetros de paginação")
-            Pageable pageable) {
-        List<RestauranteResponseDTO> restaurantes = restauranteService.listarAtivos();
-        ApiResponseWrapper<List<RestauranteResponseDTO>> response = new ApiResponseWrapper<>(true, restaurantes, "Busca Realizada com sucesso");
-        return ResponseEntity.ok(response);
+    public ResponseEntity<PagedResponseWrapper<RestauranteResponseDTO>> listarTodos(
+            @RequestParam(required = false) String categoria,
+            @Parameter(description = "Parâmetros de paginação (ex.: page=0&size=20&sort=avaliacao,desc)")
+            @PageableDefault(size = 20, sort = "nome", direction = Sort.Direction.ASC) Pageable pageable,
+            WebRequest request) {
+        if (Condicional.naoModificado(request, restauranteService.versaoCatalogo())) {
+            return null;
+        }
+        Page<RestauranteResponseDTO> restaurantes = restauranteService.listarAtivosPaginado(categoria, pageable);
+        return ResponseEntity.ok(new PagedResponseWrapper<>(restaurantes));
     }
 
     /**
@@ -75,7 +82,10 @@ public class restauranteController {
             @ApiResponse(responseCode = "200", description = "Restaurante encontrado"),
             @ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
     })
-    public ResponseEntity<RestauranteResponseDTO> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<RestauranteResponseDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        if (Condicional.naoModificado(request, restauranteService.versao(id))) {
+            return null;
+        }
         RestauranteResponseDTO restaurante = restauranteService.buscarPorId(id);
         return ResponseEntity.ok(restaurante);
     }
@@ -118,7 +128,10 @@ public class restauranteController {
             @ApiResponse(responseCode = "200", description = "Restaurante encontrado"),
             @ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
     })
-    public ResponseEntity<RestauranteResponseDTO> buscarPorNome(@PathVariable String nome) {
+    public ResponseEntity<RestauranteResponseDTO> buscarPorNome(@PathVariable String nome, WebRequest request) {
+        if (Condicional.naoModificado(request, restauranteService.versaoPorNome(nome))) {
+            return null;
+        }
         RestauranteResponseDTO restaurante = restauranteService.buscarPorNome(nome);
         return ResponseEntity.ok(restaurante);
     }
@@ -132,7 +145,10 @@ public class restauranteController {
             @ApiResponse(responseCode = "200", description = "Restaurantes encontrados"),
             @ApiResponse(responseCode = "404", description = "Nenhum restaurante encontrado dentro da faixa de preço")
     })
-    public ResponseEntity<List<RestauranteResponseDTO>> buscarPorPreco(@PathVariable BigDecimal precoMinimo, @PathVariable BigDecimal precoMaximo) {
+    public ResponseEntity<List<RestauranteResponseDTO>> buscarPorPreco(@PathVariable BigDecimal precoMinimo, @PathVariable BigDecimal precoMaximo, WebRequest request) {
+        if (Condicional.naoModificado(request, restauranteService.versaoCatalogo())) {
+            return null;
+        }
         List<RestauranteResponseDTO> restaurantes = restauranteService.buscarPorPreco(precoMinimo, precoMaximo);
         return ResponseEntity.ok(restaurantes);
     }
@@ -146,7 +162,10 @@ public class restauranteController {
             @ApiResponse(responseCode = "200", description = "Restaurantes encontrados"),
             @ApiResponse(responseCode = "404", description = "Nenhum restaurante encontrado na categoria")
     })
-    public ResponseEntity<List<RestauranteResponseDTO>> buscarPorCategoria(@PathVariable String categoria) {
+    public ResponseEntity<List<RestauranteResponseDTO>> buscarPorCategoria(@PathVariable String categoria, WebRequest request) {
+        if (Condicional.naoModificado(request, restauranteService.versaoCatalogo())) {
+            return null;
+        }
         List<RestauranteResponseDTO> restaurantes = restauranteService.buscarPorCategoria(categoria);
         return ResponseEntity.ok(restaurantes);
     }
@@ -160,16 +179,19 @@ public class restauranteController {
             @ApiResponse(responseCode = "200", description = "Restaurantes encontrados"),
             @ApiResponse(responseCode = "404", description = "Nenhum restaurante encontrado com a taxa de entrega especificada")
     })
-    public ResponseEntity<List<RestauranteResponseDTO>> buscarPorTaxaEntrega(@RequestParam BigDecimal taxa) {
+    public ResponseEntity<List<RestauranteResponseDTO>> buscarPorTaxaEntrega(@RequestParam BigDecimal taxa, WebRequest request) {
+        if (Condicional.naoModificado(request, restauranteService.versaoCatalogo())) {
+            return null;
+        }
         List<RestauranteResponseDTO> restaurantes = restauranteService.buscarPorTaxaEntrega(taxa);
         return ResponseEntity.ok(restaurantes);
     }
 
     /**
-     * Listar os 5 restaurantes mais populares por nome
+     * Listar os 5 restaurantes mais populares
      */
     @GetMapping("/top-cinco")
-    @Operation(summary = "Listar os 5 restaurantes mais populares por nome", description = "Retorna os 5 restaurantes mais populares ordenados por nome")
+    @Operation(summary = "Listar os 5 restaurantes mais populares", description = "Retorna os 5 restaurantes com mais pedidos; sem histórico suficiente, completa com a ordem alfabética")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Lista dos 5 restaurantes mais populares retornada com sucesso"),
             @ApiResponse(responseCode = "404", description = "Nenhum restaurante encontrado")
@@ -179,6 +201,43 @@ public class restauranteController {
         return ResponseEntity.ok(top5Restaurantes);
     }
 
+    /**
+     * Listar restaurantes populares
+     */
+    @GetMapping("/populares")
+    @Operation(summary = "Listar restaurantes populares", description = "Ranking por número de pedidos, global ou por categoria. janela=total soma os pedidos desde a partida e os dos dias anteriores carregados nela (ranking.historico.dias); janela=agora dá mais peso aos pedidos recentes")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Ranking retornado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Janela ou limite inválidos")
+    })
+    public ResponseEntity<List<RestauranteResponseDTO>> listarPopulares(
+            @RequestParam(required = false) String categoria,
+            @RequestParam(defaultValue = "total") String janela,
+            @RequestParam(defaultValue = "10") int limite) {
+        List<RestauranteResponseDTO> restaurantes = restauranteService.listarPopulares(categoria, janela, limite);
+        return ResponseEntity.ok(restaurantes);
+    }
+
+    /**
+     * Buscar restaurantes próximos
+     */
+    @GetMapping("/proximos")
+    @Operation(summary = "Buscar restaurantes próximos", description = "Retorna os restaurantes ativos mais próximos dentro de um raio, ordenados por distância e taxa de entrega")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Restaurantes próximos encontrados"),
+            @ApiResponse(responseCode = "400", description = "Localização, raio ou limite inválidos")
+    })
+    public ResponseEntity<List<RestauranteProximoDTO>> buscarProximos(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) String cep,
+            @RequestParam(defaultValue = "5") double raioKm,
+            @RequestParam(defaultValue = "10") int limite,
+            @Parameter(description = "distancia (padrão) ou taxa") @RequestParam(defaultValue = "distancia") String ordenarPor) {
+        List<RestauranteProximoDTO> restaurantes = restauranteService.buscarProximos(lat, lon, cep, raioKm, limite, ordenarPor);
+        return ResponseEntity.ok(restaurantes);
+    }
+
     /**
      * Gera o relatóriod e vendas pro restaurante
      */
@@ -0,0 +1,27 @@
+package com.deliverytech.delivery.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+@Schema(description = "DTO para avaliação de um pedido entregue", title = "Avaliação Request DTO")
+public class AvaliacaoRequestDTO {
+
+    @Schema(description = "ID do pedido entregue", example = "3", required = true)
+    @NotNull(message = "O pedido é obrigatório")
+    private Long pedidoId;
+
+    @Schema(description = "Nota de 1 a 5", example = "5", required = true)
+    @NotNull(message = "A nota é obrigatória")
+    @Min(value = 1, message = "A nota mínima é 1")
+    @Max(value = 5, message = "A nota máxima é 5")
+    private Integer nota;
+
+    @Schema(description = "Comentário opcional", example = "Chegou quentinho!")
+    @Size(max = 500, message = "O comentário deve ter no máximo 500 caracteres")
+    private String comentario;
+}
@@ -3,6 +3,7 @@ package com.deliverytech.delivery.dto.request;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
 @Data
@@ -26,4 +27,8 @@ public class ClienteRequestDTO {
     @NotBlank(message = "O endereço é obrigatório")
     private String endereco;
 
+    @Schema(description = "CEP do endereço do cliente", example = "01310-100")
+    @Pattern(regexp = "^\\d{5}-?\\d{3}$", message = "O CEP deve estar no formato 12345-678 ou 12345678")
+    private String cep;
+
 }
@@ -0,0 +1,15 @@
+package com.deliverytech.delivery.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshTokenRequestDTO {
+
+    @NotBlank(message = "O refresh token é obrigatório")
+    private String refreshToken;
+}
@@ -28,6 +28,12 @@ public class RestauranteRequestDTO {
     @Pattern(regexp = "^\\d{5}-?\\d{3}$", message = "O CEP deve estar no formato 12345-678 ou 12345678")
     private String cep;
 
+    @Schema(description = "Latitude do restaurante; se ausente é obtida pelo CEP", example = "-23.5614")
+    private Double latitude;
+
+    @Schema(description = "Longitude do restaurante; se ausente é obtida pelo CEP", example = "-46.6559")
+    private Double longitude;
+
     @Schema(description = "Endereço do restaurante", example = "Rua das Flores, 123", required = true)
     @NotNull(message = "O endereço do restaurante é obrigatório")
     private String endereco;
@@ -0,0 +1,17 @@
+package com.deliverytech.delivery.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class AvaliacaoResponseDTO {
+
+    private Long id;
+    private Long pedidoId;
+    private Long restauranteId;
+    private Integer nota;
+    private String comentario;
+    private LocalDateTime dataAvaliacao;
+
+}
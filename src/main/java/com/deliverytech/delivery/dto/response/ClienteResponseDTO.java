@@ -15,6 +15,12 @@ public class ClienteResponseDTO {
 
     private String endereco;
 
+    private String cep;
+
+    private Double latitude;
+
+    private Double longitude;
+
     private Boolean ativo;
 
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.deliverytech.delivery.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(
+    description = "Página por cursor (keyset): sem COUNT por página; o total é opcional e aproximado",
+    title = "Cursor Response Wrapper")
+public class CursorResponseWrapper<T> {
+
+    @Schema(description = "Itens da página")
+    private List<T> content;
+
+    @Schema(description = "Tamanho da página", example = "20")
+    private int size;
+
+    @Schema(description = "Indica se há mais itens depois desta página", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Cursor para a próxima página (passe em ?cursor=)", example = "120")
+    private Long nextCursor;
+
+    @Schema(description = "Total aproximado, só quando solicitado com ?total=true", example = "1048576")
+    private Long approximateTotal;
+
+    public CursorResponseWrapper(List<T> content, int size, boolean hasNext, Long nextCursor, Long approximateTotal) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+        this.approximateTotal = approximateTotal;
+    }
+
+    // Getters
+    public List<T> getContent() { return content; }
+    public int getSize() { return size; }
+    public boolean isHasNext() { return hasNext; }
+    public Long getNextCursor() { return nextCursor; }
+    public Long getApproximateTotal() { return approximateTotal; }
+}
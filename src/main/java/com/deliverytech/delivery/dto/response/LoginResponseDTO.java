@@ -12,4 +12,6 @@ public class LoginResponseDTO {
     private String tipo;
     private Long expiracao;
     private UsuarioResponseDTO usuario;
+    private String refreshToken;
+    private Long refreshExpiracao;
 }
@@ -0,0 +1,23 @@
+package com.deliverytech.delivery.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RestauranteProximoDTO {
+
+    private Long id;
+    private String nome;
+    private String categoria;
+    private BigDecimal taxaEntrega;
+    private BigDecimal avaliacao;
+    private Double latitude;
+    private Double longitude;
+    private Double distanciaKm;
+
+}
@@ -13,6 +13,9 @@ public class RestauranteResponseDTO {
     private String telefone;
     private BigDecimal taxaEntrega;
     private BigDecimal avaliacao;
+    private Long totalAvaliacoes;
     private Boolean ativo;
+    private Double latitude;
+    private Double longitude;
 
 }
\ No newline at end of file
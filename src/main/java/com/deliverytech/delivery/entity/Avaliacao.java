@@ -0,0 +1,42 @@
+package com.deliverytech.delivery.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "avaliacoes", indexes = @Index(name = "idx_avaliacoes_restaurante", columnList = "restaurante_id"))
+public class Avaliacao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Um pedido só pode ser avaliado uma vez
+    @OneToOne
+    @JoinColumn(name = "pedido_id", unique = true, nullable = false)
+    private Pedido pedido;
+
+    @ManyToOne
+    @JoinColumn(name = "restaurante_id", nullable = false)
+    private Restaurante restaurante;
+
+    @ManyToOne
+    @JoinColumn(name = "cliente_id")
+    private Cliente cliente;
+
+    @Column(nullable = false)
+    private Integer nota;
+
+    @Column(length = 500)
+    private String comentario;
+
+    @Column(name = "data_avaliacao", nullable = false)
+    private LocalDateTime dataAvaliacao;
+}
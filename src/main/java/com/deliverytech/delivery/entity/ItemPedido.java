@@ -11,6 +11,7 @@ import java.math.BigDecimal;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(name = "item_pedido", indexes = @Index(name = "idx_item_pedido_pedido", columnList = "pedido_id"))
 public class ItemPedido {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
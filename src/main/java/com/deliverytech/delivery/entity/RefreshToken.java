@@ -0,0 +1,51 @@
+package com.deliverytech.delivery.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_familia", columnList = "familia"),
+        // revogarDoUsuario (revogação de tokens e desativação do usuário) filtra por usuário
+        @Index(name = "idx_refresh_tokens_usuario", columnList = "usuario_id")
+})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // HMAC-SHA256 do token; o valor em claro só existe na resposta ao cliente
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    // Todos os tokens gerados por rotação a partir do mesmo login
+    @Column(nullable = false, length = 36)
+    private String familia;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    private Usuario usuario;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    // Preenchido quando o token é trocado por um novo; reuso depois disso revoga a família
+    @Column(name = "usado_em")
+    private LocalDateTime usadoEm;
+
+    @Column(nullable = false)
+    private boolean revogado;
+}
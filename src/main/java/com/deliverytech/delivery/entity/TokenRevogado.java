@@ -0,0 +1,31 @@
+package com.deliverytech.delivery.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tokens_revogados", indexes = @Index(name = "idx_tokens_revogados_expira_em", columnList = "expira_em"))
+public class TokenRevogado {
+
+    // Claim "jti" do access token
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+
+    // Expiração original do token: depois dela a linha pode ser apagada
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column(name = "revogado_em", nullable = false)
+    private LocalDateTime revogadoEm;
+}
@@ -48,6 +48,10 @@ public class Usuario implements UserDetails {
     @Column(name = "restaurante_id")
     private Long restauranteId;
 
+    // Tokens emitidos antes deste instante deixam de valer
+    @Column(name = "tokens_revogados_em")
+    private LocalDateTime tokensRevogadosEm;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         if (this.role == null) return List.of();
@@ -80,7 +84,7 @@ public class Usuario implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return UserDetails.super.isEnabled();
+        return ativo;
     }
 
     public boolean getAtivo() {
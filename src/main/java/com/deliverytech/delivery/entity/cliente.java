@@ -11,7 +11,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,7 +24,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "clientes")
+@Table(name = "clientes", indexes = @Index(name = "idx_clientes_ativo_id", columnList = "ativo, usuario_id"))
 public class Cliente {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,18 +33,30 @@ public class Cliente {
 
     private String nome;
 
+    @Column(unique = true)
     private String email;
 
     private String telefone;
 
     private String endereco;
 
+    private String cep;
+
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(name = "data_cadastro")
     private LocalDateTime dataCadastro;
 
     @Column(nullable = true)
     private Boolean ativo;
 
+    private Long versao;
+
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+
     @OneToMany(mappedBy = "cliente", fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Pedido> pedidos;
@@ -54,5 +69,12 @@ public class Cliente {
         return this.ativo != null && this.ativo;
     }
 
+    @PrePersist
+    @PreUpdate
+    void registrarAlteracao() {
+        versao = versao == null ? 1L : versao + 1;
+        atualizadoEm = LocalDateTime.now();
+    }
+
     
 }
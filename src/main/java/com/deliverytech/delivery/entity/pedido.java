@@ -13,7 +13,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "pedidos")
+@Table(name = "pedidos", indexes = @Index(name = "idx_pedidos_data_pedido", columnList = "data_pedido"))
 public class Pedido {
     
     @Id
@@ -1,6 +1,7 @@
 package com.deliverytech.delivery.entity;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -32,8 +33,21 @@ public class Produto {
     @JoinColumn(name = "restaurante_id")
     private Restaurante restaurante;
 
+    // Muda a cada escrita; vira o ETag de GET /produtos/{id}
+    private Long versao;
+
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+
     public boolean isAtivo() {
         return this.disponivel != null && this.disponivel;
     }
 
+    @PrePersist
+    @PreUpdate
+    void registrarAlteracao() {
+        versao = versao == null ? 1L : versao + 1;
+        atualizadoEm = LocalDateTime.now();
+    }
+
 }
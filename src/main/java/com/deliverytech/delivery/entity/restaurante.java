@@ -1,6 +1,7 @@
 package com.deliverytech.delivery.entity;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -31,13 +32,32 @@ public class Restaurante {
 
     private String cep;
 
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(name = "taxa_entrega")
     private BigDecimal taxaEntrega;
 
     private BigDecimal avaliacao;
 
+    // Agregado incremental das avaliações dos clientes; avaliacao = soma / total
+    @Column(name = "soma_avaliacoes")
+    private Long somaAvaliacoes;
+
+    @Column(name = "total_avaliacoes")
+    private Long totalAvaliacoes;
+
     private Boolean ativo;
 
+    // Versão e hora da última escrita (ETag e Last-Modified dos GETs). As atualizações em massa do
+    // restauranteRepository incrementam à mão, pois não passam pelos callbacks abaixo. Nula (linhas
+    // do data.sql ou gravadas por JDBC) vale 0 em toda parte, então a primeira escrita leva a 1
+    private Long versao;
+
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+
     @OneToMany(mappedBy = "restaurante", fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Produto> produtos;
@@ -50,4 +70,15 @@ public class Restaurante {
         return this.ativo != null && this.ativo;
     }
 
+    public boolean possuiAvaliacoes() {
+        return this.totalAvaliacoes != null && this.totalAvaliacoes > 0;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void registrarAlteracao() {
+        versao = versao == null ? 1L : versao + 1;
+        atualizadoEm = LocalDateTime.now();
+    }
+
 }
@@ -0,0 +1,77 @@
+package com.deliverytech.delivery.geo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery.entity.Restaurante;
+
+/**
+ * Geocodificação offline por prefixo de CEP.
+ * Usa a tabela de centroides em geo/cep-centroides.csv e devolve o centroide
+ * do prefixo mais longo que casar com o CEP informado.
+ */
+@Component
+public class CepGeocoder {
+
+    private static final String TABELA = "geo/cep-centroides.csv";
+
+    private final Map<String, Coordenada> centroides;
+    private final int maiorPrefixo;
+
+    public CepGeocoder() throws IOException {
+        this.centroides = carregar();
+        this.maiorPrefixo = centroides.keySet().stream().mapToInt(String::length).max().orElse(0);
+    }
+
+    public Optional<Coordenada> geocodificar(String cep) {
+        if (cep == null) {
+            return Optional.empty();
+        }
+        String digitos = cep.replaceAll("\\D", "");
+        if (digitos.isEmpty()) {
+            return Optional.empty();
+        }
+        for (int tamanho = Math.min(maiorPrefixo, digitos.length()); tamanho > 0; tamanho--) {
+            Coordenada coordenada = centroides.get(digitos.substring(0, tamanho));
+            if (coordenada != null) {
+                return Optional.of(coordenada);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Usa o CEP para preencher as coordenadas que faltarem no restaurante. */
+    public void completarCoordenadas(Restaurante restaurante) {
+        if (restaurante.getLatitude() != null && restaurante.getLongitude() != null) {
+            return;
+        }
+        geocodificar(restaurante.getCep()).ifPresent(coordenada -> {
+            restaurante.setLatitude(coordenada.latitude());
+            restaurante.setLongitude(coordenada.longitude());
+        });
+    }
+
+    private static Map<String, Coordenada> carregar() throws IOException {
+        Map<String, Coordenada> mapa = new HashMap<>();
+        ClassPathResource recurso = new ClassPathResource(TABELA);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(recurso.getInputStream(), StandardCharsets.UTF_8))) {
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                if (linha.isBlank() || linha.startsWith("#")) {
+                    continue;
+                }
+                String[] campos = linha.split(";");
+                mapa.put(campos[0].trim(), new Coordenada(Double.parseDouble(campos[1]), Double.parseDouble(campos[2])));
+            }
+        }
+        return Map.copyOf(mapa);
+    }
+}
@@ -0,0 +1,16 @@
+package com.deliverytech.delivery.geo;
+
+public record Coordenada(double latitude, double longitude) {
+
+    private static final double RAIO_TERRA_KM = 6371.0088;
+
+    // Distância haversine em quilômetros
+    public double distanciaKm(double lat, double lon) {
+        double dLat = Math.toRadians(lat - latitude);
+        double dLon = Math.toRadians(lon - longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(lat))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
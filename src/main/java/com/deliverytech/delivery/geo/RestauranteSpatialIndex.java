@@ -0,0 +1,141 @@
+package com.deliverytech.delivery.geo;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery.entity.Restaurante;
+
+/**
+ * Índice espacial em memória (grade uniforme) dos restaurantes ativos.
+ * Cada célula guarda um array imutável substituído por cópia na escrita,
+ * então as buscas não tomam lock. A busca percorre anéis de células a partir
+ * do ponto de origem e para assim que nenhum anel seguinte pode conter um
+ * restaurante mais próximo que o k-ésimo já encontrado.
+ */
+@Component
+public class RestauranteSpatialIndex {
+
+    // ~1,1 km de latitude por célula
+    private static final double TAMANHO_CELULA_GRAUS = 0.01;
+    private static final double KM_POR_GRAU_LAT = 111.32;
+
+    private final ConcurrentHashMap<Long, Entrada[]> celulas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Entrada> porId = new ConcurrentHashMap<>();
+
+    public record Entrada(Long id, String nome, String categoria, BigDecimal taxaEntrega,
+                          BigDecimal avaliacao, double latitude, double longitude) {
+    }
+
+    public record Resultado(Entrada restaurante, double distanciaKm) {
+    }
+
+    public int tamanho() {
+        return porId.size();
+    }
+
+    public synchronized void recarregar(List<Restaurante> restaurantes) {
+        celulas.clear();
+        porId.clear();
+        restaurantes.forEach(this::atualizar);
+    }
+
+    // Insere, move ou remove o restaurante conforme status e coordenadas
+    public synchronized void atualizar(Restaurante restaurante) {
+        remover(restaurante.getId());
+        if (!restaurante.isAtivo() || restaurante.getLatitude() == null || restaurante.getLongitude() == null) {
+            return;
+        }
+        Entrada entrada = new Entrada(restaurante.getId(), restaurante.getNome(), restaurante.getCategoria(),
+                restaurante.getTaxaEntrega(), restaurante.getAvaliacao(),
+                restaurante.getLatitude(), restaurante.getLongitude());
+        porId.put(entrada.id(), entrada);
+        celulas.compute(chaveCelula(entrada.latitude(), entrada.longitude()), (k, atual) -> {
+            if (atual == null) {
+                return new Entrada[] { entrada };
+            }
+            Entrada[] novo = Arrays.copyOf(atual, atual.length + 1);
+            novo[atual.length] = entrada;
+            return novo;
+        });
+    }
+
+    public synchronized void remover(Long id) {
+        Entrada anterior = porId.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        celulas.computeIfPresent(chaveCelula(anterior.latitude(), anterior.longitude()), (k, atual) -> {
+            Entrada[] novo = Arrays.stream(atual).filter(e -> !e.id().equals(id)).toArray(Entrada[]::new);
+            return novo.length == 0 ? null : novo;
+        });
+    }
+
+    /**
+     * Retorna os {@code limite} restaurantes mais próximos dentro de {@code raioKm},
+     * do mais perto para o mais longe.
+     */
+    public List<Resultado> buscarProximos(double latitude, double longitude, double raioKm, int limite) {
+        Coordenada origem = new Coordenada(latitude, longitude);
+        int latCentro = indice(latitude);
+        int lonCentro = indice(longitude);
+        // Menor lado da célula em km nesta latitude, usado como limite inferior de distância por anel
+        double kmPorCelula = TAMANHO_CELULA_GRAUS * KM_POR_GRAU_LAT * Math.max(0.01, Math.cos(Math.toRadians(Math.abs(latitude) + TAMANHO_CELULA_GRAUS)));
+        int aneisMaximos = (int) Math.ceil(raioKm / kmPorCelula) + 1;
+
+        // Max-heap pelo pior candidato, limitado a 'limite' elementos
+        PriorityQueue<Resultado> melhores = new PriorityQueue<>(limite + 1,
+                Comparator.comparingDouble(Resultado::distanciaKm).reversed());
+
+        for (int anel = 0; anel <= aneisMaximos; anel++) {
+            if (melhores.size() == limite && (anel - 1) * kmPorCelula >= melhores.peek().distanciaKm()) {
+                break;
+            }
+            for (int dLat = -anel; dLat <= anel; dLat++) {
+                for (int dLon = -anel; dLon <= anel; dLon++) {
+                    if (Math.abs(dLat) != anel && Math.abs(dLon) != anel) {
+                        continue;
+                    }
+                    Entrada[] celula = celulas.get(chave(latCentro + dLat, lonCentro + dLon));
+                    if (celula == null) {
+                        continue;
+                    }
+                    for (Entrada entrada : celula) {
+                        double distancia = origem.distanciaKm(entrada.latitude(), entrada.longitude());
+                        if (distancia > raioKm) {
+                            continue;
+                        }
+                        if (melhores.size() < limite) {
+                            melhores.add(new Resultado(entrada, distancia));
+                        } else if (distancia < melhores.peek().distanciaKm()) {
+                            melhores.poll();
+                            melhores.add(new Resultado(entrada, distancia));
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Resultado> resultado = new ArrayList<>(melhores);
+        resultado.sort(Comparator.comparingDouble(Resultado::distanciaKm));
+        return resultado;
+    }
+
+    private static int indice(double graus) {
+        return (int) Math.floor(graus / TAMANHO_CELULA_GRAUS);
+    }
+
+    private static long chaveCelula(double latitude, double longitude) {
+        return chave(indice(latitude), indice(longitude));
+    }
+
+    private static long chave(int lat, int lon) {
+        return ((long) lat << 32) | (lon & 0xffffffffL);
+    }
+}
@@ -0,0 +1,109 @@
+package com.deliverytech.delivery.monitoramento;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Envolve o CacheManager do Spring para contar acertos e falhas dos caches de
+ * {@code @Cacheable} (o ConcurrentMapCache padrão não tem estatísticas próprias).
+ */
+public class CacheManagerMedido implements CacheManager {
+
+    private final CacheManager alvo;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Cache> medidos = new ConcurrentHashMap<>();
+
+    public CacheManagerMedido(CacheManager alvo, MeterRegistry meterRegistry) {
+        this.alvo = alvo;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String nome) {
+        Cache cache = medidos.get(nome);
+        if (cache != null) {
+            return cache;
+        }
+        Cache original = alvo.getCache(nome);
+        if (original == null) {
+            return null;
+        }
+        return medidos.computeIfAbsent(nome, n -> new CacheMedido(original, ContadorCache.de(meterRegistry, n)));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return alvo.getCacheNames();
+    }
+
+    private record CacheMedido(Cache alvo, ContadorCache contador) implements Cache {
+
+        @Override
+        public String getName() {
+            return alvo.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return alvo.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object chave) {
+            ValueWrapper valor = alvo.get(chave);
+            if (valor != null) {
+                contador.acerto();
+            } else {
+                contador.falha();
+            }
+            return valor;
+        }
+
+        @Override
+        public <T> T get(Object chave, Class<T> tipo) {
+            return alvo.get(chave, tipo);
+        }
+
+        @Override
+        public <T> T get(Object chave, Callable<T> carregador) {
+            return alvo.get(chave, carregador);
+        }
+
+        @Override
+        public void put(Object chave, Object valor) {
+            alvo.put(chave, valor);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object chave, Object valor) {
+            return alvo.putIfAbsent(chave, valor);
+        }
+
+        @Override
+        public void evict(Object chave) {
+            alvo.evict(chave);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object chave) {
+            return alvo.evictIfPresent(chave);
+        }
+
+        @Override
+        public void clear() {
+            alvo.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return alvo.invalidate();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.deliverytech.delivery.monitoramento;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Acertos e falhas de um cache da aplicação, como {@code cache.consultas}
+ * marcado com o nome do cache e {@code resultado=acerto|falha}. Os contadores
+ * são criados uma vez; registrar é só um incremento.
+ */
+public final class ContadorCache {
+
+    private final Counter acertos;
+    private final Counter falhas;
+
+    private ContadorCache(Counter acertos, Counter falhas) {
+        this.acertos = acertos;
+        this.falhas = falhas;
+    }
+
+    public static ContadorCache de(MeterRegistry meterRegistry, String cache) {
+        return new ContadorCache(
+                Counter.builder("cache.consultas").tag("cache", cache).tag("resultado", "acerto")
+                        .description("Consultas a caches da aplicação").register(meterRegistry),
+                Counter.builder("cache.consultas").tag("cache", cache).tag("resultado", "falha")
+                        .description("Consultas a caches da aplicação").register(meterRegistry));
+    }
+
+    public void acerto() {
+        acertos.increment();
+    }
+
+    public void falha() {
+        falhas.increment();
+    }
+}
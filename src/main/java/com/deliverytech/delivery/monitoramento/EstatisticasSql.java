@@ -0,0 +1,67 @@
+package com.deliverytech.delivery.monitoramento;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * O que uma requisição (ou um trecho delimitado por {@link SqlMonitor#iniciar()})
+ * fez no banco: comandos, linhas lidas/afetadas, tempo de JDBC e quantas vezes
+ * cada SQL foi executado. Pertence a uma thread só, sem sincronização.
+ */
+public class EstatisticasSql {
+
+    // Atributo da requisição com as estatísticas já fechadas (lido pelos testes)
+    public static final String ATRIBUTO = EstatisticasSql.class.getName();
+
+    private int comandos;
+    private long linhas;
+    private long nanosJdbc;
+    private final Map<String, Integer> execucoesPorSql = new HashMap<>();
+
+    void registrarComando(String sql, long nanos) {
+        comandos++;
+        nanosJdbc += nanos;
+        if (sql != null) {
+            execucoesPorSql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void somarLinhas(long quantidade) {
+        if (quantidade > 0) {
+            linhas += quantidade;
+        }
+    }
+
+    public int getComandos() {
+        return comandos;
+    }
+
+    public long getLinhas() {
+        return linhas;
+    }
+
+    public Duration getTempoJdbc() {
+        return Duration.ofNanos(nanosJdbc);
+    }
+
+    public Map<String, Integer> getExecucoesPorSql() {
+        return Collections.unmodifiableMap(execucoesPorSql);
+    }
+
+    /**
+     * SQLs idênticos executados mais de {@code limite} vezes: o sinal típico de N+1.
+     */
+    public Map<String, Integer> repetidosAcimaDe(int limite) {
+        return execucoesPorSql.entrySet().stream()
+                .filter(e -> e.getValue() > limite)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    @Override
+    public String toString() {
+        return comandos + " comandos, " + linhas + " linhas, " + getTempoJdbc().toMillis() + " ms de JDBC";
+    }
+}
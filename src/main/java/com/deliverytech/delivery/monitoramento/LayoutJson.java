@@ -0,0 +1,90 @@
+package com.deliverytech.delivery.monitoramento;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.event.KeyValuePair;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.LayoutBase;
+
+/**
+ * Um evento de log por linha, em JSON: {@code @timestamp}, {@code level},
+ * {@code logger}, {@code thread}, {@code message}, os campos do MDC, os pares
+ * chave-valor do evento (API fluente do SLF4J: {@code log.atDebug().addKeyValue(...)})
+ * e {@code stack_trace} quando houver exceção. Sem dependência externa; roda
+ * na thread do AsyncAppender, fora do caminho da requisição.
+ */
+public class LayoutJson extends LayoutBase<ILoggingEvent> {
+
+    @Override
+    public String doLayout(ILoggingEvent evento) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"@timestamp\":\"").append(DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(evento.getTimeStamp())))
+                .append("\",\"level\":\"").append(evento.getLevel())
+                .append('"');
+        campo(json, "logger", evento.getLoggerName());
+        campo(json, "thread", evento.getThreadName());
+        campo(json, "message", evento.getFormattedMessage());
+
+        Map<String, String> mdc = evento.getMDCPropertyMap();
+        if (mdc != null) {
+            mdc.forEach((chave, valor) -> campo(json, chave, valor));
+        }
+        List<KeyValuePair> pares = evento.getKeyValuePairs();
+        if (pares != null) {
+            for (KeyValuePair par : pares) {
+                if (par.value instanceof Number || par.value instanceof Boolean) {
+                    json.append(",\"");
+                    escapar(json, par.key);
+                    json.append("\":").append(par.value);
+                } else {
+                    campo(json, par.key, par.value == null ? null : par.value.toString());
+                }
+            }
+        }
+        IThrowableProxy excecao = evento.getThrowableProxy();
+        if (excecao != null) {
+            campo(json, "stack_trace", ThrowableProxyUtil.asString(excecao));
+        }
+        return json.append('}').append(CoreConstants.LINE_SEPARATOR).toString();
+    }
+
+    private static void campo(StringBuilder json, String chave, String valor) {
+        json.append(",\"");
+        escapar(json, chave);
+        json.append("\":");
+        if (valor == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        escapar(json, valor);
+        json.append('"');
+    }
+
+    private static void escapar(StringBuilder json, String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.deliverytech.delivery.monitoramento;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import ch.qos.logback.classic.Level;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Decide no início de cada requisição (amostragem na cabeça) se ela será
+ * rastreada em DEBUG, na ordem:
+ *
+ * <ol>
+ *   <li>header {@code X-Log-Level: DEBUG|TRACE}, aceito só com o
+ *   {@code X-Log-Token} certo. Sem token configurado o header é ignorado,
+ *   exceto se {@code headerSemToken} (perfil dev): senão qualquer cliente
+ *   poderia pôr as próprias requisições em DEBUG;</li>
+ *   <li>{@code traceparent} W3C com a flag {@code sampled}, se
+ *   {@code respeitarTraceparent} — a decisão de quem chamou é mantida;</li>
+ *   <li>sorteio com probabilidade {@code taxaAmostragem}.</li>
+ * </ol>
+ *
+ * Rastreada, a requisição tem o nível baixado só na sua thread
+ * ({@link NivelLogPorRequisicao}), o que inclui o SQL do Hibernate, e termina
+ * com um evento estruturado (rota, status, duração, comandos e tempo de SQL).
+ * Toda requisição recebe {@code requestId} no MDC e no header {@code X-Request-Id}.
+ */
+public class LogRequisicaoFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(LogRequisicaoFilter.class);
+
+    static final String HEADER_NIVEL = "X-Log-Level";
+    static final String HEADER_TOKEN = "X-Log-Token";
+    static final String HEADER_REQUEST_ID = "X-Request-Id";
+
+    private final double taxaAmostragem;
+    private final boolean respeitarTraceparent;
+    private final byte[] token;
+    private final boolean headerSemToken;
+
+    public LogRequisicaoFilter(double taxaAmostragem, boolean respeitarTraceparent, String token,
+            boolean headerSemToken) {
+        this.taxaAmostragem = taxaAmostragem;
+        this.respeitarTraceparent = respeitarTraceparent;
+        this.token = token == null || token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+        this.headerSemToken = headerSemToken;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        String requestId = request.getHeader(HEADER_REQUEST_ID);
+        if (!requestIdValido(requestId)) {
+            requestId = UUID.randomUUID().toString();
+        }
+        String traceparent = request.getHeader("traceparent");
+        String traceId = traceId(traceparent);
+        Level nivel = nivelDaRequisicao(request, traceparent);
+
+        MDC.put("requestId", requestId);
+        if (traceId != null) {
+            MDC.put("traceId", traceId);
+        }
+        response.setHeader(HEADER_REQUEST_ID, requestId);
+        if (nivel != null) {
+            NivelLogPorRequisicao.ativar(nivel);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (nivel != null) {
+                registrar(request, response, inicio);
+                NivelLogPorRequisicao.desativar();
+            }
+            MDC.remove("requestId");
+            MDC.remove("traceId");
+        }
+    }
+
+    Level nivelDaRequisicao(HttpServletRequest request, String traceparent) {
+        String pedido = request.getHeader(HEADER_NIVEL);
+        if (pedido != null && tokenValido(request.getHeader(HEADER_TOKEN))) {
+            if ("TRACE".equalsIgnoreCase(pedido)) {
+                return Level.TRACE;
+            }
+            if ("DEBUG".equalsIgnoreCase(pedido)) {
+                return Level.DEBUG;
+            }
+        }
+        if (respeitarTraceparent && amostradoNoTraceparent(traceparent)) {
+            return Level.DEBUG;
+        }
+        return taxaAmostragem > 0 && ThreadLocalRandom.current().nextDouble() < taxaAmostragem ? Level.DEBUG : null;
+    }
+
+    private boolean tokenValido(String recebido) {
+        if (token == null) {
+            return headerSemToken;
+        }
+        return recebido != null && MessageDigest.isEqual(token, recebido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void registrar(HttpServletRequest request, HttpServletResponse response, long inicio) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Object sql = request.getAttribute(EstatisticasSql.ATRIBUTO);
+        var evento = log.atDebug()
+                .setMessage("requisicao")
+                .addKeyValue("metodo", request.getMethod())
+                .addKeyValue("uri", request.getRequestURI())
+                .addKeyValue("rota", padrao != null ? padrao.toString() : null)
+                .addKeyValue("status", response.getStatus())
+                .addKeyValue("duracaoMs", (System.nanoTime() - inicio) / 1_000_000.0);
+        if (sql instanceof EstatisticasSql estatisticas) {
+            evento = evento.addKeyValue("sqlComandos", estatisticas.getComandos())
+                    .addKeyValue("sqlLinhas", estatisticas.getLinhas())
+                    .addKeyValue("sqlTempoMs", estatisticas.getTempoJdbc().toNanos() / 1_000_000.0);
+        }
+        evento.log();
+    }
+
+    // Aceita o id de quem chamou só se for curto e sem caracteres que sujem log ou header
+    static boolean requestIdValido(String requestId) {
+        if (requestId == null || requestId.isEmpty() || requestId.length() > 64) {
+            return false;
+        }
+        for (int i = 0; i < requestId.length(); i++) {
+            char c = requestId.charAt(i);
+            if (!(Character.isLetterOrDigit(c) || c == '-' || c == '_' || c == '.')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // traceparent: versão-traceid(32 hex)-parentid(16 hex)-flags(2 hex)
+    static boolean amostradoNoTraceparent(String traceparent) {
+        if (traceparent == null || traceparent.length() < 55 || traceparent.charAt(2) != '-') {
+            return false;
+        }
+        int flags = Character.digit(traceparent.charAt(54), 16);
+        return flags >= 0 && (flags & 1) == 1;
+    }
+
+    static String traceId(String traceparent) {
+        if (traceparent == null || traceparent.length() < 35 || traceparent.charAt(2) != '-') {
+            return null;
+        }
+        return traceparent.substring(3, 35);
+    }
+}
@@ -0,0 +1,48 @@
+package com.deliverytech.delivery.monitoramento;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.deliverytech.delivery.ranking.PedidoCriadoEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Contadores de resultado de negócio: pedidos criados e recusados (por
+ * motivo) e tentativas de login (por resultado).
+ */
+@Component
+public class MetricasNegocio {
+
+    private final MeterRegistry meterRegistry;
+    private final Counter pedidosCriados;
+
+    public MetricasNegocio(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.pedidosCriados = Counter.builder("pedidos.criados")
+                .description("Pedidos criados com sucesso")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Conta o pedido só depois do commit: um pedido desfeito por rollback
+     * (ou por falha no próprio commit) não entra em {@code pedidos.criados}.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoCriarPedido(PedidoCriadoEvent evento) {
+        pedidosCriados.increment();
+    }
+
+    /**
+     * @param motivo valor fixo e de poucos valores possíveis (vira tag)
+     */
+    public void pedidoRecusado(String motivo) {
+        meterRegistry.counter("pedidos.recusados", "motivo", motivo).increment();
+    }
+
+    public void login(String resultado) {
+        meterRegistry.counter("auth.login", "resultado", resultado).increment();
+    }
+}
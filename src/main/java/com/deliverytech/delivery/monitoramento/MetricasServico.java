@@ -0,0 +1,67 @@
+package com.deliverytech.delivery.monitoramento;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers das operações de serviço ({@code servico.operacoes}, marcados com
+ * classe, método e exceção). O Timer de sucesso de cada método é criado uma
+ * vez e fica num mapa por {@link Method}: no caminho quente a medição custa
+ * uma consulta ao mapa, duas leituras do relógio e o registro no histograma.
+ */
+public class MetricasServico {
+
+    public static final String NOME = "servico.operacoes";
+
+    @FunctionalInterface
+    public interface Operacao {
+        Object executar() throws Throwable;
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final double[] percentis;
+    private final Duration[] slos;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public MetricasServico(MeterRegistry meterRegistry, double[] percentis, Duration[] slos) {
+        this.meterRegistry = meterRegistry;
+        this.percentis = percentis;
+        this.slos = slos;
+    }
+
+    public Object medir(Method metodo, Operacao operacao) throws Throwable {
+        long inicio = System.nanoTime();
+        Object resultado;
+        try {
+            resultado = operacao.executar();
+        } catch (Throwable e) {
+            // Caminho de erro: o registro acha (ou cria) o timer marcado com a exceção
+            timer(metodo, e.getClass().getSimpleName()).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        long decorrido = System.nanoTime() - inicio;
+        Timer timer = timers.get(metodo);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(metodo, m -> timer(m, "nenhuma"));
+        }
+        timer.record(decorrido, TimeUnit.NANOSECONDS);
+        return resultado;
+    }
+
+    private Timer timer(Method metodo, String excecao) {
+        return Timer.builder(NOME)
+                .description("Duração das operações da camada de serviço")
+                .tag("classe", metodo.getDeclaringClass().getSimpleName())
+                .tag("metodo", metodo.getName())
+                .tag("excecao", excecao)
+                .publishPercentiles(percentis)
+                .serviceLevelObjectives(slos)
+                .register(meterRegistry);
+    }
+}
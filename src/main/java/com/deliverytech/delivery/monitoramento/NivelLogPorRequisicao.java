@@ -0,0 +1,62 @@
+package com.deliverytech.delivery.monitoramento;
+
+import java.util.Arrays;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * TurboFilter do Logback que baixa o nível de log só na thread da requisição
+ * escolhida ({@link LogRequisicaoFilter}: amostrada ou pedida por header).
+ * Nessa thread, eventos a partir do nível ativado, vindos dos loggers
+ * configurados, passam mesmo com o logger em INFO; nas demais o filtro
+ * responde NEUTRAL logo após ler a ThreadLocal, e vale o nível normal.
+ *
+ * <p>Configurado no logback-spring.xml; {@code loggers} é a lista de prefixos
+ * separada por vírgula.
+ */
+public class NivelLogPorRequisicao extends TurboFilter {
+
+    private static final ThreadLocal<Level> NIVEL = new ThreadLocal<>();
+
+    private String[] prefixos = new String[0];
+
+    public static void ativar(Level nivel) {
+        NIVEL.set(nivel);
+    }
+
+    public static void desativar() {
+        NIVEL.remove();
+    }
+
+    public static Level atual() {
+        return NIVEL.get();
+    }
+
+    public void setLoggers(String loggers) {
+        this.prefixos = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        Level nivel = NIVEL.get();
+        if (nivel == null || level == null || !level.isGreaterOrEqual(nivel)) {
+            return FilterReply.NEUTRAL;
+        }
+        String nome = logger.getName();
+        for (String prefixo : prefixos) {
+            if (nome.startsWith(prefixo)) {
+                return FilterReply.ACCEPT;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,57 @@
+package com.deliverytech.delivery.monitoramento;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mede o tempo entre o início da JVM e o fim da primeira requisição servida —
+ * o que o autoscaling realmente espera, incluindo o que ficou para depois da
+ * partida (beans preguiçosos, caches, JIT). Publica
+ * {@code aplicacao.primeira.requisicao} (ao lado dos {@code application.started.time}
+ * e {@code application.ready.time} do Spring Boot) e registra um log.
+ * Depois da primeira, custa uma leitura de volatile por requisição.
+ */
+public class PrimeiraRequisicaoFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(PrimeiraRequisicaoFilter.class);
+
+    private final AtomicBoolean medida = new AtomicBoolean();
+    private final MeterRegistry meterRegistry;
+
+    public PrimeiraRequisicaoFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!medida.get() && medida.compareAndSet(false, true)) {
+                registrar(request, ManagementFactory.getRuntimeMXBean().getUptime());
+            }
+        }
+    }
+
+    private void registrar(HttpServletRequest request, long millisDesdeInicioJvm) {
+        TimeGauge.builder("aplicacao.primeira.requisicao", () -> millisDesdeInicioJvm, TimeUnit.MILLISECONDS)
+                .description("Tempo do início da JVM até o fim da primeira requisição")
+                .register(meterRegistry);
+        log.info("Primeira requisição ({} {}) concluída {} ms após o início da JVM",
+                request.getMethod(), request.getRequestURI(), millisDesdeInicioJvm);
+    }
+}
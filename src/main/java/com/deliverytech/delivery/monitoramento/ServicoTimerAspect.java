@@ -0,0 +1,28 @@
+package com.deliverytech.delivery.monitoramento;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Mede todo método público das classes de {@code service.impl}, sem anotação
+ * por método. Fica por fora da transação para que o commit entre na medida.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServicoTimerAspect {
+
+    private final MetricasServico metricasServico;
+
+    public ServicoTimerAspect(MetricasServico metricasServico) {
+        this.metricasServico = metricasServico;
+    }
+
+    @Around("within(com.deliverytech.delivery.service.impl..*) && execution(public * *(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        return metricasServico.medir(((MethodSignature) joinPoint.getSignature()).getMethod(), joinPoint::proceed);
+    }
+}
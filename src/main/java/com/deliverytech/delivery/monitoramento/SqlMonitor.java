@@ -0,0 +1,152 @@
+package com.deliverytech.delivery.monitoramento;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Contagem de SQL por thread. O {@link DataSource} envolvido por
+ * {@link #envolver(DataSource)} devolve conexões que medem cada execute*, somam
+ * as linhas afetadas e as lidas do ResultSet, e registram tudo nas estatísticas
+ * abertas na thread atual. Sem estatísticas abertas, só repassa as chamadas.
+ */
+public final class SqlMonitor {
+
+    private static final ThreadLocal<EstatisticasSql> ATUAL = new ThreadLocal<>();
+
+    private SqlMonitor() {
+    }
+
+    public static EstatisticasSql iniciar() {
+        EstatisticasSql estatisticas = new EstatisticasSql();
+        ATUAL.set(estatisticas);
+        return estatisticas;
+    }
+
+    public static EstatisticasSql finalizar() {
+        EstatisticasSql estatisticas = ATUAL.get();
+        ATUAL.remove();
+        return estatisticas;
+    }
+
+    public static EstatisticasSql atual() {
+        return ATUAL.get();
+    }
+
+    public static DataSource envolver(DataSource dataSource) {
+        return dataSource instanceof DataSourceMonitorado ? dataSource : new DataSourceMonitorado(dataSource);
+    }
+
+    /**
+     * DelegatingDataSource mantém unwrap/isWrapperFor, que as métricas do pool usam para achar o Hikari.
+     */
+    static class DataSourceMonitorado extends DelegatingDataSource implements AutoCloseable {
+
+        DataSourceMonitorado(DataSource alvo) {
+            super(alvo);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return proxy(Connection.class, super.getConnection(), null);
+        }
+
+        @Override
+        public Connection getConnection(String usuario, String senha) throws SQLException {
+            return proxy(Connection.class, super.getConnection(usuario, senha), null);
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (getTargetDataSource() instanceof AutoCloseable fechavel) {
+                fechavel.close();
+            }
+        }
+    }
+
+    private static <T> T proxy(Class<T> tipo, T alvo, String sql) {
+        InvocationHandler handler = new Interceptador(alvo, sql);
+        return tipo.cast(Proxy.newProxyInstance(SqlMonitor.class.getClassLoader(), new Class<?>[] {tipo}, handler));
+    }
+
+    private record Interceptador(Object alvo, String sql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nome = metodo.getName();
+            if ("equals".equals(nome) && args != null && args.length == 1) {
+                return proxy == args[0];
+            }
+            if (alvo instanceof ResultSet) {
+                Object resultado = chamar(metodo, args);
+                if ("next".equals(nome) && Boolean.TRUE.equals(resultado)) {
+                    EstatisticasSql estatisticas = ATUAL.get();
+                    if (estatisticas != null) {
+                        estatisticas.somarLinhas(1);
+                    }
+                }
+                return resultado;
+            }
+            if (alvo instanceof Connection) {
+                Object resultado = chamar(metodo, args);
+                if (resultado instanceof CallableStatement cs && nome.equals("prepareCall")) {
+                    return proxy(CallableStatement.class, cs, (String) args[0]);
+                }
+                if (resultado instanceof PreparedStatement ps && nome.equals("prepareStatement")) {
+                    return proxy(PreparedStatement.class, ps, (String) args[0]);
+                }
+                if (resultado instanceof Statement st && nome.equals("createStatement")) {
+                    return proxy(Statement.class, st, null);
+                }
+                return resultado;
+            }
+            // Statement
+            EstatisticasSql estatisticas = ATUAL.get();
+            if (estatisticas == null) {
+                return chamar(metodo, args);
+            }
+            if (nome.startsWith("execute")) {
+                String comando = args != null && args.length > 0 && args[0] instanceof String texto ? texto : sql;
+                long inicio = System.nanoTime();
+                Object resultado = chamar(metodo, args);
+                estatisticas.registrarComando(comando, System.nanoTime() - inicio);
+                if (resultado instanceof Integer afetadas) {
+                    estatisticas.somarLinhas(afetadas);
+                } else if (resultado instanceof Long afetadas) {
+                    estatisticas.somarLinhas(afetadas);
+                } else if (resultado instanceof int[] lote) {
+                    for (int afetadas : lote) {
+                        estatisticas.somarLinhas(afetadas);
+                    }
+                } else if (resultado instanceof ResultSet rs) {
+                    return proxy(ResultSet.class, rs, null);
+                }
+                return resultado;
+            }
+            if ("getResultSet".equals(nome)) {
+                Object resultado = chamar(metodo, args);
+                return resultado instanceof ResultSet rs ? proxy(ResultSet.class, rs, null) : resultado;
+            }
+            return chamar(metodo, args);
+        }
+
+        private Object chamar(Method metodo, Object[] args) throws Throwable {
+            try {
+                return metodo.invoke(alvo, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.deliverytech.delivery.monitoramento;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Abre as estatísticas de SQL no início da requisição e, ao fim, publica por
+ * endpoint (padrão da rota + método) os histogramas de comandos, linhas e
+ * tempo de JDBC. Um mesmo SQL repetido mais de {@code limiarRepeticao} vezes na
+ * requisição é logado como provável N+1 e contado em {@code sql.repeticoes}.
+ */
+public class SqlMonitorFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlMonitorFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int limiarRepeticao;
+
+    public SqlMonitorFilter(MeterRegistry meterRegistry, int limiarRepeticao) {
+        this.meterRegistry = meterRegistry;
+        this.limiarRepeticao = limiarRepeticao;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlMonitor.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            EstatisticasSql estatisticas = SqlMonitor.finalizar();
+            request.setAttribute(EstatisticasSql.ATRIBUTO, estatisticas);
+            publicar(request, estatisticas);
+        }
+    }
+
+    private void publicar(HttpServletRequest request, EstatisticasSql estatisticas) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Só o padrão da rota (nunca a URI crua) para não explodir a cardinalidade
+        String uri = padrao != null ? padrao.toString() : "NAO_MAPEADA";
+        String metodo = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.sql.comandos")
+                .description("Comandos SQL por requisição")
+                .tags("uri", uri, "method", metodo)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(estatisticas.getComandos());
+        DistributionSummary.builder("http.server.requests.sql.linhas")
+                .description("Linhas lidas ou afetadas por requisição")
+                .tags("uri", uri, "method", metodo)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(estatisticas.getLinhas());
+        Timer.builder("http.server.requests.sql.tempo")
+                .description("Tempo em chamadas JDBC por requisição")
+                .tags("uri", uri, "method", metodo)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(estatisticas.getTempoJdbc());
+
+        Map<String, Integer> repetidos = estatisticas.repetidosAcimaDe(limiarRepeticao);
+        if (!repetidos.isEmpty()) {
+            meterRegistry.counter("sql.repeticoes", "uri", uri, "method", metodo).increment();
+            repetidos.forEach((sql, vezes) ->
+                    log.warn("Provável N+1 em {} {}: {}x {}", metodo, uri, vezes, sql));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("{} {}: {}", metodo, uri, estatisticas);
+        }
+    }
+}
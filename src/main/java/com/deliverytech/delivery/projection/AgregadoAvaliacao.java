@@ -0,0 +1,8 @@
+package com.deliverytech.delivery.projection;
+
+// Soma e quantidade de notas de um restaurante
+public interface AgregadoAvaliacao {
+    Long getRestauranteId();
+    Long getSoma();
+    Long getTotal();
+}
@@ -0,0 +1,7 @@
+package com.deliverytech.delivery.projection;
+
+// ID e nome do cliente, para carregar o índice de busca por nome
+public interface ClienteNome {
+    Long getId();
+    String getNome();
+}
@@ -0,0 +1,14 @@
+package com.deliverytech.delivery.projection;
+
+import java.time.LocalDateTime;
+
+// Item de pedido com o que o ranking de popularidade precisa, para semeá-lo na partida
+public interface ItemVendidoRecente {
+    Long getPedidoId();
+    LocalDateTime getDataPedido();
+    Long getRestauranteId();
+    String getCategoriaRestaurante();
+    Long getProdutoId();
+    String getCategoriaProduto();
+    Integer getQuantidade();
+}
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery.projection;
+
+import java.time.LocalDateTime;
+
+// Só o que o filtro JWT precisa para barrar contas desativadas ou com tokens revogados
+public interface StatusUsuario {
+    Boolean getAtivo();
+    LocalDateTime getTokensRevogadosEm();
+}
@@ -0,0 +1,11 @@
+package com.deliverytech.delivery.projection;
+
+import java.time.LocalDateTime;
+
+// Resumo das versões de um conjunto de linhas: muda com qualquer inclusão, remoção ou escrita
+public interface VersaoColecao {
+    Long getTotal();
+    Long getSomaVersoes();
+    Long getMaiorId();
+    LocalDateTime getUltimaAlteracao();
+}
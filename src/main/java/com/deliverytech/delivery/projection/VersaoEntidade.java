@@ -0,0 +1,10 @@
+package com.deliverytech.delivery.projection;
+
+import java.time.LocalDateTime;
+
+// Só os metadados de versão, para responder GET condicional sem carregar a entidade
+public interface VersaoEntidade {
+    Long getId();
+    Long getVersao();
+    LocalDateTime getAtualizadoEm();
+}
@@ -0,0 +1,12 @@
+package com.deliverytech.delivery.ranking;
+
+import java.util.List;
+
+/**
+ * Publicado por criarPedido; os ouvintes só o recebem depois do commit.
+ */
+public record PedidoCriadoEvent(Long restauranteId, String categoriaRestaurante, List<ItemVendido> itens) {
+
+    public record ItemVendido(Long produtoId, String categoria, int quantidade) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.deliverytech.delivery.ranking;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery.projection.ItemVendidoRecente;
+import com.deliverytech.delivery.repository.pedidoRepository;
+
+/**
+ * Carga inicial do {@link PopularidadeTracker}: sem ela, cada partida zera o
+ * ranking até chegarem pedidos novos. Uma consulta só, limitada aos últimos
+ * {@code ranking.historico.dias} dias e a {@code ranking.historico.max-itens}
+ * itens (os mais recentes), e terminando em
+ * {@link PopularidadeTracker#getIniciadoEm()}: o que veio depois chega pelo
+ * evento de pedido criado e não é contado duas vezes.
+ */
+@Component
+public class PopularidadeHistorico {
+
+    private static final Logger log = LoggerFactory.getLogger(PopularidadeHistorico.class);
+
+    private final pedidoRepository pedidoRepository;
+    private final PopularidadeTracker popularidadeTracker;
+    private final int dias;
+    private final int maxItens;
+
+    public PopularidadeHistorico(pedidoRepository pedidoRepository, PopularidadeTracker popularidadeTracker,
+                                 @Value("${ranking.historico.dias:7}") int dias,
+                                 @Value("${ranking.historico.max-itens:50000}") int maxItens) {
+        this.pedidoRepository = pedidoRepository;
+        this.popularidadeTracker = popularidadeTracker;
+        this.dias = dias;
+        this.maxItens = maxItens;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        if (dias < 1 || maxItens < 1) {
+            return;
+        }
+        LocalDateTime fim = popularidadeTracker.getIniciadoEm();
+        List<ItemVendidoRecente> itens;
+        try {
+            itens = pedidoRepository.listarItensVendidos(fim.minusDays(dias), fim, PageRequest.of(0, maxItens));
+        } catch (DataAccessException e) {
+            log.warn("Ranking de popularidade sem histórico: falha ao ler os pedidos recentes: {}", e.getMessage());
+            return;
+        }
+
+        // A consulta vem do mais recente para o mais antigo; o ranking recebe em ordem de tempo
+        int pedidos = 0;
+        List<PedidoCriadoEvent.ItemVendido> itensDoPedido = new ArrayList<>();
+        for (int i = itens.size() - 1; i >= 0; i--) {
+            ItemVendidoRecente item = itens.get(i);
+            itensDoPedido.add(new PedidoCriadoEvent.ItemVendido(item.getProdutoId(), item.getCategoriaProduto(),
+                    item.getQuantidade() != null ? item.getQuantidade() : 0));
+            // Itens do mesmo pedido vêm juntos: o pedido fecha quando o próximo é de outro
+            if (i == 0 || !itens.get(i - 1).getPedidoId().equals(item.getPedidoId())) {
+                popularidadeTracker.registrarPedido(
+                        new PedidoCriadoEvent(item.getRestauranteId(), item.getCategoriaRestaurante(), itensDoPedido),
+                        item.getDataPedido().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                itensDoPedido = new ArrayList<>();
+                pedidos++;
+            }
+        }
+        log.info("Ranking de popularidade carregado com {} pedidos ({} itens) dos últimos {} dias", pedidos, itens.size(), dias);
+    }
+}
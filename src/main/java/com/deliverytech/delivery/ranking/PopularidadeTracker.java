@@ -0,0 +1,100 @@
+package com.deliverytech.delivery.ranking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Ranking de popularidade de restaurantes e produtos alimentado pelos pedidos
+ * confirmados no banco. Mantém duas janelas: TOTAL (sem decaimento) e AGORA
+ * (decaimento exponencial, para "em alta"), globais e por categoria.
+ * Cada ranking guarda no máximo {@code ranking.capacidade} contadores.
+ *
+ * <p>Fica em memória, por réplica: vê os pedidos criados neste nó desde
+ * {@link #getIniciadoEm()} e, na partida, os dias recentes anteriores a esse
+ * instante ({@link PopularidadeHistorico}). Pedidos criados em outras réplicas
+ * depois da partida não entram aqui.
+ */
+@Component
+public class PopularidadeTracker {
+
+    public enum Janela { TOTAL, AGORA }
+
+    private static final String TODAS = "";
+
+    private final int capacidade;
+    private final long meiaVidaMillis;
+    private final LocalDateTime iniciadoEm = LocalDateTime.now();
+
+    private final Map<String, SpaceSavingTopK<Long>> restaurantesTotal = new ConcurrentHashMap<>();
+    private final Map<String, SpaceSavingTopK<Long>> restaurantesAgora = new ConcurrentHashMap<>();
+    private final Map<String, SpaceSavingTopK<Long>> produtosTotal = new ConcurrentHashMap<>();
+    private final Map<String, SpaceSavingTopK<Long>> produtosAgora = new ConcurrentHashMap<>();
+
+    public PopularidadeTracker(@Value("${ranking.capacidade:200}") int capacidade,
+                               @Value("${ranking.meia-vida-minutos:60}") long meiaVidaMinutos) {
+        this.capacidade = capacidade;
+        this.meiaVidaMillis = meiaVidaMinutos * 60_000L;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoCriarPedido(PedidoCriadoEvent evento) {
+        registrarPedido(evento, System.currentTimeMillis());
+    }
+
+    /**
+     * Conta um pedido feito no instante informado; a janela AGORA o pesa pela idade.
+     */
+    public void registrarPedido(PedidoCriadoEvent evento, long instanteMillis) {
+        registrar(restaurantesTotal, restaurantesAgora, evento.restauranteId(), evento.categoriaRestaurante(), 1, instanteMillis);
+        for (PedidoCriadoEvent.ItemVendido item : evento.itens()) {
+            registrar(produtosTotal, produtosAgora, item.produtoId(), item.categoria(), item.quantidade(), instanteMillis);
+        }
+    }
+
+    // Pedidos anteriores a este instante não chegam pelo evento: só a carga inicial os conta
+    public LocalDateTime getIniciadoEm() {
+        return iniciadoEm;
+    }
+
+    public List<SpaceSavingTopK.Item<Long>> topRestaurantes(String categoria, Janela janela, int limite) {
+        return top(janela == Janela.AGORA ? restaurantesAgora : restaurantesTotal, categoria, limite);
+    }
+
+    public List<SpaceSavingTopK.Item<Long>> topProdutos(String categoria, Janela janela, int limite) {
+        return top(janela == Janela.AGORA ? produtosAgora : produtosTotal, categoria, limite);
+    }
+
+    private void registrar(Map<String, SpaceSavingTopK<Long>> total, Map<String, SpaceSavingTopK<Long>> agora,
+                           Long id, String categoria, int quantidade, long agoraMillis) {
+        if (id == null) {
+            return;
+        }
+        sketch(total, TODAS, 0).registrar(id, quantidade, agoraMillis);
+        sketch(agora, TODAS, meiaVidaMillis).registrar(id, quantidade, agoraMillis);
+        if (categoria != null && !categoria.isBlank()) {
+            sketch(total, chaveCategoria(categoria), 0).registrar(id, quantidade, agoraMillis);
+            sketch(agora, chaveCategoria(categoria), meiaVidaMillis).registrar(id, quantidade, agoraMillis);
+        }
+    }
+
+    private List<SpaceSavingTopK.Item<Long>> top(Map<String, SpaceSavingTopK<Long>> sketches, String categoria, int limite) {
+        String chave = categoria == null || categoria.isBlank() ? TODAS : chaveCategoria(categoria);
+        SpaceSavingTopK<Long> sketch = sketches.get(chave);
+        return sketch == null ? List.of() : sketch.top(limite, System.currentTimeMillis());
+    }
+
+    private SpaceSavingTopK<Long> sketch(Map<String, SpaceSavingTopK<Long>> sketches, String chave, long meiaVida) {
+        return sketches.computeIfAbsent(chave, c -> new SpaceSavingTopK<>(capacidade, meiaVida));
+    }
+
+    private static String chaveCategoria(String categoria) {
+        return categoria.trim().toLowerCase();
+    }
+}
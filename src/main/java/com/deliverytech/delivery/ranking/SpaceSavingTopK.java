@@ -0,0 +1,169 @@
+package com.deliverytech.delivery.ranking;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contador de itens mais frequentes (algoritmo Space-Saving) com decaimento
+ * exponencial opcional. Guarda no máximo {@code capacidade} contadores, então a
+ * memória é fixa independente do número de itens distintos vistos.
+ *
+ * O decaimento usa "forward decay": cada ocorrência pesa exp((t - marco) / tau),
+ * o que mantém a ordem relativa sem precisar reescalar todos os contadores a
+ * cada evento. O marco é o instante do primeiro registro e é reposicionado
+ * quando os pesos ficam grandes demais.
+ *
+ * Os contadores ficam num heap mínimo indexado pela contagem: incrementar e
+ * substituir o menor custam O(log capacidade).
+ */
+public class SpaceSavingTopK<K> {
+
+    private static final double LIMITE_RENORMALIZACAO = 1e100;
+
+    private final int capacidade;
+    private final double tauMillis;
+    private final Map<K, Contador<K>> contadores;
+    // Heap mínimo por contagem; cada contador guarda a própria posição
+    private final Contador<K>[] heap;
+    private int tamanho;
+    private long marcoMillis;
+    private boolean marcoDefinido;
+
+    public record Item<K>(K chave, double contagem, double erroMaximo) {
+    }
+
+    private static final class Contador<K> {
+        K chave;
+        double contagem;
+        double erro;
+        int posicao;
+
+        Contador(K chave, double contagem, double erro) {
+            this.chave = chave;
+            this.contagem = contagem;
+            this.erro = erro;
+        }
+    }
+
+    /**
+     * @param capacidade   número máximo de contadores mantidos
+     * @param meiaVidaMillis meia-vida do decaimento; 0 desliga o decaimento
+     */
+    @SuppressWarnings("unchecked")
+    public SpaceSavingTopK(int capacidade, long meiaVidaMillis) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva");
+        }
+        this.capacidade = capacidade;
+        this.tauMillis = meiaVidaMillis > 0 ? meiaVidaMillis / Math.log(2) : 0;
+        this.contadores = new HashMap<>(capacidade * 2);
+        this.heap = (Contador<K>[]) new Contador[capacidade];
+    }
+
+    public synchronized void registrar(K chave, double quantidade, long agoraMillis) {
+        if (!marcoDefinido) {
+            // O relógio do chamador pode ter qualquer origem: o decaimento parte do primeiro registro
+            marcoMillis = agoraMillis;
+            marcoDefinido = true;
+        }
+        double peso = quantidade * fator(agoraMillis);
+        if (peso > LIMITE_RENORMALIZACAO) {
+            renormalizar(agoraMillis);
+            peso = quantidade;
+        }
+        Contador<K> contador = contadores.get(chave);
+        if (contador != null) {
+            contador.contagem += peso;
+            descer(contador.posicao);
+            return;
+        }
+        if (tamanho < capacidade) {
+            contador = new Contador<>(chave, peso, 0);
+            contador.posicao = tamanho;
+            heap[tamanho++] = contador;
+            contadores.put(chave, contador);
+            subir(contador.posicao);
+            return;
+        }
+        // Substitui o menor contador; o novo item herda a contagem dele como erro máximo
+        Contador<K> menor = heap[0];
+        contadores.remove(menor.chave);
+        menor.chave = chave;
+        menor.erro = menor.contagem;
+        menor.contagem += peso;
+        contadores.put(chave, menor);
+        descer(0);
+    }
+
+    /**
+     * Itens mais frequentes, com a contagem já decaída para o instante informado.
+     */
+    public synchronized List<Item<K>> top(int limite, long agoraMillis) {
+        double escala = 1.0 / fator(agoraMillis);
+        List<Item<K>> itens = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            Contador<K> c = heap[i];
+            itens.add(new Item<>(c.chave, c.contagem * escala, c.erro * escala));
+        }
+        itens.sort((a, b) -> Double.compare(b.contagem(), a.contagem()));
+        return itens.size() > limite ? List.copyOf(itens.subList(0, limite)) : List.copyOf(itens);
+    }
+
+    public synchronized int tamanho() {
+        return tamanho;
+    }
+
+    private double fator(long agoraMillis) {
+        return tauMillis == 0 || !marcoDefinido ? 1.0 : Math.exp((agoraMillis - marcoMillis) / tauMillis);
+    }
+
+    // Escala todos por igual: a ordem do heap não muda
+    private void renormalizar(long agoraMillis) {
+        double escala = 1.0 / fator(agoraMillis);
+        for (int i = 0; i < tamanho; i++) {
+            heap[i].contagem *= escala;
+            heap[i].erro *= escala;
+        }
+        marcoMillis = agoraMillis;
+    }
+
+    private void subir(int posicao) {
+        while (posicao > 0) {
+            int pai = (posicao - 1) / 2;
+            if (heap[pai].contagem <= heap[posicao].contagem) {
+                return;
+            }
+            trocar(posicao, pai);
+            posicao = pai;
+        }
+    }
+
+    private void descer(int posicao) {
+        while (true) {
+            int menor = posicao;
+            int esquerda = 2 * posicao + 1;
+            int direita = esquerda + 1;
+            if (esquerda < tamanho && heap[esquerda].contagem < heap[menor].contagem) {
+                menor = esquerda;
+            }
+            if (direita < tamanho && heap[direita].contagem < heap[menor].contagem) {
+                menor = direita;
+            }
+            if (menor == posicao) {
+                return;
+            }
+            trocar(posicao, menor);
+            posicao = menor;
+        }
+    }
+
+    private void trocar(int i, int j) {
+        Contador<K> c = heap[i];
+        heap[i] = heap[j];
+        heap[j] = c;
+        heap[i].posicao = i;
+        heap[j].posicao = j;
+    }
+}
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery.ratelimit;
+
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/**
+ * Rotas que compartilham um mesmo limite (ex.: login, cálculo de pedido).
+ */
+public record GrupoLimite(RateLimiter limitador, RequestMatcher rotas) {
+}
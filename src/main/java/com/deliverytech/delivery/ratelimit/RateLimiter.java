@@ -0,0 +1,94 @@
+package com.deliverytech.delivery.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite de um grupo de rotas: {@code limite} requisições por {@code periodo},
+ * um balde por chave (usuário ou IP). A memória é limitada a {@code maxChaves}
+ * baldes; baldes cheios (ociosos) são descartados na limpeza. Se o mapa lotar
+ * de baldes em uso, as chaves novas dividem alguns baldes de transbordo
+ * (escolhidos pelo hash da chave) em vez de crescer sem limite. Com o mapa
+ * lotado, uma chave nova dispara no máximo uma varredura por segundo.
+ */
+public class RateLimiter {
+
+    private static final int FAIXAS_TRANSBORDO = 16;
+    private static final long LIMPEZA_MINIMA_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final String nome;
+    private final int limite;
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final int maxChaves;
+    private final LongSupplier relogio;
+    private final Map<String, TokenBucket> baldes = new ConcurrentHashMap<>();
+    private final TokenBucket[] transbordo = new TokenBucket[FAIXAS_TRANSBORDO];
+    private final AtomicLong ultimaLimpeza;
+
+    public RateLimiter(String nome, int limite, long periodoNanos, int maxChaves, LongSupplier relogio) {
+        if (limite <= 0 || periodoNanos <= 0) {
+            throw new IllegalArgumentException("Limite e período devem ser positivos: " + nome);
+        }
+        this.nome = nome;
+        this.limite = limite;
+        this.intervaloNanos = periodoNanos / limite;
+        this.toleranciaNanos = intervaloNanos * (limite - 1);
+        this.maxChaves = maxChaves;
+        this.relogio = relogio;
+        long agora = relogio.getAsLong();
+        for (int i = 0; i < FAIXAS_TRANSBORDO; i++) {
+            transbordo[i] = new TokenBucket(agora);
+        }
+        this.ultimaLimpeza = new AtomicLong(agora - LIMPEZA_MINIMA_NANOS);
+    }
+
+    public RateLimiter(String nome, int limite, long periodoNanos, int maxChaves) {
+        this(nome, limite, periodoNanos, maxChaves, System::nanoTime);
+    }
+
+    /**
+     * @return 0 se a requisição pode seguir; senão, nanos até poder tentar de novo
+     */
+    public long consumir(String chave) {
+        long agora = relogio.getAsLong();
+        TokenBucket balde = baldes.get(chave);
+        if (balde == null) {
+            if (baldes.size() >= maxChaves && podeLimpar(agora)) {
+                removerOciosos();
+            }
+            balde = baldes.size() < maxChaves
+                    ? baldes.computeIfAbsent(chave, k -> new TokenBucket(agora))
+                    : transbordo[Math.floorMod(chave.hashCode(), FAIXAS_TRANSBORDO)];
+        }
+        return balde.consumir(agora, intervaloNanos, toleranciaNanos);
+    }
+
+    // Só uma thread ganha a vez: as demais vão direto para o transbordo
+    private boolean podeLimpar(long agora) {
+        long ultima = ultimaLimpeza.get();
+        return agora - ultima >= LIMPEZA_MINIMA_NANOS && ultimaLimpeza.compareAndSet(ultima, agora);
+    }
+
+    public int removerOciosos() {
+        long agora = relogio.getAsLong();
+        int antes = baldes.size();
+        baldes.values().removeIf(balde -> balde.isCheio(agora));
+        return antes - baldes.size();
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    public int getChaves() {
+        return baldes.size();
+    }
+}
@@ -0,0 +1,47 @@
+package com.deliverytech.delivery.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket guardado num único long (algoritmo GCRA): em vez de "fichas
+ * restantes + última recarga", guarda o instante teórico em que o balde estaria
+ * cheio de novo. Consumir é um CAS sobre esse valor, sem trava e sem alocação.
+ *
+ * <p>Com capacidade {@code c} e intervalo {@code t} entre fichas, uma requisição
+ * passa se {@code cheioEm - agora <= (c - 1) * t}; cada aceite empurra
+ * {@code cheioEm} em {@code t}.
+ */
+public class TokenBucket {
+
+    private final AtomicLong cheioEm;
+
+    public TokenBucket(long agoraNanos) {
+        this.cheioEm = new AtomicLong(agoraNanos);
+    }
+
+    /**
+     * Tenta consumir uma ficha.
+     *
+     * @return 0 se aceitou; senão, quantos nanos faltam para a próxima ficha
+     */
+    public long consumir(long agoraNanos, long intervaloNanos, long toleranciaNanos) {
+        while (true) {
+            long atual = cheioEm.get();
+            long base = Math.max(atual, agoraNanos);
+            long espera = base - agoraNanos - toleranciaNanos;
+            if (espera > 0) {
+                return espera;
+            }
+            if (cheioEm.compareAndSet(atual, base + intervaloNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Balde cheio: descartá-lo equivale a recriá-lo depois.
+     */
+    public boolean isCheio(long agoraNanos) {
+        return cheioEm.get() <= agoraNanos;
+    }
+}
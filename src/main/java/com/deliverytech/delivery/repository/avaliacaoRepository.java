@@ -0,0 +1,31 @@
+package com.deliverytech.delivery.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.deliverytech.delivery.entity.Avaliacao;
+import com.deliverytech.delivery.projection.AgregadoAvaliacao;
+
+@Repository
+public interface avaliacaoRepository extends JpaRepository<Avaliacao, Long> {
+
+    // Verificar se o pedido já foi avaliado
+    boolean existsByPedidoId(Long pedidoId);
+
+    // Avaliações de um restaurante (mais recentes primeiro)
+    Page<Avaliacao> findByRestauranteIdOrderByDataAvaliacaoDesc(Long restauranteId, Pageable pageable);
+
+    // Recalculo usado pelo job em segundo plano: numa consulta só, os restaurantes cujo agregado diverge das
+    // avaliações, incluindo os que ficaram sem nenhuma (soma e total zerados)
+    @Query("SELECT r.id as restauranteId, COALESCE(SUM(a.nota), 0L) as soma, COUNT(a.id) as total " +
+            "FROM Restaurante r LEFT JOIN Avaliacao a ON a.restaurante = r " +
+            "GROUP BY r.id, r.somaAvaliacoes, r.totalAvaliacoes " +
+            "HAVING COALESCE(SUM(a.nota), 0L) <> COALESCE(r.somaAvaliacoes, 0L) " +
+            "OR COUNT(a.id) <> COALESCE(r.totalAvaliacoes, 0L)")
+    List<AgregadoAvaliacao> buscarAgregadosDivergentes();
+}
@@ -2,11 +2,22 @@ package com.deliverytech.delivery.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.projection.ClienteNome;
+import com.deliverytech.delivery.projection.VersaoEntidade;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface clienteRepository extends JpaRepository<Cliente, Long> {
@@ -20,7 +31,35 @@ public interface clienteRepository extends JpaRepository<Cliente, Long> {
     // Buscar clientes ativos
     List<Cliente> findByAtivoTrue();
 
+    // Paginação por cursor (keyset): próxima janela depois do último ID visto, sem COUNT
+    Slice<Cliente> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    Slice<Cliente> findByAtivoTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    long countByAtivoTrue();
+
     // Buscar clientes por nome (contendo)
     List<Cliente> findByNomeContainingIgnoreCase(String nome);
 
+    // Todos os emails, para carregar o filtro de Bloom: lidos do cursor em lotes, sem montar a lista inteira.
+    // O Stream só existe dentro de uma transação e precisa ser fechado
+    @Query("SELECT c.email FROM Cliente c WHERE c.email IS NOT NULL")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> percorrerEmails();
+
+    // ID e nome de todos os clientes, para o índice de trigramas em memória
+    @Query("SELECT c.id AS id, c.nome AS nome FROM Cliente c")
+    List<ClienteNome> listarNomes();
+
+    // Só o ID do cliente com este email: vínculo usuário → cliente para checagens de dono
+    @Query("SELECT c.id FROM Cliente c WHERE c.email = :email")
+    Optional<Long> buscarIdPorEmail(@Param("email") String email);
+
+    // Só os metadados de versão, para o ETag dos GETs sem carregar o cliente
+    @Query("SELECT c.id AS id, c.versao AS versao, c.atualizadoEm AS atualizadoEm FROM Cliente c WHERE c.id = :id")
+    Optional<VersaoEntidade> buscarVersao(@Param("id") Long id);
+
+    @Query("SELECT c.id AS id, c.versao AS versao, c.atualizadoEm AS atualizadoEm FROM Cliente c WHERE c.email = :email")
+    Optional<VersaoEntidade> buscarVersaoPorEmail(@Param("email") String email);
+
 }
@@ -2,12 +2,17 @@ package com.deliverytech.delivery.repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.deliverytech.delivery.entity.Pedido;
 import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.projection.ItemVendidoRecente;
 
 @Repository
 public interface pedidoRepository extends JpaRepository <Pedido, Long> {
@@ -18,6 +23,11 @@ public interface pedidoRepository extends JpaRepository <Pedido, Long> {
     // Pedidos por cliente
     List<Pedido> findByClienteId(Long clienteId);
 
+    // Pedido só se pertencer ao cliente/restaurante: a checagem de dono vai no WHERE
+    Optional<Pedido> findByIdAndClienteId(Long id, Long clienteId);
+
+    Optional<Pedido> findByIdAndRestauranteId(Long id, Long restauranteId);
+
     // Buscar por número do pedido
     Pedido findByNumeroPedido(String numeroPedido);
 
@@ -33,7 +43,12 @@ public interface pedidoRepository extends JpaRepository <Pedido, Long> {
     // Pedidos por período
     List<Pedido> findByDataPedidoBetween(LocalDateTime inicio, LocalDateTime fim);
 
-    
-
+    // Itens dos pedidos do período, mais recentes primeiro; o Pageable limita as linhas lidas
+    @Query("SELECT p.id AS pedidoId, p.dataPedido AS dataPedido, r.id AS restauranteId, r.categoria AS categoriaRestaurante, " +
+            "pr.id AS produtoId, pr.categoria AS categoriaProduto, i.quantidade AS quantidade " +
+            "FROM ItemPedido i JOIN i.pedido p JOIN p.restaurante r JOIN i.produto pr " +
+            "WHERE p.dataPedido >= :inicio AND p.dataPedido < :fim ORDER BY p.dataPedido DESC, p.id DESC")
+    List<ItemVendidoRecente> listarItensVendidos(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim,
+                                                 Pageable limite);
 
 }
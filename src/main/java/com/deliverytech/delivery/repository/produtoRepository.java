@@ -2,12 +2,17 @@ package com.deliverytech.delivery.repository;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
 import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.projection.VersaoColecao;
+import com.deliverytech.delivery.projection.VersaoEntidade;
 
 @Repository
 public interface produtoRepository extends JpaRepository <Produto, Long> {
@@ -27,4 +32,17 @@ public interface produtoRepository extends JpaRepository <Produto, Long> {
     // Buscar produto por nome
     Produto findByNome(String nome);
 
+    // Metadados de versão para os ETags: a listagem não precisa ser montada para responder 304
+    @Query("SELECT p.id AS id, p.versao AS versao, p.atualizadoEm AS atualizadoEm FROM Produto p WHERE p.id = :id")
+    Optional<VersaoEntidade> buscarVersao(@Param("id") Long id);
+
+    @Query("SELECT COUNT(p) AS total, COALESCE(SUM(COALESCE(p.versao, 0)), 0) AS somaVersoes, " +
+            "COALESCE(MAX(p.id), 0) AS maiorId, MAX(p.atualizadoEm) AS ultimaAlteracao FROM Produto p")
+    VersaoColecao buscarVersaoCatalogo();
+
+    @Query("SELECT COUNT(p) AS total, COALESCE(SUM(COALESCE(p.versao, 0)), 0) AS somaVersoes, " +
+            "COALESCE(MAX(p.id), 0) AS maiorId, MAX(p.atualizadoEm) AS ultimaAlteracao " +
+            "FROM Produto p WHERE p.restaurante.id = :restauranteId")
+    VersaoColecao buscarVersaoPorRestaurante(@Param("restauranteId") Long restauranteId);
+
 }
@@ -0,0 +1,37 @@
+package com.deliverytech.delivery.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.deliverytech.delivery.entity.RefreshToken;
+
+@Repository
+public interface refreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // Uma busca pelo índice único do hash, já trazendo o usuário
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.usuario WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> buscarPorHash(@Param("tokenHash") String tokenHash);
+
+    // Marca como usado só se ninguém usou antes: 0 linhas = reuso (ou corrida)
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usadoEm = :agora WHERE r.id = :id AND r.usadoEm IS NULL AND r.revogado = false")
+    int marcarUsado(@Param("id") Long id, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revogado = true WHERE r.familia = :familia")
+    int revogarFamilia(@Param("familia") String familia);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revogado = true WHERE r.usuario.id = :usuarioId AND r.revogado = false")
+    int revogarDoUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiraEm < :limite")
+    int removerExpirados(@Param("limite") LocalDateTime limite);
+}
@@ -4,11 +4,16 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.projection.AgregadoAvaliacao;
 import com.deliverytech.delivery.projection.RelatorioVendas;
 
 @Repository
@@ -20,6 +25,17 @@ public interface restauranteRepository extends JpaRepository<Restaurante, Long>
     // Buscar restaurantes ativos
     List<Restaurante> findByAtivoTrue();
 
+    // Página de restaurantes ativos (Slice não dispara COUNT)
+    Slice<Restaurante> findByAtivoTrue(Pageable pageable);
+
+    // Página de restaurantes ativos por categoria
+    Slice<Restaurante> findByAtivoTrueAndCategoria(String categoria, Pageable pageable);
+
+    // Contagens usadas no total da paginação (ficam em cache)
+    long countByAtivoTrue();
+
+    long countByAtivoTrueAndCategoria(String categoria);
+
     //buscar por nome e ativo
     Restaurante findByNomeAndAtivoTrue(String nome);
 
@@ -43,6 +59,21 @@ public interface restauranteRepository extends JpaRepository<Restaurante, Long>
 
     List<Restaurante> findByTaxaEntregaBetween(BigDecimal precoMinimo, BigDecimal precoMaximo);
 
+    // Soma a nota ao agregado numa única instrução; a trava de linha serializa avaliações concorrentes
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Restaurante r SET r.somaAvaliacoes = COALESCE(r.somaAvaliacoes, 0) + :nota, " +
+            "r.totalAvaliacoes = COALESCE(r.totalAvaliacoes, 0) + 1, " +
+            "r.versao = COALESCE(r.versao, 0) + 1, r.atualizadoEm = LOCAL DATETIME WHERE r.id = :id")
+    int somarAvaliacao(@Param("id") Long id, @Param("nota") long nota);
+
+    @Query("SELECT r.id as restauranteId, r.somaAvaliacoes as soma, r.totalAvaliacoes as total FROM Restaurante r WHERE r.id = :id")
+    AgregadoAvaliacao buscarAgregadoAvaliacao(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Restaurante r SET r.somaAvaliacoes = :soma, r.totalAvaliacoes = :total, r.avaliacao = :media, " +
+            "r.versao = COALESCE(r.versao, 0) + 1, r.atualizadoEm = LOCAL DATETIME WHERE r.id = :id")
+    int definirAgregadoAvaliacao(@Param("id") Long id, @Param("soma") Long soma, @Param("total") Long total, @Param("media") BigDecimal media);
+
 
 
 
@@ -0,0 +1,23 @@
+package com.deliverytech.delivery.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.deliverytech.delivery.entity.TokenRevogado;
+
+@Repository
+public interface tokenRevogadoRepository extends JpaRepository<TokenRevogado, String> {
+
+    // Revogações ainda relevantes, para recarregar a lista em memória ao subir
+    List<TokenRevogado> findByExpiraEmAfter(LocalDateTime agora);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevogado t WHERE t.expiraEm < :agora")
+    int removerExpirados(@Param("agora") LocalDateTime agora);
+}
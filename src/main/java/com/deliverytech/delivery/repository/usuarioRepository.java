@@ -1,9 +1,17 @@
 package com.deliverytech.delivery.repository;
 
 import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.projection.StatusUsuario;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface usuarioRepository extends JpaRepository<Usuario, Long> {
 
@@ -12,4 +20,12 @@ public interface usuarioRepository extends JpaRepository<Usuario, Long> {
     boolean existsByEmail(String email);
 
     Optional<Usuario> findByEmailAndAtivo(String email, boolean ativo);
+
+    @Query("SELECT u.ativo AS ativo, u.tokensRevogadosEm AS tokensRevogadosEm FROM Usuario u WHERE u.id = :id")
+    Optional<StatusUsuario> buscarStatus(Long id);
+
+    // Para carregar o filtro de Bloom em lotes; usar dentro de uma transação e fechar o Stream
+    @Query("SELECT u.email FROM Usuario u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> percorrerEmails();
 }
@@ -0,0 +1,44 @@
+package com.deliverytech.delivery.security;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+/**
+ * Acesso ao {@code /actuator/prometheus} e {@code /actuator/metrics}: as
+ * métricas de negócio (pedidos, logins, recusas) não são públicas. Libera o
+ * ADMIN autenticado e as redes de {@code metricas.prometheus.redes-permitidas},
+ * de onde o Prometheus coleta sem token. Usa o endereço da conexão, não {@code X-Forwarded-For}: atrás de
+ * proxy, a rede permitida é a do proxy e ele não deve repassar a rota.
+ */
+public class AcessoMetricas implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private final List<IpAddressMatcher> redes;
+
+    public AcessoMetricas(List<String> redesPermitidas) {
+        this.redes = redesPermitidas.stream()
+                .map(String::trim)
+                .filter(rede -> !rede.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext contexto) {
+        String endereco = contexto.getRequest().getRemoteAddr();
+        for (IpAddressMatcher rede : redes) {
+            if (rede.matches(endereco)) {
+                return new AuthorizationDecision(true);
+            }
+        }
+        Authentication autenticacao = authentication.get();
+        boolean admin = autenticacao != null && autenticacao.isAuthenticated()
+                && autenticacao.getAuthorities().stream().anyMatch(a -> "ADMIN".equals(a.getAuthority()));
+        return new AuthorizationDecision(admin);
+    }
+}
@@ -0,0 +1,107 @@
+package com.deliverytech.delivery.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.deliverytech.delivery.cache.CacheInvalidationBus;
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.monitoramento.ContadorCache;
+import com.deliverytech.delivery.repository.clienteRepository;
+
+/**
+ * Vínculo usuário → cliente (as tabelas só se ligam pelo email). Resolvido uma
+ * vez por usuário e mantido em memória, para que as checagens de "é dono?"
+ * virem comparação de ids, sem carregar o {@code Cliente}. Só vínculos
+ * encontrados são guardados; trocar o email de um cliente desfaz o vínculo
+ * aqui (na hora e de novo após o commit, pelo barramento) e nos outros nós.
+ * Cada vínculo vale no máximo {@code auth.vinculo-cliente.validade-segundos}:
+ * uma invalidação perdida não deixa o vínculo antigo valendo para sempre.
+ */
+@Component
+public class ClienteVinculoCache {
+
+    public static final String NOME_CACHE = "usuarios-cliente";
+
+    private record Vinculo(Long clienteId, long lidoEm) {
+    }
+
+    private final clienteRepository clienteRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final int maxEntradas;
+    private final long validadeMillis;
+    private final Map<Long, Vinculo> vinculos = new ConcurrentHashMap<>();
+    private final ContadorCache contador;
+
+    public ClienteVinculoCache(clienteRepository clienteRepository, CacheInvalidationBus cacheInvalidationBus,
+            @Value("${auth.vinculo-cliente.max-entradas:100000}") int maxEntradas,
+            @Value("${auth.vinculo-cliente.validade-segundos:300}") long validadeSegundos, MeterRegistry meterRegistry) {
+        this.clienteRepository = clienteRepository;
+        this.contador = ContadorCache.de(meterRegistry, NOME_CACHE);
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.maxEntradas = maxEntradas;
+        this.validadeMillis = validadeSegundos * 1000;
+        // Locais (antes e depois do commit), remotas e ressincronizações
+        cacheInvalidationBus.aoInvalidar(evento -> {
+            if (evento.isRessincronizacao() || (NOME_CACHE.equals(evento.cache()) && evento.isTodas())) {
+                vinculos.clear();
+            } else if (NOME_CACHE.equals(evento.cache()) && evento.chave() instanceof Long clienteId) {
+                vinculos.values().removeIf(vinculo -> clienteId.equals(vinculo.clienteId()));
+            }
+        });
+    }
+
+    /**
+     * Id do cliente do usuário logado, ou null se ele não tiver cadastro de cliente.
+     */
+    public Long clienteIdAtual() {
+        Usuario usuario = SecurityUtils.getCurrentUser();
+        return clienteIdDe(usuario.getId(), usuario.getEmail());
+    }
+
+    public Long clienteIdDe(Long usuarioId, String email) {
+        long agora = System.currentTimeMillis();
+        Vinculo vinculo = usuarioId != null ? vinculos.get(usuarioId) : null;
+        if (vinculo != null && agora - vinculo.lidoEm() < validadeMillis) {
+            contador.acerto();
+            return vinculo.clienteId();
+        }
+        contador.falha();
+        Long clienteId = clienteRepository.buscarIdPorEmail(email).orElse(null);
+        if (usuarioId != null) {
+            if (clienteId == null) {
+                vinculos.remove(usuarioId);
+            } else {
+                if (vinculos.size() >= maxEntradas) {
+                    vinculos.clear();
+                }
+                vinculos.put(usuarioId, new Vinculo(clienteId, agora));
+            }
+        }
+        return clienteId;
+    }
+
+    /**
+     * Verdadeiro se o cliente informado é o do usuário logado.
+     */
+    public boolean ehDoUsuarioAtual(Long clienteId) {
+        try {
+            return clienteId != null && clienteId.equals(clienteIdAtual());
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Chamar quando o email do cliente mudar. Dentro de transação, o vínculo
+     * sai na hora e de novo após o commit: uma checagem concorrente pode ter
+     * relido o email antigo antes do commit.
+     */
+    public void invalidarCliente(Long clienteId) {
+        cacheInvalidationBus.evict(NOME_CACHE, clienteId);
+    }
+}
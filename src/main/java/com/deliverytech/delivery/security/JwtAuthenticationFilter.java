@@ -1,13 +1,15 @@
 package com.deliverytech.delivery.security;
 
-import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -20,6 +22,12 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final UsuarioStatusCache usuarioStatusCache;
+    private final ListaRevogacaoTokens listaRevogacaoTokens;
+
+    // claims = principal montado do token (sem SQL por requisição); banco = loadUserByUsername a cada requisição
+    @Value("${auth.principal.modo:claims}")
+    private String modoPrincipal = "claims";
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -27,7 +35,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
+        final Claims claims;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -36,15 +44,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
         try {
-            username = jwtUtil.extractUsername(jwt);
+            // Uma única verificação (assinatura + expiração) por requisição
+            claims = jwtUtil.validarToken(jwt);
         } catch (Exception e) {
             filterChain.doFilter(request, response);
             return;
         }
 
+        // Consulta em memória; vale também para claims que vieram do cache do JwtUtil
+        if (listaRevogacaoTokens.estaRevogado(claims.getId())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final String username = claims.getSubject();
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.isTokenValid(jwt, userDetails)) {
+            UserDetails userDetails = carregarPrincipal(claims);
+            if (userDetails != null && username.equals(userDetails.getUsername()) && userDetails.isEnabled()) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -53,4 +69,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails carregarPrincipal(Claims claims) {
+        if ("banco".equals(modoPrincipal)) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        // Conta desativada ou tokens revogados: barra em até auth.status.validade-segundos
+        Long usuarioId = jwtUtil.extractUserId(claims);
+        if (!usuarioStatusCache.permiteAcesso(usuarioId, claims.getIssuedAt())) {
+            return null;
+        }
+        return jwtUtil.usuarioDasClaims(claims);
+    }
 }
@@ -1,36 +1,114 @@
 package com.deliverytech.delivery.security;
 
 import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.enums.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import com.deliverytech.delivery.monitoramento.ContadorCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
-    private final String SECRET_KEY = "super-secret-key-para-assinatura-jwt-muito-segura-e-grande-256bits";
+    private static final String SECRET_KEY = "super-secret-key-para-assinatura-jwt-muito-segura-e-grande-256bits";
+
+    // Chave e parser são imutáveis e thread-safe: criados uma vez só
+    private final Key signKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signKey).build();
+
+    // Tokens já verificados (chave = SHA-256 do token) até expirarem
+    private record ClaimsVerificadas(Claims claims, long expiraEm) {
+    }
+
+    private final Map<String, ClaimsVerificadas> cache = new ConcurrentHashMap<>();
+    private final int maxEntradasCache;
+
+    private final ContadorCache contador;
+
+    @Autowired
+    public JwtUtil(@Value("${jwt.cache.max-entradas:10000}") int maxEntradasCache, MeterRegistry meterRegistry) {
+        this.maxEntradasCache = maxEntradasCache;
+        this.contador = ContadorCache.de(meterRegistry, "jwt-claims");
+    }
+
+    public JwtUtil(int maxEntradasCache) {
+        this(maxEntradasCache, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Verifica assinatura e expiração uma única vez e devolve as claims.
+     * Tokens repetidos saem do cache sem nova verificação HMAC até expirarem.
+     *
+     * @throws JwtException se o token for inválido ou estiver expirado
+     */
+    public Claims validarToken(String token) {
+        String chave = hash(token);
+        ClaimsVerificadas verificadas = cache.get(chave);
+        long agora = System.currentTimeMillis();
+        if (verificadas != null) {
+            if (verificadas.expiraEm() > agora) {
+                contador.acerto();
+                return verificadas.claims();
+            }
+            cache.remove(chave);
+        }
+        contador.falha();
+        // parseClaimsJws já rejeita assinatura inválida e token expirado
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (maxEntradasCache > 0 && claims.getExpiration() != null) {
+            if (cache.size() >= maxEntradasCache) {
+                liberarEspaco(agora);
+            }
+            cache.put(chave, new ClaimsVerificadas(claims, claims.getExpiration().getTime()));
+        }
+        return claims;
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = validarToken(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSignKey()).build().parseClaimsJws(token).getBody();
+    public Long extractUserId(Claims claims) {
+        Object userId = claims.get("userId");
+        return userId instanceof Number numero ? numero.longValue() : null;
     }
 
-    private Key getSignKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    /**
+     * Principal montado só com o que o token carrega (sem nome nem senha).
+     * Usado pelo filtro para não consultar o banco a cada requisição.
+     */
+    public Usuario usuarioDasClaims(Claims claims) {
+        Object role = claims.get("role");
+        Object restauranteId = claims.get("restauranteId");
+        return Usuario.builder()
+                .id(extractUserId(claims))
+                .email(claims.getSubject())
+                .role(role != null ? Role.valueOf(role.toString()) : null)
+                .restauranteId(restauranteId instanceof Number numero ? numero.longValue() : null)
+                .ativo(true)
+                .build();
     }
 
     public String generateToken(UserDetails userDetails, Usuario usuario) {
@@ -46,18 +124,40 @@ public class JwtUtil {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                // jti: permite revogar este token individualmente (logout)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+        try {
+            // Uma verificação só: validarToken já falha se o token estiver expirado
+            return validarToken(token).getSubject().equals(userDetails.getUsername());
+        } catch (JwtException e) {
+            return false;
+        }
+    }
+
+    // Primeiro descarta os expirados; se ainda estiver cheio, solta um décimo qualquer
+    private void liberarEspaco(long agora) {
+        cache.values().removeIf(v -> v.expiraEm() <= agora);
+        int excedente = cache.size() - maxEntradasCache + Math.max(1, maxEntradasCache / 10);
+        Iterator<String> chaves = cache.keySet().iterator();
+        while (excedente-- > 0 && chaves.hasNext()) {
+            chaves.next();
+            chaves.remove();
+        }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
     }
-}
\ No newline at end of file
+}
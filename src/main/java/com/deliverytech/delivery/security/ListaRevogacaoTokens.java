@@ -0,0 +1,137 @@
+package com.deliverytech.delivery.security;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deliverytech.delivery.cache.CacheInvalidationBus;
+import com.deliverytech.delivery.entity.TokenRevogado;
+import com.deliverytech.delivery.repository.tokenRevogadoRepository;
+
+/**
+ * Access tokens revogados antes da expiração (logout), identificados pelo "jti".
+ * A consulta do filtro JWT é feita só em memória, sem SQL e sem alocação; a
+ * tabela {@code tokens_revogados} serve para recarregar a lista ao subir e para
+ * os outros nós buscarem a entrada quando o barramento avisa da revogação.
+ * Cada entrada some quando o token expiraria de qualquer forma.
+ */
+@Component
+public class ListaRevogacaoTokens {
+
+    private static final Logger log = LoggerFactory.getLogger(ListaRevogacaoTokens.class);
+
+    public static final String NOME_CACHE = "tokens-revogados";
+
+    private final tokenRevogadoRepository tokenRevogadoRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final RevogacaoSet revogados = new RevogacaoSet();
+
+    public ListaRevogacaoTokens(tokenRevogadoRepository tokenRevogadoRepository,
+            CacheInvalidationBus cacheInvalidationBus) {
+        this.tokenRevogadoRepository = tokenRevogadoRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        cacheInvalidationBus.aoReceberRemoto(NOME_CACHE, chave -> {
+            if (chave instanceof String jti) {
+                tokenRevogadoRepository.findById(jti).ifPresent(this::adicionarLocal);
+            } else {
+                carregar();
+            }
+        });
+    }
+
+    /**
+     * Verdadeiro se o token com este "jti" foi revogado. Tokens sem "jti"
+     * (emitidos antes dele existir) nunca constam da lista.
+     */
+    public boolean estaRevogado(String jti) {
+        if (!uuidValido(jti)) {
+            return false;
+        }
+        return revogados.contem(msb(jti), lsb(jti), System.currentTimeMillis());
+    }
+
+    @Transactional
+    public void revogar(String jti, Long usuarioId, Date expiraEm) {
+        if (jti == null || expiraEm == null || expiraEm.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        TokenRevogado token = new TokenRevogado(jti, usuarioId,
+                LocalDateTime.ofInstant(expiraEm.toInstant(), ZoneId.systemDefault()), LocalDateTime.now());
+        tokenRevogadoRepository.save(token);
+        adicionarLocal(token);
+        // Os outros nós leem a linha da tabela depois do commit
+        cacheInvalidationBus.evict(NOME_CACHE, jti);
+    }
+
+    public int tamanho() {
+        return revogados.tamanho();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        var ativos = tokenRevogadoRepository.findByExpiraEmAfter(LocalDateTime.now());
+        ativos.forEach(this::adicionarLocal);
+        log.info("Lista de tokens revogados carregada: {} entradas", ativos.size());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revogacao.limpeza-ms:600000}")
+    @Transactional
+    public void removerExpirados() {
+        int memoria = revogados.limparExpirados(System.currentTimeMillis());
+        int tabela = tokenRevogadoRepository.removerExpirados(LocalDateTime.now());
+        if (memoria > 0 || tabela > 0) {
+            log.debug("Tokens revogados expirados removidos: {} da memória, {} da tabela", memoria, tabela);
+        }
+    }
+
+    private void adicionarLocal(TokenRevogado token) {
+        String jti = token.getJti();
+        if (!uuidValido(jti)) {
+            return;
+        }
+        long expira = token.getExpiraEm().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        revogados.adicionar(msb(jti), lsb(jti), expira);
+    }
+
+    // Os trechos do UUID são lidos direto da string: UUID.fromString alocaria a cada requisição
+    static boolean uuidValido(String s) {
+        if (s == null || s.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = s.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static long msb(String uuid) {
+        return hex(uuid, 0, 8) << 32 | hex(uuid, 9, 13) << 16 | hex(uuid, 14, 18);
+    }
+
+    static long lsb(String uuid) {
+        return hex(uuid, 19, 23) << 48 | hex(uuid, 24, 36);
+    }
+
+    private static long hex(String s, int inicio, int fim) {
+        long valor = 0;
+        for (int i = inicio; i < fim; i++) {
+            valor = valor << 4 | Character.digit(s.charAt(i), 16);
+        }
+        return valor;
+    }
+}
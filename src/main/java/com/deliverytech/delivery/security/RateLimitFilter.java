@@ -0,0 +1,100 @@
+package com.deliverytech.delivery.security;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.ratelimit.GrupoLimite;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Limita requisições por grupo de rotas. Roda depois do {@link JwtAuthenticationFilter}:
+ * usuário autenticado é limitado pelo id das claims; anônimo, pelo IP. Ao
+ * estourar responde 429 com {@code Retry-After} antes de chegar ao controller
+ * (e ao pool de conexões).
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<GrupoLimite> grupos;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public RateLimitFilter(List<GrupoLimite> grupos, MeterRegistry meterRegistry) {
+        this.grupos = grupos;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        GrupoLimite grupo = grupo(request);
+        if (grupo == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long esperaNanos = grupo.limitador().consumir(chave(request));
+        if (esperaNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        meterRegistry.counter("ratelimit.rejeicoes", "grupo", grupo.limitador().getNome()).increment();
+        rejeitar(request, response, grupo, esperaNanos);
+    }
+
+    // Baldes cheios não guardam informação: descartá-los só libera memória
+    @Scheduled(fixedDelayString = "${ratelimit.limpeza-ms:60000}")
+    public void removerOciosos() {
+        grupos.forEach(grupo -> grupo.limitador().removerOciosos());
+    }
+
+    private GrupoLimite grupo(HttpServletRequest request) {
+        for (GrupoLimite grupo : grupos) {
+            if (grupo.rotas().matches(request)) {
+                return grupo;
+            }
+        }
+        return null;
+    }
+
+    private String chave(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof Usuario usuario && usuario.getId() != null) {
+            return "u:" + usuario.getId();
+        }
+        // Atrás de proxy, server.forward-headers-strategy faz getRemoteAddr devolver o IP do cliente
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void rejeitar(HttpServletRequest request, HttpServletResponse response, GrupoLimite grupo,
+            long esperaNanos) throws IOException {
+        long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(segundos));
+        response.setHeader("X-RateLimit-Limit", String.valueOf(grupo.limitador().getLimite()));
+        response.setContentType("application/json;charset=UTF-8");
+
+        Map<String, Object> errorResponse = Map.of(
+            "timestamp", new Date(),
+            "status", HttpStatus.TOO_MANY_REQUESTS.value(),
+            "error", "Muitas Requisições",
+            "message", "Limite de requisições excedido. Tente novamente em " + segundos + "s.",
+            "path", request.getRequestURI()
+        );
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+}
@@ -0,0 +1,115 @@
+package com.deliverytech.delivery.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Conjunto compacto de UUIDs revogados, cada um com o instante em que deixa de
+ * importar (a expiração do token). Endereçamento aberto sobre arrays de long:
+ * 24 bytes por entrada e consulta sem alocação nem trava.
+ *
+ * <p>Escritas são serializadas. Uma inserção grava {@code lsb} e {@code expira}
+ * e só então publica {@code msb} com escrita volátil; o leitor lê {@code msb}
+ * primeiro, então nunca vê uma entrada pela metade. Remoções não mexem na
+ * tabela em uso: {@link #limparExpirados} monta uma tabela nova só com as
+ * entradas vivas e troca a referência.
+ */
+public class RevogacaoSet {
+
+    private static final class Tabela {
+        // msb == 0 marca posição livre (UUID v4 nunca tem msb zero)
+        final AtomicLongArray msb;
+        final long[] lsb;
+        final long[] expira;
+        int ocupadas;
+
+        Tabela(int capacidade) {
+            msb = new AtomicLongArray(capacidade);
+            lsb = new long[capacidade];
+            expira = new long[capacidade];
+        }
+    }
+
+    private volatile Tabela tabela = new Tabela(1024);
+
+    public synchronized void adicionar(long msb, long lsb, long expiraEmMillis) {
+        if (msb == 0) {
+            return;
+        }
+        Tabela atual = tabela;
+        if ((atual.ocupadas + 1) * 2 > atual.msb.length()) {
+            atual = reconstruir(atual, atual.msb.length() * 2, Long.MIN_VALUE);
+            tabela = atual;
+        }
+        inserir(atual, msb, lsb, expiraEmMillis);
+    }
+
+    public boolean contem(long msb, long lsb, long agoraMillis) {
+        Tabela atual = tabela;
+        int mascara = atual.msb.length() - 1;
+        int i = posicao(msb, lsb) & mascara;
+        long valor;
+        while ((valor = atual.msb.get(i)) != 0) {
+            if (valor == msb && atual.lsb[i] == lsb) {
+                return atual.expira[i] > agoraMillis;
+            }
+            i = (i + 1) & mascara;
+        }
+        return false;
+    }
+
+    /**
+     * Descarta entradas cujo token já expirou (e portanto já seria recusado).
+     */
+    public synchronized int limparExpirados(long agoraMillis) {
+        Tabela atual = tabela;
+        int vivas = 0;
+        for (int i = 0; i < atual.msb.length(); i++) {
+            if (atual.msb.get(i) != 0 && atual.expira[i] > agoraMillis) {
+                vivas++;
+            }
+        }
+        int capacidade = 1024;
+        while (vivas * 2 >= capacidade) {
+            capacidade *= 2;
+        }
+        tabela = reconstruir(atual, capacidade, agoraMillis);
+        return atual.ocupadas - vivas;
+    }
+
+    public int tamanho() {
+        return tabela.ocupadas;
+    }
+
+    private static Tabela reconstruir(Tabela origem, int capacidade, long agoraMillis) {
+        Tabela nova = new Tabela(capacidade);
+        for (int i = 0; i < origem.msb.length(); i++) {
+            long msb = origem.msb.get(i);
+            if (msb != 0 && origem.expira[i] > agoraMillis) {
+                inserir(nova, msb, origem.lsb[i], origem.expira[i]);
+            }
+        }
+        return nova;
+    }
+
+    private static void inserir(Tabela tabela, long msb, long lsb, long expira) {
+        int mascara = tabela.msb.length() - 1;
+        int i = posicao(msb, lsb) & mascara;
+        long valor;
+        while ((valor = tabela.msb.get(i)) != 0) {
+            if (valor == msb && tabela.lsb[i] == lsb) {
+                tabela.expira[i] = Math.max(tabela.expira[i], expira);
+                return;
+            }
+            i = (i + 1) & mascara;
+        }
+        tabela.lsb[i] = lsb;
+        tabela.expira[i] = expira;
+        tabela.ocupadas++;
+        tabela.msb.set(i, msb);
+    }
+
+    private static int posicao(long msb, long lsb) {
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
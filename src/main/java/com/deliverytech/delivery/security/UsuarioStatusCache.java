@@ -0,0 +1,107 @@
+package com.deliverytech.delivery.security;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.deliverytech.delivery.cache.CacheInvalidationBus;
+import com.deliverytech.delivery.monitoramento.ContadorCache;
+import com.deliverytech.delivery.repository.usuarioRepository;
+
+/**
+ * Situação de cada usuário (ativo e instante da última revogação de tokens),
+ * guardada por poucos segundos. Com ela o filtro JWT autentica só pelas claims
+ * e ainda assim bloqueia uma conta desativada em no máximo
+ * {@code auth.status.validade-segundos}. Alterações feitas por este nó ou
+ * recebidas pelo barramento de invalidação valem na hora.
+ */
+@Component
+public class UsuarioStatusCache {
+
+    public static final String NOME_CACHE = "usuarios-status";
+
+    private record Situacao(boolean ativo, long revogadoEmSegundos, long lidoEm) {
+    }
+
+    private final usuarioRepository usuarioRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final long validadeMillis;
+    private final Map<Long, Situacao> situacoes = new ConcurrentHashMap<>();
+    private final ContadorCache contador;
+
+    public UsuarioStatusCache(usuarioRepository usuarioRepository, CacheInvalidationBus cacheInvalidationBus,
+            @Value("${auth.status.validade-segundos:10}") long validadeSegundos, MeterRegistry meterRegistry) {
+        this.usuarioRepository = usuarioRepository;
+        this.contador = ContadorCache.de(meterRegistry, NOME_CACHE);
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.validadeMillis = validadeSegundos * 1000;
+        cacheInvalidationBus.aoReceberRemoto(NOME_CACHE, chave -> {
+            if (chave instanceof Long usuarioId) {
+                situacoes.remove(usuarioId);
+            } else {
+                situacoes.clear();
+            }
+        });
+    }
+
+    /**
+     * Verdadeiro se o usuário existe, está ativo e o token foi emitido depois
+     * da última revogação. O "iat" só tem segundos: um token do mesmo segundo
+     * da revogação pode ser anterior a ela, então só passa o emitido num
+     * segundo posterior (quem logar nesse mesmo segundo precisa logar de novo).
+     */
+    public boolean permiteAcesso(Long usuarioId, Date emitidoEm) {
+        if (usuarioId == null) {
+            return false;
+        }
+        long agora = System.currentTimeMillis();
+        Situacao situacao = situacoes.get(usuarioId);
+        if (situacao == null || agora - situacao.lidoEm() >= validadeMillis) {
+            contador.falha();
+            situacao = carregar(usuarioId, agora);
+            if (situacao == null) {
+                return false;
+            }
+        } else {
+            contador.acerto();
+        }
+        if (!situacao.ativo()) {
+            return false;
+        }
+        long emitidoEmSegundos = emitidoEm != null ? emitidoEm.getTime() / 1000 : 0;
+        return emitidoEmSegundos > situacao.revogadoEmSegundos();
+    }
+
+    /**
+     * Chamar depois de desativar o usuário ou revogar seus tokens.
+     */
+    public void invalidar(Long usuarioId) {
+        situacoes.remove(usuarioId);
+        cacheInvalidationBus.evict(NOME_CACHE, usuarioId);
+    }
+
+    private Situacao carregar(Long usuarioId, long agora) {
+        return usuarioRepository.buscarStatus(usuarioId)
+                .map(status -> {
+                    LocalDateTime revogadoEm = status.getTokensRevogadosEm();
+                    // toEpochSecond trunca os milissegundos da revogação
+                    long revogadoEmSegundos = revogadoEm != null
+                            ? revogadoEm.atZone(ZoneId.systemDefault()).toEpochSecond()
+                            : Long.MIN_VALUE;
+                    Situacao situacao = new Situacao(Boolean.TRUE.equals(status.getAtivo()), revogadoEmSegundos, agora);
+                    situacoes.put(usuarioId, situacao);
+                    return situacao;
+                })
+                .orElseGet(() -> {
+                    situacoes.remove(usuarioId);
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,17 @@
+package com.deliverytech.delivery.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.deliverytech.delivery.dto.request.AvaliacaoRequestDTO;
+import com.deliverytech.delivery.dto.response.AvaliacaoResponseDTO;
+
+public interface avaliacaoService {
+
+    AvaliacaoResponseDTO avaliar(AvaliacaoRequestDTO dto);
+
+    Page<AvaliacaoResponseDTO> listarPorRestaurante(Long restauranteId, Pageable pageable);
+
+    int recalcularAgregados();
+
+}
@@ -1,12 +1,15 @@
 package com.deliverytech.delivery.service;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.deliverytech.delivery.condicional.Versao;
 import com.deliverytech.delivery.dto.request.ClienteRequestDTO;
 import com.deliverytech.delivery.dto.response.ClienteResponseDTO;
+import com.deliverytech.delivery.dto.response.CursorResponseWrapper;
 
 public interface clienteService {
 
@@ -20,10 +23,16 @@ public interface clienteService {
 
     ClienteResponseDTO ativarDesativarCliente(Long id);
 
-    List<ClienteResponseDTO> listarAtivos();
+    CursorResponseWrapper<ClienteResponseDTO> listarAtivos(Long cursor, int tamanho, boolean incluirTotal);
 
-    List<ClienteResponseDTO> buscarPorNome(String nome);
+    Page<ClienteResponseDTO> buscarPorNome(String nome, Pageable pageable);
 
-    Page<ClienteResponseDTO> listarTodosPaginado(Pageable pageable);
+    CursorResponseWrapper<ClienteResponseDTO> listarTodosPaginado(Long cursor, int tamanho, boolean incluirTotal);
+
+    void exportarNdjson(boolean apenasAtivos, OutputStream saida) throws IOException;
+
+    Versao versao(Long id);
+
+    Versao versaoPorEmail(String email);
 
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.deliverytech.delivery.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deliverytech.delivery.cache.CacheInvalidationBus;
+import com.deliverytech.delivery.cache.RestauranteCatalogCache;
+import com.deliverytech.delivery.dto.request.AvaliacaoRequestDTO;
+import com.deliverytech.delivery.dto.response.AvaliacaoResponseDTO;
+import com.deliverytech.delivery.entity.Avaliacao;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.exceptions.BusinessException;
+import com.deliverytech.delivery.exceptions.ConflictException;
+import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.projection.AgregadoAvaliacao;
+import com.deliverytech.delivery.repository.avaliacaoRepository;
+import com.deliverytech.delivery.repository.pedidoRepository;
+import com.deliverytech.delivery.repository.restauranteRepository;
+import com.deliverytech.delivery.security.ClienteVinculoCache;
+import com.deliverytech.delivery.security.SecurityUtils;
+import com.deliverytech.delivery.service.avaliacaoService;
+
+@Service
+@Transactional
+public class avaliacaoServiceImpl implements avaliacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(avaliacaoServiceImpl.class);
+
+    @Autowired
+    private avaliacaoRepository avaliacaoRepository;
+
+    @Autowired
+    private pedidoRepository pedidoRepository;
+
+    @Autowired
+    private restauranteRepository restauranteRepository;
+
+    @Autowired
+    private RestauranteCatalogCache restauranteCatalogCache;
+
+    @Autowired
+    private ClienteVinculoCache clienteVinculoCache;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Override
+    public AvaliacaoResponseDTO avaliar(AvaliacaoRequestDTO dto) {
+        // Buscar pedido
+        Pedido pedido = pedidoRepository.findById(dto.getPedidoId())
+                .orElseThrow(() -> new EntityNotFoundException("Pedido", dto.getPedidoId()));
+        // Validação de segurança: cliente só avalia o próprio pedido
+        if (SecurityUtils.isCliente() && !clienteVinculoCache.ehDoUsuarioAtual(pedido.getCliente().getId())) {
+            throw new AccessDeniedException("Você só pode avaliar pedidos que você fez.");
+        }
+        // Apenas pedidos entregues podem ser avaliados
+        if (!StatusPedido.ENTREGUE.name().equals(pedido.getStatus())) {
+            throw new BusinessException("Apenas pedidos entregues podem ser avaliados. Status atual: " + pedido.getStatus());
+        }
+        if (avaliacaoRepository.existsByPedidoId(pedido.getId())) {
+            throw new ConflictException("Pedido já avaliado: " + pedido.getId(), "pedidoId", pedido.getId());
+        }
+        Long restauranteId = pedido.getRestaurante().getId();
+
+        // Salvar avaliação (a restrição única em pedido_id é a garantia final contra duplicidade)
+        Avaliacao avaliacao = new Avaliacao();
+        avaliacao.setPedido(pedido);
+        avaliacao.setRestaurante(pedido.getRestaurante());
+        avaliacao.setCliente(pedido.getCliente());
+        avaliacao.setNota(dto.getNota());
+        avaliacao.setComentario(dto.getComentario());
+        avaliacao.setDataAvaliacao(LocalDateTime.now());
+        Avaliacao avaliacaoSalva = avaliacaoRepository.save(avaliacao);
+
+        // Atualizar o agregado: soma e contagem numa instrução, depois a média sob a mesma trava de linha
+        restauranteRepository.somarAvaliacao(restauranteId, dto.getNota());
+        AgregadoAvaliacao agregado = restauranteRepository.buscarAgregadoAvaliacao(restauranteId);
+        restauranteRepository.definirAgregadoAvaliacao(restauranteId, agregado.getSoma(), agregado.getTotal(),
+                media(agregado.getSoma(), agregado.getTotal()));
+        restauranteRepository.findById(restauranteId).ifPresent(restauranteCatalogCache::gravar);
+
+        return toResponseDTO(avaliacaoSalva, restauranteId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<AvaliacaoResponseDTO> listarPorRestaurante(Long restauranteId, Pageable pageable) {
+        return avaliacaoRepository.findByRestauranteIdOrderByDataAvaliacaoDesc(restauranteId, pageable)
+                .map(avaliacao -> toResponseDTO(avaliacao, restauranteId));
+    }
+
+    /**
+     * Recalcula soma, total e média dos restaurantes a partir da tabela de
+     * avaliações. Uma consulta agrupada traz só os agregados que divergem,
+     * inclusive de restaurantes que perderam todas as avaliações, e apenas
+     * esses são regravados. Roda em segundo plano fora do horário de pico.
+     */
+    @Override
+    @Scheduled(cron = "${avaliacoes.recalculo.cron:0 0 4 * * *}")
+    public int recalcularAgregados() {
+        List<AgregadoAvaliacao> divergentes = avaliacaoRepository.buscarAgregadosDivergentes();
+        for (AgregadoAvaliacao agregado : divergentes) {
+            restauranteRepository.definirAgregadoAvaliacao(agregado.getRestauranteId(), agregado.getSoma(),
+                    agregado.getTotal(), media(agregado.getSoma(), agregado.getTotal()));
+        }
+        int corrigidos = divergentes.size();
+        if (corrigidos > 0) {
+            log.info("Recalculo de avaliações corrigiu {} restaurantes", corrigidos);
+            restauranteCatalogCache.carregar();
+            // O banco é compartilhado: nos outros nós o job não acha o que corrigir, então eles recarregam por aqui
+            cacheInvalidationBus.clear(RestauranteCatalogCache.NOME_CACHE);
+        }
+        return corrigidos;
+    }
+
+    private static BigDecimal media(Long soma, Long total) {
+        if (soma == null || total == null || total == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(soma).divide(BigDecimal.valueOf(total), 1, RoundingMode.HALF_UP);
+    }
+
+    private static AvaliacaoResponseDTO toResponseDTO(Avaliacao avaliacao, Long restauranteId) {
+        AvaliacaoResponseDTO dto = new AvaliacaoResponseDTO();
+        dto.setId(avaliacao.getId());
+        dto.setPedidoId(avaliacao.getPedido().getId());
+        dto.setRestauranteId(restauranteId);
+        dto.setNota(avaliacao.getNota());
+        dto.setComentario(avaliacao.getComentario());
+        dto.setDataAvaliacao(avaliacao.getDataAvaliacao());
+        return dto;
+    }
+}
@@ -1,46 +1,91 @@
 package com.deliverytech.delivery.service.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import com.deliverytech.delivery.bloom.EmailBloomFilter;
+import com.deliverytech.delivery.busca.ClienteNomeSearch;
+import com.deliverytech.delivery.cache.ContagemAproximada;
+import com.deliverytech.delivery.condicional.Versao;
 import com.deliverytech.delivery.dto.request.ClienteRequestDTO;
 import com.deliverytech.delivery.dto.response.ClienteResponseDTO;
+import com.deliverytech.delivery.dto.response.CursorResponseWrapper;
 import com.deliverytech.delivery.entity.Cliente;
 import com.deliverytech.delivery.exceptions.BusinessException;
+import com.deliverytech.delivery.geo.CepGeocoder;
 import com.deliverytech.delivery.repository.clienteRepository;
+import com.deliverytech.delivery.security.ClienteVinculoCache;
 import com.deliverytech.delivery.security.SecurityUtils;
 import com.deliverytech.delivery.service.clienteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
 @Transactional
 public class clienteServiceImpl implements clienteService {
 
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
     @Autowired
     private clienteRepository clienteRepository;
 
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private CepGeocoder cepGeocoder;
+
+    @Autowired
+    private EmailBloomFilter clienteEmailFilter;
+
+    @Autowired
+    private ClienteNomeSearch clienteNomeSearch;
+
+    @Autowired
+    private ContagemAproximada contagemAproximada;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClienteVinculoCache clienteVinculoCache;
+
+    @Value("${clientes.exportacao.janela:500}")
+    private int janelaExportacao = 500;
+
     @Override
     public ClienteResponseDTO cadastrar(ClienteRequestDTO dto) {
         // Verifica se o email já está cadastrado
-        if(clienteRepository.existsByEmail(dto.getEmail())) {
+        if(!clienteEmailFilter.definitivamenteAusente(dto.getEmail()) && clienteRepository.existsByEmail(dto.getEmail())) {
             throw new BusinessException("Email " + dto.getEmail() + " já cadastrado.");
         }
         // Tranforma de DTO para entidade
         Cliente cliente = modelMapper.map(dto, Cliente.class);
         cliente.setAtivo(true);
         cliente.setDataCadastro(LocalDateTime.now());
+        geocodificar(cliente);
         // Salva os dados do cliente
         Cliente saveSalvo = clienteRepository.save(cliente);
+        clienteEmailFilter.registrar(dto.getEmail());
+        clienteNomeSearch.indexar(saveSalvo.getId(), saveSalvo.getNome());
         // Retorna o DTO de resposta
         return modelMapper.map(saveSalvo, ClienteResponseDTO.class);
         
@@ -48,34 +93,28 @@ public class clienteServiceImpl implements clienteService {
 
     @Override
     public ClienteResponseDTO buscarPorId(Long id) {
+        // Validação de Segurança antes de carregar
+        verificarAcesso(id);
         // Buscar cliente por ID
         Cliente cliente = clienteRepository.findById(id).orElseThrow(() -> new BusinessException("Cliente não encontrado: " + id));
-        // Validação de Segurança
-        String emailLogado = SecurityUtils.getCurrentUserEmail();
-        boolean isAdmin = SecurityUtils.isAdmin();
-        // Se NÃO for Admin E o email do logado for diferente do email do cliente buscado
-        if (!isAdmin && !cliente.getEmail().equals(emailLogado)) {
-            throw new AccessDeniedException("Acesso negado: Você não pode visualizar dados de outro cliente.");
-        }
         // Converter entidade para DTO
         return modelMapper.map(cliente, ClienteResponseDTO.class);
     }
 
     @Override
     public ClienteResponseDTO atualizar(Long id, ClienteRequestDTO dto) {
+        // Validação de segurança: se NÃO for Admin, o ID tem que ser o do cliente do usuário logado
+        if (!SecurityUtils.isAdmin() && !clienteVinculoCache.ehDoUsuarioAtual(id)) {
+            throw new AccessDeniedException("Acesso negado: Você não pode alterar dados de outro cliente.");
+        }
         // Procura pelo id
         Cliente clienteExistente = clienteRepository.findById(id).orElseThrow(() -> new BusinessException("Cliente com o id " + id + " não encontrado."));
 
-        // Validação de segurança
-        String emailLogado = SecurityUtils.getCurrentUserEmail();
-        boolean isAdmin = SecurityUtils.isAdmin();
-        
-        // Se NÃO for Admin E o email do logado for diferente do email do cliente buscado
-        if (!isAdmin && !clienteExistente.getEmail().equals(emailLogado)) {
-            throw new AccessDeniedException("Acesso negado: Você não pode alterar dados de outro cliente.");
-        }
+        boolean emailAlterado = !clienteExistente.getEmail().equals(dto.getEmail());
         // Verifica email duplicado SOMENTE se ele for diferente do atual
-        if (!clienteExistente.getEmail().equals(dto.getEmail()) && clienteRepository.existsByEmail(dto.getEmail())) {
+        if (emailAlterado
+                && !clienteEmailFilter.definitivamenteAusente(dto.getEmail())
+                && clienteRepository.existsByEmail(dto.getEmail())) {
              throw new BusinessException("Email " + dto.getEmail() + " já cadastrado para outro usuário.");
         }
         // Verifica se o nome está vazio
@@ -86,23 +125,28 @@ public class clienteServiceImpl implements clienteService {
         clienteExistente.setNome(dto.getNome());
         clienteExistente.setEmail(dto.getEmail());
         clienteExistente.setTelefone(dto.getTelefone());
+        clienteExistente.setCep(dto.getCep());
+        geocodificar(clienteExistente);
         // Salva as atualizações
         Cliente saveAtualizado = clienteRepository.save(clienteExistente);
+        clienteEmailFilter.registrar(dto.getEmail());
+        if (emailAlterado) {
+            // O vínculo usuário → cliente é pelo email
+            clienteVinculoCache.invalidarCliente(id);
+        }
+        clienteNomeSearch.indexar(saveAtualizado.getId(), saveAtualizado.getNome());
         //Retorna o DTO de resposta
         return modelMapper.map(saveAtualizado, ClienteResponseDTO.class);
     }
 
     @Override
     public ClienteResponseDTO ativarDesativarCliente(Long id) {
-        // Buscar cliente existente
-        Cliente clienteExistente = clienteRepository.findById(id).orElseThrow(() -> new BusinessException("Cliente não encontrado: " + id));
-        // Validaçãop de segurança
-        String emailLogado = SecurityUtils.getCurrentUserEmail();
-        boolean isAdmin = SecurityUtils.isAdmin();
-        // Se NÃO for Admin E o email do logado for diferente do email do cliente
-        if (!isAdmin && !clienteExistente.getEmail().equals(emailLogado)) {
+        // Validaçãop de segurança: se NÃO for Admin, o ID tem que ser o do cliente do usuário logado
+        if (!SecurityUtils.isAdmin() && !clienteVinculoCache.ehDoUsuarioAtual(id)) {
             throw new AccessDeniedException("Acesso negado: Você não pode alterar o status de outro cliente.");
         }
+        // Buscar cliente existente
+        Cliente clienteExistente = clienteRepository.findById(id).orElseThrow(() -> new BusinessException("Cliente não encontrado: " + id));
         // Inverter status de ativo
         clienteExistente.setAtivo(!clienteExistente.getAtivo());
         // Salvar cliente atualizado
@@ -112,32 +156,38 @@ public class clienteServiceImpl implements clienteService {
     }
 
     @Override
-    public List<ClienteResponseDTO> listarAtivos() {
-        // Buscar clientes ativos
-        List<Cliente> clientesAtivos = clienteRepository.findByAtivoTrue();
-        // Converter lista de entidades para lista de DTOs
-        return clientesAtivos.stream().map(cliente -> modelMapper.map(cliente, ClienteResponseDTO.class)).toList();
+    @Transactional(readOnly = true)
+    public CursorResponseWrapper<ClienteResponseDTO> listarAtivos(Long cursor, int tamanho, boolean incluirTotal) {
+        // Buscar a janela de clientes ativos depois do cursor
+        Slice<Cliente> pagina = clienteRepository.findByAtivoTrueAndIdGreaterThanOrderByIdAsc(
+                cursor != null ? cursor : 0L, PageRequest.of(0, limitarTamanho(tamanho)));
+        Long total = incluirTotal
+                ? contagemAproximada.estimar("clientes-ativos", null, clienteRepository::countByAtivoTrue)
+                : null;
+        return paraCursor(pagina, total);
     }
 
     @Override
-    public List<ClienteResponseDTO> buscarPorNome(String nome) {
-        // Buscar clientes por nome
-        List<Cliente> clientes = clienteRepository.findByNomeContainingIgnoreCase(nome);
-        // Converter lista de entidades para lista de DTOs
-        return clientes.stream().map(cliente -> modelMapper.map(cliente, ClienteResponseDTO.class)).toList();
+    @Transactional(readOnly = true)
+    public Page<ClienteResponseDTO> buscarPorNome(String nome, Pageable pageable) {
+        // Buscar IDs por similaridade de trigramas (já ordenados e paginados)
+        Page<ClienteNomeSearch.Resultado> resultados = clienteNomeSearch.buscar(nome, pageable);
+        List<Long> ids = resultados.getContent().stream().map(ClienteNomeSearch.Resultado::clienteId).toList();
+        // Carregar só os clientes da página, mantendo a ordem do ranking
+        Map<Long, Cliente> porId = clienteRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+        List<ClienteResponseDTO> clientes = ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .map(cliente -> modelMapper.map(cliente, ClienteResponseDTO.class))
+                .toList();
+        return new PageImpl<>(clientes, pageable, resultados.getTotalElements());
     }
 
     @Override
     public ClienteResponseDTO buscarPorEmail(String email) {
         // Validação de Segurança
-        String emailLogado = SecurityUtils.getCurrentUserEmail();
-        boolean isAdmin = SecurityUtils.isAdmin();
-
-        // Se não for Admin e estiver tentando buscar um email diferente do seu...
-        if (!isAdmin && !email.equals(emailLogado)) {
-            // ...Bloqueia!
-            throw new AccessDeniedException("Acesso negado: Você não pode buscar por um e-mail que não é o seu.");
-        }
+        verificarAcessoPorEmail(email);
         // Buscar cliente por email
         Cliente cliente = clienteRepository.findByEmail(email).orElseThrow(() -> new BusinessException("Cliente não encontrado com email: " + email));
         // Converter entidade para DTO
@@ -145,8 +195,92 @@ public class clienteServiceImpl implements clienteService {
     }
 
     @Override
-    public Page<ClienteResponseDTO> listarTodosPaginado(Pageable pageable) {
-        return clienteRepository.findAll(pageable).map(cliente -> modelMapper.map(cliente, ClienteResponseDTO.class));
+    @Transactional(readOnly = true)
+    public CursorResponseWrapper<ClienteResponseDTO> listarTodosPaginado(Long cursor, int tamanho, boolean incluirTotal) {
+        // Slice busca tamanho + 1 linhas pelo índice da PK; nenhum COUNT por página
+        Slice<Cliente> pagina = clienteRepository.findByIdGreaterThanOrderByIdAsc(
+                cursor != null ? cursor : 0L, PageRequest.of(0, limitarTamanho(tamanho)));
+        Long total = incluirTotal
+                ? contagemAproximada.estimar("clientes", "clientes", clienteRepository::count)
+                : null;
+        return paraCursor(pagina, total);
+    }
+
+    /**
+     * Exporta clientes como NDJSON (um JSON por linha), percorrendo a tabela por
+     * cursor. Sem transação envolvente: cada janela é lida na sua própria
+     * transação e descartada depois de escrita, então a memória fica limitada a
+     * uma janela qualquer que seja o tamanho da tabela.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportarNdjson(boolean apenasAtivos, OutputStream saida) throws IOException {
+        Pageable janela = PageRequest.of(0, janelaExportacao);
+        long cursor = 0L;
+        Slice<Cliente> pagina;
+        do {
+            pagina = apenasAtivos
+                    ? clienteRepository.findByAtivoTrueAndIdGreaterThanOrderByIdAsc(cursor, janela)
+                    : clienteRepository.findByIdGreaterThanOrderByIdAsc(cursor, janela);
+            for (Cliente cliente : pagina.getContent()) {
+                saida.write(objectMapper.writeValueAsBytes(modelMapper.map(cliente, ClienteResponseDTO.class)));
+                saida.write('\n');
+                cursor = cliente.getId();
+            }
+            saida.flush();
+        } while (pagina.hasNext());
+    }
+
+    // Mesmas checagens das leituras: um 304 não pode confirmar a existência de outro cliente
+    @Override
+    @Transactional(readOnly = true)
+    public Versao versao(Long id) {
+        verificarAcesso(id);
+        return clienteRepository.buscarVersao(id).map(versao -> Versao.daEntidade("cliente", versao)).orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Versao versaoPorEmail(String email) {
+        verificarAcessoPorEmail(email);
+        return clienteRepository.buscarVersaoPorEmail(email).map(versao -> Versao.daEntidade("cliente", versao)).orElse(null);
+    }
+
+    // Se NÃO for Admin, o ID tem que ser o do cliente do usuário logado
+    private void verificarAcesso(Long id) {
+        if (!SecurityUtils.isAdmin() && !clienteVinculoCache.ehDoUsuarioAtual(id)) {
+            throw new AccessDeniedException("Acesso negado: Você não pode visualizar dados de outro cliente.");
+        }
+    }
+
+    private static void verificarAcessoPorEmail(String email) {
+        if (!SecurityUtils.isAdmin() && !email.equals(SecurityUtils.getCurrentUserEmail())) {
+            throw new AccessDeniedException("Acesso negado: Você não pode buscar por um e-mail que não é o seu.");
+        }
+    }
+
+    private static int limitarTamanho(int tamanho) {
+        return Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO_PAGINA));
+    }
+
+    private CursorResponseWrapper<ClienteResponseDTO> paraCursor(Slice<Cliente> pagina, Long total) {
+        List<ClienteResponseDTO> conteudo = pagina.getContent().stream()
+                .map(cliente -> modelMapper.map(cliente, ClienteResponseDTO.class))
+                .toList();
+        Long proximoCursor = pagina.hasNext() && !pagina.getContent().isEmpty()
+                ? pagina.getContent().get(pagina.getContent().size() - 1).getId()
+                : null;
+        return new CursorResponseWrapper<>(conteudo, pagina.getSize(), pagina.hasNext(), proximoCursor, total);
+    }
+
+    // Preenche latitude/longitude a partir do CEP usando a tabela offline de centroides
+    private void geocodificar(Cliente cliente) {
+        cliente.setLatitude(null);
+        cliente.setLongitude(null);
+        cepGeocoder.geocodificar(cliente.getCep()).ifPresent(coordenada -> {
+            cliente.setLatitude(coordenada.latitude());
+            cliente.setLongitude(coordenada.longitude());
+        });
     }
 
 }
@@ -4,8 +4,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+import com.deliverytech.delivery.cache.RestauranteCatalogCache;
+import com.deliverytech.delivery.cache.RestauranteCatalogado;
 import com.deliverytech.delivery.dto.request.ItemPedidoRequestDTO;
 import com.deliverytech.delivery.dto.request.PedidoRequestDTO;
 import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
@@ -13,15 +16,19 @@ import com.deliverytech.delivery.entity.*;
 import com.deliverytech.delivery.enums.StatusPedido;
 import com.deliverytech.delivery.exceptions.BusinessException;
 import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.monitoramento.MetricasNegocio;
+import com.deliverytech.delivery.ranking.PedidoCriadoEvent;
 import com.deliverytech.delivery.repository.clienteRepository;
 import com.deliverytech.delivery.repository.pedidoRepository;
 import com.deliverytech.delivery.repository.produtoRepository;
 import com.deliverytech.delivery.repository.restauranteRepository;
+import com.deliverytech.delivery.security.ClienteVinculoCache;
 import com.deliverytech.delivery.security.SecurityUtils;
 import com.deliverytech.delivery.service.pedidoService;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -41,6 +48,18 @@ public class pedidoServiceImpl implements pedidoService {
 
     @Autowired
     private produtoRepository produtoRepository;
+
+    @Autowired
+    private RestauranteCatalogCache restauranteCatalogCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ClienteVinculoCache clienteVinculoCache;
+
+    @Autowired
+    private MetricasNegocio metricasNegocio;
     
     @Autowired
     private ModelMapper modelMapper;
@@ -49,26 +68,27 @@ public class pedidoServiceImpl implements pedidoService {
     @Transactional
     public PedidoResponseDTO criarPedido(PedidoRequestDTO dto) {
         // 1. Validar cliente existe e está ativo
-        Cliente cliente = clienteRepository.findById(dto.getClienteId()).orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado"));
+        Cliente cliente = clienteRepository.findById(dto.getClienteId()).orElseThrow(() -> recusar("cliente_inexistente", new EntityNotFoundException("Cliente não encontrado")));
         if (!cliente.isAtivo()) {
-            throw new BusinessException("Cliente inativo não pode fazer pedidos");
+            throw recusar("cliente_inativo", new BusinessException("Cliente inativo não pode fazer pedidos"));
         }
-        // 2. Validar restaurante existe e está ativo
-        Restaurante restaurante = restauranteRepository.findById(dto.getRestauranteId())
-                .orElseThrow(() -> new BusinessException("Restaurante não encontrado"));
-        if (!restaurante.isAtivo()) {
-            throw new BusinessException("Restaurante não está disponível");
+        // 2. Validar restaurante existe e está ativo (catálogo em memória, sem SQL)
+        RestauranteCatalogado restaurante = restauranteCatalogCache.buscarPorId(dto.getRestauranteId())
+                .orElseThrow(() -> recusar("restaurante_inexistente", new BusinessException("Restaurante não encontrado")));
+        if (!restaurante.ativo()) {
+            throw recusar("restaurante_indisponivel", new BusinessException("Restaurante não está disponível"));
         }
         // 3. Validar todos os produtos existem e estão disponíveis
         List<ItemPedido> itensPedido = new ArrayList<>();
+        List<PedidoCriadoEvent.ItemVendido> itensVendidos = new ArrayList<>();
         BigDecimal subtotal = BigDecimal.ZERO;
         for (ItemPedidoRequestDTO itemDTO : dto.getItens()) {
-            Produto produto = produtoRepository.findById(itemDTO.getProdutoId()).orElseThrow(() -> new EntityNotFoundException("Produto não encontrado: " + itemDTO.getProdutoId()));
+            Produto produto = produtoRepository.findById(itemDTO.getProdutoId()).orElseThrow(() -> recusar("produto_inexistente", new EntityNotFoundException("Produto não encontrado: " + itemDTO.getProdutoId())));
             if (!produto.isAtivo()) {
-                throw new BusinessException("Produto indisponível: " + produto.getNome());
+                throw recusar("produto_indisponivel", new BusinessException("Produto indisponível: " + produto.getNome()));
             }
             if (!produto.getRestaurante().getId().equals(dto.getRestauranteId())) {
-                throw new BusinessException("Produto não pertence ao restaurante selecionado");
+                throw recusar("produto_outro_restaurante", new BusinessException("Produto não pertence ao restaurante selecionado"));
             }
             // Criar item do pedido
             ItemPedido item = new ItemPedido();
@@ -78,17 +98,19 @@ public class pedidoServiceImpl implements pedidoService {
             item.setSubtotal(produto.getPreco().multiply(BigDecimal.valueOf(itemDTO.getQuantidade())));
 
             itensPedido.add(item);
+            itensVendidos.add(new PedidoCriadoEvent.ItemVendido(produto.getId(), produto.getCategoria(), itemDTO.getQuantidade()));
             subtotal = subtotal.add(item.getSubtotal());
         }
         // 4. Calcular total do pedido
-        BigDecimal taxaEntrega = restaurante.getTaxaEntrega();
+        BigDecimal taxaEntrega = restaurante.taxaEntrega();
         BigDecimal valorTotal = subtotal.add(taxaEntrega);
         // 5. Salvar pedido
         Pedido pedido = new Pedido();
         pedido.setNumeroPedido(dto.getNumeroPedido());
         pedido.setObservacoes(dto.getObservacoes());
         pedido.setCliente(cliente);
-        pedido.setRestaurante(restaurante);
+        // Referência gerenciada para a FK: a cópia do catálogo é destacada e não deve ser associada ao pedido
+        pedido.setRestaurante(restauranteRepository.getReferenceById(restaurante.id()));
         pedido.setDataPedido(LocalDateTime.now());
         pedido.setStatus(StatusPedido.PENDENTE.name());
         pedido.setEnderecoEntrega(dto.getEnderecoEntrega());
@@ -103,27 +125,17 @@ public class pedidoServiceImpl implements pedidoService {
         // 7. Atualizar estoque (se aplicável) - Simulação
         // Em um cenário real, aqui seria decrementado o estoque
 
+        // Alimenta o ranking de popularidade e a métrica de pedidos criados (entregue só após o commit)
+        eventPublisher.publishEvent(new PedidoCriadoEvent(restaurante.id(), restaurante.categoria(), itensVendidos));
+
         // 8. Retornar pedido criado
         return modelMapper.map(pedidoSalvo, PedidoResponseDTO.class);
     }
 
     @Override
     public PedidoResponseDTO buscarPorId(Long id) {
-        // Buscar pedido por ID
-        Pedido pedido = pedidoRepository.findById(id).orElseThrow(() -> new RuntimeException("Pedido não encontrado com ID: " + id));
-        // Validação de Segurança
-        Usuario usuarioLogado = SecurityUtils.getCurrentUser();
-        // Se for CLIENTE, só pode ver se o pedido for dele (email bate)
-        if (SecurityUtils.isCliente() && !pedido.getCliente().getEmail().equals(usuarioLogado.getEmail())) {
-            throw new AccessDeniedException("Você não tem permissão para visualizar este pedido.");
-        }
-        // Se for RESTAURANTE, só pode ver se o pedido for para ele
-        if (SecurityUtils.isRestaurante()) {
-            Long restauranteIdLogado = usuarioLogado.getRestauranteId();
-            if (!pedido.getRestaurante().getId().equals(restauranteIdLogado)) {
-                throw new AccessDeniedException("Este pedido não pertence ao seu restaurante.");
-            }
-        }
+        // Buscar pedido já restrito ao dono: CLIENTE só vê os seus, RESTAURANTE só os dele
+        Pedido pedido = buscarPedidoDoUsuario(id, true, "Você não tem permissão para visualizar este pedido.");
         // Converter entidade para DTO
         return modelMapper.map(pedido, PedidoResponseDTO.class);
     }
@@ -131,15 +143,9 @@ public class pedidoServiceImpl implements pedidoService {
     @Override
     public List<PedidoResponseDTO> listarPedidosPorCliente(Long clienteId) {
         // Validação de segurança
-        // Se não for Admin, o ID passado na URL tem que ser o ID do usuário logado (ou vinculado ao email)
-        // Como Cliente e Usuario são tabelas diferentes, validamos pelo email do Cliente buscado
-        if (!SecurityUtils.isAdmin()) {
-             Cliente clienteAlvo = clienteRepository.findById(clienteId).orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado"));  
-             String emailLogado = SecurityUtils.getCurrentUserEmail();
-             
-             if (!clienteAlvo.getEmail().equals(emailLogado)) {
-                 throw new AccessDeniedException("Você não pode visualizar os pedidos de outro cliente.");
-             }
+        // Se não for Admin, o ID passado na URL tem que ser o do cliente vinculado ao usuário logado (cacheado)
+        if (!SecurityUtils.isAdmin() && !clienteVinculoCache.ehDoUsuarioAtual(clienteId)) {
+            throw new AccessDeniedException("Você não pode visualizar os pedidos de outro cliente.");
         }
         // Buscar pedidos por cliente ID
         List<Pedido> pedidos = pedidoRepository.findByClienteId(clienteId);
@@ -227,15 +233,8 @@ public class pedidoServiceImpl implements pedidoService {
     @Override
     public PedidoResponseDTO cancelarPedido(Long id) {
         // Buscar pedido por ID
-        Pedido pedido = pedidoRepository.findById(id).orElseThrow(() -> new RuntimeException("Pedido não encontrado com ID: " + id));
-        // Validação de segurança
-        // Apenas Admin e o Cliente dono do pedido podem cancelar
-        if (SecurityUtils.isCliente()) {
-            String emailLogado = SecurityUtils.getCurrentUserEmail();
-            if (!pedido.getCliente().getEmail().equals(emailLogado)) {
-                throw new AccessDeniedException("Acesso negado: Você só pode cancelar pedidos que você fez.");
-            }
-        }
+        // Validação de segurança: CLIENTE só encontra (e cancela) pedidos que fez
+        Pedido pedido = buscarPedidoDoUsuario(id, false, "Acesso negado: Você só pode cancelar pedidos que você fez.");
         // Verificar se o pedido já está cancelado
         if (pedido.getStatus().equals(StatusPedido.CANCELADO.name())) {
             throw new RuntimeException("Pedido já está cancelado: " + id);
@@ -252,6 +251,32 @@ public class pedidoServiceImpl implements pedidoService {
         return modelMapper.map(pedido, PedidoResponseDTO.class);
     }
 
+    /**
+     * Busca o pedido com a checagem de dono no próprio WHERE. Só quando nada
+     * volta é que se consulta a existência, para separar 403 de "não encontrado".
+     */
+    private Pedido buscarPedidoDoUsuario(Long id, boolean restringirRestaurante, String mensagemNegado) {
+        Optional<Pedido> pedido;
+        if (SecurityUtils.isCliente()) {
+            Long clienteId = clienteVinculoCache.clienteIdAtual();
+            pedido = clienteId != null ? pedidoRepository.findByIdAndClienteId(id, clienteId) : Optional.empty();
+        } else if (restringirRestaurante && SecurityUtils.isRestaurante()) {
+            Long restauranteId = SecurityUtils.getCurrentRestauranteId();
+            pedido = restauranteId != null ? pedidoRepository.findByIdAndRestauranteId(id, restauranteId) : Optional.empty();
+        } else {
+            pedido = pedidoRepository.findById(id);
+        }
+        return pedido.orElseThrow(() -> pedidoRepository.existsById(id)
+                ? new AccessDeniedException(mensagemNegado)
+                : new RuntimeException("Pedido não encontrado com ID: " + id));
+    }
+
+    // Conta a recusa por motivo e devolve a exceção para o chamador lançar
+    private <E extends RuntimeException> E recusar(String motivo, E excecao) {
+        metricasNegocio.pedidoRecusado(motivo);
+        return excecao;
+    }
+
     private boolean isTransicaoValida(StatusPedido statusAtual, StatusPedido novoStatus) {
         // Implementar lógica de transições válidas
         switch (statusAtual) {
@@ -4,15 +4,19 @@ import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.access.AccessDeniedException;
 
+import com.deliverytech.delivery.cache.CacheInvalidationBus;
+import com.deliverytech.delivery.cache.VersaoMemorizada;
+import com.deliverytech.delivery.condicional.Versao;
 import com.deliverytech.delivery.dto.request.ProdutoRequestDTO;
 import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
 import com.deliverytech.delivery.entity.Produto;
 import com.deliverytech.delivery.entity.Restaurante;
 import com.deliverytech.delivery.exceptions.BusinessException;
+import com.deliverytech.delivery.ranking.PopularidadeTracker;
+import com.deliverytech.delivery.ranking.SpaceSavingTopK;
 import com.deliverytech.delivery.repository.produtoRepository;
 import com.deliverytech.delivery.repository.restauranteRepository;
 import com.deliverytech.delivery.security.SecurityUtils;
@@ -20,7 +24,10 @@ import com.deliverytech.delivery.service.produtoService;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -35,8 +42,18 @@ public class produtoServiceImpl implements produtoService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private PopularidadeTracker popularidadeTracker;
+
+    @Autowired
+    private VersaoMemorizada versaoCatalogoProdutos;
+
+    private static final int LIMITE_MAXIMO_POPULARES = 50;
+
     @Override
-    @CacheEvict(value = { "produtos", "produtos-disponiveis" }, allEntries = true)
     public ProdutoResponseDTO cadastrar(ProdutoRequestDTO dto) {
         // Validação de segurança
         if (SecurityUtils.isRestaurante()) {
@@ -51,11 +68,13 @@ public class produtoServiceImpl implements produtoService {
         produto.setRestaurante(restauranteRepository.findById(dto.getRestauranteId()).get());
         // Salvar cliente
         Produto produtoSalvo = produtoRepository.save(produto);
+        invalidarCatalogo(produtoSalvo.getId(), produtoSalvo.getDisponivel());
         // Retornar DTO de resposta
         return modelMapper.map(produtoSalvo, ProdutoResponseDTO.class);
     }
 
     @Override
+    @Cacheable(value = "produto", key = "#id")
     public ProdutoResponseDTO buscarPorId(Long id) {
         // Buscar produto por ID
         Produto produto = produtoRepository.findById(id)
@@ -65,7 +84,6 @@ public class produtoServiceImpl implements produtoService {
     }
 
     @Override
-    @CacheEvict(value = { "produtos", "produtos-disponiveis" }, allEntries = true)
     public ProdutoResponseDTO atualizar(Long id, ProdutoRequestDTO dto) {
         // Buscar produto existente
         Produto produtoExistente = produtoRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Produto não encontrado: " + id));
@@ -91,6 +109,7 @@ public class produtoServiceImpl implements produtoService {
         if (dto.getCategoria() == null || dto.getCategoria().isEmpty()) {
             throw new IllegalArgumentException("Categoria do produto é obrigatória");
         }
+        Boolean disponivelAnterior = produtoExistente.getDisponivel();
         // Atualizar dados do produto
         produtoExistente.setNome(dto.getNome());
         produtoExistente.setDescricao(dto.getDescricao());
@@ -100,12 +119,12 @@ public class produtoServiceImpl implements produtoService {
         produtoExistente.setRestaurante(restaurante.get());
         // Salvar produto atualizado
         Produto produtoAtualizado = produtoRepository.save(produtoExistente);
+        invalidarCatalogo(id, disponivelAnterior, produtoAtualizado.getDisponivel());
         // Retornar DTO de resposta
         return modelMapper.map(produtoAtualizado, ProdutoResponseDTO.class);
     }
 
     @Override
-    @CacheEvict(value = { "produtos", "produtos-disponiveis" }, allEntries = true)
     public ProdutoResponseDTO ativarDesativarProduto(Long id) {
         // Buscar produto existente
         Produto produto = produtoRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Produto não encontrado: " + id));
@@ -121,6 +140,7 @@ public class produtoServiceImpl implements produtoService {
         produto.setDisponivel(!produto.getDisponivel());
         // Salvar produto atualizado
         Produto produtoAtualizado = produtoRepository.save(produto);
+        invalidarCatalogo(id, Boolean.TRUE, Boolean.FALSE);
         // Retornar DTO de resposta
         return modelMapper.map(produtoAtualizado, ProdutoResponseDTO.class);
     }
@@ -170,7 +190,7 @@ public class produtoServiceImpl implements produtoService {
     }
 
     @Override
-    @Cacheable(value = "produtos")
+    @Cacheable(value = "produtos", key = "'todos'")
     public List<ProdutoResponseDTO> buscarTodosProdutos() {
         // Buscar todos os produtos
         List<Produto> produtos = produtoRepository.findAll();
@@ -182,7 +202,7 @@ public class produtoServiceImpl implements produtoService {
     }
 
     @Override
-    @Cacheable(value = "produtos-disponiveis")
+    @Cacheable(value = "produtos-disponiveis", key = "#disponivel")
     public List<ProdutoResponseDTO> buscarProdutosDisponiveis(boolean disponivel) {
         
         List<Produto> produtos;
@@ -216,4 +236,61 @@ public class produtoServiceImpl implements produtoService {
         // Converter lista de entidades para lista de DTOs
         return produtos.stream().map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class)).toList();
     }
+
+    @Override
+    public List<ProdutoResponseDTO> listarPopulares(String categoria, String janela, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO_POPULARES) {
+            throw new BusinessException("O limite deve estar entre 1 e " + LIMITE_MAXIMO_POPULARES + ".");
+        }
+        PopularidadeTracker.Janela janelaRanking;
+        try {
+            janelaRanking = PopularidadeTracker.Janela.valueOf(janela.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Janela inválida: " + janela + ". Use total ou agora.");
+        }
+        // Ranking vem da memória; uma única consulta por IDs traz os detalhes
+        List<Long> ids = popularidadeTracker.topProdutos(categoria, janelaRanking, limite * 2).stream()
+                .map(SpaceSavingTopK.Item::chave)
+                .toList();
+        Map<Long, Produto> produtos = produtoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        return ids.stream()
+                .map(produtos::get)
+                .filter(produto -> produto != null && produto.isAtivo())
+                .limit(limite)
+                .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
+                .toList();
+    }
+
+    @Override
+    public Versao versao(Long id) {
+        return produtoRepository.buscarVersao(id).map(versao -> Versao.daEntidade("produto", versao)).orElse(null);
+    }
+
+    // Toda listagem de produtos lê só a tabela de produtos: qualquer escrita nela muda a versão.
+    // A agregação roda uma vez por escrita, não a cada GET do catálogo
+    @Override
+    public Versao versaoCatalogo() {
+        return versaoCatalogoProdutos.obter(
+                () -> Versao.daColecao("produtos", produtoRepository.buscarVersaoCatalogo()));
+    }
+
+    @Override
+    public Versao versaoPorRestaurante(Long restauranteId) {
+        return Versao.daColecao("produtos-restaurante-" + restauranteId,
+                produtoRepository.buscarVersaoPorRestaurante(restauranteId));
+    }
+
+    // Invalida apenas as chaves afetadas pela escrita, neste nó e nas demais réplicas
+    private void invalidarCatalogo(Long produtoId, Boolean... disponibilidades) {
+        cacheInvalidationBus.evict("produtos", "todos");
+        if (produtoId != null) {
+            cacheInvalidationBus.evict("produto", produtoId);
+        }
+        for (Boolean disponivel : disponibilidades) {
+            if (disponivel != null) {
+                cacheInvalidationBus.evict("produtos-disponiveis", disponivel);
+            }
+        }
+    }
 }
@@ -0,0 +1,138 @@
+package com.deliverytech.delivery.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deliverytech.delivery.entity.RefreshToken;
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.repository.refreshTokenRepository;
+import com.deliverytech.delivery.service.refreshTokenService;
+
+/**
+ * Refresh tokens rotativos. O cliente recebe 32 bytes aleatórios; o banco guarda
+ * só o HMAC deles. Cada renovação troca o token por um novo da mesma família;
+ * apresentar de novo um token já trocado indica roubo e revoga a família inteira.
+ * Renovar custa uma busca pelo índice do hash e um HMAC, sem BCrypt.
+ */
+@Service
+@Transactional(noRollbackFor = BadCredentialsException.class)
+public class refreshTokenServiceImpl implements refreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(refreshTokenServiceImpl.class);
+
+    private final refreshTokenRepository refreshTokenRepository;
+    private final SecretKeySpec chaveHmac;
+    private final long validadeMillis;
+    private final SecureRandom random = new SecureRandom();
+
+    public refreshTokenServiceImpl(refreshTokenRepository refreshTokenRepository,
+            @Value("${jwt.refresh.segredo}") String segredo,
+            @Value("${jwt.refresh.validade-dias:30}") long validadeDias) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.chaveHmac = new SecretKeySpec(segredo.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.validadeMillis = validadeDias * 24 * 60 * 60 * 1000;
+    }
+
+    @Override
+    public String emitir(Usuario usuario) {
+        return emitir(usuario, UUID.randomUUID().toString());
+    }
+
+    @Override
+    public Rotacao rotacionar(String refreshToken) {
+        RefreshToken atual = refreshTokenRepository.buscarPorHash(hmac(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Refresh token inválido"));
+        LocalDateTime agora = LocalDateTime.now();
+
+        // 0 linhas: já foi trocado (ou revogado) — alguém está reusando um token antigo
+        if (refreshTokenRepository.marcarUsado(atual.getId(), agora) == 0) {
+            int revogados = refreshTokenRepository.revogarFamilia(atual.getFamilia());
+            log.warn("Reuso de refresh token do usuário {}: família {} revogada ({} tokens)",
+                    atual.getUsuario().getId(), atual.getFamilia(), revogados);
+            throw new BadCredentialsException("Refresh token já utilizado");
+        }
+        if (atual.getExpiraEm().isBefore(agora)) {
+            throw new BadCredentialsException("Refresh token expirado");
+        }
+        Usuario usuario = atual.getUsuario();
+        if (!usuario.isEnabled()
+                || (usuario.getTokensRevogadosEm() != null && atual.getCriadoEm().isBefore(usuario.getTokensRevogadosEm()))) {
+            refreshTokenRepository.revogarFamilia(atual.getFamilia());
+            throw new BadCredentialsException("Acesso do usuário revogado");
+        }
+        return new Rotacao(usuario, emitir(usuario, atual.getFamilia()));
+    }
+
+    @Override
+    public void revogarDoUsuario(Long usuarioId) {
+        refreshTokenRepository.revogarDoUsuario(usuarioId);
+    }
+
+    @Override
+    public void revogar(String refreshToken, Long usuarioId) {
+        // Só a família do próprio usuário; token desconhecido é ignorado
+        refreshTokenRepository.buscarPorHash(hmac(refreshToken))
+                .filter(token -> token.getUsuario().getId().equals(usuarioId))
+                .ifPresent(token -> refreshTokenRepository.revogarFamilia(token.getFamilia()));
+    }
+
+    @Override
+    public long getValidadeMillis() {
+        return validadeMillis;
+    }
+
+    // Limpeza diária dos tokens vencidos (mantém 1 dia para diagnóstico de reuso)
+    @Scheduled(cron = "${jwt.refresh.limpeza.cron:0 30 3 * * *}")
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void removerExpirados() {
+        int removidos = refreshTokenRepository.removerExpirados(LocalDateTime.now().minusDays(1));
+        if (removidos > 0) {
+            log.info("Refresh tokens expirados removidos: {}", removidos);
+        }
+    }
+
+    private String emitir(Usuario usuario, String familia) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        LocalDateTime agora = LocalDateTime.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hmac(token))
+                .familia(familia)
+                .usuario(usuario)
+                .criadoEm(agora)
+                .expiraEm(agora.plusSeconds(validadeMillis / 1000))
+                .revogado(false)
+                .build());
+        return token;
+    }
+
+    private String hmac(String token) {
+        try {
+            // Mac não é thread-safe; criar um por chamada é barato perto do acesso ao banco
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(chaveHmac);
+            return HexFormat.of().formatHex(mac.doFinal(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HmacSHA256 indisponível", e);
+        }
+    }
+}
@@ -3,21 +3,44 @@ package com.deliverytech.delivery.service.impl;
 import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
+import com.deliverytech.delivery.cache.CacheInvalidationBus;
+import com.deliverytech.delivery.cache.RestauranteCatalogCache;
+import com.deliverytech.delivery.cache.RestauranteCatalogado;
+import com.deliverytech.delivery.condicional.Versao;
 import com.deliverytech.delivery.dto.request.RestauranteRequestDTO;
+import com.deliverytech.delivery.dto.response.RestauranteProximoDTO;
 import com.deliverytech.delivery.dto.response.RestauranteResponseDTO;
 import com.deliverytech.delivery.entity.Restaurante;
 import com.deliverytech.delivery.exceptions.BusinessException;
 import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.geo.CepGeocoder;
+import com.deliverytech.delivery.geo.Coordenada;
+import com.deliverytech.delivery.geo.RestauranteSpatialIndex;
 import com.deliverytech.delivery.projection.RelatorioVendas;
+import com.deliverytech.delivery.ranking.PopularidadeTracker;
+import com.deliverytech.delivery.ranking.SpaceSavingTopK;
 import com.deliverytech.delivery.repository.restauranteRepository;
 import com.deliverytech.delivery.security.SecurityUtils;
 import com.deliverytech.delivery.service.restauranteService;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -29,6 +52,31 @@ public class restauranteServiceImpl implements restauranteService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private CepGeocoder cepGeocoder;
+
+    @Autowired
+    private RestauranteSpatialIndex restauranteSpatialIndex;
+
+    @Autowired
+    private RestauranteCatalogCache restauranteCatalogCache;
+
+    @Autowired
+    private PopularidadeTracker popularidadeTracker;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private static final String CACHE_CONTAGEM = "restaurantes-contagem";
+    private static final String CONTAGEM_TODAS = "*todas*";
+    private static final Set<String> CAMPOS_ORDENAVEIS = Set.of("nome", "avaliacao", "taxaEntrega");
+
+    private static final int LIMITE_MAXIMO_PROXIMOS = 50;
+    private static final int LIMITE_MAXIMO_POPULARES = 50;
+    private static final double RAIO_MAXIMO_KM = 50.0;
 
     @Override
     public RestauranteResponseDTO cadastrar(RestauranteRequestDTO dto) {
@@ -38,18 +86,21 @@ public class restauranteServiceImpl implements restauranteService {
         }
         // Converter DTO para entidade
         Restaurante restaurante = modelMapper.map(dto, Restaurante.class);
+        cepGeocoder.completarCoordenadas(restaurante);
         // Salvar cliente
         Restaurante restauranteSalvo = restauranteRepository.save(restaurante);
+        restauranteCatalogCache.gravar(restauranteSalvo);
+        cacheInvalidationBus.clear(CACHE_CONTAGEM);
         // Retornar DTO de resposta
         return modelMapper.map(restauranteSalvo, RestauranteResponseDTO.class);
     }
 
     @Override
     public RestauranteResponseDTO buscarPorId(Long id) {
-        // Buscar restaurante por ID
-        Restaurante restaurante = restauranteRepository.findById(id).orElseThrow(() -> new BusinessException("Restaurante não encontrado com ID: " + id));
-        // Converter entidade para DTO
-        return modelMapper.map(restaurante, RestauranteResponseDTO.class);
+        // Buscar restaurante por ID no catálogo em memória
+        RestauranteCatalogado restaurante = restauranteCatalogCache.buscarPorId(id).orElseThrow(() -> new BusinessException("Restaurante não encontrado com ID: " + id));
+        // Converter para DTO
+        return restaurante.toResponseDTO();
     }
 
     @Override
@@ -71,12 +122,27 @@ public class restauranteServiceImpl implements restauranteService {
         restauranteExistente.setNome(dto.getNome());
         restauranteExistente.setCategoria(dto.getCategoria());
         restauranteExistente.setTelefone(dto.getTelefone());
-        restauranteExistente.setAvaliacao(dto.getAvaliacao());
+        // Com avaliações de clientes, a nota vem do agregado e não pode ser sobrescrita
+        if (!restauranteExistente.possuiAvaliacoes()) {
+            restauranteExistente.setAvaliacao(dto.getAvaliacao());
+        }
         restauranteExistente.setEndereco(dto.getEndereco());
         restauranteExistente.setTelefone(dto.getTelefone());
+        if (dto.getCep() != null && !dto.getCep().equals(restauranteExistente.getCep())) {
+            restauranteExistente.setCep(dto.getCep());
+            restauranteExistente.setLatitude(null);
+            restauranteExistente.setLongitude(null);
+        }
+        if (dto.getLatitude() != null && dto.getLongitude() != null) {
+            restauranteExistente.setLatitude(dto.getLatitude());
+            restauranteExistente.setLongitude(dto.getLongitude());
+        }
+        cepGeocoder.completarCoordenadas(restauranteExistente);
 
         // Salvar as alterações
         Restaurante restauranteAtualizado = restauranteRepository.save(restauranteExistente);
+        restauranteCatalogCache.gravar(restauranteAtualizado);
+        cacheInvalidationBus.clear(CACHE_CONTAGEM);
 
         // Retornar DTO atualizado
         return modelMapper.map(restauranteAtualizado, RestauranteResponseDTO.class);
@@ -90,30 +156,30 @@ public class restauranteServiceImpl implements restauranteService {
         restaurante.setAtivo(!restaurante.getAtivo());
         // Salvar as alterações
         Restaurante restauranteAtualizado = restauranteRepository.save(restaurante);
+        restauranteCatalogCache.gravar(restauranteAtualizado);
+        cacheInvalidationBus.clear(CACHE_CONTAGEM);
         // Retornar DTO atualizado
         return modelMapper.map(restauranteAtualizado, RestauranteResponseDTO.class);
     }
 
     @Override
     public RestauranteResponseDTO buscarPorNome(String nome) {
-        // Buscar restaurante por nome
-        Restaurante restaurante = restauranteRepository.findByNomeAndAtivoTrue(nome);
-        if (restaurante == null) {
-        throw new EntityNotFoundException("Restaurante não encontrado ou inativo: " + nome);
-        }
+        // Buscar restaurante ativo por nome no catálogo em memória
+        RestauranteCatalogado restaurante = restauranteCatalogCache.buscarAtivoPorNome(nome)
+                .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado ou inativo: " + nome));
 
-        return modelMapper.map(restaurante, RestauranteResponseDTO.class);
+        return restaurante.toResponseDTO();
     }
 
     @Override
     public List<RestauranteResponseDTO> buscarPorCategoria(String categoria) {
-        // Buscar restaurantes por categoria
-        List<Restaurante> restaurantes = restauranteRepository.findByCategoria(categoria);
+        // Buscar restaurantes por categoria no catálogo em memória
+        List<RestauranteCatalogado> restaurantes = restauranteCatalogCache.listarPorCategoria(categoria);
         if (restaurantes.isEmpty()) {
             throw new BusinessException("Nenhum restaurante encontrado na categoria: " + categoria);
         }
-        // Converter lista de entidades para lista de DTOs
-        return restaurantes.stream().map(restaurante -> modelMapper.map(restaurante, RestauranteResponseDTO.class)).toList();
+        // Converter lista para DTOs
+        return restaurantes.stream().map(RestauranteCatalogado::toResponseDTO).toList();
     }
 
     @Override
@@ -129,24 +195,90 @@ public class restauranteServiceImpl implements restauranteService {
 
     @Override
     public List<RestauranteResponseDTO> listarAtivos() {
-        // Buscar todos os restaurantes ativos
-        List<Restaurante> restaurantesAtivos = restauranteRepository.findByAtivoTrue();
+        // Buscar todos os restaurantes ativos no catálogo em memória
+        List<RestauranteCatalogado> restaurantesAtivos = restauranteCatalogCache.listarAtivos();
         if (restaurantesAtivos.isEmpty()) {
             throw new BusinessException("Nenhum restaurante ativo encontrado.");
         }
-        // Converter lista de entidades para lista de DTOs
-        return restaurantesAtivos.stream().map(restaurante -> modelMapper.map(restaurante, RestauranteResponseDTO.class)).toList();
+        // Converter lista para DTOs
+        return restaurantesAtivos.stream().map(RestauranteCatalogado::toResponseDTO).toList();
+    }
+
+    @Override
+    public Page<RestauranteResponseDTO> listarAtivosPaginado(String categoria, Pageable pageable) {
+        // Validar campos de ordenação permitidos
+        for (Sort.Order ordem : pageable.getSort()) {
+            if (!CAMPOS_ORDENAVEIS.contains(ordem.getProperty())) {
+                throw new BusinessException("Ordenação não suportada: " + ordem.getProperty() + ". Use " + CAMPOS_ORDENAVEIS);
+            }
+        }
+        // Desempate por id para a paginação ser estável
+        Pageable paginacao = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().and(Sort.by("id")));
+        // Slice busca só a página (+1 linha para saber se há próxima), sem COUNT
+        Slice<Restaurante> pagina = (categoria == null || categoria.isBlank())
+                ? restauranteRepository.findByAtivoTrue(paginacao)
+                : restauranteRepository.findByAtivoTrueAndCategoria(categoria, paginacao);
+        List<RestauranteResponseDTO> conteudo = pagina.getContent().stream()
+                .map(restaurante -> modelMapper.map(restaurante, RestauranteResponseDTO.class)).toList();
+        return new PageImpl<>(conteudo, paginacao, contarAtivos(categoria));
+    }
+
+    // Total por filtro em cache; invalidado pelas escritas via CacheInvalidationBus
+    private long contarAtivos(String categoria) {
+        boolean semFiltro = categoria == null || categoria.isBlank();
+        Cache cache = cacheManager.getCache(CACHE_CONTAGEM);
+        String chave = semFiltro ? CONTAGEM_TODAS : categoria;
+        Long total = cache.get(chave, () -> semFiltro
+                ? restauranteRepository.countByAtivoTrue()
+                : restauranteRepository.countByAtivoTrueAndCategoria(categoria));
+        return total != null ? total : 0L;
     }
 
     @Override
     public List<RestauranteResponseDTO> listarTop5PorNome() {
-        // Buscar os 5 primeiros restaurantes por nome
-        List<Restaurante> top5Restaurantes = restauranteRepository.findTop5ByOrderByNomeAsc();
+        // Os 5 mais pedidos; enquanto o ranking ainda não tem 5, completa com a ordem alfabética
+        List<RestauranteResponseDTO> top5Restaurantes = new ArrayList<>(popularesAtivos(null, PopularidadeTracker.Janela.TOTAL, 5));
+        Set<Long> incluidos = new HashSet<>();
+        top5Restaurantes.forEach(r -> incluidos.add(r.getId()));
+        for (RestauranteCatalogado restaurante : restauranteCatalogCache.listarTop5PorNome()) {
+            if (top5Restaurantes.size() >= 5) {
+                break;
+            }
+            if (incluidos.add(restaurante.id())) {
+                top5Restaurantes.add(restaurante.toResponseDTO());
+            }
+        }
         if (top5Restaurantes.isEmpty()) {
             throw new BusinessException("Nenhum restaurante encontrado.");
         }
-        // Converter lista de entidades para lista de DTOs
-        return top5Restaurantes.stream().map(restaurante -> modelMapper.map(restaurante, RestauranteResponseDTO.class)).toList();
+        return top5Restaurantes;
+    }
+
+    @Override
+    public List<RestauranteResponseDTO> listarPopulares(String categoria, String janela, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO_POPULARES) {
+            throw new BusinessException("O limite deve estar entre 1 e " + LIMITE_MAXIMO_POPULARES + ".");
+        }
+        PopularidadeTracker.Janela janelaRanking;
+        try {
+            janelaRanking = PopularidadeTracker.Janela.valueOf(janela.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Janela inválida: " + janela + ". Use total ou agora.");
+        }
+        return popularesAtivos(categoria, janelaRanking, limite);
+    }
+
+    // Cruza o ranking em memória com o catálogo, descartando restaurantes inativos
+    private List<RestauranteResponseDTO> popularesAtivos(String categoria, PopularidadeTracker.Janela janela, int limite) {
+        // Pede alguns a mais para compensar os inativos descartados
+        List<SpaceSavingTopK.Item<Long>> ranking = popularidadeTracker.topRestaurantes(categoria, janela, limite * 2);
+        return ranking.stream()
+                .map(item -> restauranteCatalogCache.buscarPorId(item.chave()))
+                .flatMap(Optional::stream)
+                .filter(RestauranteCatalogado::ativo)
+                .limit(limite)
+                .map(RestauranteCatalogado::toResponseDTO)
+                .toList();
     }
 
     @Override
@@ -189,8 +321,70 @@ public class restauranteServiceImpl implements restauranteService {
         restaurante.setAtivo(false);
         // Salvar as alterações
         Restaurante restauranteInativado = restauranteRepository.save(restaurante);
+        restauranteCatalogCache.gravar(restauranteInativado);
+        cacheInvalidationBus.clear(CACHE_CONTAGEM);
         // Retornar DTO atualizado
         return modelMapper.map(restauranteInativado, RestauranteResponseDTO.class);
     }
 
-}
\ No newline at end of file
+    @Override
+    public List<RestauranteProximoDTO> buscarProximos(Double latitude, Double longitude, String cep, double raioKm, int limite, String ordenarPor) {
+        // Resolver a origem: coordenadas explícitas têm prioridade sobre o CEP
+        Coordenada origem;
+        if (latitude != null && longitude != null) {
+            origem = new Coordenada(latitude, longitude);
+        } else {
+            origem = cepGeocoder.geocodificar(cep)
+                    .orElseThrow(() -> new BusinessException("Informe latitude/longitude ou um CEP conhecido."));
+        }
+        if (raioKm <= 0 || raioKm > RAIO_MAXIMO_KM) {
+            throw new BusinessException("O raio deve estar entre 0 e " + RAIO_MAXIMO_KM + " km.");
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO_PROXIMOS) {
+            throw new BusinessException("O limite deve estar entre 1 e " + LIMITE_MAXIMO_PROXIMOS + ".");
+        }
+        // Busca os k mais próximos no índice em memória, sem SQL
+        List<RestauranteSpatialIndex.Resultado> resultados = restauranteSpatialIndex.buscarProximos(origem.latitude(), origem.longitude(), raioKm, limite);
+
+        Comparator<RestauranteSpatialIndex.Resultado> porDistancia = Comparator.comparingDouble(RestauranteSpatialIndex.Resultado::distanciaKm);
+        Comparator<RestauranteSpatialIndex.Resultado> porTaxa = Comparator.comparing(r -> taxaOuZero(r.restaurante().taxaEntrega()));
+        Comparator<RestauranteSpatialIndex.Resultado> ordem = "taxa".equalsIgnoreCase(ordenarPor)
+                ? porTaxa.thenComparing(porDistancia)
+                : porDistancia.thenComparing(porTaxa);
+
+        return resultados.stream().sorted(ordem).map(r -> new RestauranteProximoDTO(
+                r.restaurante().id(),
+                r.restaurante().nome(),
+                r.restaurante().categoria(),
+                r.restaurante().taxaEntrega(),
+                r.restaurante().avaliacao(),
+                r.restaurante().latitude(),
+                r.restaurante().longitude(),
+                Math.round(r.distanciaKm() * 100.0) / 100.0)).toList();
+    }
+
+    // Versões vêm do catálogo em memória, como as próprias leituras
+    @Override
+    public Versao versao(Long id) {
+        return restauranteCatalogCache.buscarPorId(id).map(this::versao).orElse(null);
+    }
+
+    @Override
+    public Versao versaoPorNome(String nome) {
+        return restauranteCatalogCache.buscarAtivoPorNome(nome).map(this::versao).orElse(null);
+    }
+
+    @Override
+    public Versao versaoCatalogo() {
+        return restauranteCatalogCache.versao();
+    }
+
+    private Versao versao(RestauranteCatalogado restaurante) {
+        return Versao.daEntidade("restaurante", restaurante.id(), restaurante.versao(), restaurante.atualizadoEm());
+    }
+
+    private static BigDecimal taxaOuZero(BigDecimal taxa) {
+        return taxa != null ? taxa : BigDecimal.ZERO;
+    }
+
+}
@@ -3,26 +3,35 @@ package com.deliverytech.delivery.service.impl;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.deliverytech.delivery.bloom.EmailBloomFilter;
 import com.deliverytech.delivery.dto.request.LoginRequestDTO;
+import com.deliverytech.delivery.dto.request.RefreshTokenRequestDTO;
 import com.deliverytech.delivery.dto.request.RegisterRequestDTO;
 import com.deliverytech.delivery.dto.response.LoginResponseDTO;
 import com.deliverytech.delivery.dto.response.UsuarioResponseDTO;
 import com.deliverytech.delivery.entity.Usuario;
 import com.deliverytech.delivery.enums.Role;
 import com.deliverytech.delivery.exceptions.BusinessException;
+import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.monitoramento.MetricasNegocio;
 import com.deliverytech.delivery.repository.clienteRepository;
 import com.deliverytech.delivery.repository.restauranteRepository;
 import com.deliverytech.delivery.repository.usuarioRepository;
 import com.deliverytech.delivery.security.JwtUtil;
+import com.deliverytech.delivery.security.ListaRevogacaoTokens;
+import com.deliverytech.delivery.security.UsuarioStatusCache;
+import com.deliverytech.delivery.service.refreshTokenService;
 import com.deliverytech.delivery.service.usuarioService;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+
 import java.time.LocalDateTime;
 
 @Service
@@ -40,13 +49,24 @@ public class usuarioServiceImpl implements usuarioService {
     @Autowired
     restauranteRepository restauranteRepository;
 
+    @Autowired
+    private EmailBloomFilter usuarioEmailFilter;
+
+    @Autowired
+    private MetricasNegocio metricasNegocio;
+
     private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final UsuarioStatusCache usuarioStatusCache;
+    private final refreshTokenService refreshTokenService;
+    private final ListaRevogacaoTokens listaRevogacaoTokens;
+
+    // Hash BCrypt qualquer: usado quando o email não existe para o tempo de resposta não denunciar isso
+    private static final String HASH_FICTICIO = "$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iKXulpZR8J4OY6Nd4EMCFyZw4ufC";
 
     @Override
     public UsuarioResponseDTO cadastrar(RegisterRequestDTO dto) {
-        if(usuarioRepository.existsByEmail(dto.getEmail())){
+        if(!usuarioEmailFilter.definitivamenteAusente(dto.getEmail()) && usuarioRepository.existsByEmail(dto.getEmail())){
             throw new BusinessException("Email já cadastrado: " + dto.getEmail());
         }
         Usuario usuario = Usuario.builder()
@@ -59,6 +79,7 @@ public class usuarioServiceImpl implements usuarioService {
                 .restauranteId(dto.getRestauranteId())
                 .build();
         usuarioRepository.save(usuario);
+        usuarioEmailFilter.registrar(usuario.getEmail());
 
         return modelMapper.map(usuario, UsuarioResponseDTO.class);
 
@@ -66,17 +87,85 @@ public class usuarioServiceImpl implements usuarioService {
 
     @Override
     public LoginResponseDTO login(LoginRequestDTO dto) {
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(dto.getEmail(), dto.getSenha()));
-        Usuario usuario = usuarioRepository.findByEmail(dto.getEmail())
-                .orElseThrow(() -> new BusinessException("Usuário inválido", String.valueOf(HttpStatus.UNAUTHORIZED)));
+        // Uma única busca do usuário; o BCrypt fica só neste fluxo
+        Usuario usuario = usuarioRepository.findByEmail(dto.getEmail()).orElse(null);
+        if (usuario == null) {
+            passwordEncoder.matches(dto.getSenha(), HASH_FICTICIO);
+            metricasNegocio.login("credenciais_invalidas");
+            throw new BadCredentialsException("Credenciais inválidas");
+        }
+        if (!passwordEncoder.matches(dto.getSenha(), usuario.getSenha())) {
+            metricasNegocio.login("credenciais_invalidas");
+            throw new BadCredentialsException("Credenciais inválidas");
+        }
+        if (!usuario.isEnabled()) {
+            metricasNegocio.login("usuario_desativado");
+            throw new DisabledException("Usuário desativado");
+        }
+        metricasNegocio.login("sucesso");
+        return montarResposta(usuario, refreshTokenService.emitir(usuario));
+    }
 
+    @Override
+    public LoginResponseDTO renovarToken(RefreshTokenRequestDTO dto) {
+        // Busca indexada pelo HMAC do token + rotação; sem BCrypt
+        refreshTokenService.Rotacao rotacao = refreshTokenService.rotacionar(dto.getRefreshToken());
+        return montarResposta(rotacao.usuario(), rotacao.refreshToken());
+    }
+
+    private LoginResponseDTO montarResposta(Usuario usuario, String refreshToken) {
         LoginResponseDTO responseDTO = new LoginResponseDTO();
         responseDTO.setUsuario(modelMapper.map(usuario, UsuarioResponseDTO.class));
         responseDTO.setTipo("Bearer");
         responseDTO.setExpiracao(86400000L); // 1 dia em segundos
         responseDTO.setToken(jwtUtil.generateToken(User.withUsername(usuario.getEmail()).password(usuario.getSenha()).authorities("ROLE_" + usuario.getRole().name()).build(), usuario));
+        responseDTO.setRefreshToken(refreshToken);
+        responseDTO.setRefreshExpiracao(refreshTokenService.getValidadeMillis());
 
         return responseDTO;
 
     }
-}
\ No newline at end of file
+
+    @Override
+    public UsuarioResponseDTO alterarStatus(Long id, boolean ativo) {
+        Usuario usuario = usuarioRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Usuário", id));
+        usuario.setAtivo(ativo);
+        usuarioRepository.save(usuario);
+        if (!ativo) {
+            refreshTokenService.revogarDoUsuario(id);
+        }
+        // Tokens já emitidos param de valer nesta réplica agora e nas outras pelo barramento
+        usuarioStatusCache.invalidar(id);
+        return modelMapper.map(usuario, UsuarioResponseDTO.class);
+    }
+
+    @Override
+    public void revogarTokens(Long id) {
+        Usuario usuario = usuarioRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Usuário", id));
+        usuario.setTokensRevogadosEm(LocalDateTime.now());
+        usuarioRepository.save(usuario);
+        refreshTokenService.revogarDoUsuario(id);
+        usuarioStatusCache.invalidar(id);
+    }
+
+    @Override
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken == null) {
+            throw new BadCredentialsException("Token ausente");
+        }
+        Claims claims;
+        try {
+            claims = jwtUtil.validarToken(accessToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BadCredentialsException("Token inválido");
+        }
+        Long usuarioId = jwtUtil.extractUserId(claims);
+        // Só este token: as outras sessões do usuário continuam valendo
+        listaRevogacaoTokens.revogar(claims.getId(), usuarioId, claims.getExpiration());
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revogar(refreshToken, usuarioId);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.deliverytech.delivery.service;
 import java.math.BigDecimal;
 import java.util.List;
 
+import com.deliverytech.delivery.condicional.Versao;
 import com.deliverytech.delivery.dto.request.ProdutoRequestDTO;
 import com.deliverytech.delivery.dto.response.ProdutoResponseDTO;
 
@@ -29,4 +30,12 @@ public interface produtoService {
     List<ProdutoResponseDTO> buscarProdutosDisponiveis(boolean disponivel);
 
     List<ProdutoResponseDTO> buscarPorPrecoMenorOuIgual(BigDecimal valor);
+
+    List<ProdutoResponseDTO> listarPopulares(String categoria, String janela, int limite);
+
+    Versao versao(Long id);
+
+    Versao versaoCatalogo();
+
+    Versao versaoPorRestaurante(Long restauranteId);
 }
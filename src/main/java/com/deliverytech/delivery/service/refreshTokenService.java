@@ -0,0 +1,20 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.entity.Usuario;
+
+public interface refreshTokenService {
+
+    record Rotacao(Usuario usuario, String refreshToken) {
+    }
+
+    String emitir(Usuario usuario);
+
+    Rotacao rotacionar(String refreshToken);
+
+    void revogarDoUsuario(Long usuarioId);
+
+    void revogar(String refreshToken, Long usuarioId);
+
+    long getValidadeMillis();
+
+}
@@ -3,7 +3,12 @@ package com.deliverytech.delivery.service;
 import java.math.BigDecimal;
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.deliverytech.delivery.condicional.Versao;
 import com.deliverytech.delivery.dto.request.RestauranteRequestDTO;
+import com.deliverytech.delivery.dto.response.RestauranteProximoDTO;
 import com.deliverytech.delivery.dto.response.RestauranteResponseDTO;
 import com.deliverytech.delivery.projection.RelatorioVendas;
 
@@ -25,11 +30,23 @@ public interface restauranteService {
 
     List<RestauranteResponseDTO> listarAtivos();
 
+    Page<RestauranteResponseDTO> listarAtivosPaginado(String categoria, Pageable pageable);
+
     List<RestauranteResponseDTO> listarTop5PorNome();
 
+    List<RestauranteResponseDTO> listarPopulares(String categoria, String janela, int limite);
+
     List<RelatorioVendas> relatorioVendasPorRestaurante();
 
     List<RestauranteResponseDTO> buscarPorTaxaEntrega(BigDecimal taxaEntrega);
 
     RestauranteResponseDTO inativarRestaurante(Long id);
+
+    List<RestauranteProximoDTO> buscarProximos(Double latitude, Double longitude, String cep, double raioKm, int limite, String ordenarPor);
+
+    Versao versao(Long id);
+
+    Versao versaoPorNome(String nome);
+
+    Versao versaoCatalogo();
 }
\ No newline at end of file
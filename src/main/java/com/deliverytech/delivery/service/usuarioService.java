@@ -1,6 +1,7 @@
 package com.deliverytech.delivery.service;
 
 import com.deliverytech.delivery.dto.request.LoginRequestDTO;
+import com.deliverytech.delivery.dto.request.RefreshTokenRequestDTO;
 import com.deliverytech.delivery.dto.request.RegisterRequestDTO;
 import com.deliverytech.delivery.dto.response.LoginResponseDTO;
 import com.deliverytech.delivery.dto.response.UsuarioResponseDTO;
@@ -11,4 +12,12 @@ public interface usuarioService {
 
     LoginResponseDTO login(LoginRequestDTO dto);
 
+    LoginResponseDTO renovarToken(RefreshTokenRequestDTO dto);
+
+    UsuarioResponseDTO alterarStatus(Long id, boolean ativo);
+
+    void revogarTokens(Long id);
+
+    void logout(String accessToken, String refreshToken);
+
 }
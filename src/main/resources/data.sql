@@ -8,10 +8,10 @@ INSERT INTO clientes (nome, email, telefone, endereco, data_cadastro, ativo) VAL
 ('Pedro Oliveira', 'pedro@email.com', '(11) 99999-3333', 'Rua C, 789 - São Paulo/SP', '2025-11-21', true);
 
 -- Inserir restaurantes
-INSERT INTO restaurantes (nome, categoria, endereco, telefone, taxa_entrega, avaliacao, ativo) VALUES
-('Pizzaria Bella', 'Italiana', 'Av. Paulista, 1000 - São Paulo/SP', '(11) 3333-1111', 5.00, 4.5, true),
-('Burger House', 'Hamburgueria', 'Rua Augusta, 500 - São Paulo/SP', '(11) 3333-2222', 3.50, 4.2, true),
-('Sushi Master', 'Japonesa', 'Rua Liberdade, 200 - São Paulo/SP', '(11) 3333-3333', 8.00, 4.8, true);
+INSERT INTO restaurantes (nome, categoria, endereco, cep, latitude, longitude, telefone, taxa_entrega, avaliacao, ativo) VALUES
+('Pizzaria Bella', 'Italiana', 'Av. Paulista, 1000 - São Paulo/SP', '01310-100', -23.5614, -46.6559, '(11) 3333-1111', 5.00, 4.5, true),
+('Burger House', 'Hamburgueria', 'Rua Augusta, 500 - São Paulo/SP', '01305-000', -23.5535, -46.6534, '(11) 3333-2222', 3.50, 4.2, true),
+('Sushi Master', 'Japonesa', 'Rua Liberdade, 200 - São Paulo/SP', '01503-000', -23.5587, -46.6345, '(11) 3333-3333', 8.00, 4.8, true);
 
 -- Inserir produtos
 INSERT INTO produtos (nome, descricao, preco, categoria, disponivel, restaurante_id) VALUES
@@ -0,0 +1,138 @@
+-- Esquema inicial: o mesmo que o ddl-auto=update gera a partir das entidades.
+-- Bancos já criados pelo update são adotados como esta versão (baseline-on-migrate).
+-- SQL comum a Postgres e H2 (MODE=PostgreSQL), usado no treino do arquivo CDS.
+
+CREATE TABLE usuarios (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome                VARCHAR(255) NOT NULL,
+    email               VARCHAR(255) NOT NULL,
+    senha               VARCHAR(255) NOT NULL,
+    role                VARCHAR(255) NOT NULL,
+    ativo               BOOLEAN NOT NULL,
+    data_criacao        TIMESTAMP(6) NOT NULL,
+    restaurante_id      BIGINT,
+    tokens_revogados_em TIMESTAMP(6),
+    CONSTRAINT uk_usuarios_email UNIQUE (email),
+    CONSTRAINT ck_usuarios_role CHECK (role IN ('ADMIN', 'RESTAURANTE', 'CLIENTE'))
+);
+
+CREATE TABLE restaurantes (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome             VARCHAR(255),
+    categoria        VARCHAR(255),
+    endereco         VARCHAR(255),
+    telefone         VARCHAR(255),
+    cep              VARCHAR(255),
+    latitude         DOUBLE PRECISION,
+    longitude        DOUBLE PRECISION,
+    taxa_entrega     NUMERIC(38, 2),
+    avaliacao        NUMERIC(38, 2),
+    soma_avaliacoes  BIGINT,
+    total_avaliacoes BIGINT,
+    ativo            BOOLEAN,
+    versao           BIGINT,
+    atualizado_em    TIMESTAMP(6)
+);
+
+CREATE TABLE clientes (
+    usuario_id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome          VARCHAR(255),
+    email         VARCHAR(255),
+    telefone      VARCHAR(255),
+    endereco      VARCHAR(255),
+    cep           VARCHAR(255),
+    latitude      DOUBLE PRECISION,
+    longitude     DOUBLE PRECISION,
+    data_cadastro TIMESTAMP(6),
+    ativo         BOOLEAN,
+    versao        BIGINT,
+    atualizado_em TIMESTAMP(6),
+    CONSTRAINT uk_clientes_email UNIQUE (email)
+);
+
+CREATE INDEX idx_clientes_ativo_id ON clientes (ativo, usuario_id);
+
+CREATE TABLE produtos (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome           VARCHAR(255),
+    descricao      VARCHAR(255),
+    preco          NUMERIC(38, 2),
+    categoria      VARCHAR(255),
+    disponivel     BOOLEAN,
+    restaurante_id BIGINT,
+    versao         BIGINT,
+    atualizado_em  TIMESTAMP(6),
+    CONSTRAINT fk_produtos_restaurante FOREIGN KEY (restaurante_id) REFERENCES restaurantes (id)
+);
+
+CREATE TABLE pedidos (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    numero_pedido    VARCHAR(255),
+    data_pedido      TIMESTAMP(6),
+    status           VARCHAR(255),
+    valor_total      NUMERIC(38, 2),
+    observacoes      VARCHAR(255),
+    endereco_entrega VARCHAR(255),
+    cep              VARCHAR(255),
+    taxa_entrega     NUMERIC(38, 2),
+    restaurante_id   BIGINT,
+    cliente_id       BIGINT,
+    CONSTRAINT fk_pedidos_restaurante FOREIGN KEY (restaurante_id) REFERENCES restaurantes (id),
+    CONSTRAINT fk_pedidos_cliente FOREIGN KEY (cliente_id) REFERENCES clientes (usuario_id)
+);
+
+CREATE INDEX idx_pedidos_data_pedido ON pedidos (data_pedido);
+
+CREATE TABLE item_pedido (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    quantidade     INTEGER NOT NULL,
+    preco_unitario NUMERIC(38, 2),
+    subtotal       NUMERIC(38, 2),
+    pedido_id      BIGINT,
+    produto_id     BIGINT,
+    CONSTRAINT fk_item_pedido_pedido FOREIGN KEY (pedido_id) REFERENCES pedidos (id),
+    CONSTRAINT fk_item_pedido_produto FOREIGN KEY (produto_id) REFERENCES produtos (id)
+);
+
+CREATE INDEX idx_item_pedido_pedido ON item_pedido (pedido_id);
+
+CREATE TABLE avaliacoes (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    pedido_id      BIGINT NOT NULL,
+    restaurante_id BIGINT NOT NULL,
+    cliente_id     BIGINT,
+    nota           INTEGER NOT NULL,
+    comentario     VARCHAR(500),
+    data_avaliacao TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_avaliacoes_pedido UNIQUE (pedido_id),
+    CONSTRAINT fk_avaliacoes_pedido FOREIGN KEY (pedido_id) REFERENCES pedidos (id),
+    CONSTRAINT fk_avaliacoes_restaurante FOREIGN KEY (restaurante_id) REFERENCES restaurantes (id),
+    CONSTRAINT fk_avaliacoes_cliente FOREIGN KEY (cliente_id) REFERENCES clientes (usuario_id)
+);
+
+CREATE INDEX idx_avaliacoes_restaurante ON avaliacoes (restaurante_id);
+
+CREATE TABLE refresh_tokens (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL,
+    familia    VARCHAR(36) NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    criado_em  TIMESTAMP(6) NOT NULL,
+    expira_em  TIMESTAMP(6) NOT NULL,
+    usado_em   TIMESTAMP(6),
+    revogado   BOOLEAN NOT NULL,
+    CONSTRAINT uk_refresh_tokens_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
+
+CREATE INDEX idx_refresh_tokens_familia ON refresh_tokens (familia);
+CREATE INDEX idx_refresh_tokens_usuario ON refresh_tokens (usuario_id);
+
+CREATE TABLE tokens_revogados (
+    jti         VARCHAR(36) PRIMARY KEY,
+    usuario_id  BIGINT,
+    expira_em   TIMESTAMP(6) NOT NULL,
+    revogado_em TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_tokens_revogados_expira_em ON tokens_revogados (expira_em);
@@ -0,0 +1,8 @@
+-- Busca de clientes por nome (PostgresClienteNomeSearch): pg_trgm e índice GIN para ILIKE '%termo%' e similaridade.
+-- Só no Postgres ({vendor} em spring.flyway.locations); o H2 do treino do CDS não tem a extensão.
+-- Fora do perfil inicio-rapido (Flyway desligado), PostgresClienteNomeSearch roda este mesmo script na partida.
+-- CREATE EXTENSION exige permissão no banco; sem ela a aplicação não sobe, salvo busca.clientes.exigir-indice=false.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_clientes_nome_trgm ON clientes USING gin (nome gin_trgm_ops);
@@ -0,0 +1,72 @@
+package com.deliverytech.delivery.bloom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do filtro de Bloom")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Nunca dá falso negativo para e-mails adicionados")
+    void podeConter_SemFalsoNegativo() {
+        BloomFilter filtro = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("cliente" + i + "@email.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtro.podeConter("cliente" + i + "@email.com"));
+        }
+        assertFalse(filtro.isSaturado());
+    }
+
+    @Test
+    @DisplayName("Taxa de falso positivo fica perto da configurada")
+    void podeConter_TaxaFalsoPositivoDentroDoEsperado() {
+        BloomFilter filtro = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("cliente" + i + "@email.com");
+        }
+
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.podeConter("novo" + i + "@email.com")) {
+                falsosPositivos++;
+            }
+        }
+
+        // 1% esperado; margem para a variação do hash
+        assertTrue(falsosPositivos < 2_000, "falsos positivos: " + falsosPositivos);
+    }
+
+    @Test
+    @DisplayName("Acusa saturação ao passar da capacidade")
+    void isSaturado_AposCapacidade() {
+        BloomFilter filtro = new BloomFilter(10, 0.01);
+        for (int i = 0; i < 11; i++) {
+            filtro.adicionar("e" + i);
+        }
+
+        assertTrue(filtro.isSaturado());
+    }
+
+    @Test
+    @DisplayName("Reconstrução consome os e-mails um a um, ignorando nulos")
+    void reconstruir_ConsomeEmailsEmSequencia() {
+        EmailBloomFilter filtro = new EmailBloomFilter("clientes", () -> 3,
+                acao -> Stream.of("ana@email.com", null, "bia@email.com").forEach(acao),
+                0.01, 100, new SimpleMeterRegistry());
+
+        filtro.reconstruir();
+
+        assertFalse(filtro.definitivamenteAusente("ana@email.com"));
+        assertFalse(filtro.definitivamenteAusente("bia@email.com"));
+        assertTrue(filtro.definitivamenteAusente("carla@email.com"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.deliverytech.delivery.busca;
+
+import java.util.List;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.deliverytech.delivery.cache.ContagemAproximada;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Caminho indexado contra um Postgres de verdade: aplica só a V1, deixa a
+ * busca criar a extensão e o índice da V2 na partida, como no caminho padrão,
+ * e confere no plano que o filtro da busca usa o índice GIN. Só roda com {@code TESTE_POSTGRES_URL}
+ * (e {@code TESTE_POSTGRES_USUARIO}/{@code TESTE_POSTGRES_SENHA}) apontando
+ * para um banco descartável: a V2 precisa de permissão de CREATE EXTENSION.
+ */
+@DisplayName("Testes da busca de clientes por nome no índice de trigramas do Postgres")
+@EnabledIfEnvironmentVariable(named = "TESTE_POSTGRES_URL", matches = ".+")
+class PostgresClienteNomeSearchIndiceTest {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private String sufixo;
+
+    @BeforeEach
+    void setUp() {
+        // Uma conexão só: o SET do plano vale para o EXPLAIN seguinte
+        dataSource = new SingleConnectionDataSource(System.getenv("TESTE_POSTGRES_URL"),
+                System.getenv("TESTE_POSTGRES_USUARIO"), System.getenv("TESTE_POSTGRES_SENHA"), true);
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        jdbc = new JdbcTemplate(dataSource);
+        // Curto: um sufixo longo compartilharia trigramas demais e "Maria Outra" passaria no limiar de similaridade
+        sufixo = Long.toString(System.nanoTime() % 1_000_000, 36);
+        for (String nome : List.of("Joaquina Trigrama", "Joaquim Trigrama", "Maria Outra")) {
+            jdbc.update("INSERT INTO clientes (nome, email, ativo) VALUES (?, ?, true)",
+                    nome + " " + sufixo, nome.replace(' ', '.') + "." + sufixo + "@teste.com");
+        }
+        jdbc.execute("ANALYZE clientes");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("RESET enable_seqscan");
+        jdbc.update("DELETE FROM clientes WHERE nome LIKE ?", "% " + sufixo);
+        dataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("Sem a V2 aplicada, a busca cria o índice na partida, o filtro usa o índice GIN e acha por similaridade")
+    void buscar_UsaIndiceDeTrigramas() {
+        PostgresClienteNomeSearch busca = new PostgresClienteNomeSearch(new NamedParameterJdbcTemplate(dataSource),
+                new ContagemAproximada(jdbc, 300), true);
+        busca.verificarTrigramas();
+
+        // Tabela pequena: sem isto o planejador prefere a varredura mesmo com o índice
+        jdbc.execute("SET enable_seqscan = off");
+        String plano = String.join("\n", jdbc.queryForList(
+                "EXPLAIN SELECT usuario_id FROM clientes WHERE nome ILIKE ? OR nome % ?", String.class,
+                "%trigrama " + sufixo + "%", "Joaquin Trigrama " + sufixo));
+        assertTrue(plano.contains("idx_clientes_nome_trgm"), plano);
+
+        Page<ClienteNomeSearch.Resultado> pagina = busca.buscar("Joaquin Trigrama " + sufixo, PageRequest.of(0, 10));
+
+        List<Map<String, Object>> esperados = jdbc.queryForList(
+                "SELECT usuario_id FROM clientes WHERE nome IN (?, ?)",
+                "Joaquina Trigrama " + sufixo, "Joaquim Trigrama " + sufixo);
+        assertEquals(2, pagina.getContent().size());
+        assertTrue(pagina.getContent().stream().allMatch(r -> r.similaridade() > 0));
+        assertTrue(esperados.stream().map(l -> ((Number) l.get("usuario_id")).longValue())
+                .allMatch(id -> pagina.getContent().stream().anyMatch(r -> r.clienteId().equals(id))));
+    }
+}
@@ -0,0 +1,109 @@
+package com.deliverytech.delivery.busca;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import com.deliverytech.delivery.cache.ContagemAproximada;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes da busca de clientes por nome no Postgres")
+@ExtendWith(MockitoExtension.class)
+class PostgresClienteNomeSearchTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private JdbcTemplate jdbc;
+
+    @Mock
+    private ContagemAproximada contagemAproximada;
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.getJdbcTemplate()).thenReturn(jdbc);
+    }
+
+    @Test
+    @DisplayName("Com pg_trgm e o índice, busca pelo operador de similaridade e ordena por similarity")
+    void buscar_ComIndice_UsaTrigramas() {
+        indicePresente(true);
+        PostgresClienteNomeSearch busca = new PostgresClienteNomeSearch(jdbcTemplate, contagemAproximada, true);
+        busca.verificarTrigramas();
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(new ClienteNomeSearch.Resultado(1L, 0.8)));
+
+        Page<ClienteNomeSearch.Resultado> pagina = busca.buscar("joao", PageRequest.of(0, 10));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sql.capture(), any(SqlParameterSource.class), any(RowMapper.class));
+        assertTrue(sql.getValue().contains("nome % :termo"), sql.getValue());
+        assertTrue(sql.getValue().contains("ORDER BY sim DESC"), sql.getValue());
+        assertEquals(1, pagina.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Sem o índice, aplica o script da V2 na partida e passa a usar trigramas")
+    void verificarTrigramas_SemIndice_AplicaMigracao() {
+        when(jdbc.queryForObject(contains("idx_clientes_nome_trgm"), eq(Boolean.class))).thenReturn(false, true);
+        PostgresClienteNomeSearch busca = new PostgresClienteNomeSearch(jdbcTemplate, contagemAproximada, true);
+        busca.verificarTrigramas();
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class))).thenReturn(List.of());
+
+        busca.buscar("joao", PageRequest.of(0, 10));
+
+        verify(jdbc).execute(any(ConnectionCallback.class));
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sql.capture(), any(SqlParameterSource.class), any(RowMapper.class));
+        assertTrue(sql.getValue().contains("nome % :termo"), sql.getValue());
+    }
+
+    @Test
+    @DisplayName("Sem o índice e sem conseguir criá-lo, a aplicação não sobe")
+    void verificarTrigramas_SemIndiceNemPermissao_FalhaNaPartida() {
+        indicePresente(false);
+        when(jdbc.execute(any(ConnectionCallback.class)))
+                .thenThrow(new DataAccessResourceFailureException("permission denied to create extension"));
+        PostgresClienteNomeSearch busca = new PostgresClienteNomeSearch(jdbcTemplate, contagemAproximada, true);
+
+        assertThrows(IllegalStateException.class, busca::verificarTrigramas);
+    }
+
+    @Test
+    @DisplayName("Sem o índice e sem exigi-lo, cai para ILIKE ordenado por nome")
+    void buscar_SemIndiceNaoExigido_UsaIlike() {
+        indicePresente(false);
+        PostgresClienteNomeSearch busca = new PostgresClienteNomeSearch(jdbcTemplate, contagemAproximada, false);
+        busca.verificarTrigramas();
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class))).thenReturn(List.of());
+
+        busca.buscar("joao", PageRequest.of(0, 10));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sql.capture(), any(SqlParameterSource.class), any(RowMapper.class));
+        assertFalse(sql.getValue().contains("%"), sql.getValue());
+        assertTrue(sql.getValue().contains("ORDER BY nome"), sql.getValue());
+    }
+
+    private void indicePresente(boolean presente) {
+        when(jdbc.queryForObject(contains("idx_clientes_nome_trgm"), eq(Boolean.class))).thenReturn(presente);
+    }
+}
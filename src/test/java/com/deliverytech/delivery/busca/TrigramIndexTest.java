@@ -0,0 +1,67 @@
+package com.deliverytech.delivery.busca;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do índice de trigramas")
+class TrigramIndexTest {
+
+    @Test
+    @DisplayName("Encontra por trecho do nome, ignorando caixa e acentos")
+    void buscar_PorTrecho() {
+        TrigramIndex indice = new TrigramIndex(0.3);
+        indice.indexar(1L, "João Silva");
+        indice.indexar(2L, "Maria Santos");
+        indice.indexar(3L, "Pedro Oliveira");
+
+        List<Long> ids = indice.buscar("JOAO").stream().map(TrigramIndex.Resultado::id).toList();
+
+        assertEquals(List.of(1L), ids);
+    }
+
+    @Test
+    @DisplayName("Tolera erro de digitação e ordena por similaridade")
+    void buscar_OrdenaPorSimilaridade() {
+        TrigramIndex indice = new TrigramIndex(0.3);
+        indice.indexar(1L, "Mariana Souza");
+        indice.indexar(2L, "Maria Souza");
+        indice.indexar(3L, "Carlos Lima");
+
+        List<TrigramIndex.Resultado> resultados = indice.buscar("Maria Sousa");
+
+        assertEquals(2L, resultados.get(0).id());
+        assertTrue(resultados.stream().noneMatch(r -> r.id() == 3L));
+        assertTrue(resultados.get(0).similaridade() >= resultados.get(resultados.size() - 1).similaridade());
+    }
+
+    @Test
+    @DisplayName("Reindexar troca o nome e remover tira do resultado")
+    void indexar_AtualizaERemove() {
+        TrigramIndex indice = new TrigramIndex(0.3);
+        indice.indexar(1L, "Ana Paula");
+        indice.indexar(1L, "Beatriz Costa");
+
+        assertTrue(indice.buscar("Ana Paula").isEmpty());
+        assertEquals(1L, indice.buscar("Beatriz").get(0).id());
+
+        indice.remover(1L);
+
+        assertTrue(indice.buscar("Beatriz").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Termos curtos ainda casam por trecho")
+    void buscar_TermoCurto() {
+        TrigramIndex indice = new TrigramIndex(0.3);
+        indice.indexar(1L, "Lu Alves");
+        indice.indexar(2L, "Carlos Lima");
+
+        List<Long> ids = indice.buscar("lu").stream().map(TrigramIndex.Resultado::id).toList();
+
+        assertEquals(List.of(1L), ids);
+    }
+}
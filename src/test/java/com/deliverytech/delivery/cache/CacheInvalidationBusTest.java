@@ -0,0 +1,127 @@
+package com.deliverytech.delivery.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do barramento de invalidação de cache")
+class CacheInvalidationBusTest {
+
+    private ConcurrentMapCacheManager cacheNoA;
+    private ConcurrentMapCacheManager cacheNoB;
+    private CacheInvalidationBus busNoA;
+    private CacheInvalidationBus busNoB;
+    private LoopbackInvalidationTransport transporteNoB;
+    private String canal;
+
+    @BeforeEach
+    void setUp() {
+        canal = "teste_" + System.nanoTime();
+        cacheNoA = new ConcurrentMapCacheManager("produto", "produtos-disponiveis");
+        cacheNoB = new ConcurrentMapCacheManager("produto", "produtos-disponiveis");
+        busNoA = new CacheInvalidationBus(cacheNoA, new LoopbackInvalidationTransport(canal), "A");
+        transporteNoB = new LoopbackInvalidationTransport(canal);
+        busNoB = new CacheInvalidationBus(cacheNoB, transporteNoB, "B");
+    }
+
+    @Test
+    @DisplayName("Escrita no nó A remove só a chave afetada no nó B")
+    void evict_RemoveApenasChaveAfetadaNosOutrosNos() {
+        cacheNoB.getCache("produto").put(1L, "Pizza");
+        cacheNoB.getCache("produto").put(2L, "Burger");
+
+        busNoA.evict("produto", 1L);
+
+        assertNull(cacheNoB.getCache("produto").get(1L));
+        assertNotNull(cacheNoB.getCache("produto").get(2L));
+    }
+
+    @Test
+    @DisplayName("Clear propaga a limpeza do cache inteiro")
+    void clear_LimpaCacheEmTodosOsNos() {
+        cacheNoA.getCache("produtos-disponiveis").put(true, "lista");
+        cacheNoB.getCache("produtos-disponiveis").put(true, "lista");
+
+        busNoA.clear("produtos-disponiveis");
+
+        assertNull(cacheNoA.getCache("produtos-disponiveis").get(true));
+        assertNull(cacheNoB.getCache("produtos-disponiveis").get(true));
+    }
+
+    @Test
+    @DisplayName("Evento sobrevive ida e volta pelo formato compacto")
+    void encodeDecode_PreservaTipoDaChave() {
+        CacheInvalidationEvent evento = CacheInvalidationEvent.chave("A", "produtos-disponiveis", Boolean.FALSE);
+
+        CacheInvalidationEvent lido = CacheInvalidationEvent.decode(evento.encode());
+
+        assertEquals(evento, lido);
+        assertTrue(CacheInvalidationEvent.decode("A|produtos|*").isTodas());
+    }
+
+    @Test
+    @DisplayName("Pedido de ressincronização limpa todos os caches do outro nó e recarrega os snapshots")
+    void ressincronizacao_LimpaTudoERecarregaSnapshots() {
+        cacheNoB.getCache("produto").put(1L, "Pizza");
+        cacheNoB.getCache("produtos-disponiveis").put(true, "lista");
+        List<Object> recargas = new ArrayList<>();
+        busNoB.aoReceberRemoto("restaurantes-catalogo", recargas::add);
+
+        busNoA.ressincronizar();
+        assertNotNull(cacheNoB.getCache("produto").get(1L));
+
+        new LoopbackInvalidationTransport(canal).publicar(CacheInvalidationEvent.ressincronizacao("A"));
+
+        assertNull(cacheNoB.getCache("produto").get(1L));
+        assertNull(cacheNoB.getCache("produtos-disponiveis").get(true));
+        assertEquals(1, recargas.size());
+        assertNull(recargas.get(0));
+    }
+
+    @Test
+    @DisplayName("Transporte que perdeu eventos faz o nó ressincronizar")
+    void perdaDeEventos_Ressincroniza() {
+        List<Runnable> aoPerder = new ArrayList<>();
+        CacheInvalidationTransport transporte = new CacheInvalidationTransport() {
+            @Override
+            public void publicar(CacheInvalidationEvent evento) {
+            }
+
+            @Override
+            public void assinar(Consumer<CacheInvalidationEvent> listener) {
+            }
+
+            @Override
+            public void aoPerderEventos(Runnable acao) {
+                aoPerder.add(acao);
+            }
+        };
+        ConcurrentMapCacheManager cacheNoC = new ConcurrentMapCacheManager("produto");
+        new CacheInvalidationBus(cacheNoC, transporte, "C");
+        cacheNoC.getCache("produto").put(1L, "Pizza");
+
+        aoPerder.forEach(Runnable::run);
+
+        assertNull(cacheNoC.getCache("produto").get(1L));
+    }
+
+    @Test
+    @DisplayName("Transporte fechado deixa o canal e não recebe mais eventos")
+    void close_RemoveAssinantesDoCanal() {
+        assertEquals(2, LoopbackInvalidationTransport.assinantes(canal));
+        cacheNoB.getCache("produto").put(1L, "Pizza");
+
+        transporteNoB.close();
+        busNoA.evict("produto", 1L);
+
+        assertNotNull(cacheNoB.getCache("produto").get(1L));
+        assertEquals(1, LoopbackInvalidationTransport.assinantes(canal));
+    }
+}
@@ -0,0 +1,84 @@
+package com.deliverytech.delivery.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes da contagem aproximada em cache")
+class ContagemAproximadaTest {
+
+    private ContagemAproximada contagem;
+
+    @BeforeEach
+    void setUp() {
+        contagem = new ContagemAproximada(mock(JdbcTemplate.class), 300);
+    }
+
+    @Test
+    @DisplayName("Chamadas simultâneas na mesma chave contam uma vez só e recebem o mesmo total")
+    void estimar_Concorrente_ContaUmaVez() throws Exception {
+        AtomicInteger contagens = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Long>> resultados = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            resultados.add(executor.submit(() -> contagem.estimar("clientes", null, () -> {
+                contagens.incrementAndGet();
+                aguardar(liberar);
+                return 42L;
+            })));
+        }
+
+        // Enquanto a contagem da chave está em curso, outra chave não espera por ela
+        assertEquals(7L, contagem.estimar("pedidos", null, () -> 7L));
+        liberar.countDown();
+
+        for (Future<Long> resultado : resultados) {
+            assertEquals(42L, resultado.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(1, contagens.get());
+    }
+
+    @Test
+    @DisplayName("Falha na contagem não fica guardada: a próxima chamada conta de novo")
+    void estimar_Falha_TentaDeNovo() {
+        assertThrows(IllegalStateException.class, () -> contagem.estimar("clientes", null, () -> {
+            throw new IllegalStateException("banco fora");
+        }));
+
+        assertEquals(10L, contagem.estimar("clientes", null, () -> 10L));
+        assertEquals(10L, contagem.estimar("clientes", null, () -> 99L));
+    }
+
+    @Test
+    @DisplayName("Invalidar descarta o total guardado")
+    void invalidar_ForcaNovaContagem() {
+        contagem.estimar("clientes", null, () -> 10L);
+
+        contagem.invalidar("clientes");
+
+        assertEquals(11L, contagem.estimar("clientes", null, () -> 11L));
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.deliverytech.delivery.cache;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.deliverytech.delivery.deliveryApiApplication;
+import com.deliverytech.delivery.dto.request.ProdutoRequestDTO;
+import com.deliverytech.delivery.dto.request.RestauranteRequestDTO;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.repository.restauranteRepository;
+import com.deliverytech.delivery.service.produtoService;
+import com.deliverytech.delivery.service.restauranteService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dois contextos completos da aplicação na mesma JVM, como duas réplicas: o
+ * mesmo banco H2, caches de verdade ({@code spring.cache.type=simple}) e o
+ * transporte loopback num canal só deles.
+ */
+@DisplayName("Testes da invalidação de cache entre dois nós da aplicação")
+class InvalidacaoEntreNosTest {
+
+    private static String canal;
+    private static ConfigurableApplicationContext noA;
+    private static ConfigurableApplicationContext noB;
+
+    @BeforeAll
+    static void subirNos() {
+        canal = "nos_" + System.nanoTime();
+        String banco = "jdbc:h2:mem:" + canal + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+        noA = subir(banco, "create-drop");
+        noB = subir(banco, "none");
+    }
+
+    @AfterAll
+    static void derrubarNos() {
+        if (noB != null) {
+            noB.close();
+        }
+        if (noA != null) {
+            noA.close();
+        }
+        assertEquals(0, LoopbackInvalidationTransport.assinantes(canal));
+    }
+
+    // Argumentos de linha de comando: precisam valer sobre o application-test.properties
+    private static ConfigurableApplicationContext subir(String banco, String ddl) {
+        return new SpringApplicationBuilder(deliveryApiApplication.class)
+                .profiles("test")
+                .run("--spring.datasource.url=" + banco,
+                        "--spring.jpa.hibernate.ddl-auto=" + ddl,
+                        "--spring.cache.type=simple",
+                        "--cache.invalidacao.transporte=loopback",
+                        "--cache.invalidacao.canal=" + canal,
+                        "--server.port=0");
+    }
+
+    @Test
+    @DisplayName("Cadastro e atualização de restaurante no nó A chegam ao catálogo do nó B")
+    void restaurante_EscritaNoNoA_AtualizaCatalogoDoNoB() {
+        Long id = noA.getBean(restauranteService.class).cadastrar(restaurante("Cantina Dois Nós")).getId();
+
+        RestauranteCatalogCache catalogoNoB = noB.getBean(RestauranteCatalogCache.class);
+        assertEquals("Cantina Dois Nós", catalogoNoB.buscarPorId(id).orElseThrow().nome());
+
+        noA.getBean(restauranteService.class).atualizar(id, restaurante("Cantina Renomeada"));
+
+        assertEquals("Cantina Renomeada", catalogoNoB.buscarPorId(id).orElseThrow().nome());
+    }
+
+    @Test
+    @DisplayName("Produto em cache no nó B é relido depois que o nó A o altera")
+    void produto_AtualizacaoNoNoA_DescartaCacheDoNoB() {
+        Long restauranteId = noA.getBean(restauranteService.class).cadastrar(restaurante("Pizzaria Dois Nós")).getId();
+        produtoService produtosNoA = noA.getBean(produtoService.class);
+        produtoService produtosNoB = noB.getBean(produtoService.class);
+        Long id = produtosNoA.cadastrar(produto("Calabresa", "40.00", restauranteId)).getId();
+
+        assertEquals(0, new BigDecimal("40.00").compareTo(produtosNoB.buscarPorId(id).getPreco()));
+
+        produtosNoA.atualizar(id, produto("Calabresa", "45.00", restauranteId));
+
+        assertEquals(0, new BigDecimal("45.00").compareTo(produtosNoB.buscarPorId(id).getPreco()));
+    }
+
+    @Test
+    @DisplayName("Pedido de ressincronização recarrega no nó B o que mudou sem evento")
+    void ressincronizacao_RecarregaSnapshotsDoNoB() {
+        Long id = noA.getBean(restauranteService.class).cadastrar(restaurante("Sushi Dois Nós")).getId();
+        RestauranteCatalogCache catalogoNoB = noB.getBean(RestauranteCatalogCache.class);
+        assertEquals("Sushi Dois Nós", catalogoNoB.buscarPorId(id).orElseThrow().nome());
+
+        // Escrita direto no repositório: nenhum evento sai, como um NOTIFY perdido
+        restauranteRepository repositorio = noA.getBean(restauranteRepository.class);
+        Restaurante restaurante = repositorio.findById(id).orElseThrow();
+        restaurante.setNome("Sushi Sem Evento");
+        repositorio.save(restaurante);
+        assertEquals("Sushi Dois Nós", catalogoNoB.buscarPorId(id).orElseThrow().nome());
+
+        String origem = noA.getBean(CacheInvalidationBus.class).getNodeId();
+        noA.getBean(CacheInvalidationTransport.class).publicar(CacheInvalidationEvent.ressincronizacao(origem));
+
+        assertEquals("Sushi Sem Evento", catalogoNoB.buscarPorId(id).orElseThrow().nome());
+    }
+
+    private static RestauranteRequestDTO restaurante(String nome) {
+        RestauranteRequestDTO dto = new RestauranteRequestDTO();
+        dto.setNome(nome);
+        dto.setCategoria("Italiana");
+        dto.setCep("01310-100");
+        dto.setLatitude(-23.5614);
+        dto.setLongitude(-46.6559);
+        dto.setEndereco("Av. Paulista, 1000");
+        dto.setTelefone("11999999999");
+        dto.setTaxaEntrega(new BigDecimal("5.00"));
+        dto.setAtivo(true);
+        return dto;
+    }
+
+    private static ProdutoRequestDTO produto(String nome, String preco, Long restauranteId) {
+        ProdutoRequestDTO dto = new ProdutoRequestDTO();
+        dto.setNome(nome);
+        dto.setDescricao("Pizza de " + nome);
+        dto.setPreco(new BigDecimal(preco));
+        dto.setCategoria("Pizzas");
+        dto.setDisponivel(true);
+        dto.setRestauranteId(restauranteId);
+        return dto;
+    }
+}
@@ -0,0 +1,205 @@
+package com.deliverytech.delivery.cache;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.deliverytech.delivery.controller.produtoController;
+import com.deliverytech.delivery.controller.restauranteController;
+import com.deliverytech.delivery.monitoramento.ContadorCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do cache de respostas serializadas")
+class RespostaCacheTest {
+
+    private CacheInvalidationBus busNoA;
+    private CacheInvalidationBus busNoB;
+    private RespostaCache respostaCache;
+    private RespostaCacheFilter filtro;
+    private final AtomicInteger chamadasController = new AtomicInteger();
+    private String corpoController;
+
+    @BeforeEach
+    void setUp() {
+        String canal = "respostas_" + System.nanoTime();
+        busNoA = new CacheInvalidationBus(new ConcurrentMapCacheManager(), new LoopbackInvalidationTransport(canal), "A");
+        busNoB = new CacheInvalidationBus(new ConcurrentMapCacheManager(), new LoopbackInvalidationTransport(canal), "B");
+        respostaCache = new RespostaCache(busNoA, Set.of("produto", "produtos"), 100, 64 * 1024,
+                ContadorCache.de(new SimpleMeterRegistry(), "respostas"));
+        filtro = new RespostaCacheFilter(respostaCache, new AntPathRequestMatcher("/produtos/**"),
+                request -> Set.of("page", "size", "sort", "categoria"));
+        corpoController = "[{\"id\":1,\"nome\":\"Pizza\"}]";
+    }
+
+    @Test
+    @DisplayName("Segunda requisição é servida do cache sem chamar o controller")
+    void acerto_NaoChamaController() throws Exception {
+        MockHttpServletResponse primeira = executar(get("/produtos/restaurante/1"));
+        MockHttpServletResponse segunda = executar(get("/produtos/restaurante/1"));
+
+        assertEquals(1, chamadasController.get());
+        assertEquals("MISS", primeira.getHeader(RespostaCacheFilter.HEADER_RESULTADO));
+        assertEquals("HIT", segunda.getHeader(RespostaCacheFilter.HEADER_RESULTADO));
+        assertEquals(corpoController, segunda.getContentAsString(StandardCharsets.UTF_8));
+        assertEquals("application/json", segunda.getContentType());
+        assertEquals("*", segunda.getHeader("Access-Control-Allow-Origin"));
+    }
+
+    @Test
+    @DisplayName("Entrega a versão gzip a quem aceita e separa por query")
+    void acerto_EntregaGzip() throws Exception {
+        corpoController = "[" + "{\"nome\":\"Pizza de calabresa\"},".repeat(100) + "{}]";
+        executar(get("/produtos"));
+        MockHttpServletRequest comGzip = get("/produtos");
+        comGzip.addHeader("Accept-Encoding", "br, gzip");
+
+        MockHttpServletResponse resposta = executar(comGzip);
+
+        assertEquals("gzip", resposta.getHeader("Content-Encoding"));
+        assertTrue(resposta.getHeaders("Vary").contains("Accept-Encoding"));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(resposta.getContentAsByteArray()))) {
+            assertEquals(corpoController, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        executar(get("/produtos", "page", "2"));
+        assertEquals(2, chamadasController.get());
+    }
+
+    @Test
+    @DisplayName("Parâmetros em outra ordem usam a mesma chave; parâmetro desconhecido passa sem cache")
+    void chave_NormalizaParametrosEIgnoraDesconhecidos() throws Exception {
+        executar(get("/produtos", "page", "1", "sort", "nome", "sort", "id", "categoria", "Pizzas"));
+        MockHttpServletResponse reordenada = executar(get("/produtos", "categoria", "Pizzas", "sort", "nome", "page", "1",
+                "sort", "id"));
+        assertEquals("HIT", reordenada.getHeader(RespostaCacheFilter.HEADER_RESULTADO));
+        assertEquals(1, chamadasController.get());
+
+        // A ordem dos valores de um mesmo parâmetro muda o resultado
+        executar(get("/produtos", "page", "1", "sort", "id", "sort", "nome", "categoria", "Pizzas"));
+        assertEquals(2, chamadasController.get());
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse lixo = executar(get("/produtos", "page", "1", "utm", String.valueOf(i)));
+            assertNull(lixo.getHeader(RespostaCacheFilter.HEADER_RESULTADO));
+        }
+        assertEquals(5, chamadasController.get());
+        assertEquals(2, respostaCache.tamanho());
+    }
+
+    @Test
+    @DisplayName("Rota sem parâmetros conhecidos não é guardada")
+    void rotaDesconhecida_NaoGuarda() throws Exception {
+        RespostaCacheFilter semRota = new RespostaCacheFilter(respostaCache, new AntPathRequestMatcher("/produtos/**"),
+                request -> null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        semRota.doFilter(get("/produtos/1"), response, (req, res) -> chamadasController.incrementAndGet());
+
+        assertEquals(1, chamadasController.get());
+        assertEquals(0, respostaCache.tamanho());
+    }
+
+    @Test
+    @DisplayName("Parâmetros aceitos são os que o método do controller lê")
+    void parametrosDaRota_LidosDoController() {
+        StaticApplicationContext contexto = new StaticApplicationContext();
+        contexto.registerSingleton("restauranteController", restauranteController.class);
+        contexto.registerSingleton("produtoController", produtoController.class);
+        contexto.refresh();
+        RequestMappingHandlerMapping mapping = new RequestMappingHandlerMapping();
+        mapping.setApplicationContext(contexto);
+        mapping.afterPropertiesSet();
+        ParametrosDaRota parametros = new ParametrosDaRota(() -> mapping);
+
+        assertEquals(Set.of("categoria", "page", "size", "sort"), parametros.aceitos(get("/restaurantes")));
+        assertEquals(Set.of("precoMinimo", "precoMaximo"), parametros.aceitos(get("/produtos/preco")));
+        assertEquals(Set.of(), parametros.aceitos(get("/produtos/1")));
+        assertNull(parametros.aceitos(get("/clientes/1")));
+    }
+
+    @Test
+    @DisplayName("Invalidação de cache do catálogo em outro nó descarta as respostas")
+    void invalidacaoRemota_DescartaRespostas() throws Exception {
+        executar(get("/produtos/1"));
+
+        busNoB.evict("restaurantes-contagem", "x");
+        executar(get("/produtos/1"));
+        assertEquals(1, chamadasController.get());
+
+        busNoB.evict("produto", 1L);
+        executar(get("/produtos/1"));
+        assertEquals(2, chamadasController.get());
+    }
+
+    @Test
+    @DisplayName("Resposta montada durante uma invalidação não é guardada")
+    void invalidacaoDuranteMontagem_NaoGuarda() {
+        long geracao = respostaCache.geracaoAtual();
+        busNoA.evict("produtos", "todos");
+
+        respostaCache.guardar("chave", geracao, "application/json", new byte[]{'[', ']'}, Map.of());
+
+        assertNull(respostaCache.buscar("chave"));
+    }
+
+    @Test
+    @DisplayName("Erros e rotas fora do catálogo não são guardados")
+    void naoGuardaErrosNemOutrasRotas() throws Exception {
+        FilterChain erro = (req, res) -> {
+            chamadasController.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(404);
+            res.setContentType("application/json");
+            res.getWriter().write("{\"erro\":true}");
+        };
+        filtro.doFilter(get("/produtos/99"), new MockHttpServletResponse(), erro);
+        filtro.doFilter(get("/produtos/99"), new MockHttpServletResponse(), erro);
+        executar(get("/clientes/1"));
+        executar(get("/clientes/1"));
+
+        assertEquals(4, chamadasController.get());
+        assertEquals(0, respostaCache.tamanho());
+    }
+
+    private MockHttpServletResponse executar(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, (req, res) -> {
+            chamadasController.incrementAndGet();
+            ((HttpServletResponse) res).setHeader("Access-Control-Allow-Origin", "*");
+            res.setContentType("application/json");
+            res.getOutputStream().write(corpoController.getBytes(StandardCharsets.UTF_8));
+        });
+        return response;
+    }
+
+    // Pares nome, valor, na ordem da query
+    private static MockHttpServletRequest get(String uri, String... parametros) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setServletPath(uri);
+        StringBuilder query = new StringBuilder();
+        for (int i = 0; i < parametros.length; i += 2) {
+            request.addParameter(parametros[i], parametros[i + 1]);
+            query.append(i == 0 ? "" : "&").append(parametros[i]).append('=').append(parametros[i + 1]);
+        }
+        if (parametros.length > 0) {
+            request.setQueryString(query.toString());
+        }
+        return request;
+    }
+}
@@ -0,0 +1,211 @@
+package com.deliverytech.delivery.cache;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.deliverytech.delivery.dto.request.RestauranteRequestDTO;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.geo.CepGeocoder;
+import com.deliverytech.delivery.geo.RestauranteSpatialIndex;
+import com.deliverytech.delivery.repository.restauranteRepository;
+import com.deliverytech.delivery.service.impl.restauranteServiceImpl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do catálogo de restaurantes em memória")
+class RestauranteCatalogCacheTest {
+
+    private restauranteRepository repositorioNoA;
+    private restauranteRepository repositorioNoB;
+    private RestauranteCatalogCache catalogoNoA;
+    private RestauranteCatalogCache catalogoNoB;
+    private restauranteServiceImpl servicoNoA;
+
+    private Restaurante pizzaria;
+    private Restaurante hamburgueria;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pizzaria = restaurante(1L, "Pizzaria Bella", "Italiana");
+        hamburgueria = restaurante(2L, "Burger House", "Lanches");
+
+        // Dois nós ligados pelo mesmo canal, cada um com o seu repositório
+        String canal = "catalogo_" + System.nanoTime();
+        CepGeocoder cepGeocoder = new CepGeocoder();
+        ConcurrentMapCacheManager cacheNoA = new ConcurrentMapCacheManager();
+        CacheInvalidationBus busNoA = new CacheInvalidationBus(cacheNoA, new LoopbackInvalidationTransport(canal), "A");
+        CacheInvalidationBus busNoB = new CacheInvalidationBus(new ConcurrentMapCacheManager(),
+                new LoopbackInvalidationTransport(canal), "B");
+
+        repositorioNoA = mock(restauranteRepository.class);
+        repositorioNoB = mock(restauranteRepository.class);
+        when(repositorioNoA.findAll()).thenReturn(List.of(copia(pizzaria), copia(hamburgueria)));
+        when(repositorioNoB.findAll()).thenReturn(List.of(copia(pizzaria), copia(hamburgueria)));
+        when(repositorioNoA.save(any(Restaurante.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        catalogoNoA = new RestauranteCatalogCache(repositorioNoA, cepGeocoder, new RestauranteSpatialIndex(), busNoA);
+        catalogoNoB = new RestauranteCatalogCache(repositorioNoB, cepGeocoder, new RestauranteSpatialIndex(), busNoB);
+        catalogoNoA.registrarOuvinteRemoto();
+        catalogoNoB.registrarOuvinteRemoto();
+        catalogoNoA.carregar();
+        catalogoNoB.carregar();
+
+        servicoNoA = new restauranteServiceImpl();
+        ReflectionTestUtils.setField(servicoNoA, "restauranteRepository", repositorioNoA);
+        ReflectionTestUtils.setField(servicoNoA, "modelMapper", new ModelMapper());
+        ReflectionTestUtils.setField(servicoNoA, "cepGeocoder", cepGeocoder);
+        ReflectionTestUtils.setField(servicoNoA, "restauranteCatalogCache", catalogoNoA);
+        ReflectionTestUtils.setField(servicoNoA, "cacheManager", cacheNoA);
+        ReflectionTestUtils.setField(servicoNoA, "cacheInvalidationBus", busNoA);
+    }
+
+    @Test
+    @DisplayName("Leituras saem do snapshot, sem voltar ao banco")
+    void leituras_AcertamOCache() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Pizzaria Bella", catalogoNoA.buscarPorId(1L).orElseThrow().nome());
+            assertTrue(catalogoNoA.buscarAtivoPorNome("Burger House").isPresent());
+            assertEquals(1, catalogoNoA.listarPorCategoria("Italiana").size());
+            assertEquals(2, catalogoNoA.listarAtivos().size());
+        }
+
+        verify(repositorioNoA, times(1)).findAll();
+        verify(repositorioNoA, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Atualização troca o nome no catálogo e nos índices por nome")
+    void atualizar_RegravaRestaurante() {
+        when(repositorioNoA.findById(1L)).thenReturn(Optional.of(copia(pizzaria)));
+        RestauranteRequestDTO dto = new RestauranteRequestDTO();
+        dto.setNome("Pizzaria Nova");
+        dto.setCategoria("Pizzas");
+
+        servicoNoA.atualizar(1L, dto);
+
+        assertEquals("Pizzaria Nova", catalogoNoA.buscarPorId(1L).orElseThrow().nome());
+        assertTrue(catalogoNoA.buscarAtivoPorNome("Pizzaria Bella").isEmpty());
+        assertTrue(catalogoNoA.buscarAtivoPorNome("Pizzaria Nova").isPresent());
+        assertTrue(catalogoNoA.listarPorCategoria("Italiana").isEmpty());
+        assertEquals(1, catalogoNoA.listarPorCategoria("Pizzas").size());
+    }
+
+    @Test
+    @DisplayName("Inativação tira o restaurante das listagens de ativos")
+    void inativarRestaurante_RemoveDosAtivos() {
+        when(repositorioNoA.findById(2L)).thenReturn(Optional.of(copia(hamburgueria)));
+
+        servicoNoA.inativarRestaurante(2L);
+
+        assertFalse(catalogoNoA.buscarPorId(2L).orElseThrow().ativo());
+        assertTrue(catalogoNoA.buscarAtivoPorNome("Burger House").isEmpty());
+        assertEquals(List.of(1L), catalogoNoA.listarAtivos().stream().map(RestauranteCatalogado::id).toList());
+    }
+
+    @Test
+    @DisplayName("Escrita no nó A recarrega só o restaurante afetado no nó B")
+    void escritaRemota_RecarregaApenasRestauranteAfetado() {
+        when(repositorioNoA.findById(1L)).thenReturn(Optional.of(copia(pizzaria)));
+        Restaurante renomeada = copia(pizzaria);
+        renomeada.setNome("Pizzaria Nova");
+        when(repositorioNoB.findById(1L)).thenReturn(Optional.of(renomeada));
+        RestauranteRequestDTO dto = new RestauranteRequestDTO();
+        dto.setNome("Pizzaria Nova");
+        dto.setCategoria("Italiana");
+
+        servicoNoA.atualizar(1L, dto);
+
+        assertEquals("Pizzaria Nova", catalogoNoB.buscarPorId(1L).orElseThrow().nome());
+        assertEquals("Burger House", catalogoNoB.buscarPorId(2L).orElseThrow().nome());
+        verify(repositorioNoB).findById(1L);
+        verify(repositorioNoB, times(1)).findAll();
+        // O nó de origem não reage ao próprio evento
+        verify(repositorioNoA, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Top 5 por nome mostra o nome novo e ignora inativos")
+    void listarTop5PorNome_RefleteRenomeacaoEInativacao() {
+        when(repositorioNoA.findById(1L)).thenReturn(Optional.of(copia(pizzaria)));
+        when(repositorioNoA.findById(2L)).thenReturn(Optional.of(copia(hamburgueria)));
+        RestauranteRequestDTO dto = new RestauranteRequestDTO();
+        dto.setNome("Armazém da Pizza");
+        dto.setCategoria("Italiana");
+
+        servicoNoA.atualizar(1L, dto);
+        servicoNoA.inativarRestaurante(2L);
+
+        assertEquals(List.of("Armazém da Pizza"),
+                catalogoNoA.listarTop5PorNome().stream().map(RestauranteCatalogado::nome).toList());
+    }
+
+    @Test
+    @DisplayName("Commits fora de ordem não trocam a versão nova pela antiga")
+    void gravar_CommitsForaDeOrdemMantemVersaoMaisNova() {
+        Restaurante primeira = copia(pizzaria);
+        primeira.setNome("Pizzaria Um");
+        primeira.setVersao(1L);
+        Restaurante segunda = copia(pizzaria);
+        segunda.setNome("Pizzaria Dois");
+        segunda.setVersao(2L);
+
+        commitar(segunda);
+        commitar(primeira);
+
+        assertEquals("Pizzaria Dois", catalogoNoA.buscarPorId(1L).orElseThrow().nome());
+    }
+
+    @Test
+    @DisplayName("Dentro de transação, o catálogo recebe a versão gravada no flush")
+    void gravar_EmTransacaoUsaEstadoDoCommit() {
+        Restaurante gerenciado = copia(pizzaria);
+        gerenciado.setVersao(3L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalogoNoA.gravar(gerenciado);
+            assertNull(catalogoNoA.buscarPorId(1L).orElseThrow().versao());
+            // O @PreUpdate roda no flush, antes do commit
+            gerenciado.setVersao(4L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(4L, catalogoNoA.buscarPorId(1L).orElseThrow().versao());
+    }
+
+    private void commitar(Restaurante restaurante) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalogoNoA.gravar(restaurante);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Restaurante restaurante(Long id, String nome, String categoria) {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(id);
+        restaurante.setNome(nome);
+        restaurante.setCategoria(categoria);
+        restaurante.setAtivo(true);
+        return restaurante;
+    }
+
+    // Cada leitura do "banco" devolve uma instância nova, como o JPA fora da sessão
+    private static Restaurante copia(Restaurante original) {
+        return RestauranteCatalogado.de(original).toEntity();
+    }
+}
@@ -0,0 +1,84 @@
+package com.deliverytech.delivery.carga;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cliente HTTP da carga. Cada chamada informa o endpoint (rota com
+ * {@code {id}}) com que entra nas estatísticas; chamadas de preparação
+ * passam {@code estatisticas = null} e não são contadas.
+ */
+class ApiCarga {
+
+    private final HttpClient http;
+    private final String base;
+    private final ObjectMapper json = new ObjectMapper();
+
+    ApiCarga(String base) {
+        this.base = base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Envia a requisição e devolve o corpo JSON, ou {@code null} se não houve
+     * resposta 2xx. {@code agendadoEm} é o {@link System#nanoTime()} em que a
+     * chegada foi agendada, base da latência registrada.
+     */
+    JsonNode enviar(String metodo, String caminho, String endpoint, String token, Object corpo,
+            EstatisticasCarga estatisticas, long agendadoEm) {
+        int status = 0;
+        String resposta = null;
+        try {
+            HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(base + caminho))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Accept", "application/json");
+            if (token != null) {
+                requisicao.header("Authorization", "Bearer " + token);
+            }
+            if (corpo != null) {
+                requisicao.header("Content-Type", "application/json")
+                        .method(metodo, HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(corpo)));
+            } else {
+                requisicao.method(metodo, HttpRequest.BodyPublishers.noBody());
+            }
+            HttpResponse<String> r = http.send(requisicao.build(), HttpResponse.BodyHandlers.ofString());
+            status = r.statusCode();
+            resposta = r.body();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Falha de conexão ou timeout: conta como erro sem status
+        }
+        if (estatisticas != null) {
+            estatisticas.registrar(endpoint, status, System.nanoTime() - agendadoEm);
+        }
+        if (status < 200 || status >= 300) {
+            return null;
+        }
+        try {
+            return resposta == null || resposta.isEmpty() ? json.nullNode() : json.readTree(resposta);
+        } catch (Exception e) {
+            return json.nullNode();
+        }
+    }
+
+    /** Chamada de preparação: falha alto se não vier 2xx. */
+    JsonNode preparar(String metodo, String caminho, String token, Object corpo) {
+        JsonNode resposta = enviar(metodo, caminho, caminho, token, corpo, null, System.nanoTime());
+        if (resposta == null) {
+            throw new IllegalStateException("Falha na preparação da carga: " + metodo + " " + caminho);
+        }
+        return resposta;
+    }
+}
@@ -0,0 +1,108 @@
+package com.deliverytech.delivery.carga;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Resultados da carga por endpoint (método + rota com {@code {id}}): total,
+ * erros por status e histograma de latência em microssegundos. A latência é
+ * contada a partir do instante em que a chegada estava agendada, não de
+ * quando a requisição saiu, para que uma fila no cliente apareça no p99 em
+ * vez de sumir (coordinated omission).
+ */
+class EstatisticasCarga {
+
+    private static final long LATENCIA_MAXIMA_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    static final class Endpoint {
+        private final Histogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA_MICROS, 3);
+        private final LongAdder total = new LongAdder();
+        private final LongAdder erros = new LongAdder();
+        private final ConcurrentMap<Integer, LongAdder> porStatus = new ConcurrentHashMap<>();
+
+        void registrar(int status, long latenciaNanos) {
+            total.increment();
+            // status 0 = falha de rede/timeout, sem resposta HTTP
+            if (status == 0 || status >= 400) {
+                erros.increment();
+            }
+            porStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+            latencias.recordValue(Math.min(LATENCIA_MAXIMA_MICROS, Math.max(0, latenciaNanos / 1_000)));
+        }
+    }
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void registrar(String endpoint, int status, long latenciaNanos) {
+        endpoints.computeIfAbsent(endpoint, e -> new Endpoint()).registrar(status, latenciaNanos);
+    }
+
+    /** Uma linha por endpoint, já com as métricas do relatório. */
+    List<Map<String, Object>> resumo(double segundos) {
+        List<Map<String, Object>> linhas = new ArrayList<>();
+        for (Map.Entry<String, Endpoint> entrada : new TreeMap<>(endpoints).entrySet()) {
+            Endpoint e = entrada.getValue();
+            long total = e.total.sum();
+            long erros = e.erros.sum();
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("endpoint", entrada.getKey());
+            linha.put("requisicoes", total);
+            linha.put("vazao", total / segundos);
+            linha.put("erros", erros);
+            linha.put("taxaErro", total == 0 ? 0.0 : erros * 100.0 / total);
+            linha.put("p50Ms", ms(e.latencias.getValueAtPercentile(50)));
+            linha.put("p90Ms", ms(e.latencias.getValueAtPercentile(90)));
+            linha.put("p99Ms", ms(e.latencias.getValueAtPercentile(99)));
+            linha.put("p999Ms", ms(e.latencias.getValueAtPercentile(99.9)));
+            linha.put("maxMs", ms(e.latencias.getMaxValue()));
+            Map<String, Long> status = new TreeMap<>();
+            e.porStatus.forEach((s, n) -> status.put(s == 0 ? "sem_resposta" : String.valueOf(s), n.sum()));
+            linha.put("status", status);
+            linhas.add(linha);
+        }
+        return linhas;
+    }
+
+    void imprimir(List<Map<String, Object>> linhas, double segundos) {
+        System.out.printf("%n%-40s %9s %9s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "req", "req/s", "erro%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map<String, Object> l : linhas) {
+            System.out.printf("%-40s %9d %9.1f %8.2f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    l.get("endpoint"), l.get("requisicoes"), l.get("vazao"), l.get("taxaErro"),
+                    l.get("p50Ms"), l.get("p90Ms"), l.get("p99Ms"), l.get("p999Ms"), l.get("maxMs"));
+        }
+        System.out.printf("medição: %.0fs%n", segundos);
+    }
+
+    void salvar(List<Map<String, Object>> linhas, double segundos, Map<String, Object> parametros, File arquivo)
+            throws IOException {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("duracaoSegundos", segundos);
+        resultado.put("parametros", parametros);
+        resultado.put("endpoints", linhas);
+        File pasta = arquivo.getAbsoluteFile().getParentFile();
+        if (pasta != null) {
+            pasta.mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(arquivo, resultado);
+    }
+
+    private static double ms(long micros) {
+        return micros / 1_000.0;
+    }
+}
@@ -0,0 +1,123 @@
+package com.deliverytech.delivery.carga;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Monta o marketplace da simulação pela própria API: um admin, N
+ * restaurantes com cardápio e um usuário RESTAURANTE cada, e M clientes com
+ * usuário CLIENTE de mesmo e-mail. Os e-mails levam um sufixo da execução,
+ * então dá para rodar de novo contra o mesmo Postgres sem conflito.
+ */
+class PreparacaoMarketplace {
+
+    private static final String SENHA = "carga123";
+    private static final String[] CATEGORIAS = { "Italiana", "Hamburgueria", "Japonesa", "Brasileira", "Árabe" };
+
+    record Restaurante(long id, String token, List<Produto> produtos, BigDecimal taxaEntrega) {
+    }
+
+    record Produto(long id, BigDecimal preco) {
+    }
+
+    record Cliente(long id, String token) {
+    }
+
+    record Marketplace(List<Restaurante> restaurantes, List<Cliente> clientes) {
+    }
+
+    private final ApiCarga api;
+    private final String execucao = Long.toString(System.currentTimeMillis(), 36);
+
+    PreparacaoMarketplace(ApiCarga api) {
+        this.api = api;
+    }
+
+    Marketplace preparar(int quantidadeRestaurantes, int produtosPorRestaurante, int quantidadeClientes)
+            throws Exception {
+        String admin = usuario("Admin Carga", "admin-" + execucao + "@carga.dev", "ADMIN", null);
+
+        // Cadastros e logins em paralelo: o BCrypt do login domina o tempo de preparação
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Restaurante>> restaurantes = new ArrayList<>();
+            for (int r = 0; r < quantidadeRestaurantes; r++) {
+                final int indice = r;
+                restaurantes.add(executor.submit(() -> restaurante(admin, indice, produtosPorRestaurante)));
+            }
+            List<Future<Cliente>> clientes = new ArrayList<>();
+            for (int c = 0; c < quantidadeClientes; c++) {
+                final int indice = c;
+                clientes.add(executor.submit(() -> cliente(admin, indice)));
+            }
+            List<Restaurante> prontosRestaurantes = new ArrayList<>();
+            for (Future<Restaurante> f : restaurantes) {
+                prontosRestaurantes.add(f.get());
+            }
+            List<Cliente> prontosClientes = new ArrayList<>();
+            for (Future<Cliente> f : clientes) {
+                prontosClientes.add(f.get());
+            }
+            return new Marketplace(prontosRestaurantes, prontosClientes);
+        }
+    }
+
+    private Restaurante restaurante(String admin, int indice, int quantidadeProdutos) {
+        BigDecimal taxa = BigDecimal.valueOf(300 + indice % 7 * 100, 2);
+        JsonNode criado = api.preparar("POST", "/restaurantes", admin, Map.of(
+                "nome", "Restaurante Carga " + execucao + "-" + indice,
+                "categoria", CATEGORIAS[indice % CATEGORIAS.length],
+                "cep", "01310-100",
+                "endereco", "Av. Paulista, " + (100 + indice) + " - São Paulo/SP",
+                "telefone", "11333" + String.format("%05d", indice),
+                "taxaEntrega", taxa,
+                "ativo", true));
+        long id = criado.path("id").asLong();
+
+        List<Produto> produtos = new ArrayList<>(quantidadeProdutos);
+        for (int p = 0; p < quantidadeProdutos; p++) {
+            BigDecimal preco = BigDecimal.valueOf(990 + (indice * 31 + p * 17) % 5000, 2);
+            JsonNode produto = api.preparar("POST", "/produtos", admin, Map.of(
+                    "nome", "Item " + p + " do restaurante " + indice,
+                    "descricao", "Produto sintético para teste de carga",
+                    "preco", preco,
+                    "categoria", p % 4 == 0 ? "Bebida" : "Prato",
+                    "disponivel", true,
+                    "restauranteId", id));
+            produtos.add(new Produto(produto.path("id").asLong(), preco));
+        }
+        String token = usuario("Restaurante " + indice, "restaurante-" + indice + "-" + execucao + "@carga.dev",
+                "RESTAURANTE", id);
+        return new Restaurante(id, token, List.copyOf(produtos), taxa);
+    }
+
+    private Cliente cliente(String admin, int indice) {
+        String email = "cliente-" + indice + "-" + execucao + "@carga.dev";
+        JsonNode criado = api.preparar("POST", "/clientes", admin, Map.of(
+                "nome", "Cliente Carga " + indice,
+                "email", email,
+                "telefone", "(11) 9" + String.format("%04d", indice % 10_000) + "-0000",
+                "endereco", "Rua " + indice + ", 123 - São Paulo/SP",
+                "cep", "01310-100"));
+        String token = usuario("Cliente Carga " + indice, email, "CLIENTE", null);
+        return new Cliente(criado.path("id").asLong(), token);
+    }
+
+    // Cadastra e faz login; devolve o access token
+    private String usuario(String nome, String email, String role, Long restauranteId) {
+        Map<String, Object> cadastro = new HashMap<>(
+                Map.of("nome", nome, "email", email, "senha", SENHA, "role", role));
+        if (restauranteId != null) {
+            cadastro.put("restauranteId", restauranteId);
+        }
+        api.preparar("POST", "/auth/register", null, cadastro);
+        return api.preparar("POST", "/auth/login", null, Map.of("email", email, "senha", SENHA)).path("token").asText();
+    }
+}
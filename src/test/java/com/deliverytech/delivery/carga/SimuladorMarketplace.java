@@ -0,0 +1,326 @@
+package com.deliverytech.delivery.carga;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.deliverytech.delivery.carga.PreparacaoMarketplace.Cliente;
+import com.deliverytech.delivery.carga.PreparacaoMarketplace.Marketplace;
+import com.deliverytech.delivery.carga.PreparacaoMarketplace.Produto;
+import com.deliverytech.delivery.carga.PreparacaoMarketplace.Restaurante;
+import com.deliverytech.delivery.dados.AplicacaoComDados;
+import com.deliverytech.delivery.dados.GeradorDados;
+import com.deliverytech.delivery.dados.Volume;
+import com.deliverytech.delivery.dados.Zipf;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Simula o pico do almoço de ponta a ponta: sobe a aplicação (H2 em memória
+ * ou o Postgres local), cadastra um marketplace sintético pela API e gera
+ * carga em laço aberto — chegadas de Poisson, que não esperam a resposta
+ * anterior — com três tipos de ator:
+ *
+ * <ul>
+ *   <li>clientes navegando no cardápio: {@code GET /produtos/restaurante/{id}};</li>
+ *   <li>clientes fazendo pedidos: {@code POST /pedidos} com 1 a 4 itens;</li>
+ *   <li>restaurantes acompanhando o painel ({@code GET /pedidos/restaurante/{id}})
+ *   e avançando o status dos pedidos recebidos até ENTREGUE
+ *   ({@code PUT /pedidos/{id}/{status}}).</li>
+ * </ul>
+ *
+ * A escolha de restaurante é enviesada (poucos concentram o movimento, como
+ * num pico real) e as taxas sobem em rampa até o valor configurado. Ao fim
+ * imprime vazão, p50/p90/p99/p99.9 e taxa de erro por endpoint, grava o mesmo
+ * resultado em JSON e sai com código 1 se passar dos limites — para rodar
+ * antes do deploy e comparar com a execução anterior.
+ *
+ * <p>Não roda com os testes. Exemplo (H2, 60 s de medição):
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.deliverytech.delivery.carga.SimuladorMarketplace \
+ *     -Dcarga.pedidos-por-segundo=30 -Dcarga.p99-maximo-ms=500
+ * </pre>
+ *
+ * Propriedades ({@code -D}):
+ * <ul>
+ *   <li>{@code carga.banco}: {@code h2} (padrão) ou {@code postgres} (usa o
+ *   datasource do application.properties); {@code carga.url} aponta para uma
+ *   aplicação já rodando em vez de subir uma (desligue o rate limit nela);</li>
+ *   <li>{@code carga.restaurantes}, {@code carga.produtos-por-restaurante},
+ *   {@code carga.clientes}: tamanho do marketplace (20, 15, 200);</li>
+ *   <li>{@code carga.navegacao-por-segundo}, {@code carga.pedidos-por-segundo},
+ *   {@code carga.avancos-por-segundo}, {@code carga.painel-por-segundo}: taxas
+ *   de chegada no pico (120, 20, 60, 10);</li>
+ *   <li>{@code carga.rampa-segundos}, {@code carga.aquecimento-segundos},
+ *   {@code carga.segundos}: rampa até o pico (30), período descartado (15) e
+ *   medição (60);</li>
+ *   <li>{@code dados.volume} ({@code pequeno|medio|grande}) e {@code dados.semente}:
+ *   antes da carga, enche o banco da aplicação embutida com o
+ *   {@link GeradorDados}; a navegação passa a cobrir os restaurantes gerados;</li>
+ *   <li>{@code carga.resultado}: arquivo JSON (target/carga-resultado.json);</li>
+ *   <li>{@code carga.p99-maximo-ms}, {@code carga.taxa-erro-maxima}: limites por
+ *   endpoint (p99 desligado por padrão; erro 1%).</li>
+ * </ul>
+ */
+public class SimuladorMarketplace {
+
+    private static final StatusPedido[] FLUXO = {
+            StatusPedido.CONFIRMADO, StatusPedido.PREPARANDO, StatusPedido.SAIU_PARA_ENTREGA, StatusPedido.ENTREGUE };
+
+    // Pedido na fila do restaurante: próximo passo do FLUXO a aplicar
+    private record PedidoEmAndamento(long id, int passo) {
+    }
+
+    private final Marketplace marketplace;
+    private final GeradorDados.Resumo massa;
+    private final Zipf popularidadeMassa;
+    private final ApiCarga api;
+    private final EstatisticasCarga estatisticas = new EstatisticasCarga();
+    private final Map<Long, Queue<PedidoEmAndamento>> filas = new LinkedHashMap<>();
+    private final long inicioMedicao;
+
+    private SimuladorMarketplace(Marketplace marketplace, GeradorDados.Resumo massa, ApiCarga api,
+            long inicioMedicao) {
+        this.marketplace = marketplace;
+        this.massa = massa;
+        this.popularidadeMassa = massa != null ? massa.popularidade() : null;
+        this.api = api;
+        this.inicioMedicao = inicioMedicao;
+        for (Restaurante restaurante : marketplace.restaurantes()) {
+            filas.put(restaurante.id(), new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("carga.url");
+        ConfigurableApplicationContext aplicacao = null;
+        GeradorDados.Resumo massa = null;
+        if (url == null) {
+            aplicacao = AplicacaoComDados.subir(System.getProperty("carga.banco", "h2"), WebApplicationType.SERVLET);
+            url = "http://localhost:" + aplicacao.getEnvironment().getProperty("local.server.port");
+            if (System.getProperty("dados.volume") != null) {
+                massa = AplicacaoComDados.gerar(aplicacao, Volume.doSistema(),
+                        Long.getLong("dados.semente", GeradorDados.SEMENTE_PADRAO));
+            }
+        }
+        int codigoSaida;
+        try {
+            codigoSaida = executar(new ApiCarga(url), massa);
+        } finally {
+            if (aplicacao != null) {
+                aplicacao.close();
+            }
+        }
+        System.exit(codigoSaida);
+    }
+
+    private static int executar(ApiCarga api, GeradorDados.Resumo massa) throws Exception {
+        int rampa = Integer.getInteger("carga.rampa-segundos", 30);
+        int aquecimento = Integer.getInteger("carga.aquecimento-segundos", 15);
+        int duracao = Integer.getInteger("carga.segundos", 60);
+        double navegacao = taxa("carga.navegacao-por-segundo", 120);
+        double pedidos = taxa("carga.pedidos-por-segundo", 20);
+        double avancos = taxa("carga.avancos-por-segundo", 60);
+        double painel = taxa("carga.painel-por-segundo", 10);
+
+        long antesPreparacao = System.nanoTime();
+        Marketplace marketplace = new PreparacaoMarketplace(api).preparar(
+                Integer.getInteger("carga.restaurantes", 20),
+                Integer.getInteger("carga.produtos-por-restaurante", 15),
+                Integer.getInteger("carga.clientes", 200));
+        System.out.printf("marketplace pronto em %.1fs: %d restaurantes, %d clientes%n",
+                (System.nanoTime() - antesPreparacao) / 1e9, marketplace.restaurantes().size(),
+                marketplace.clientes().size());
+
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + TimeUnit.SECONDS.toNanos(aquecimento);
+        long fim = inicioMedicao + TimeUnit.SECONDS.toNanos(duracao);
+        long rampaNanos = TimeUnit.SECONDS.toNanos(rampa);
+        SimuladorMarketplace simulador = new SimuladorMarketplace(marketplace, massa, api, inicioMedicao);
+
+        try (ExecutorService requisicoes = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Thread> geradores = new ArrayList<>();
+            geradores.add(gerador("navegacao", navegacao, inicio, rampaNanos, fim, requisicoes, simulador::navegar));
+            geradores.add(gerador("pedidos", pedidos, inicio, rampaNanos, fim, requisicoes, simulador::pedir));
+            geradores.add(gerador("avancos", avancos, inicio, rampaNanos, fim, requisicoes, simulador::avancar));
+            geradores.add(gerador("painel", painel, inicio, rampaNanos, fim, requisicoes, simulador::consultarPainel));
+            for (Thread gerador : geradores) {
+                gerador.join();
+            }
+        }
+
+        List<Map<String, Object>> resumo = simulador.estatisticas.resumo(duracao);
+        simulador.estatisticas.imprimir(resumo, duracao);
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        parametros.put("navegacaoPorSegundo", navegacao);
+        parametros.put("pedidosPorSegundo", pedidos);
+        parametros.put("avancosPorSegundo", avancos);
+        parametros.put("painelPorSegundo", painel);
+        parametros.put("restaurantes", marketplace.restaurantes().size());
+        parametros.put("clientes", marketplace.clientes().size());
+        if (massa != null) {
+            parametros.put("volume", Volume.doSistema().toString());
+            parametros.put("pedidosGerados", massa.pedidos());
+        }
+        File arquivo = new File(System.getProperty("carga.resultado", "target/carga-resultado.json"));
+        simulador.estatisticas.salvar(resumo, duracao, parametros, arquivo);
+        System.out.println("resultado: " + arquivo.getPath());
+        return verificarLimites(resumo);
+    }
+
+    /**
+     * Gera chegadas de Poisson com a taxa subindo em rampa linear até o pico.
+     * Cada chegada vira uma tarefa numa thread virtual que recebe o instante
+     * agendado; o gerador não espera a resposta, então uma aplicação lenta
+     * acumula requisições em voo em vez de receber menos carga.
+     */
+    private static Thread gerador(String nome, double taxaPico, long inicio, long rampaNanos, long fim,
+            ExecutorService requisicoes, LongConsumer chegada) {
+        return Thread.ofPlatform().name("carga-" + nome).start(() -> {
+            if (taxaPico <= 0) {
+                return;
+            }
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            long proxima = inicio;
+            while (true) {
+                long decorrido = proxima - inicio;
+                double fracao = rampaNanos <= 0 ? 1.0 : Math.min(1.0, Math.max(0.05, decorrido / (double) rampaNanos));
+                double intervaloSegundos = -Math.log(1.0 - aleatorio.nextDouble()) / (taxaPico * fracao);
+                proxima += (long) (intervaloSegundos * 1e9);
+                if (proxima >= fim) {
+                    return;
+                }
+                long espera;
+                while ((espera = proxima - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                final long agendadoEm = proxima;
+                requisicoes.submit(() -> chegada.accept(agendadoEm));
+            }
+        });
+    }
+
+    private void navegar(long agendadoEm) {
+        Cliente cliente = clienteAleatorio();
+        // Com massa gerada, a navegação percorre os restaurantes dela, com a mesma popularidade dos pedidos
+        long restauranteId = massa != null
+                ? massa.restauranteEnviesado(popularidadeMassa, ThreadLocalRandom.current())
+                : restauranteEnviesado().id();
+        api.enviar("GET", "/produtos/restaurante/" + restauranteId, "GET /produtos/restaurante/{id}",
+                cliente.token(), null, estatisticasSeMedindo(agendadoEm), agendadoEm);
+    }
+
+    private void pedir(long agendadoEm) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        Cliente cliente = clienteAleatorio();
+        Restaurante restaurante = restauranteEnviesado();
+        int quantidadeItens = 1 + aleatorio.nextInt(4);
+        List<Map<String, Object>> itens = new ArrayList<>(quantidadeItens);
+        BigDecimal total = restaurante.taxaEntrega();
+        for (int i = 0; i < quantidadeItens; i++) {
+            Produto produto = restaurante.produtos().get(aleatorio.nextInt(restaurante.produtos().size()));
+            int quantidade = 1 + aleatorio.nextInt(3);
+            itens.add(Map.of("produtoId", produto.id(), "quantidade", quantidade));
+            total = total.add(produto.preco().multiply(BigDecimal.valueOf(quantidade)));
+        }
+        Map<String, Object> pedido = new LinkedHashMap<>();
+        pedido.put("numeroPedido", "CARGA-" + System.nanoTime());
+        pedido.put("dataPedido", LocalDateTime.now().toString());
+        pedido.put("valorTotal", total);
+        pedido.put("clienteId", cliente.id());
+        pedido.put("restauranteId", restaurante.id());
+        pedido.put("enderecoEntrega", "Rua da Carga, 100 - São Paulo/SP");
+        pedido.put("cep", "01310-100");
+        pedido.put("itens", itens);
+
+        JsonNode criado = api.enviar("POST", "/pedidos", "POST /pedidos", cliente.token(), pedido,
+                estatisticasSeMedindo(agendadoEm), agendadoEm);
+        if (criado != null && criado.hasNonNull("id")) {
+            filas.get(restaurante.id()).offer(new PedidoEmAndamento(criado.get("id").asLong(), 0));
+        }
+    }
+
+    private void avancar(long agendadoEm) {
+        // Começa num restaurante aleatório e pega o primeiro que tiver pedido na fila
+        List<Restaurante> restaurantes = marketplace.restaurantes();
+        int inicio = ThreadLocalRandom.current().nextInt(restaurantes.size());
+        for (int i = 0; i < restaurantes.size(); i++) {
+            Restaurante restaurante = restaurantes.get((inicio + i) % restaurantes.size());
+            Queue<PedidoEmAndamento> fila = filas.get(restaurante.id());
+            PedidoEmAndamento pedido = fila.poll();
+            if (pedido == null) {
+                continue;
+            }
+            StatusPedido status = FLUXO[pedido.passo()];
+            JsonNode resposta = api.enviar("PUT", "/pedidos/" + pedido.id() + "/" + status.name(),
+                    "PUT /pedidos/{id}/{status}", restaurante.token(), null, estatisticasSeMedindo(agendadoEm),
+                    agendadoEm);
+            if (resposta != null && pedido.passo() + 1 < FLUXO.length) {
+                fila.offer(new PedidoEmAndamento(pedido.id(), pedido.passo() + 1));
+            }
+            return;
+        }
+    }
+
+    private void consultarPainel(long agendadoEm) {
+        Restaurante restaurante = restauranteEnviesado();
+        api.enviar("GET", "/pedidos/restaurante/" + restaurante.id(), "GET /pedidos/restaurante/{id}",
+                restaurante.token(), null, estatisticasSeMedindo(agendadoEm), agendadoEm);
+    }
+
+    // Durante o aquecimento a requisição acontece, mas não entra no relatório
+    private EstatisticasCarga estatisticasSeMedindo(long agendadoEm) {
+        return agendadoEm >= inicioMedicao ? estatisticas : null;
+    }
+
+    private Cliente clienteAleatorio() {
+        List<Cliente> clientes = marketplace.clientes();
+        return clientes.get(ThreadLocalRandom.current().nextInt(clientes.size()));
+    }
+
+    // u³ concentra as escolhas no começo da lista: ~46% do movimento cai nos 10% primeiros restaurantes
+    private Restaurante restauranteEnviesado() {
+        List<Restaurante> restaurantes = marketplace.restaurantes();
+        double u = ThreadLocalRandom.current().nextDouble();
+        return restaurantes.get((int) (u * u * u * restaurantes.size()));
+    }
+
+    private static int verificarLimites(List<Map<String, Object>> resumo) {
+        double p99Maximo = Double.parseDouble(System.getProperty("carga.p99-maximo-ms", "0"));
+        double taxaErroMaxima = Double.parseDouble(System.getProperty("carga.taxa-erro-maxima", "1.0"));
+        int codigo = 0;
+        for (Map<String, Object> linha : resumo) {
+            double p99 = (Double) linha.get("p99Ms");
+            double taxaErro = (Double) linha.get("taxaErro");
+            if (p99Maximo > 0 && p99 > p99Maximo) {
+                System.out.printf("LIMITE: %s p99 %.1f ms > %.1f ms%n", linha.get("endpoint"), p99, p99Maximo);
+                codigo = 1;
+            }
+            if (taxaErro > taxaErroMaxima) {
+                System.out.printf("LIMITE: %s erro %.2f%% > %.2f%%%n", linha.get("endpoint"), taxaErro, taxaErroMaxima);
+                codigo = 1;
+            }
+        }
+        return codigo;
+    }
+
+    private static double taxa(String propriedade, double padrao) {
+        return Double.parseDouble(System.getProperty(propriedade, Double.toString(padrao)));
+    }
+}
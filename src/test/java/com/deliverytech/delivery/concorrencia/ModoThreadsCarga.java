@@ -0,0 +1,111 @@
+package com.deliverytech.delivery.concorrencia;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carga em laço fechado para comparar os modos de thread do servidor: N
+ * clientes simultâneos (padrão 2000), cada um numa thread virtual, repetem a
+ * mesma requisição autenticada e medem a latência. Ao fim imprime vazão,
+ * p50/p99/p99.9 e erros.
+ *
+ * <p>Não roda com os testes. Suba a aplicação duas vezes, com
+ * {@code THREADS_VIRTUAIS=false} e {@code THREADS_VIRTUAIS=true} (e
+ * {@code --ratelimit.habilitado=false}, senão o limite por usuário domina o
+ * resultado), e em cada uma execute:
+ * {@code java -Dcarga.token=<jwt de ADMIN> -cp target/test-classes com.deliverytech.delivery.concorrencia.ModoThreadsCarga}.
+ * Use um endpoint que vá ao banco ({@code -Dcarga.url}, padrão {@code /pedidos/1})
+ * para que o gargalo seja a espera de I/O e não a CPU.
+ */
+public class ModoThreadsCarga {
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("carga.url", "http://localhost:8080/pedidos/1");
+        String token = System.getProperty("carga.token", "");
+        int clientes = Integer.getInteger("carga.clientes", 2000);
+        int aquecimento = Integer.getInteger("carga.aquecimento-segundos", 15);
+        int duracao = Integer.getInteger("carga.segundos", 60);
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        long inicioMedicao = System.nanoTime() + TimeUnit.SECONDS.toNanos(aquecimento);
+        long fim = inicioMedicao + TimeUnit.SECONDS.toNanos(duracao);
+        AtomicLong erros = new AtomicLong();
+        long[][] latenciasPorCliente = new long[clientes][];
+        int[] quantidades = new int[clientes];
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clientes; c++) {
+                final int cliente = c;
+                executor.submit(() -> {
+                    long[] buffer = new long[1024];
+                    int n = 0;
+                    long agora;
+                    while ((agora = System.nanoTime()) < fim) {
+                        try {
+                            HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            long decorrido = System.nanoTime() - agora;
+                            if (agora < inicioMedicao) {
+                                continue;
+                            }
+                            if (resposta.statusCode() >= 400) {
+                                erros.incrementAndGet();
+                                continue;
+                            }
+                            if (n == buffer.length) {
+                                buffer = Arrays.copyOf(buffer, n * 2);
+                            }
+                            buffer[n++] = decorrido;
+                        } catch (Exception e) {
+                            if (agora >= inicioMedicao) {
+                                erros.incrementAndGet();
+                            }
+                        }
+                    }
+                    latenciasPorCliente[cliente] = buffer;
+                    quantidades[cliente] = n;
+                    return null;
+                });
+            }
+        }
+
+        int total = Arrays.stream(quantidades).sum();
+        long[] todas = new long[total];
+        int pos = 0;
+        for (int c = 0; c < clientes; c++) {
+            System.arraycopy(latenciasPorCliente[c], 0, todas, pos, quantidades[c]);
+            pos += quantidades[c];
+        }
+        Arrays.sort(todas);
+
+        System.out.printf("%s | %d clientes | %ds%n", url, clientes, duracao);
+        System.out.printf("vazão: %.0f req/s, erros: %d%n", total / (double) duracao, erros.get());
+        System.out.printf("p50: %.1f ms, p99: %.1f ms, p99.9: %.1f ms%n",
+                percentil(todas, 0.50), percentil(todas, 0.99), percentil(todas, 0.999));
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return Double.NaN;
+        }
+        int indice = (int) Math.min(ordenadas.length - 1, Math.ceil(p * ordenadas.length) - 1);
+        return ordenadas[Math.max(0, indice)] / 1_000_000.0;
+    }
+}
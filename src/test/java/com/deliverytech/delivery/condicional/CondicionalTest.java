@@ -0,0 +1,175 @@
+package com.deliverytech.delivery.condicional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.deliverytech.delivery.cache.CacheInvalidationBus;
+import com.deliverytech.delivery.cache.LoopbackInvalidationTransport;
+import com.deliverytech.delivery.cache.RespostaCache;
+import com.deliverytech.delivery.cache.RespostaCacheFilter;
+import com.deliverytech.delivery.cache.VersaoMemorizada;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.monitoramento.ContadorCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do GET condicional")
+class CondicionalTest {
+
+    private static final LocalDateTime ALTERADO_EM = LocalDateTime.of(2024, 5, 10, 12, 30);
+
+    @Test
+    @DisplayName("Primeira leitura recebe ETag, Last-Modified e no-cache")
+    void semValidador_PreencheHeaders() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Versao versao = Versao.daEntidade("produto", 7L, 3L, ALTERADO_EM);
+
+        boolean naoModificado = Condicional.naoModificado(
+                new ServletWebRequest(get("/produtos/7"), response), versao);
+
+        assertFalse(naoModificado);
+        assertEquals("W/\"produto-7-3\"", response.getHeader("ETag"));
+        assertNotNull(response.getHeader("Last-Modified"));
+        assertEquals(Condicional.CACHE_CONTROL, response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    @DisplayName("If-None-Match igual à versão atual responde 304")
+    void etagIgual_Responde304() {
+        MockHttpServletRequest request = get("/produtos/7");
+        request.addHeader("If-None-Match", "W/\"produto-7-3\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean naoModificado = Condicional.naoModificado(new ServletWebRequest(request, response),
+                Versao.daEntidade("produto", 7L, 3L, ALTERADO_EM));
+
+        assertTrue(naoModificado);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("Versão nova ou recurso inexistente seguem para o controller")
+    void versaoNovaOuInexistente_NaoResponde304() {
+        MockHttpServletRequest request = get("/produtos/7");
+        request.addHeader("If-None-Match", "W/\"produto-7-3\"");
+
+        assertFalse(Condicional.naoModificado(new ServletWebRequest(request, new MockHttpServletResponse()),
+                Versao.daEntidade("produto", 7L, 4L, ALTERADO_EM)));
+        assertFalse(Condicional.naoModificado(new ServletWebRequest(request, new MockHttpServletResponse()), null));
+    }
+
+    @Test
+    @DisplayName("ETag da coleção muda com edição, inclusão e remoção")
+    void etagColecao_MudaComQualquerEscrita() {
+        Versao atual = Versao.daColecao("produtos", 10, 25, 40, ALTERADO_EM);
+
+        assertEquals(atual, Versao.daColecao("produtos", 10, 25, 40, ALTERADO_EM));
+        assertNotEquals(atual.etag(), Versao.daColecao("produtos", 10, 26, 40, ALTERADO_EM).etag());
+        assertNotEquals(atual.etag(), Versao.daColecao("produtos", 11, 25, 41, ALTERADO_EM).etag());
+        assertNotEquals(atual.etag(), Versao.daColecao("produtos", 9, 25, 40, ALTERADO_EM).etag());
+    }
+
+    @Test
+    @DisplayName("Entidade gravada sem versão muda de ETag já na primeira alteração")
+    void semVersao_PrimeiraAlteracaoMudaEtag() {
+        Produto produto = new Produto();
+        produto.setId(7L);
+        String antes = Versao.daEntidade("produto", 7L, produto.getVersao(), null).etag();
+
+        ReflectionTestUtils.invokeMethod(produto, "registrarAlteracao");
+
+        assertEquals(1L, produto.getVersao());
+        assertNotEquals(antes, Versao.daEntidade("produto", 7L, produto.getVersao(), null).etag());
+    }
+
+    @Test
+    @DisplayName("Versão do catálogo é calculada uma vez por invalidação")
+    void versaoMemorizada_RecalculaSoAposInvalidacao() {
+        String canal = "versao_" + System.nanoTime();
+        CacheInvalidationBus busNoA = new CacheInvalidationBus(new ConcurrentMapCacheManager(),
+                new LoopbackInvalidationTransport(canal), "A");
+        CacheInvalidationBus busNoB = new CacheInvalidationBus(new ConcurrentMapCacheManager(),
+                new LoopbackInvalidationTransport(canal), "B");
+        VersaoMemorizada memorizada = new VersaoMemorizada(busNoA, Set.of("produtos"));
+        AtomicInteger consultas = new AtomicInteger();
+
+        memorizada.obter(() -> Versao.daColecao("produtos", consultas.incrementAndGet(), 0, 0, ALTERADO_EM));
+        Versao repetida = memorizada.obter(() -> Versao.daColecao("produtos", consultas.incrementAndGet(), 0, 0, ALTERADO_EM));
+        assertEquals(1, consultas.get());
+        assertEquals(Versao.daColecao("produtos", 1, 0, 0, ALTERADO_EM), repetida);
+
+        busNoA.evict("restaurantes-contagem", "x");
+        memorizada.obter(() -> Versao.daColecao("produtos", consultas.incrementAndGet(), 0, 0, ALTERADO_EM));
+        assertEquals(1, consultas.get());
+
+        // Escrita em outra réplica
+        busNoB.evict("produtos", "todos");
+        Versao nova = memorizada.obter(() -> Versao.daColecao("produtos", consultas.incrementAndGet(), 0, 0, ALTERADO_EM));
+        assertEquals(2, consultas.get());
+        assertEquals(Versao.daColecao("produtos", 2, 0, 0, ALTERADO_EM), nova);
+    }
+
+    @Test
+    @DisplayName("Versão calculada durante uma invalidação não é guardada")
+    void versaoMemorizada_InvalidacaoDuranteCalculo_NaoGuarda() {
+        CacheInvalidationBus bus = new CacheInvalidationBus(new ConcurrentMapCacheManager(),
+                new LoopbackInvalidationTransport("versao_" + System.nanoTime()), "A");
+        VersaoMemorizada memorizada = new VersaoMemorizada(bus, Set.of("produtos"));
+        AtomicInteger consultas = new AtomicInteger();
+
+        memorizada.obter(() -> {
+            bus.evict("produtos", "todos");
+            return Versao.daColecao("produtos", consultas.incrementAndGet(), 0, 0, ALTERADO_EM);
+        });
+        memorizada.obter(() -> Versao.daColecao("produtos", consultas.incrementAndGet(), 0, 0, ALTERADO_EM));
+
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    @DisplayName("Acerto no cache de respostas também responde 304")
+    void acertoNoCacheDeRespostas_Responde304() throws Exception {
+        CacheInvalidationBus bus = new CacheInvalidationBus(new ConcurrentMapCacheManager(),
+                new LoopbackInvalidationTransport("condicional_" + System.nanoTime()), "A");
+        RespostaCache respostaCache = new RespostaCache(bus, Set.of("produto"), 100, 64 * 1024,
+                ContadorCache.de(new SimpleMeterRegistry(), "respostas"));
+        RespostaCacheFilter filtro = new RespostaCacheFilter(respostaCache, new AntPathRequestMatcher("/produtos/**"),
+                request -> Set.of());
+        Versao versao = Versao.daEntidade("produto", 7L, 3L, ALTERADO_EM);
+
+        filtro.doFilter(get("/produtos/7"), new MockHttpServletResponse(), (req, res) -> {
+            Condicional.naoModificado(new ServletWebRequest((HttpServletRequest) req, (HttpServletResponse) res), versao);
+            res.setContentType("application/json");
+            res.getOutputStream().write("{\"id\":7}".getBytes(StandardCharsets.UTF_8));
+        });
+        MockHttpServletRequest condicional = get("/produtos/7");
+        condicional.addHeader("If-None-Match", versao.etag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(condicional, response, (req, res) -> fail("controller não deveria ser chamado"));
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(versao.etag(), response.getHeader("ETag"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setServletPath(uri);
+        return request;
+    }
+}
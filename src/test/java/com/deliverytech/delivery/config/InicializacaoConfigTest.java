@@ -0,0 +1,63 @@
+package com.deliverytech.delivery.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.deliverytech.delivery.bloom.EmailBloomFilter;
+import com.deliverytech.delivery.controller.produtoController;
+import com.deliverytech.delivery.exceptions.GlobalExceptionHandler;
+import com.deliverytech.delivery.monitoramento.PrimeiraRequisicaoFilter;
+import com.deliverytech.delivery.service.impl.refreshTokenServiceImpl;
+
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes da partida rápida")
+class InicializacaoConfigTest {
+
+    private final LazyInitializationExcludeFilter filtro = InicializacaoConfig.beansDaPartida();
+
+    @Test
+    @DisplayName("Controllers, handlers de exceção e jobs agendados sobem na partida")
+    void beansDoCaminhoQuente_NaoSaoPreguicosos() {
+        assertTrue(excluido(produtoController.class));
+        assertTrue(excluido(GlobalExceptionHandler.class));
+        assertTrue(excluido(EmailBloomFilter.class));
+        assertTrue(excluido(refreshTokenServiceImpl.class));
+    }
+
+    @Test
+    @DisplayName("Demais beans ficam para quando forem usados")
+    void demaisBeans_SaoPreguicosos() {
+        assertFalse(excluido(SwaggerConfig.class));
+        assertFalse(excluido(null));
+    }
+
+    @Test
+    @DisplayName("Tempo até a primeira requisição é registrado uma única vez")
+    void primeiraRequisicao_RegistradaUmaVez() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PrimeiraRequisicaoFilter primeira = new PrimeiraRequisicaoFilter(registry);
+
+        primeira.doFilter(new MockHttpServletRequest("GET", "/health"), new MockHttpServletResponse(), new MockFilterChain());
+        TimeGauge medida = registry.get("aplicacao.primeira.requisicao").timeGauge();
+        double registrado = medida.value();
+        Thread.sleep(5);
+        primeira.doFilter(new MockHttpServletRequest("GET", "/health"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertTrue(registrado > 0);
+        assertEquals(registrado, registry.get("aplicacao.primeira.requisicao").timeGauge().value());
+        assertEquals(1, registry.find("aplicacao.primeira.requisicao").timeGauges().size());
+    }
+
+    private boolean excluido(Class<?> tipo) {
+        return filtro.isExcluded("bean", new RootBeanDefinition(), tipo);
+    }
+}
@@ -72,13 +72,14 @@ class ClienteControllerIT {
 
     // Requisito: Testar GET /api/clientes (listagem com paginação)
     @Test
-    @DisplayName("3. GET /clientes deve retornar listagem paginada (200 OK)")
+    @DisplayName("3. GET /clientes deve retornar listagem paginada por cursor (200 OK)")
     @WithMockUser(authorities = "ADMIN")
     void listarClientes_ComPaginacao() throws Exception {
         // data.sql garante que temos 3 clientes
-        mockMvc.perform(get(BASE_URL + "?page=0&size=2"))
+        mockMvc.perform(get(BASE_URL + "?size=2"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray()); 
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.size").value(2));
     }
     
     // Requisito: Testar busca por ID (existente)
@@ -24,6 +24,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static com.deliverytech.delivery.monitoramento.ConsultasSql.consultasSql;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -58,7 +59,9 @@ class PedidoControllerIT {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(criarPedidoValido())))
                 .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.status").value("PENDENTE"));
+                .andExpect(jsonPath("$.status").value("PENDENTE"))
+                // Orçamento de SQL: um item não pode virar uma consulta por item
+                .andExpect(consultasSql().semRepeticaoAcimaDe(1));
     }
 
     // Requisito: Testar validação de produtos inexistentes (404)
@@ -73,7 +76,8 @@ class PedidoControllerIT {
                 .with(csrf())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(pedido)))
-                .andExpect(status().isNotFound()); 
+                .andExpect(status().isNotFound())
+                .andExpect(consultasSql().noMaximo(5));
     }
     
     // Requisito: Testar PUT /api/pedidos/{id}/status (atualização de status)
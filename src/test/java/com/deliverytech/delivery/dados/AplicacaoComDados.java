@@ -0,0 +1,60 @@
+package com.deliverytech.delivery.dados;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.deliverytech.delivery.deliveryApiApplication;
+
+/**
+ * Sobe a aplicação para as ferramentas de desempenho (teste de carga e
+ * benchmarks JMH) e, opcionalmente, enche o banco com o {@link GeradorDados}.
+ * Em H2 o esquema é criado pelo Hibernate e o data.sql fica de fora; no
+ * Postgres vale o datasource do application.properties. Caches ficam ligados,
+ * como em produção, e o rate limit desligado, senão mede-se o limitador.
+ */
+public final class AplicacaoComDados {
+
+    private AplicacaoComDados() {
+    }
+
+    public static ConfigurableApplicationContext subir(String banco, WebApplicationType tipo) {
+        Map<String, Object> propriedades = new LinkedHashMap<>();
+        propriedades.put("server.port", 0);
+        propriedades.put("ratelimit.habilitado", false);
+        propriedades.put("spring.devtools.restart.enabled", false);
+        propriedades.put("spring.jpa.show-sql", false);
+        propriedades.put("logging.level.org.springframework.web", "WARN");
+        propriedades.put("logging.level.org.springframework.security", "WARN");
+        propriedades.put("logging.level.com.deliverytech", "INFO");
+        if ("h2".equals(banco)) {
+            propriedades.put("spring.datasource.url", "jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+            propriedades.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            propriedades.put("spring.datasource.username", "sa");
+            propriedades.put("spring.datasource.password", "");
+            propriedades.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+            propriedades.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+            propriedades.put("spring.sql.init.mode", "never");
+            propriedades.put("cache.invalidacao.transporte", "loopback");
+            propriedades.put("busca.clientes.indice", "memoria");
+        } else if (!"postgres".equals(banco)) {
+            throw new IllegalArgumentException("Banco desconhecido: " + banco + " (h2|postgres)");
+        }
+        return new SpringApplicationBuilder(deliveryApiApplication.class)
+                .web(tipo)
+                .properties(propriedades)
+                .run();
+    }
+
+    /** Gera a massa no banco da aplicação já no ar. */
+    public static GeradorDados.Resumo gerar(ConfigurableApplicationContext aplicacao, Volume volume, long semente)
+            throws SQLException {
+        return new GeradorDados(volume, semente).gerar(aplicacao.getBean(DataSource.class));
+    }
+}
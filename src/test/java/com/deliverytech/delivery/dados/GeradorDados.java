@@ -0,0 +1,430 @@
+package com.deliverytech.delivery.dados;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import javax.sql.DataSource;
+
+/**
+ * Preenche o esquema com uma massa sintética no tamanho de produção:
+ * clientes, restaurantes, cardápios e anos de pedidos com itens.
+ *
+ * <ul>
+ *   <li>Popularidade dos restaurantes Zipfiana (s = 1,1), sem relação com o id;
+ *   clientes frequentes também seguem Zipf (s = 0,7), e os pratos de cada
+ *   cardápio idem (s = 1,0);</li>
+ *   <li>pedidos com pico no almoço (~12h30) e no jantar (~20h), fim de semana
+ *   mais cheio e crescimento linear ao longo do período (metade do volume no
+ *   início); os das últimas horas ainda estão em andamento;</li>
+ *   <li>tudo sai de uma semente: a mesma semente com o mesmo {@link Volume}
+ *   gera exatamente os mesmos dados;</li>
+ *   <li>no Postgres a escrita é por COPY, no H2 por INSERT em lote
+ *   ({@link SaidaTabela}). Os ids são explícitos, a partir do maior já
+ *   existente, e as sequências de identidade são ajustadas no fim.</li>
+ * </ul>
+ *
+ * Os itens dependem do pedido (FK), então os pedidos são percorridos duas
+ * vezes com a mesma semente: a primeira grava os pedidos e a segunda, os itens.
+ * Não gera usuários (o login da carga usa os cadastrados pela API) nem avaliações.
+ *
+ * <p>Uso direto contra o Postgres local (esquema já criado pela aplicação):
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.deliverytech.delivery.dados.GeradorDados \
+ *     -Ddados.volume=medio -Ddados.semente=42
+ * </pre>
+ * {@code -Ddados.url}, {@code -Ddados.usuario} e {@code -Ddados.senha} trocam o
+ * banco; os demais {@code -Ddados.*} estão em {@link Volume#doSistema()}.
+ */
+public class GeradorDados {
+
+    public static final long SEMENTE_PADRAO = 42L;
+
+    private static final double ZIPF_RESTAURANTES = 1.1;
+    private static final double ZIPF_CLIENTES = 0.7;
+    private static final double ZIPF_CARDAPIO = 1.0;
+
+    private static final String[] NOMES = { "Ana", "Bruno", "Carla", "Diego", "Eduarda", "Felipe", "Gabriela",
+            "Henrique", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael", "Sofia",
+            "Thiago", "Vitória", "William" };
+    private static final String[] SOBRENOMES = { "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes" };
+    private static final String[] RUAS = { "Rua das Flores", "Av. Paulista", "Rua Augusta", "Rua Oscar Freire",
+            "Av. Brigadeiro Faria Lima", "Rua da Consolação", "Rua Vergueiro", "Av. Rebouças", "Rua Haddock Lobo",
+            "Rua Teodoro Sampaio", "Av. Ibirapuera", "Rua Domingos de Morais" };
+    private static final String[] CATEGORIAS = { "Italiana", "Hamburgueria", "Japonesa", "Brasileira", "Árabe",
+            "Mexicana", "Vegetariana", "Pizzaria", "Lanches", "Doceria" };
+    private static final String[] PRATOS = { "Especial da Casa", "Combo", "Prato Executivo", "Porção", "Sobremesa",
+            "Suco Natural", "Refrigerante", "Salada", "Sanduíche", "Massa" };
+    private static final String[] OBSERVACOES = { "Sem cebola", "Capricha no molho", "Troco para 100",
+            "Interfone quebrado, ligar ao chegar", "Talheres descartáveis, por favor" };
+
+    public record Resumo(long clientes, long restaurantes, long produtos, long pedidos, long itens,
+            long[] restaurantesPorPopularidade) {
+
+        /** Sorteia um restaurante gerado com a mesma popularidade usada nos pedidos. */
+        public long restauranteEnviesado(Zipf popularidade, RandomGenerator aleatorio) {
+            return restaurantesPorPopularidade[popularidade.amostra(aleatorio)];
+        }
+
+        public Zipf popularidade() {
+            return new Zipf(restaurantesPorPopularidade.length, ZIPF_RESTAURANTES);
+        }
+    }
+
+    private final Volume volume;
+    private final long semente;
+
+    // Estado montado ao gerar restaurantes/produtos e usado pelos pedidos
+    private long baseCliente;
+    private long baseRestaurante;
+    private long baseProduto;
+    private int[] primeiroProduto;
+    private long[] precoCentavos;
+    private long[] taxaCentavos;
+    private int[] rankParaRestaurante;
+
+    public GeradorDados(Volume volume, long semente) {
+        this.volume = volume;
+        this.semente = semente;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Volume volume = Volume.doSistema();
+        long semente = Long.getLong("dados.semente", SEMENTE_PADRAO);
+        String url = System.getProperty("dados.url", "jdbc:postgresql://localhost:5432/deliverydb");
+        try (Connection conexao = DriverManager.getConnection(url,
+                System.getProperty("dados.usuario", "delivery"), System.getProperty("dados.senha", "delivery123"))) {
+            new GeradorDados(volume, semente).gerar(conexao);
+        }
+    }
+
+    public Resumo gerar(DataSource dataSource) throws SQLException {
+        try (Connection conexao = dataSource.getConnection()) {
+            return gerar(conexao);
+        }
+    }
+
+    public Resumo gerar(Connection conexao) throws SQLException {
+        boolean postgres = conexao.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+        if (postgres) {
+            try (Statement st = conexao.createStatement()) {
+                // Carga reconstruível: não vale esperar o fsync de cada COPY
+                st.execute("SET synchronous_commit TO off");
+            }
+        }
+        System.out.printf("gerando %s com semente %d%n", volume, semente);
+        baseCliente = maiorId(conexao, "clientes", "usuario_id");
+        baseRestaurante = maiorId(conexao, "restaurantes", "id");
+        baseProduto = maiorId(conexao, "produtos", "id");
+        long basePedido = maiorId(conexao, "pedidos", "id");
+        long baseItem = maiorId(conexao, "item_pedido", "id");
+
+        long clientes = medir("clientes", () -> gerarClientes(conexao));
+        long restaurantes = medir("restaurantes", () -> gerarRestaurantes(conexao));
+        long produtos = medir("produtos", () -> gerarProdutos(conexao));
+        long pedidos = medir("pedidos", () -> {
+            try (SaidaTabela saida = SaidaTabela.abrir(conexao, "pedidos", "id", "numero_pedido", "data_pedido",
+                    "status", "valor_total", "observacoes", "endereco_entrega", "cep", "taxa_entrega",
+                    "restaurante_id", "cliente_id")) {
+                percorrerPedidos(basePedido, baseItem, saida, null);
+                return saida.linhas();
+            }
+        });
+        long itens = medir("item_pedido", () -> {
+            try (SaidaTabela saida = SaidaTabela.abrir(conexao, "item_pedido", "id", "quantidade",
+                    "preco_unitario", "subtotal", "pedido_id", "produto_id")) {
+                percorrerPedidos(basePedido, baseItem, null, saida);
+                return saida.linhas();
+            }
+        });
+
+        ajustarIdentidade(conexao, postgres, "clientes", "usuario_id", baseCliente + clientes);
+        ajustarIdentidade(conexao, postgres, "restaurantes", "id", baseRestaurante + restaurantes);
+        ajustarIdentidade(conexao, postgres, "produtos", "id", baseProduto + produtos);
+        ajustarIdentidade(conexao, postgres, "pedidos", "id", basePedido + pedidos);
+        ajustarIdentidade(conexao, postgres, "item_pedido", "id", baseItem + itens);
+        if (postgres) {
+            try (Statement st = conexao.createStatement()) {
+                st.execute("ANALYZE clientes, restaurantes, produtos, pedidos, item_pedido");
+            }
+        }
+
+        long[] porPopularidade = new long[rankParaRestaurante.length];
+        for (int rank = 0; rank < porPopularidade.length; rank++) {
+            porPopularidade[rank] = baseRestaurante + rankParaRestaurante[rank] + 1;
+        }
+        return new Resumo(clientes, restaurantes, produtos, pedidos, itens, porPopularidade);
+    }
+
+    private long gerarClientes(Connection conexao) throws SQLException {
+        SplittableRandom aleatorio = new SplittableRandom(semente ^ 0x636c69656e746573L);
+        LocalDateTime inicio = volume.fim().minusDays(volume.dias() + 365L).atStartOfDay();
+        try (SaidaTabela saida = SaidaTabela.abrir(conexao, "clientes", "usuario_id", "nome", "email", "telefone",
+                "endereco", "cep", "latitude", "longitude", "data_cadastro", "ativo")) {
+            for (int i = 0; i < volume.clientes(); i++) {
+                long id = baseCliente + i + 1;
+                saida.linha(id,
+                        NOMES[aleatorio.nextInt(NOMES.length)] + " " + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)],
+                        "cliente" + id + "@gerado.dev",
+                        String.format("(11) 9%04d-%04d", aleatorio.nextInt(10_000), aleatorio.nextInt(10_000)),
+                        endereco(i),
+                        cep(i),
+                        -23.55 + (aleatorio.nextDouble() - 0.5) * 0.3,
+                        -46.63 + (aleatorio.nextDouble() - 0.5) * 0.4,
+                        inicio.plusMinutes(aleatorio.nextLong(ChronoUnit.MINUTES.between(inicio,
+                                volume.fim().atStartOfDay()))),
+                        aleatorio.nextInt(100) < 97);
+            }
+            return saida.linhas();
+        }
+    }
+
+    private long gerarRestaurantes(Connection conexao) throws SQLException {
+        SplittableRandom aleatorio = new SplittableRandom(semente ^ 0x72657374617572L);
+        int n = volume.restaurantes();
+        taxaCentavos = new long[n];
+        // Popularidade independente do id: embaralha rank -> restaurante (Fisher-Yates)
+        rankParaRestaurante = new int[n];
+        for (int i = 0; i < n; i++) {
+            rankParaRestaurante[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = aleatorio.nextInt(i + 1);
+            int troca = rankParaRestaurante[i];
+            rankParaRestaurante[i] = rankParaRestaurante[j];
+            rankParaRestaurante[j] = troca;
+        }
+        try (SaidaTabela saida = SaidaTabela.abrir(conexao, "restaurantes", "id", "nome", "categoria", "endereco",
+                "telefone", "cep", "latitude", "longitude", "taxa_entrega", "avaliacao", "soma_avaliacoes",
+                "total_avaliacoes", "ativo")) {
+            for (int i = 0; i < n; i++) {
+                String categoria = CATEGORIAS[aleatorio.nextInt(CATEGORIAS.length)];
+                taxaCentavos[i] = aleatorio.nextInt(4) == 0 ? 0 : 199 + aleatorio.nextInt(11) * 100L;
+                saida.linha(baseRestaurante + i + 1,
+                        categoria + " " + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)] + " " + (i + 1),
+                        categoria,
+                        endereco(i * 7919),
+                        "11" + (30_000_000 + aleatorio.nextInt(10_000_000)),
+                        cep(i * 7919),
+                        -23.55 + (aleatorio.nextDouble() - 0.5) * 0.3,
+                        -46.63 + (aleatorio.nextDouble() - 0.5) * 0.4,
+                        BigDecimal.valueOf(taxaCentavos[i], 2),
+                        BigDecimal.ZERO, 0L, 0L,
+                        aleatorio.nextInt(100) < 95);
+            }
+            return saida.linhas();
+        }
+    }
+
+    private long gerarProdutos(Connection conexao) throws SQLException {
+        SplittableRandom aleatorio = new SplittableRandom(semente ^ 0x70726f6475746fL);
+        int n = volume.restaurantes();
+        int faixa = volume.produtosMaximo() - volume.produtosMinimo() + 1;
+        primeiroProduto = new int[n + 1];
+        for (int r = 0; r < n; r++) {
+            primeiroProduto[r + 1] = primeiroProduto[r] + volume.produtosMinimo() + aleatorio.nextInt(faixa);
+        }
+        precoCentavos = new long[primeiroProduto[n]];
+        try (SaidaTabela saida = SaidaTabela.abrir(conexao, "produtos", "id", "nome", "descricao", "preco",
+                "categoria", "disponivel", "restaurante_id")) {
+            for (int r = 0; r < n; r++) {
+                for (int p = primeiroProduto[r]; p < primeiroProduto[r + 1]; p++) {
+                    String prato = PRATOS[aleatorio.nextInt(PRATOS.length)];
+                    boolean bebida = prato.startsWith("Suco") || prato.startsWith("Refrigerante");
+                    // Preço em centavos terminando em 90: bebidas R$ 5-15, pratos R$ 15-90
+                    precoCentavos[p] = (bebida ? 500 + aleatorio.nextInt(10) * 100L : 1500 + aleatorio.nextInt(75) * 100L) - 10;
+                    saida.linha(baseProduto + p + 1,
+                            prato + " " + (p - primeiroProduto[r] + 1),
+                            "Produto gerado (restaurante " + (baseRestaurante + r + 1) + ")",
+                            BigDecimal.valueOf(precoCentavos[p], 2),
+                            bebida ? "Bebida" : "Prato",
+                            aleatorio.nextInt(100) < 92,
+                            baseRestaurante + r + 1);
+                }
+            }
+            return saida.linhas();
+        }
+    }
+
+    /**
+     * Gera os pedidos dia a dia, sempre na mesma sequência para a mesma
+     * semente; grava em {@code pedidos} e/ou {@code itens} (quem for nulo é
+     * ignorado). O total do pedido depende dos itens, então eles são sorteados
+     * antes mesmo quando só os pedidos estão sendo gravados.
+     */
+    private void percorrerPedidos(long basePedido, long baseItem, SaidaTabela pedidos, SaidaTabela itens)
+            throws SQLException {
+        SplittableRandom aleatorio = new SplittableRandom(semente ^ 0x70656469646f73L);
+        Zipf restaurantes = new Zipf(volume.restaurantes(), ZIPF_RESTAURANTES);
+        Zipf clientes = new Zipf(volume.clientes(), ZIPF_CLIENTES);
+        Zipf[] cardapios = new Zipf[volume.produtosMaximo() + 1];
+        long passoCliente = passoCoprimo(volume.clientes());
+
+        LocalDateTime referencia = volume.fim().isBefore(LocalDate.now())
+                ? volume.fim().atTime(LocalTime.MAX)
+                : LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDate primeiroDia = volume.fim().minusDays(volume.dias() - 1L);
+
+        int[] produtosItem = new int[5];
+        int[] quantidadesItem = new int[5];
+        long pedidoId = basePedido;
+        long itemId = baseItem;
+        for (int d = 0; d < volume.dias(); d++) {
+            LocalDate dia = primeiroDia.plusDays(d);
+            double crescimento = 0.5 + 0.5 * d / Math.max(1, volume.dias() - 1);
+            int quantidade = (int) Math.round(volume.pedidosPorDia() * crescimento * fatorDiaSemana(dia.getDayOfWeek())
+                    * (0.9 + 0.2 * aleatorio.nextDouble()));
+            for (int q = 0; q < quantidade; q++) {
+                LocalDateTime quando = dia.atStartOfDay().plusSeconds(segundoDoDia(aleatorio));
+                int restaurante = rankParaRestaurante[restaurantes.amostra(aleatorio)];
+                // Zipf nos clientes + permutação barata (multiplicação por passo coprimo): frequentes espalhados pelos ids
+                int cliente = (int) (clientes.amostra(aleatorio) * passoCliente % volume.clientes());
+                int primeiro = primeiroProduto[restaurante];
+                int tamanhoCardapio = primeiroProduto[restaurante + 1] - primeiro;
+                if (cardapios[tamanhoCardapio] == null) {
+                    cardapios[tamanhoCardapio] = new Zipf(tamanhoCardapio, ZIPF_CARDAPIO);
+                }
+                int quantidadeItens = quantidadeItens(aleatorio);
+                long totalCentavos = taxaCentavos[restaurante];
+                for (int i = 0; i < quantidadeItens; i++) {
+                    produtosItem[i] = primeiro + cardapios[tamanhoCardapio].amostra(aleatorio);
+                    int u = aleatorio.nextInt(100);
+                    quantidadesItem[i] = u < 75 ? 1 : u < 95 ? 2 : 3;
+                    totalCentavos += precoCentavos[produtosItem[i]] * quantidadesItem[i];
+                }
+                String observacao = aleatorio.nextInt(5) == 0 ? OBSERVACOES[aleatorio.nextInt(OBSERVACOES.length)] : null;
+                String status = status(quando, referencia, aleatorio);
+                if (quando.isAfter(referencia)) {
+                    // Sorteios já feitos mantêm a sequência; o pedido "futuro" só não é gravado
+                    continue;
+                }
+                pedidoId++;
+                if (pedidos != null) {
+                    pedidos.linha(pedidoId, "PED" + pedidoId, quando, status, BigDecimal.valueOf(totalCentavos, 2),
+                            observacao, endereco(cliente), cep(cliente), BigDecimal.valueOf(taxaCentavos[restaurante], 2),
+                            baseRestaurante + restaurante + 1, baseCliente + cliente + 1);
+                }
+                if (itens != null) {
+                    for (int i = 0; i < quantidadeItens; i++) {
+                        long preco = precoCentavos[produtosItem[i]];
+                        itens.linha(++itemId, quantidadesItem[i], BigDecimal.valueOf(preco, 2),
+                                BigDecimal.valueOf(preco * quantidadesItem[i], 2), pedidoId,
+                                baseProduto + produtosItem[i] + 1);
+                    }
+                }
+            }
+        }
+    }
+
+    // Mistura: 45% almoço (~12h36 ± 42 min), 40% jantar (~20h18 ± 66 min), 15% espalhado das 9h à meia-noite
+    private static long segundoDoDia(RandomGenerator aleatorio) {
+        double u = aleatorio.nextDouble();
+        double hora;
+        if (u < 0.45) {
+            hora = 12.6 + 0.7 * aleatorio.nextGaussian();
+        } else if (u < 0.85) {
+            hora = 20.3 + 1.1 * aleatorio.nextGaussian();
+        } else {
+            hora = 9 + 15 * aleatorio.nextDouble();
+        }
+        return (long) (Math.min(23.9997, Math.max(0, hora)) * 3600);
+    }
+
+    private static double fatorDiaSemana(DayOfWeek dia) {
+        return switch (dia) {
+            case MONDAY -> 0.80;
+            case TUESDAY -> 0.85;
+            case WEDNESDAY -> 0.90;
+            case THURSDAY -> 0.95;
+            case FRIDAY -> 1.20;
+            case SATURDAY -> 1.35;
+            case SUNDAY -> 1.15;
+        };
+    }
+
+    private static int quantidadeItens(RandomGenerator aleatorio) {
+        int u = aleatorio.nextInt(100);
+        return u < 40 ? 1 : u < 70 ? 2 : u < 87 ? 3 : u < 96 ? 4 : 5;
+    }
+
+    // Pedidos antigos estão fechados; os das últimas horas seguem o fluxo conforme a idade
+    private static String status(LocalDateTime quando, LocalDateTime referencia, RandomGenerator aleatorio) {
+        long minutos = ChronoUnit.MINUTES.between(quando, referencia);
+        if (minutos > 180) {
+            return aleatorio.nextInt(100) < 4 ? "CANCELADO" : "ENTREGUE";
+        }
+        if (minutos < 15) {
+            return aleatorio.nextBoolean() ? "PENDENTE" : "CONFIRMADO";
+        }
+        if (minutos < 40) {
+            return "PREPARANDO";
+        }
+        return minutos < 75 ? "SAIU_PARA_ENTREGA" : "ENTREGUE";
+    }
+
+    private static String endereco(int indice) {
+        return RUAS[Math.floorMod(indice, RUAS.length)] + ", " + (1 + Math.floorMod(indice, 2_000)) + " - São Paulo/SP";
+    }
+
+    private static String cep(int indice) {
+        return String.format("%05d-%03d", 1_000 + Math.floorMod(indice / 1_000, 99_000), Math.floorMod(indice, 1_000));
+    }
+
+    private static long passoCoprimo(int n) {
+        long passo = 1_000_003L;
+        while (gcd(passo, n) != 1) {
+            passo += 2;
+        }
+        return passo;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static long maiorId(Connection conexao, String tabela, String coluna) throws SQLException {
+        try (Statement st = conexao.createStatement();
+                ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(" + coluna + "), 0) FROM " + tabela)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void ajustarIdentidade(Connection conexao, boolean postgres, String tabela, String coluna,
+            long ultimo) throws SQLException {
+        try (Statement st = conexao.createStatement()) {
+            if (postgres) {
+                st.execute("SELECT setval(pg_get_serial_sequence('" + tabela + "', '" + coluna + "'), "
+                        + Math.max(1, ultimo) + ")");
+            } else {
+                st.execute("ALTER TABLE " + tabela + " ALTER COLUMN " + coluna + " RESTART WITH " + (ultimo + 1));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Etapa {
+        long executar() throws SQLException;
+    }
+
+    private static long medir(String tabela, Etapa etapa) throws SQLException {
+        long inicio = System.nanoTime();
+        long linhas = etapa.executar();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        System.out.printf("  %-13s %,12d linhas em %6.1fs (%,.0f linhas/s)%n", tabela, linhas, segundos,
+                linhas / Math.max(segundos, 1e-9));
+        return linhas;
+    }
+}
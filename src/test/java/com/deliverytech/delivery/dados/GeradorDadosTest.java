@@ -0,0 +1,119 @@
+package com.deliverytech.delivery.dados;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do gerador de massa sintética")
+class GeradorDadosTest {
+
+    private static final Volume VOLUME = new Volume(500, 40, 5, 12, 30, 100, LocalDate.of(2025, 6, 30));
+
+    @Test
+    @DisplayName("Mesma semente gera os mesmos dados; semente diferente, outros")
+    void deterministicoPorSemente() throws Exception {
+        DataSource a = banco("gerador_a");
+        DataSource b = banco("gerador_b");
+        DataSource c = banco("gerador_c");
+        new GeradorDados(VOLUME, 7).gerar(a);
+        new GeradorDados(VOLUME, 7).gerar(b);
+        new GeradorDados(VOLUME, 8).gerar(c);
+
+        String assinatura = "SELECT COUNT(*) || ':' || SUM(valor_total) || ':' || SUM(cliente_id * 31 + restaurante_id) FROM pedidos";
+        assertEquals(texto(a, assinatura), texto(b, assinatura));
+        assertNotEquals(texto(a, assinatura), texto(c, assinatura));
+    }
+
+    @Test
+    @DisplayName("Gera o volume pedido com pedidos consistentes com os itens")
+    void volumeEConsistencia() throws Exception {
+        DataSource ds = banco("gerador_consistencia");
+        GeradorDados.Resumo resumo = new GeradorDados(VOLUME, GeradorDados.SEMENTE_PADRAO).gerar(ds);
+
+        assertEquals(500, numero(ds, "SELECT COUNT(*) FROM clientes"));
+        assertEquals(40, numero(ds, "SELECT COUNT(*) FROM restaurantes"));
+        assertEquals(resumo.pedidos(), numero(ds, "SELECT COUNT(*) FROM pedidos"));
+        assertTrue(resumo.pedidos() > 1_500, "30 dias com ~75-100 pedidos/dia");
+        // Todo pedido tem itens, o total fecha com itens + taxa e os produtos são do restaurante do pedido
+        assertEquals(0, numero(ds, "SELECT COUNT(*) FROM pedidos p WHERE NOT EXISTS (SELECT 1 FROM item_pedido i WHERE i.pedido_id = p.id)"));
+        assertEquals(0, numero(ds, "SELECT COUNT(*) FROM pedidos p WHERE p.valor_total <> p.taxa_entrega + "
+                + "(SELECT SUM(i.subtotal) FROM item_pedido i WHERE i.pedido_id = p.id)"));
+        assertEquals(0, numero(ds, "SELECT COUNT(*) FROM item_pedido i JOIN pedidos p ON p.id = i.pedido_id "
+                + "JOIN produtos pr ON pr.id = i.produto_id WHERE pr.restaurante_id <> p.restaurante_id"));
+        // Identidade ajustada: o próximo INSERT sem id não colide
+        try (Connection conexao = ds.getConnection(); Statement st = conexao.createStatement()) {
+            st.executeUpdate("INSERT INTO restaurantes (nome, ativo) VALUES ('novo', true)");
+        }
+        assertEquals(41, numero(ds, "SELECT MAX(id) FROM restaurantes"));
+    }
+
+    @Test
+    @DisplayName("Distribuição enviesada: restaurantes populares e picos de almoço e jantar")
+    void distribuicaoRealista() throws Exception {
+        DataSource ds = banco("gerador_distribuicao");
+        GeradorDados.Resumo resumo = new GeradorDados(VOLUME, GeradorDados.SEMENTE_PADRAO).gerar(ds);
+
+        long total = resumo.pedidos();
+        long doMaisPopular = numero(ds, "SELECT COUNT(*) FROM pedidos WHERE restaurante_id = " + resumo.restaurantesPorPopularidade()[0]);
+        long doMenosPopular = numero(ds, "SELECT COUNT(*) FROM pedidos WHERE restaurante_id = " + resumo.restaurantesPorPopularidade()[39]);
+        assertTrue(doMaisPopular > total / 6, "o mais popular concentra uma fatia grande");
+        assertTrue(doMaisPopular > 20 * doMenosPopular);
+
+        long almoco = numero(ds, "SELECT COUNT(*) FROM pedidos WHERE HOUR(data_pedido) BETWEEN 11 AND 13");
+        long jantar = numero(ds, "SELECT COUNT(*) FROM pedidos WHERE HOUR(data_pedido) BETWEEN 18 AND 21");
+        long madrugada = numero(ds, "SELECT COUNT(*) FROM pedidos WHERE HOUR(data_pedido) < 9");
+        assertTrue(almoco + jantar > total * 0.7);
+        assertTrue(madrugada < total * 0.01);
+    }
+
+    // Esquema mínimo com as colunas que a aplicação mapeia
+    private static DataSource banco(String nome) throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1");
+        try (Connection conexao = h2.getConnection(); Statement st = conexao.createStatement()) {
+            st.execute("CREATE TABLE clientes (usuario_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, nome VARCHAR(255), "
+                    + "email VARCHAR(255) UNIQUE, telefone VARCHAR(255), endereco VARCHAR(255), cep VARCHAR(255), "
+                    + "latitude DOUBLE, longitude DOUBLE, data_cadastro TIMESTAMP, ativo BOOLEAN)");
+            st.execute("CREATE TABLE restaurantes (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, nome VARCHAR(255), "
+                    + "categoria VARCHAR(255), endereco VARCHAR(255), telefone VARCHAR(255), cep VARCHAR(255), "
+                    + "latitude DOUBLE, longitude DOUBLE, taxa_entrega NUMERIC(38,2), avaliacao NUMERIC(38,2), "
+                    + "soma_avaliacoes BIGINT, total_avaliacoes BIGINT, ativo BOOLEAN)");
+            st.execute("CREATE TABLE produtos (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, nome VARCHAR(255), "
+                    + "descricao VARCHAR(255), preco NUMERIC(38,2), categoria VARCHAR(255), disponivel BOOLEAN, "
+                    + "restaurante_id BIGINT REFERENCES restaurantes(id))");
+            st.execute("CREATE TABLE pedidos (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, numero_pedido VARCHAR(255), "
+                    + "data_pedido TIMESTAMP, status VARCHAR(255), valor_total NUMERIC(38,2), observacoes VARCHAR(255), "
+                    + "endereco_entrega VARCHAR(255), cep VARCHAR(255), taxa_entrega NUMERIC(38,2), "
+                    + "restaurante_id BIGINT REFERENCES restaurantes(id), cliente_id BIGINT REFERENCES clientes(usuario_id))");
+            st.execute("CREATE TABLE item_pedido (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, quantidade INT, "
+                    + "preco_unitario NUMERIC(38,2), subtotal NUMERIC(38,2), pedido_id BIGINT REFERENCES pedidos(id), "
+                    + "produto_id BIGINT REFERENCES produtos(id))");
+        }
+        return h2;
+    }
+
+    private static long numero(DataSource ds, String sql) throws SQLException {
+        try (Connection conexao = ds.getConnection(); Statement st = conexao.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static String texto(DataSource ds, String sql) throws SQLException {
+        try (Connection conexao = ds.getConnection(); Statement st = conexao.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.deliverytech.delivery.dados;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Destino das linhas de uma tabela. No Postgres usa {@code COPY ... FROM STDIN}
+ * em CSV (uma ida ao servidor a cada ~1 MB); nos demais bancos (H2), INSERT
+ * em lote com commit a cada lote. Os valores vêm na ordem das colunas.
+ */
+abstract class SaidaTabela implements AutoCloseable {
+
+    private long linhas;
+
+    static SaidaTabela abrir(Connection conexao, String tabela, String... colunas) throws SQLException {
+        if (conexao.isWrapperFor(PGConnection.class)) {
+            return new Copy(conexao.unwrap(PGConnection.class), tabela, colunas);
+        }
+        return new Lote(conexao, tabela, colunas);
+    }
+
+    final void linha(Object... valores) throws SQLException {
+        escrever(valores);
+        linhas++;
+    }
+
+    final long linhas() {
+        return linhas;
+    }
+
+    protected abstract void escrever(Object[] valores) throws SQLException;
+
+    @Override
+    public abstract void close() throws SQLException;
+
+    private static final class Copy extends SaidaTabela {
+
+        private static final int LIMITE_BUFFER = 1 << 20;
+        private static final DateTimeFormatter DATA_HORA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder(LIMITE_BUFFER + 4096);
+
+        Copy(PGConnection conexao, String tabela, String[] colunas) throws SQLException {
+            this.copy = conexao.getCopyAPI().copyIn(
+                    "COPY " + tabela + " (" + String.join(", ", colunas) + ") FROM STDIN WITH (FORMAT csv)");
+        }
+
+        @Override
+        protected void escrever(Object[] valores) throws SQLException {
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                Object valor = valores[i];
+                if (valor == null) {
+                    // vazio sem aspas = NULL no CSV do COPY
+                } else if (valor instanceof String texto) {
+                    buffer.append('"').append(texto.replace("\"", "\"\"")).append('"');
+                } else if (valor instanceof LocalDateTime dataHora) {
+                    buffer.append(DATA_HORA.format(dataHora));
+                } else if (valor instanceof BigDecimal decimal) {
+                    buffer.append(decimal.toPlainString());
+                } else {
+                    buffer.append(valor);
+                }
+            }
+            buffer.append('\n');
+            if (buffer.length() >= LIMITE_BUFFER) {
+                descarregar();
+            }
+        }
+
+        private void descarregar() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (buffer.length() > 0) {
+                    descarregar();
+                }
+                copy.endCopy();
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+        }
+    }
+
+    private static final class Lote extends SaidaTabela {
+
+        private static final int TAMANHO_LOTE = 5_000;
+
+        private final Connection conexao;
+        private final PreparedStatement insert;
+        private final boolean autoCommitOriginal;
+        private int pendentes;
+
+        Lote(Connection conexao, String tabela, String[] colunas) throws SQLException {
+            this.conexao = conexao;
+            this.autoCommitOriginal = conexao.getAutoCommit();
+            conexao.setAutoCommit(false);
+            this.insert = conexao.prepareStatement("INSERT INTO " + tabela + " (" + String.join(", ", colunas)
+                    + ") VALUES (" + "?, ".repeat(colunas.length - 1) + "?)");
+        }
+
+        @Override
+        protected void escrever(Object[] valores) throws SQLException {
+            for (int i = 0; i < valores.length; i++) {
+                Object valor = valores[i];
+                insert.setObject(i + 1, valor instanceof LocalDateTime dataHora ? Timestamp.valueOf(dataHora) : valor);
+            }
+            insert.addBatch();
+            if (++pendentes == TAMANHO_LOTE) {
+                executarLote();
+            }
+        }
+
+        private void executarLote() throws SQLException {
+            insert.executeBatch();
+            conexao.commit();
+            pendentes = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pendentes > 0) {
+                    executarLote();
+                }
+            } finally {
+                insert.close();
+                conexao.setAutoCommit(autoCommitOriginal);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.deliverytech.delivery.dados;
+
+import java.time.LocalDate;
+
+/**
+ * Tamanho da massa gerada. Os presets seguem a ordem de grandeza de produção
+ * em três escalas; qualquer campo pode ser sobrescrito por {@code -Ddados.*}
+ * (ver {@link #doSistema()}).
+ *
+ * @param clientes               total de clientes
+ * @param restaurantes           total de restaurantes
+ * @param produtosMinimo         tamanho mínimo do cardápio
+ * @param produtosMaximo         tamanho máximo do cardápio
+ * @param dias                   dias de histórico de pedidos, terminando em {@code fim}
+ * @param pedidosPorDia          pedidos num dia médio ao fim do período (o início tem metade: crescimento)
+ * @param fim                    último dia do histórico (inclusive)
+ */
+public record Volume(int clientes, int restaurantes, int produtosMinimo, int produtosMaximo, int dias,
+        int pedidosPorDia, LocalDate fim) {
+
+    public static Volume pequeno() {
+        return new Volume(10_000, 200, 8, 30, 365, 300, LocalDate.now());
+    }
+
+    public static Volume medio() {
+        return new Volume(200_000, 5_000, 8, 40, 730, 3_000, LocalDate.now());
+    }
+
+    public static Volume grande() {
+        return new Volume(2_000_000, 30_000, 8, 40, 1_095, 20_000, LocalDate.now());
+    }
+
+    public static Volume porNome(String nome) {
+        return switch (nome) {
+            case "pequeno" -> pequeno();
+            case "medio" -> medio();
+            case "grande" -> grande();
+            default -> throw new IllegalArgumentException("Volume desconhecido: " + nome + " (pequeno|medio|grande)");
+        };
+    }
+
+    /** Preset de {@code dados.volume} (padrão pequeno) com os campos sobrescritos por {@code -Ddados.*}. */
+    public static Volume doSistema() {
+        Volume base = porNome(System.getProperty("dados.volume", "pequeno"));
+        String fim = System.getProperty("dados.fim");
+        return new Volume(
+                Integer.getInteger("dados.clientes", base.clientes()),
+                Integer.getInteger("dados.restaurantes", base.restaurantes()),
+                Integer.getInteger("dados.produtos-minimo", base.produtosMinimo()),
+                Integer.getInteger("dados.produtos-maximo", base.produtosMaximo()),
+                Integer.getInteger("dados.dias", base.dias()),
+                Integer.getInteger("dados.pedidos-por-dia", base.pedidosPorDia()),
+                fim != null ? LocalDate.parse(fim) : base.fim());
+    }
+}
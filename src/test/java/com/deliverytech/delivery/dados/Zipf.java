@@ -0,0 +1,46 @@
+package com.deliverytech.delivery.dados;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Amostragem Zipfiana em {@code [0, n)}: o rank k sai com probabilidade
+ * proporcional a {@code 1 / (k+1)^s}. A CDF fica pré-calculada (8 bytes por
+ * elemento) e cada amostra é uma busca binária; com s ≈ 1, 1% dos ranks
+ * concentra boa parte das escolhas, como restaurantes num marketplace.
+ */
+public final class Zipf {
+
+    private final double[] acumulada;
+
+    public Zipf(int n, double expoente) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n deve ser positivo");
+        }
+        acumulada = new double[n];
+        double soma = 0;
+        for (int k = 0; k < n; k++) {
+            soma += 1.0 / Math.pow(k + 1, expoente);
+            acumulada[k] = soma;
+        }
+        for (int k = 0; k < n; k++) {
+            acumulada[k] /= soma;
+        }
+        acumulada[n - 1] = 1.0;
+    }
+
+    public int tamanho() {
+        return acumulada.length;
+    }
+
+    /** Rank sorteado: 0 é o mais frequente. */
+    public int amostra(RandomGenerator aleatorio) {
+        int i = Arrays.binarySearch(acumulada, aleatorio.nextDouble());
+        return i >= 0 ? i : -i - 1;
+    }
+
+    /** Fração das amostras que cai nos {@code ranks} primeiros. */
+    public double fracaoAte(int ranks) {
+        return ranks <= 0 ? 0.0 : acumulada[Math.min(ranks, acumulada.length) - 1];
+    }
+}
@@ -0,0 +1,83 @@
+package com.deliverytech.delivery.geo;
+
+import com.deliverytech.delivery.entity.Restaurante;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do índice espacial de restaurantes")
+class RestauranteSpatialIndexTest {
+
+    private static final double LAT_SP = -23.5505;
+    private static final double LON_SP = -46.6333;
+
+    private RestauranteSpatialIndex indice;
+    private List<Restaurante> restaurantes;
+
+    @BeforeEach
+    void setUp() {
+        indice = new RestauranteSpatialIndex();
+        restaurantes = new ArrayList<>();
+        Random random = new Random(42);
+        for (long i = 1; i <= 20_000; i++) {
+            Restaurante r = new Restaurante();
+            r.setId(i);
+            r.setNome("Restaurante " + i);
+            r.setAtivo(true);
+            r.setTaxaEntrega(BigDecimal.valueOf(random.nextInt(15)));
+            r.setLatitude(LAT_SP + (random.nextDouble() - 0.5) * 0.6);
+            r.setLongitude(LON_SP + (random.nextDouble() - 0.5) * 0.6);
+            restaurantes.add(r);
+        }
+        indice.recarregar(restaurantes);
+    }
+
+    @Test
+    @DisplayName("Retorna os mesmos k mais próximos que a busca linear")
+    void buscarProximos_IgualABuscaLinear() {
+        Coordenada origem = new Coordenada(LAT_SP, LON_SP);
+        List<Long> esperado = restaurantes.stream()
+                .filter(r -> origem.distanciaKm(r.getLatitude(), r.getLongitude()) <= 3.0)
+                .sorted(Comparator.comparingDouble(r -> origem.distanciaKm(r.getLatitude(), r.getLongitude())))
+                .limit(10)
+                .map(Restaurante::getId)
+                .toList();
+
+        List<Long> obtido = indice.buscarProximos(LAT_SP, LON_SP, 3.0, 10).stream()
+                .map(r -> r.restaurante().id())
+                .toList();
+
+        assertEquals(esperado, obtido);
+    }
+
+    @Test
+    @DisplayName("Restaurante inativado sai do índice")
+    void atualizar_RemoveRestauranteInativo() {
+        Restaurante maisProximo = restaurantes.stream()
+                .min(Comparator.comparingDouble(r -> new Coordenada(LAT_SP, LON_SP).distanciaKm(r.getLatitude(), r.getLongitude())))
+                .orElseThrow();
+        maisProximo.setAtivo(false);
+
+        indice.atualizar(maisProximo);
+
+        assertEquals(restaurantes.size() - 1, indice.tamanho());
+        assertTrue(indice.buscarProximos(LAT_SP, LON_SP, 50.0, 5).stream()
+                .noneMatch(r -> r.restaurante().id().equals(maisProximo.getId())));
+    }
+
+    @Test
+    @DisplayName("Respeita o raio mesmo quando há menos de k restaurantes")
+    void buscarProximos_RespeitaRaio() {
+        List<RestauranteSpatialIndex.Resultado> resultado = indice.buscarProximos(-3.7319, -38.5267, 5.0, 10);
+
+        assertTrue(resultado.isEmpty());
+    }
+}
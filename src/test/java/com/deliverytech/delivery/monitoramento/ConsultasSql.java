@@ -0,0 +1,50 @@
+package com.deliverytech.delivery.monitoramento;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Orçamento de SQL para testes com MockMvc:
+ * <pre>
+ * mockMvc.perform(get("/pedidos/1"))
+ *         .andExpect(consultasSql().noMaximo(3))
+ *         .andExpect(consultasSql().semRepeticaoAcimaDe(1));
+ * </pre>
+ * Lê as estatísticas que o {@link SqlMonitorFilter} deixa na requisição.
+ */
+public final class ConsultasSql {
+
+    private ConsultasSql() {
+    }
+
+    public static ConsultasSql consultasSql() {
+        return new ConsultasSql();
+    }
+
+    public ResultMatcher noMaximo(int comandos) {
+        return resultado -> {
+            EstatisticasSql estatisticas = estatisticas(resultado);
+            assertTrue(estatisticas.getComandos() <= comandos,
+                    "Esperado no máximo " + comandos + " comandos SQL, executados " + estatisticas.getComandos()
+                            + ": " + estatisticas.getExecucoesPorSql());
+        };
+    }
+
+    public ResultMatcher semRepeticaoAcimaDe(int vezes) {
+        return resultado -> {
+            Map<String, Integer> repetidos = estatisticas(resultado).repetidosAcimaDe(vezes);
+            assertTrue(repetidos.isEmpty(), "SQL repetido mais de " + vezes + " vezes (N+1?): " + repetidos);
+        };
+    }
+
+    public static EstatisticasSql estatisticas(MvcResult resultado) {
+        EstatisticasSql estatisticas = (EstatisticasSql) resultado.getRequest().getAttribute(EstatisticasSql.ATRIBUTO);
+        assertNotNull(estatisticas, "Sem estatísticas de SQL: o SqlMonitorFilter está registrado no MockMvc?");
+        return estatisticas;
+    }
+}
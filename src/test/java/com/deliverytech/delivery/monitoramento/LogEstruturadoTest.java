@@ -0,0 +1,138 @@
+package com.deliverytech.delivery.monitoramento;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.slf4j.event.KeyValuePair;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do log estruturado e amostrado")
+class LogEstruturadoTest {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-0";
+
+    private final LoggerContext contexto = new LoggerContext();
+
+    @AfterEach
+    void tearDown() {
+        NivelLogPorRequisicao.desativar();
+    }
+
+    @Test
+    @DisplayName("Libera DEBUG só na thread ativada e só para os loggers configurados")
+    void liberaDebugSoNaThreadAtivada() {
+        NivelLogPorRequisicao filtro = new NivelLogPorRequisicao();
+        filtro.setLoggers("com.deliverytech, org.hibernate.SQL");
+        Logger servico = contexto.getLogger("com.deliverytech.delivery.services.pedidoServiceImpl");
+        Logger outro = contexto.getLogger("org.apache.catalina.core");
+
+        assertEquals(FilterReply.NEUTRAL, filtro.decide(null, servico, Level.DEBUG, "x", null, null));
+
+        NivelLogPorRequisicao.ativar(Level.DEBUG);
+        assertEquals(FilterReply.ACCEPT, filtro.decide(null, servico, Level.DEBUG, "x", null, null));
+        assertEquals(FilterReply.NEUTRAL, filtro.decide(null, servico, Level.TRACE, "x", null, null));
+        assertEquals(FilterReply.NEUTRAL, filtro.decide(null, outro, Level.DEBUG, "x", null, null));
+        assertEquals(FilterReply.ACCEPT,
+                filtro.decide(null, contexto.getLogger("org.hibernate.SQL"), Level.DEBUG, "x", null, null));
+
+        NivelLogPorRequisicao.desativar();
+        assertEquals(FilterReply.NEUTRAL, filtro.decide(null, servico, Level.DEBUG, "x", null, null));
+    }
+
+    @Test
+    @DisplayName("Gera uma linha JSON com MDC, pares chave-valor e texto escapado")
+    void geraJsonEscapado() {
+        Logger logger = contexto.getLogger("com.deliverytech.teste");
+        LoggingEvent evento = new LoggingEvent(null, logger, Level.DEBUG, "linha \"1\"\nlinha 2", null, null);
+        evento.setThreadName("http-nio-1");
+        evento.setMDCPropertyMap(Map.of("requestId", "abc"));
+        evento.addKeyValuePair(new KeyValuePair("status", 200));
+        evento.addKeyValuePair(new KeyValuePair("rota", "/pedidos/{id}"));
+
+        String json = new LayoutJson().doLayout(evento);
+
+        assertTrue(json.startsWith("{\"@timestamp\":\""));
+        assertTrue(json.endsWith("}" + System.lineSeparator()));
+        assertTrue(json.contains("\"level\":\"DEBUG\""));
+        assertTrue(json.contains("\"message\":\"linha \\\"1\\\"\\nlinha 2\""));
+        assertTrue(json.contains("\"requestId\":\"abc\""));
+        assertTrue(json.contains("\"status\":200"));
+        assertTrue(json.contains("\"rota\":\"/pedidos/{id}\""));
+        assertEquals(1, json.strip().lines().count());
+    }
+
+    @Test
+    @DisplayName("Escolhe o nível pelo header com token, pelo traceparent ou por amostragem")
+    void escolheNivelDaRequisicao() {
+        LogRequisicaoFilter comToken = new LogRequisicaoFilter(0, true, "segredo", false);
+
+        MockHttpServletRequest semToken = new MockHttpServletRequest();
+        semToken.addHeader("X-Log-Level", "DEBUG");
+        assertNull(comToken.nivelDaRequisicao(semToken, null));
+
+        MockHttpServletRequest tokenCerto = new MockHttpServletRequest();
+        tokenCerto.addHeader("X-Log-Level", "trace");
+        tokenCerto.addHeader("X-Log-Token", "segredo");
+        assertEquals(Level.TRACE, comToken.nivelDaRequisicao(tokenCerto, null));
+
+        MockHttpServletRequest vazia = new MockHttpServletRequest();
+        assertEquals(Level.DEBUG, comToken.nivelDaRequisicao(vazia, TRACEPARENT + "1"));
+        assertNull(comToken.nivelDaRequisicao(vazia, TRACEPARENT + "0"));
+        assertNull(new LogRequisicaoFilter(0, false, null, false).nivelDaRequisicao(vazia, TRACEPARENT + "1"));
+        assertEquals(Level.DEBUG, new LogRequisicaoFilter(1, false, null, false).nivelDaRequisicao(vazia, null));
+    }
+
+    @Test
+    @DisplayName("Sem token configurado, o header de nível é ignorado fora do perfil dev")
+    void semToken_IgnoraHeaderForaDoDev() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Log-Level", "TRACE");
+        request.addHeader("X-Log-Token", "qualquer");
+
+        assertNull(new LogRequisicaoFilter(0, false, null, false).nivelDaRequisicao(request, null));
+        assertNull(new LogRequisicaoFilter(0, false, "", false).nivelDaRequisicao(request, null));
+        assertEquals(Level.TRACE, new LogRequisicaoFilter(0, false, null, true).nivelDaRequisicao(request, null));
+    }
+
+    @Test
+    @DisplayName("Propaga o requestId válido e ativa o nível só durante a requisição")
+    void propagaRequestIdENivel() throws Exception {
+        // Perfil dev: sem token configurado, o header basta
+        LogRequisicaoFilter filtro = new LogRequisicaoFilter(0, true, null, true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/pedidos/1");
+        request.addHeader("X-Request-Id", "req-123");
+        request.addHeader("X-Log-Level", "DEBUG");
+        request.addHeader("traceparent", TRACEPARENT + "0");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Level[] nivelNaCadeia = new Level[1];
+        String[] mdcNaCadeia = new String[2];
+
+        filtro.doFilter(request, response, (req, res) -> {
+            nivelNaCadeia[0] = NivelLogPorRequisicao.atual();
+            mdcNaCadeia[0] = MDC.get("requestId");
+            mdcNaCadeia[1] = MDC.get("traceId");
+        });
+
+        assertEquals(Level.DEBUG, nivelNaCadeia[0]);
+        assertEquals("req-123", mdcNaCadeia[0]);
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", mdcNaCadeia[1]);
+        assertEquals("req-123", response.getHeader("X-Request-Id"));
+        assertNull(NivelLogPorRequisicao.atual());
+        assertNull(MDC.get("requestId"));
+
+        assertFalse(LogRequisicaoFilter.requestIdValido("a\r\nSet-Cookie: x"));
+        assertFalse(LogRequisicaoFilter.requestIdValido("x".repeat(65)));
+    }
+}
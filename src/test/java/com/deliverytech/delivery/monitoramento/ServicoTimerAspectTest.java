@@ -0,0 +1,89 @@
+package com.deliverytech.delivery.monitoramento;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.deliverytech.delivery.dto.request.ItemPedidoRequestDTO;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.repository.produtoRepository;
+import com.deliverytech.delivery.service.impl.pedidoServiceImpl;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes do timer das operações de serviço")
+class ServicoTimerAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private produtoRepository produtoRepository;
+    private pedidoServiceImpl pedidoService;
+    private List<ItemPedidoRequestDTO> itens;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        MetricasServico metricasServico = new MetricasServico(registry, new double[] { 0.5, 0.99 },
+                new Duration[] { Duration.ofMillis(10) });
+
+        produtoRepository = mock(produtoRepository.class);
+        pedidoServiceImpl alvo = new pedidoServiceImpl();
+        ReflectionTestUtils.setField(alvo, "produtoRepository", produtoRepository);
+
+        // Mesmo aspecto registrado pelo MetricasConfig, em proxy de classe como o Spring Boot cria
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(alvo);
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new ServicoTimerAspect(metricasServico));
+        pedidoService = fabrica.getProxy();
+
+        ItemPedidoRequestDTO item = new ItemPedidoRequestDTO();
+        item.setProdutoId(1L);
+        item.setQuantidade(2);
+        itens = List.of(item);
+    }
+
+    @Test
+    @DisplayName("Chamada com sucesso registra no timer da classe e método, sem exceção")
+    void sucesso_RegistraTimerDoMetodo() {
+        Produto produto = new Produto();
+        produto.setPreco(new BigDecimal("10.00"));
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
+
+        assertEquals(new BigDecimal("20.00"), pedidoService.calcularValorTotalPedido(itens));
+        pedidoService.calcularValorTotalPedido(itens);
+
+        Timer timer = timer("nenhuma");
+        assertEquals(2, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    @DisplayName("Exceção é propagada e medida no timer marcado com o tipo da exceção")
+    void erro_RegistraTimerDaExcecao() {
+        when(produtoRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> pedidoService.calcularValorTotalPedido(itens));
+
+        assertEquals(1, timer("RuntimeException").count());
+        assertNull(registry.find(MetricasServico.NOME).tag("excecao", "nenhuma").timer());
+    }
+
+    private Timer timer(String excecao) {
+        return registry.get(MetricasServico.NOME)
+                .tag("classe", "pedidoServiceImpl")
+                .tag("metodo", "calcularValorTotalPedido")
+                .tag("excecao", excecao)
+                .timer();
+    }
+}
@@ -0,0 +1,91 @@
+package com.deliverytech.delivery.monitoramento;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do contador de SQL")
+class SqlMonitorTest {
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sqlmonitor;DB_CLOSE_DELAY=-1");
+        dataSource = SqlMonitor.envolver(h2);
+        try (Connection conexao = dataSource.getConnection(); Statement st = conexao.createStatement()) {
+            st.execute("CREATE TABLE IF NOT EXISTS item (id INT PRIMARY KEY, nome VARCHAR(20))");
+            st.execute("DELETE FROM item");
+            st.executeUpdate("INSERT INTO item VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlMonitor.finalizar();
+    }
+
+    @Test
+    @DisplayName("Conta comandos, linhas lidas e linhas afetadas")
+    void contaComandosELinhas() throws Exception {
+        SqlMonitor.iniciar();
+        try (Connection conexao = dataSource.getConnection()) {
+            try (PreparedStatement ps = conexao.prepareStatement("SELECT * FROM item");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    // consome
+                }
+            }
+            try (PreparedStatement ps = conexao.prepareStatement("UPDATE item SET nome = ? WHERE id < 3")) {
+                ps.setString(1, "x");
+                ps.executeUpdate();
+            }
+        }
+        EstatisticasSql estatisticas = SqlMonitor.finalizar();
+
+        assertEquals(2, estatisticas.getComandos());
+        assertEquals(5, estatisticas.getLinhas());
+        assertTrue(estatisticas.getTempoJdbc().toNanos() > 0);
+    }
+
+    @Test
+    @DisplayName("Detecta o mesmo SQL repetido (N+1)")
+    void detectaRepeticao() throws Exception {
+        SqlMonitor.iniciar();
+        try (Connection conexao = dataSource.getConnection()) {
+            for (int id = 1; id <= 3; id++) {
+                try (PreparedStatement ps = conexao.prepareStatement("SELECT nome FROM item WHERE id = ?")) {
+                    ps.setInt(1, id);
+                    ps.executeQuery().close();
+                }
+            }
+        }
+        EstatisticasSql estatisticas = SqlMonitor.finalizar();
+
+        assertEquals(3, estatisticas.getComandos());
+        assertEquals(3, estatisticas.repetidosAcimaDe(2).get("SELECT nome FROM item WHERE id = ?"));
+        assertTrue(estatisticas.repetidosAcimaDe(3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Sem estatísticas abertas só repassa as chamadas")
+    void semEstatisticasNaoRegistra() throws Exception {
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement ps = conexao.prepareStatement("SELECT * FROM item");
+             ResultSet rs = ps.executeQuery()) {
+            assertTrue(rs.next());
+        }
+        assertNull(SqlMonitor.atual());
+    }
+}
@@ -0,0 +1,88 @@
+package com.deliverytech.delivery.ranking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+
+import com.deliverytech.delivery.projection.ItemVendidoRecente;
+import com.deliverytech.delivery.repository.pedidoRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes da carga inicial do ranking de popularidade")
+@ExtendWith(MockitoExtension.class)
+class PopularidadeHistoricoTest {
+
+    @Mock
+    private pedidoRepository pedidoRepository;
+
+    private final PopularidadeTracker tracker = new PopularidadeTracker(200, 60);
+
+    @Test
+    @DisplayName("Semeia restaurantes por pedido e produtos por quantidade, numa consulta limitada que termina na partida")
+    void carregar_SemeiaRankingComPedidosRecentes() {
+        LocalDateTime agora = tracker.getIniciadoEm();
+        // Mais recentes primeiro, como a consulta devolve; o pedido 3 tem dois itens
+        when(pedidoRepository.listarItensVendidos(agora.minusDays(7), agora, PageRequest.of(0, 100))).thenReturn(List.of(
+                item(3L, agora.minusHours(1), 20L, 200L, 1),
+                item(3L, agora.minusHours(1), 20L, 201L, 5),
+                item(2L, agora.minusDays(1), 10L, 200L, 2),
+                item(1L, agora.minusDays(2), 20L, 200L, 1)));
+
+        new PopularidadeHistorico(pedidoRepository, tracker, 7, 100).carregar();
+
+        List<SpaceSavingTopK.Item<Long>> restaurantes = tracker.topRestaurantes(null, PopularidadeTracker.Janela.TOTAL, 10);
+        assertEquals(20L, restaurantes.get(0).chave());
+        assertEquals(2.0, restaurantes.get(0).contagem(), 1e-9);
+        assertEquals(1.0, restaurantes.get(1).contagem(), 1e-9);
+
+        List<SpaceSavingTopK.Item<Long>> produtos = tracker.topProdutos("pizzas", PopularidadeTracker.Janela.TOTAL, 10);
+        assertEquals(201L, produtos.get(0).chave());
+        assertEquals(5.0, produtos.get(0).contagem(), 1e-9);
+        assertEquals(4.0, produtos.get(1).contagem(), 1e-9);
+
+        // Na janela "agora" o pedido de uma hora atrás pesa mais que os de dias atrás
+        assertEquals(20L, tracker.topRestaurantes("italiana", PopularidadeTracker.Janela.AGORA, 1).get(0).chave());
+    }
+
+    @Test
+    @DisplayName("Falha na leitura não impede a partida: o ranking começa vazio")
+    void carregar_FalhaNaConsulta_RankingVazio() {
+        when(pedidoRepository.listarItensVendidos(any(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("banco fora"));
+
+        new PopularidadeHistorico(pedidoRepository, tracker, 7, 100).carregar();
+
+        assertTrue(tracker.topRestaurantes(null, PopularidadeTracker.Janela.TOTAL, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Com dias = 0 a carga fica desligada")
+    void carregar_Desligada_NaoConsulta() {
+        new PopularidadeHistorico(pedidoRepository, tracker, 0, 100).carregar();
+
+        verifyNoInteractions(pedidoRepository);
+    }
+
+    private static ItemVendidoRecente item(Long pedidoId, LocalDateTime data, Long restauranteId, Long produtoId,
+                                           int quantidade) {
+        return new ItemVendidoRecente() {
+            public Long getPedidoId() { return pedidoId; }
+            public LocalDateTime getDataPedido() { return data; }
+            public Long getRestauranteId() { return restauranteId; }
+            public String getCategoriaRestaurante() { return "Italiana"; }
+            public Long getProdutoId() { return produtoId; }
+            public String getCategoriaProduto() { return "Pizzas"; }
+            public Integer getQuantidade() { return quantidade; }
+        };
+    }
+}
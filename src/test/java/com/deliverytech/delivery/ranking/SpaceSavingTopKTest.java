@@ -0,0 +1,79 @@
+package com.deliverytech.delivery.ranking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do contador Space-Saving")
+class SpaceSavingTopKTest {
+
+    @Test
+    @DisplayName("Encontra os itens frequentes mesmo com muitos itens raros")
+    void top_EncontraItensFrequentes() {
+        SpaceSavingTopK<Long> sketch = new SpaceSavingTopK<>(50, 0);
+        Random random = new Random(7);
+        long agora = 0;
+        for (int i = 0; i < 20_000; i++) {
+            // 1, 2 e 3 dominam; o resto é ruído espalhado em 10 mil IDs
+            long id = random.nextInt(10) < 6 ? 1 + random.nextInt(3) : 100 + random.nextInt(10_000);
+            sketch.registrar(id, 1, agora);
+        }
+
+        List<Long> top3 = sketch.top(3, agora).stream().map(SpaceSavingTopK.Item::chave).sorted().toList();
+
+        assertEquals(List.of(1L, 2L, 3L), top3);
+        assertTrue(sketch.tamanho() <= 50);
+    }
+
+    @Test
+    @DisplayName("Com decaimento, itens recentes passam à frente dos antigos")
+    void top_ComDecaimentoPriorizaRecentes() {
+        long meiaVida = 60_000;
+        SpaceSavingTopK<Long> sketch = new SpaceSavingTopK<>(10, meiaVida);
+        sketch.registrar(1L, 100, 0);
+        sketch.registrar(2L, 30, meiaVida * 3);
+
+        List<SpaceSavingTopK.Item<Long>> top = sketch.top(2, meiaVida * 3);
+
+        assertEquals(2L, top.get(0).chave());
+        assertEquals(12.5, top.get(1).contagem(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Com relógio de parede, o decaimento parte do primeiro registro")
+    void top_DecaimentoComInstanteAbsoluto() {
+        long meiaVida = 60_000;
+        long agora = 1_760_000_000_000L;
+        SpaceSavingTopK<Long> sketch = new SpaceSavingTopK<>(10, meiaVida);
+        sketch.registrar(1L, 40, agora);
+        sketch.registrar(2L, 10, agora + meiaVida);
+
+        List<SpaceSavingTopK.Item<Long>> top = sketch.top(2, agora + meiaVida);
+
+        assertEquals(1L, top.get(0).chave());
+        assertEquals(20.0, top.get(0).contagem(), 0.001);
+        assertEquals(10.0, top.get(1).contagem(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Cheio, o item novo substitui o menor contador e herda a contagem como erro")
+    void registrar_SubstituiMenorContador() {
+        SpaceSavingTopK<String> sketch = new SpaceSavingTopK<>(2, 0);
+        sketch.registrar("a", 3, 0);
+        sketch.registrar("b", 1, 0);
+        sketch.registrar("c", 1, 0);
+        sketch.registrar("d", 1, 0);
+
+        List<SpaceSavingTopK.Item<String>> top = sketch.top(2, 0);
+
+        assertEquals(2, sketch.tamanho());
+        assertEquals(List.of("a", "d"), top.stream().map(SpaceSavingTopK.Item::chave).sorted().toList());
+        SpaceSavingTopK.Item<String> d = top.stream().filter(i -> i.chave().equals("d")).findFirst().orElseThrow();
+        assertEquals(3.0, d.contagem(), 0.001);
+        assertEquals(2.0, d.erroMaximo(), 0.001);
+    }
+}
@@ -0,0 +1,133 @@
+package com.deliverytech.delivery.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do rate limiter por token bucket")
+class RateLimiterTest {
+
+    private static final long MINUTO = TimeUnit.MINUTES.toNanos(1);
+
+    private final AtomicLong relogio = new AtomicLong(1_000_000_000L);
+    private RateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new RateLimiter("teste", 10, MINUTO, 100, relogio::get);
+    }
+
+    @Test
+    @DisplayName("Aceita a rajada inteira e recusa a seguinte com a espera até a próxima ficha")
+    void consumir_RajadaERecusa() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.consumir("ip:1"));
+        }
+        long espera = limiter.consumir("ip:1");
+
+        assertTrue(espera > 0 && espera <= MINUTO / 10, "espera: " + espera);
+    }
+
+    @Test
+    @DisplayName("Fichas são repostas com o tempo")
+    void consumir_Recarga() {
+        for (int i = 0; i < 10; i++) {
+            limiter.consumir("ip:1");
+        }
+        relogio.addAndGet(MINUTO / 10);
+
+        assertEquals(0, limiter.consumir("ip:1"));
+        assertTrue(limiter.consumir("ip:1") > 0);
+    }
+
+    @Test
+    @DisplayName("Chaves diferentes têm baldes independentes")
+    void consumir_ChavesIndependentes() {
+        for (int i = 0; i < 10; i++) {
+            limiter.consumir("u:1");
+        }
+
+        assertTrue(limiter.consumir("u:1") > 0);
+        assertEquals(0, limiter.consumir("u:2"));
+    }
+
+    @Test
+    @DisplayName("Baldes ociosos (cheios) são descartados e a memória fica limitada")
+    void removerOciosos_LimitaMemoria() {
+        for (int i = 0; i < 100; i++) {
+            limiter.consumir("ip:" + i);
+        }
+        assertEquals(100, limiter.getChaves());
+
+        // Lotado de baldes em uso: a chave nova vai para um balde de transbordo
+        limiter.consumir("ip:novo");
+        assertEquals(100, limiter.getChaves());
+
+        relogio.addAndGet(MINUTO);
+        assertEquals(100, limiter.removerOciosos());
+        assertEquals(0, limiter.getChaves());
+    }
+
+    @Test
+    @DisplayName("Sob concorrência aceita exatamente o limite")
+    void consumir_Concorrente() throws Exception {
+        AtomicInteger aceitas = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                if (limiter.consumir("ip:1") == 0) {
+                    aceitas.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(10, aceitas.get());
+    }
+
+    @Test
+    @DisplayName("Com o mapa lotado, chaves novas varrem no máximo uma vez por segundo")
+    void consumir_MapaLotado_LimpezaAmortizada() {
+        // 1000/min: um balde com uma requisição fica ocioso em 60 ms
+        RateLimiter rapido = new RateLimiter("rapido", 1000, MINUTO, 100, relogio::get);
+        for (int i = 0; i < 100; i++) {
+            rapido.consumir("ip:" + i);
+        }
+        rapido.consumir("ip:novo-1");
+        assertEquals(100, rapido.getChaves());
+
+        // Todos ociosos, mas a última varredura foi há menos de 1 s
+        relogio.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        rapido.consumir("ip:novo-2");
+        assertEquals(100, rapido.getChaves());
+
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        rapido.consumir("ip:novo-3");
+        assertEquals(1, rapido.getChaves());
+    }
+
+    @Test
+    @DisplayName("Chaves no transbordo não esgotam o balde umas das outras quando caem em faixas diferentes")
+    void consumir_TransbordoEmFaixas() {
+        for (int i = 0; i < 100; i++) {
+            limiter.consumir("ip:" + i);
+        }
+        // "a" e "b" têm hash 97 e 98: faixas diferentes
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.consumir("a"));
+        }
+        assertTrue(limiter.consumir("a") > 0);
+
+        assertEquals(0, limiter.consumir("b"));
+        assertEquals(100, limiter.getChaves());
+    }
+}
@@ -0,0 +1,52 @@
+package com.deliverytech.delivery.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do acesso às métricas")
+class AcessoMetricasTest {
+
+    private final AcessoMetricas acesso = new AcessoMetricas(List.of("127.0.0.1/32", " 10.0.0.0/8", ""));
+
+    @Test
+    @DisplayName("Coletor numa rede permitida entra sem token")
+    void redePermitida_SemToken() {
+        assertTrue(permitido("10.1.2.3", null));
+        assertTrue(permitido("127.0.0.1", null));
+    }
+
+    @Test
+    @DisplayName("Fora das redes permitidas, anônimo e cliente são recusados e ADMIN entra")
+    void foraDaRede_SoAdmin() {
+        assertFalse(permitido("203.0.113.7", null));
+        assertFalse(permitido("203.0.113.7", new TestingAuthenticationToken("cliente", null, "CLIENTE")));
+        assertTrue(permitido("203.0.113.7", new TestingAuthenticationToken("admin", null, "ADMIN")));
+    }
+
+    @Test
+    @DisplayName("X-Forwarded-For não abre o acesso")
+    void cabecalhoEncaminhado_Ignorado() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader("X-Forwarded-For", "127.0.0.1");
+
+        assertFalse(acesso.check(() -> null, new RequestAuthorizationContext(request)).isGranted());
+    }
+
+    private boolean permitido(String endereco, Authentication autenticacao) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        request.setRemoteAddr(endereco);
+        if (autenticacao != null) {
+            autenticacao.setAuthenticated(true);
+        }
+        return acesso.check(() -> autenticacao, new RequestAuthorizationContext(request)).isGranted();
+    }
+}
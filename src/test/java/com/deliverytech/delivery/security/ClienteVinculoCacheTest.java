@@ -0,0 +1,97 @@
+package com.deliverytech.delivery.security;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.deliverytech.delivery.cache.CacheInvalidationBus;
+import com.deliverytech.delivery.cache.LoopbackInvalidationTransport;
+import com.deliverytech.delivery.repository.clienteRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes do cache de vínculo usuário → cliente")
+@ExtendWith(MockitoExtension.class)
+class ClienteVinculoCacheTest {
+
+    @Mock
+    private clienteRepository clienteRepository;
+
+    private String canal;
+    private ClienteVinculoCache vinculoNoA;
+
+    @BeforeEach
+    void setUp() {
+        canal = "vinculos_" + System.nanoTime();
+        vinculoNoA = novoNo("A", 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private ClienteVinculoCache novoNo(String no, long validadeSegundos) {
+        CacheInvalidationBus bus = new CacheInvalidationBus(new ConcurrentMapCacheManager(),
+                new LoopbackInvalidationTransport(canal), no);
+        return new ClienteVinculoCache(clienteRepository, bus, 1000, validadeSegundos, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Vínculo relido antes do commit da troca de email sai de novo após o commit")
+    void invalidarCliente_EmTransacao_RemoveDeNovoAposCommit() {
+        when(clienteRepository.buscarIdPorEmail("joao@email.com")).thenReturn(Optional.of(1L));
+        assertEquals(1L, vinculoNoA.clienteIdDe(10L, "joao@email.com"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        vinculoNoA.invalidarCliente(1L);
+        // Checagem concorrente lê o email antigo, ainda não commitado, e repõe o vínculo
+        assertEquals(1L, vinculoNoA.clienteIdDe(10L, "joao@email.com"));
+        verify(clienteRepository, times(2)).buscarIdPorEmail("joao@email.com");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        when(clienteRepository.buscarIdPorEmail("joao@email.com")).thenReturn(Optional.empty());
+        assertNull(vinculoNoA.clienteIdDe(10L, "joao@email.com"));
+    }
+
+    @Test
+    @DisplayName("Troca de email em outro nó desfaz o vínculo aqui")
+    void invalidarCliente_OutroNo_RemoveVinculo() {
+        ClienteVinculoCache vinculoNoB = novoNo("B", 300);
+        when(clienteRepository.buscarIdPorEmail("joao@email.com")).thenReturn(Optional.of(1L));
+        vinculoNoA.clienteIdDe(10L, "joao@email.com");
+        vinculoNoA.clienteIdDe(10L, "joao@email.com");
+        verify(clienteRepository, times(1)).buscarIdPorEmail("joao@email.com");
+
+        vinculoNoB.invalidarCliente(1L);
+        vinculoNoA.clienteIdDe(10L, "joao@email.com");
+
+        verify(clienteRepository, times(2)).buscarIdPorEmail("joao@email.com");
+    }
+
+    @Test
+    @DisplayName("Vínculo vencido é relido do banco")
+    void clienteIdDe_VinculoVencido_ReleDoBanco() {
+        ClienteVinculoCache semValidade = novoNo("C", 0);
+        when(clienteRepository.buscarIdPorEmail("joao@email.com")).thenReturn(Optional.of(1L), Optional.of(2L));
+
+        assertEquals(1L, semValidade.clienteIdDe(10L, "joao@email.com"));
+        assertEquals(2L, semValidade.clienteIdDe(10L, "joao@email.com"));
+    }
+}
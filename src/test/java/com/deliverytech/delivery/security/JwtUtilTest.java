@@ -0,0 +1,70 @@
+package com.deliverytech.delivery.security;
+
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do JwtUtil")
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(100);
+        Usuario usuario = Usuario.builder().id(7L).email("maria@email.com").role(Role.CLIENTE).build();
+        userDetails = User.withUsername(usuario.getEmail()).password("x").authorities("ROLE_CLIENTE").build();
+        token = jwtUtil.generateToken(userDetails, usuario);
+    }
+
+    @Test
+    @DisplayName("Valida o token e devolve as claims")
+    void validarToken_DevolveClaims() {
+        Claims claims = jwtUtil.validarToken(token);
+
+        assertEquals("maria@email.com", claims.getSubject());
+        assertEquals(7, ((Number) claims.get("userId")).intValue());
+        assertTrue(jwtUtil.isTokenValid(token, userDetails));
+    }
+
+    @Test
+    @DisplayName("Segunda validação do mesmo token vem do cache")
+    void validarToken_ReaproveitaCache() {
+        Claims primeira = jwtUtil.validarToken(token);
+        Claims segunda = jwtUtil.validarToken(token);
+
+        assertSame(primeira, segunda);
+    }
+
+    @Test
+    @DisplayName("Rejeita token adulterado, mesmo depois de um válido ter entrado no cache")
+    void validarToken_RejeitaAdulterado() {
+        jwtUtil.validarToken(token);
+        String adulterado = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.validarToken(adulterado));
+        assertFalse(jwtUtil.isTokenValid(adulterado, userDetails));
+    }
+
+    @Test
+    @DisplayName("Cache limitado não impede validar muitos tokens distintos")
+    void validarToken_CacheLimitado() {
+        JwtUtil pequeno = new JwtUtil(2);
+        for (long id = 1; id <= 10; id++) {
+            Usuario usuario = Usuario.builder().id(id).email("u" + id + "@email.com").role(Role.CLIENTE).build();
+            UserDetails detalhes = User.withUsername(usuario.getEmail()).password("x").authorities("ROLE_CLIENTE").build();
+            String t = pequeno.generateToken(detalhes, usuario);
+            assertEquals(usuario.getEmail(), pequeno.validarToken(t).getSubject());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.deliverytech.delivery.security;
+
+import com.deliverytech.delivery.cache.CacheInvalidationBus;
+import com.deliverytech.delivery.entity.TokenRevogado;
+import com.deliverytech.delivery.repository.tokenRevogadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes da lista de tokens revogados")
+@ExtendWith(MockitoExtension.class)
+class ListaRevogacaoTokensTest {
+
+    @Mock
+    private tokenRevogadoRepository tokenRevogadoRepository;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private ListaRevogacaoTokens lista;
+
+    @BeforeEach
+    void setUp() {
+        lista = new ListaRevogacaoTokens(tokenRevogadoRepository, cacheInvalidationBus);
+    }
+
+    @Test
+    @DisplayName("Token revogado passa a constar da lista, grava na tabela e avisa os outros nós")
+    void revogar_GravaEPublica() {
+        String jti = UUID.randomUUID().toString();
+
+        lista.revogar(jti, 1L, new Date(System.currentTimeMillis() + 60_000));
+
+        assertTrue(lista.estaRevogado(jti));
+        assertFalse(lista.estaRevogado(UUID.randomUUID().toString()));
+        verify(tokenRevogadoRepository).save(any(TokenRevogado.class));
+        verify(cacheInvalidationBus).evict(ListaRevogacaoTokens.NOME_CACHE, jti);
+    }
+
+    @Test
+    @DisplayName("Token já expirado não é gravado")
+    void revogar_TokenExpirado() {
+        String jti = UUID.randomUUID().toString();
+
+        lista.revogar(jti, 1L, new Date(System.currentTimeMillis() - 1000));
+
+        assertFalse(lista.estaRevogado(jti));
+        verifyNoInteractions(tokenRevogadoRepository);
+    }
+
+    @Test
+    @DisplayName("jti ausente ou fora do formato UUID nunca consta da lista")
+    void estaRevogado_JtiInvalido() {
+        assertFalse(lista.estaRevogado(null));
+        assertFalse(lista.estaRevogado("abc"));
+        assertFalse(lista.estaRevogado("zzzzzzzz-zzzz-zzzz-zzzz-zzzzzzzzzzzz"));
+    }
+
+    @Test
+    @DisplayName("Carga inicial recupera as revogações ainda válidas da tabela")
+    void carregar_RecuperaDaTabela() {
+        String jti = UUID.randomUUID().toString();
+        when(tokenRevogadoRepository.findByExpiraEmAfter(any())).thenReturn(List.of(
+                new TokenRevogado(jti, 1L, LocalDateTime.now().plusHours(1), LocalDateTime.now())));
+
+        lista.carregar();
+
+        assertTrue(lista.estaRevogado(jti));
+    }
+
+    @Test
+    @DisplayName("Leitura dos trechos do UUID equivale a UUID.fromString")
+    void msbLsb_EquivalemAoUuid() {
+        for (int i = 0; i < 1000; i++) {
+            UUID uuid = UUID.randomUUID();
+            assertEquals(uuid.getMostSignificantBits(), ListaRevogacaoTokens.msb(uuid.toString()));
+            assertEquals(uuid.getLeastSignificantBits(), ListaRevogacaoTokens.lsb(uuid.toString()));
+        }
+    }
+
+    @Test
+    @DisplayName("Conjunto cresce além da capacidade inicial e limpa só as entradas expiradas")
+    void revogacaoSet_CresceELimpa() {
+        RevogacaoSet set = new RevogacaoSet();
+        long agora = System.currentTimeMillis();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            UUID uuid = UUID.randomUUID();
+            ids.add(uuid);
+            set.adicionar(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), i % 2 == 0 ? agora - 1 : agora + 60_000);
+        }
+
+        assertEquals(2500, set.limparExpirados(agora));
+        assertEquals(2500, set.tamanho());
+        for (int i = 0; i < ids.size(); i++) {
+            UUID uuid = ids.get(i);
+            assertEquals(i % 2 != 0, set.contem(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), agora));
+        }
+    }
+}
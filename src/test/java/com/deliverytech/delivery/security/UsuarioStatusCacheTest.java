@@ -0,0 +1,117 @@
+package com.deliverytech.delivery.security;
+
+import com.deliverytech.delivery.cache.CacheInvalidationBus;
+import com.deliverytech.delivery.projection.StatusUsuario;
+import com.deliverytech.delivery.repository.usuarioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes do cache de status de usuário")
+@ExtendWith(MockitoExtension.class)
+class UsuarioStatusCacheTest {
+
+    @Mock
+    private usuarioRepository usuarioRepository;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private UsuarioStatusCache statusCache;
+
+    @BeforeEach
+    void setUp() {
+        statusCache = new UsuarioStatusCache(usuarioRepository, cacheInvalidationBus, 60, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Usuário ativo é liberado e a segunda verificação não vai ao banco")
+    void permiteAcesso_AtivoComCache() {
+        when(usuarioRepository.buscarStatus(1L)).thenReturn(Optional.of(status(true, null)));
+
+        assertTrue(statusCache.permiteAcesso(1L, new Date()));
+        assertTrue(statusCache.permiteAcesso(1L, new Date()));
+
+        verify(usuarioRepository, times(1)).buscarStatus(1L);
+    }
+
+    @Test
+    @DisplayName("Usuário desativado é barrado logo após a invalidação")
+    void permiteAcesso_DesativadoAposInvalidar() {
+        when(usuarioRepository.buscarStatus(1L))
+                .thenReturn(Optional.of(status(true, null)))
+                .thenReturn(Optional.of(status(false, null)));
+
+        assertTrue(statusCache.permiteAcesso(1L, new Date()));
+        statusCache.invalidar(1L);
+
+        assertFalse(statusCache.permiteAcesso(1L, new Date()));
+        verify(cacheInvalidationBus).evict(UsuarioStatusCache.NOME_CACHE, 1L);
+    }
+
+    @Test
+    @DisplayName("Token emitido antes da revogação é barrado; emitido depois é aceito")
+    void permiteAcesso_Revogacao() {
+        LocalDateTime revogadoEm = LocalDateTime.now().withNano(0);
+        when(usuarioRepository.buscarStatus(1L)).thenReturn(Optional.of(status(true, revogadoEm)));
+        long revogadoMillis = revogadoEm.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        assertFalse(statusCache.permiteAcesso(1L, new Date(revogadoMillis - 5_000)));
+        assertTrue(statusCache.permiteAcesso(1L, new Date(revogadoMillis + 1_000)));
+    }
+
+    @Test
+    @DisplayName("Token emitido no mesmo segundo da revogação é barrado")
+    void permiteAcesso_RevogacaoNoMesmoSegundo() {
+        LocalDateTime revogadoEm = LocalDateTime.now().withNano(600_000_000);
+        when(usuarioRepository.buscarStatus(1L)).thenReturn(Optional.of(status(true, revogadoEm)));
+        long segundoDaRevogacao = revogadoEm.withNano(0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        // O "iat" do token emitido 0,4 s antes da revogação cai no mesmo segundo
+        assertFalse(statusCache.permiteAcesso(1L, new Date(segundoDaRevogacao + 200)));
+        assertTrue(statusCache.permiteAcesso(1L, new Date(segundoDaRevogacao + 1_000)));
+    }
+
+    @Test
+    @DisplayName("Sem revogação registrada, qualquer token de usuário ativo passa")
+    void permiteAcesso_SemRevogacao() {
+        when(usuarioRepository.buscarStatus(1L)).thenReturn(Optional.of(status(true, null)));
+
+        assertTrue(statusCache.permiteAcesso(1L, new Date(0)));
+    }
+
+    @Test
+    @DisplayName("Usuário inexistente ou token sem userId são barrados")
+    void permiteAcesso_Inexistente() {
+        when(usuarioRepository.buscarStatus(99L)).thenReturn(Optional.empty());
+
+        assertFalse(statusCache.permiteAcesso(99L, new Date()));
+        assertFalse(statusCache.permiteAcesso(null, new Date()));
+    }
+
+    private static StatusUsuario status(boolean ativo, LocalDateTime revogadoEm) {
+        return new StatusUsuario() {
+            @Override
+            public Boolean getAtivo() {
+                return ativo;
+            }
+
+            @Override
+            public LocalDateTime getTokensRevogadosEm() {
+                return revogadoEm;
+            }
+        };
+    }
+}
@@ -0,0 +1,170 @@
+package com.deliverytech.delivery.servicesImpl;
+
+import com.deliverytech.delivery.cache.CacheInvalidationBus;
+import com.deliverytech.delivery.cache.RestauranteCatalogCache;
+import com.deliverytech.delivery.dto.request.AvaliacaoRequestDTO;
+import com.deliverytech.delivery.dto.response.AvaliacaoResponseDTO;
+import com.deliverytech.delivery.entity.*;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.exceptions.BusinessException;
+import com.deliverytech.delivery.exceptions.ConflictException;
+import com.deliverytech.delivery.projection.AgregadoAvaliacao;
+import com.deliverytech.delivery.repository.*;
+import com.deliverytech.delivery.security.ClienteVinculoCache;
+import com.deliverytech.delivery.service.impl.avaliacaoServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@DisplayName("Testes Unitário Avaliação Service")
+@ExtendWith(MockitoExtension.class)
+class AvaliacaoServiceImplTest {
+
+    @InjectMocks
+    private avaliacaoServiceImpl avaliacaoService;
+
+    @Mock private avaliacaoRepository avaliacaoRepository;
+    @Mock private pedidoRepository pedidoRepository;
+    @Mock private restauranteRepository restauranteRepository;
+    @Mock private RestauranteCatalogCache restauranteCatalogCache;
+    @Mock private ClienteVinculoCache clienteVinculoCache;
+    @Mock private CacheInvalidationBus cacheInvalidationBus;
+
+    private Pedido pedido;
+    private Restaurante restaurante;
+    private AvaliacaoRequestDTO avaliacaoDTO;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+
+        restaurante = new Restaurante();
+        restaurante.setId(10L);
+
+        pedido = new Pedido();
+        pedido.setId(100L);
+        pedido.setCliente(cliente);
+        pedido.setRestaurante(restaurante);
+        pedido.setStatus(StatusPedido.ENTREGUE.name());
+
+        avaliacaoDTO = new AvaliacaoRequestDTO();
+        avaliacaoDTO.setPedidoId(100L);
+        avaliacaoDTO.setNota(4);
+        avaliacaoDTO.setComentario("Chegou quente");
+    }
+
+    @Test
+    @DisplayName("Deve salvar a avaliação e atualizar soma, total e média do restaurante")
+    void avaliar_AtualizaAgregado() {
+        // Given
+        when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+        when(avaliacaoRepository.existsByPedidoId(100L)).thenReturn(false);
+        when(avaliacaoRepository.save(any(Avaliacao.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+        when(restauranteRepository.buscarAgregadoAvaliacao(10L)).thenReturn(agregado(10L, 9L, 2L));
+        when(restauranteRepository.findById(10L)).thenReturn(Optional.of(restaurante));
+
+        // When
+        AvaliacaoResponseDTO resultado = avaliacaoService.avaliar(avaliacaoDTO);
+
+        // Then
+        assertEquals(10L, resultado.getRestauranteId());
+        assertEquals(4, resultado.getNota());
+        verify(restauranteRepository).somarAvaliacao(10L, 4);
+        verify(restauranteRepository).definirAgregadoAvaliacao(10L, 9L, 2L, new BigDecimal("4.5"));
+        verify(restauranteCatalogCache).gravar(restaurante);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao avaliar pedido já avaliado")
+    void avaliar_ErroPedidoJaAvaliado() {
+        // Given
+        when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+        when(avaliacaoRepository.existsByPedidoId(100L)).thenReturn(true);
+
+        // When & Then
+        assertThrows(ConflictException.class, () -> avaliacaoService.avaliar(avaliacaoDTO));
+        verify(avaliacaoRepository, never()).save(any());
+        verify(restauranteRepository, never()).somarAvaliacao(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao avaliar pedido ainda não entregue")
+    void avaliar_ErroPedidoNaoEntregue() {
+        // Given
+        pedido.setStatus(StatusPedido.PENDENTE.name());
+        when(pedidoRepository.findById(100L)).thenReturn(Optional.of(pedido));
+
+        // When & Then
+        BusinessException erro = assertThrows(BusinessException.class, () -> avaliacaoService.avaliar(avaliacaoDTO));
+        assertFalse(erro instanceof ConflictException);
+        verify(avaliacaoRepository, never()).save(any());
+        verify(restauranteRepository, never()).somarAvaliacao(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Recalculo regrava só os divergentes e zera restaurantes sem avaliações")
+    void recalcularAgregados_CorrigeDivergentesEZeraSemAvaliacoes() {
+        // Given
+        when(avaliacaoRepository.buscarAgregadosDivergentes())
+                .thenReturn(List.of(agregado(10L, 14L, 3L), agregado(20L, 0L, 0L)));
+
+        // When
+        int corrigidos = avaliacaoService.recalcularAgregados();
+
+        // Then
+        assertEquals(2, corrigidos);
+        verify(restauranteRepository).definirAgregadoAvaliacao(10L, 14L, 3L, new BigDecimal("4.7"));
+        verify(restauranteRepository).definirAgregadoAvaliacao(20L, 0L, 0L, null);
+        verify(restauranteRepository, never()).buscarAgregadoAvaliacao(any());
+        verify(restauranteCatalogCache).carregar();
+        verify(cacheInvalidationBus).clear(RestauranteCatalogCache.NOME_CACHE);
+    }
+
+    @Test
+    @DisplayName("Recalculo sem divergências não regrava nem recarrega o catálogo")
+    void recalcularAgregados_SemDivergencias() {
+        // Given
+        when(avaliacaoRepository.buscarAgregadosDivergentes()).thenReturn(List.of());
+
+        // When
+        int corrigidos = avaliacaoService.recalcularAgregados();
+
+        // Then
+        assertEquals(0, corrigidos);
+        verifyNoInteractions(restauranteRepository, restauranteCatalogCache, cacheInvalidationBus);
+    }
+
+    private static AgregadoAvaliacao agregado(Long restauranteId, Long soma, Long total) {
+        return new AgregadoAvaliacao() {
+            @Override
+            public Long getRestauranteId() {
+                return restauranteId;
+            }
+
+            @Override
+            public Long getSoma() {
+                return soma;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+}
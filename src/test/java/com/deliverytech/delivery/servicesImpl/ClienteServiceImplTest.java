@@ -13,16 +13,23 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.mockito.MockedStatic;
+import org.springframework.security.access.AccessDeniedException;
 
 
+import com.deliverytech.delivery.security.ClienteVinculoCache;
 import com.deliverytech.delivery.security.SecurityUtils; 
 import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.bloom.EmailBloomFilter;
+import com.deliverytech.delivery.busca.ClienteNomeSearch;
 import com.deliverytech.delivery.dto.request.ClienteRequestDTO;
 import com.deliverytech.delivery.dto.response.ClienteResponseDTO;
 import com.deliverytech.delivery.entity.Cliente;
 import com.deliverytech.delivery.exceptions.BusinessException;
 import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.geo.CepGeocoder;
 import com.deliverytech.delivery.repository.clienteRepository;
 import com.deliverytech.delivery.service.impl.clienteServiceImpl;
 
@@ -49,6 +56,18 @@ class clienteServiceImplTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private CepGeocoder cepGeocoder;
+
+    @Mock
+    private EmailBloomFilter clienteEmailFilter;
+
+    @Mock
+    private ClienteNomeSearch clienteNomeSearch;
+
+    @Mock
+    private ClienteVinculoCache clienteVinculoCache;
+
     private Cliente cliente;
     private ClienteRequestDTO clienteRequestDTO;
     private ClienteResponseDTO clienteResponseDTO;
@@ -97,8 +116,8 @@ class clienteServiceImplTest {
 
         try (MockedStatic<SecurityUtils> utilities = mockStatic(SecurityUtils.class)) {
             // Simula que a Maria está logada e que ela é a dona do dado que está sendo atualizado
-            utilities.when(SecurityUtils::getCurrentUserEmail).thenReturn("maria@maria.com");
             utilities.when(SecurityUtils::isAdmin).thenReturn(false);
+            when(clienteVinculoCache.ehDoUsuarioAtual(clienteId)).thenReturn(true);
 
             when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(cliente));
             when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
@@ -135,8 +154,8 @@ class clienteServiceImplTest {
 
         // Setup do usuário logado para o Mock
         try (MockedStatic<SecurityUtils> utilities = mockStatic(SecurityUtils.class)) {
-            utilities.when(SecurityUtils::getCurrentUserEmail).thenReturn("maria@maria.com");
             utilities.when(SecurityUtils::isAdmin).thenReturn(false);
+            when(clienteVinculoCache.ehDoUsuarioAtual(clienteId)).thenReturn(true);
 
             when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(cliente));
             when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
@@ -168,8 +187,8 @@ class clienteServiceImplTest {
 
         try (MockedStatic<SecurityUtils> utilities = mockStatic(SecurityUtils.class)) {
             // Simula que o usuário logado está buscando o próprio ID
-            utilities.when(SecurityUtils::getCurrentUserEmail).thenReturn("maria@maria.com");
             utilities.when(SecurityUtils::isAdmin).thenReturn(false);
+            when(clienteVinculoCache.ehDoUsuarioAtual(clienteId)).thenReturn(true);
 
             when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(cliente));
             when(modelMapper.map(any(Cliente.class), eq(ClienteResponseDTO.class)))
@@ -229,7 +248,8 @@ class clienteServiceImplTest {
         cliente.setTelefone("11999999999");
         cliente.setEndereco("Rua Exemplo, 123, São Paulo, SP");
 
-        when(clienteRepository.findByAtivoTrue()).thenReturn(List.of(cliente));
+        when(clienteRepository.findByAtivoTrueAndIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(cliente), PageRequest.of(0, 20), false));
         when(modelMapper.map(any(Cliente.class), eq(ClienteResponseDTO.class)))
                 .thenReturn(new ClienteResponseDTO() {{
                     setNome("Maria Silva");
@@ -239,7 +259,8 @@ class clienteServiceImplTest {
                     setAtivo(true);
                 }});
         // When
-        var responseList = clienteService.listarAtivos();
+        var resposta = clienteService.listarAtivos(null, 20, false);
+        var responseList = resposta.getContent();
         // Then
         assertNotNull(responseList);
         assertFalse(responseList.isEmpty());
@@ -247,7 +268,9 @@ class clienteServiceImplTest {
         assertEquals("Maria Silva", responseList.get(0).getNome());
         assertEquals("maria@maria.com", responseList.get(0).getEmail());
         assertTrue(responseList.get(0).getAtivo());
-        verify(clienteRepository).findByAtivoTrue();
+        assertFalse(resposta.isHasNext());
+        assertNull(resposta.getNextCursor());
+        verify(clienteRepository).findByAtivoTrueAndIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class));
         verify(modelMapper).map(any(Cliente.class), eq(ClienteResponseDTO.class));
 
     }
@@ -265,7 +288,10 @@ class clienteServiceImplTest {
         cliente.setTelefone("11999999999");
         cliente.setEndereco("Rua Exemplo, 123, São Paulo, SP");
 
-        when(clienteRepository.findByNomeContainingIgnoreCase(nome)).thenReturn(List.of(cliente));
+        Pageable pageable = PageRequest.of(0, 10);
+        when(clienteNomeSearch.buscar(nome, pageable))
+                .thenReturn(new PageImpl<>(List.of(new ClienteNomeSearch.Resultado(1L, 0.5)), pageable, 1));
+        when(clienteRepository.findAllById(List.of(1L))).thenReturn(List.of(cliente));
         when(modelMapper.map(any(Cliente.class), eq(ClienteResponseDTO.class)))
                 .thenReturn(new ClienteResponseDTO() {{
                     setNome("Maria Silva");
@@ -275,7 +301,7 @@ class clienteServiceImplTest {
                     setAtivo(true);
                 }});
         // When
-        List<ClienteResponseDTO> responseList = clienteService.buscarPorNome(nome);
+        List<ClienteResponseDTO> responseList = clienteService.buscarPorNome(nome, pageable).getContent();
         // Then
         assertNotNull(responseList);
         assertFalse(responseList.isEmpty());
@@ -283,7 +309,8 @@ class clienteServiceImplTest {
         assertEquals("Maria Silva", responseList.get(0).getNome());
         assertEquals("maria@maria.com", responseList.get(0).getEmail());
         assertTrue(responseList.get(0).getAtivo());
-        verify(clienteRepository).findByNomeContainingIgnoreCase(nome);
+        verify(clienteNomeSearch).buscar(nome, pageable);
+        verify(clienteRepository).findAllById(List.of(1L));
         verify(modelMapper).map(any(Cliente.class), eq(ClienteResponseDTO.class));
 
     }
@@ -303,27 +330,41 @@ class clienteServiceImplTest {
     @DisplayName("Deve lançar exceção ao buscar ID inexistente")
     void buscarPorId_NaoEncontrado() {
         // Given
+        when(clienteVinculoCache.ehDoUsuarioAtual(99L)).thenReturn(true);
         when(clienteRepository.findById(99L)).thenReturn(Optional.empty());
         // When & Then
         assertThrows(BusinessException.class, () -> clienteService.buscarPorId(99L));
     }
 
+    @Test
+    @DisplayName("Deve negar acesso a outro cliente sem carregá-lo")
+    void buscarPorId_OutroCliente() {
+        // Given
+        when(clienteVinculoCache.ehDoUsuarioAtual(2L)).thenReturn(false);
+        // When & Then
+        assertThrows(AccessDeniedException.class, () -> clienteService.buscarPorId(2L));
+        verify(clienteRepository, never()).findById(any());
+    }
+
     @Test
     @DisplayName("Deve listar clientes com paginação")
     void listarTodosPaginado() {
         // Given
-        Pageable pageable = PageRequest.of(0, 10); // Cria um objeto Pageable
-        Page<Cliente> paginaCliente = new PageImpl<>(List.of(cliente), pageable, 1);
-        
-        when(clienteRepository.findAll(pageable)).thenReturn(paginaCliente);
-        
+        Pageable pageable = PageRequest.of(0, 1); // Uma linha por página
+        Slice<Cliente> paginaCliente = new SliceImpl<>(List.of(cliente), pageable, true);
+
+        when(clienteRepository.findByIdGreaterThanOrderByIdAsc(0L, pageable)).thenReturn(paginaCliente);
+
         // When
-        Page<ClienteResponseDTO> resultado = clienteService.listarTodosPaginado(pageable);
+        var resultado = clienteService.listarTodosPaginado(null, 1, false);
 
         // Then
         assertNotNull(resultado);
-        assertFalse(resultado.isEmpty());
         assertEquals(1, resultado.getContent().size());
-        verify(clienteRepository).findAll(pageable);
+        assertTrue(resultado.isHasNext());
+        assertEquals(1L, resultado.getNextCursor()); // Próxima página começa depois do ID 1
+        assertNull(resultado.getApproximateTotal()); // Sem COUNT quando o total não é pedido
+        verify(clienteRepository).findByIdGreaterThanOrderByIdAsc(0L, pageable);
+        verify(clienteRepository, never()).count();
     }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.deliverytech.delivery.servicesImpl;
+
+import com.deliverytech.delivery.entity.RefreshToken;
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.enums.Role;
+import com.deliverytech.delivery.repository.refreshTokenRepository;
+import com.deliverytech.delivery.service.refreshTokenService;
+import com.deliverytech.delivery.service.impl.refreshTokenServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes Unitário Refresh Token Service")
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceImplTest {
+
+    @Mock
+    private refreshTokenRepository refreshTokenRepository;
+
+    private refreshTokenServiceImpl refreshTokenService;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new refreshTokenServiceImpl(refreshTokenRepository, "segredo-de-teste", 30);
+        usuario = Usuario.builder().id(1L).email("joao@email.com").role(Role.CLIENTE).ativo(true).build();
+    }
+
+    @Test
+    @DisplayName("Emite token aleatório e guarda só o hash")
+    void emitir_GuardaHash() {
+        String token = refreshTokenService.emitir(usuario);
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertNotNull(token);
+        assertNotEquals(token, captor.getValue().getTokenHash());
+        assertEquals(64, captor.getValue().getTokenHash().length());
+    }
+
+    @Test
+    @DisplayName("Rotaciona para um novo token da mesma família")
+    void rotacionar_ComSucesso() {
+        String token = refreshTokenService.emitir(usuario);
+        RefreshToken salvo = capturarSalvo();
+        salvo.setId(10L);
+        when(refreshTokenRepository.buscarPorHash(salvo.getTokenHash())).thenReturn(Optional.of(salvo));
+        when(refreshTokenRepository.marcarUsado(eq(10L), any())).thenReturn(1);
+
+        refreshTokenService.Rotacao rotacao = refreshTokenService.rotacionar(token);
+
+        assertSame(usuario, rotacao.usuario());
+        assertNotEquals(token, rotacao.refreshToken());
+        verify(refreshTokenRepository, never()).revogarFamilia(anyString());
+    }
+
+    @Test
+    @DisplayName("Reuso de token já trocado revoga a família")
+    void rotacionar_ReusoRevogaFamilia() {
+        String token = refreshTokenService.emitir(usuario);
+        RefreshToken salvo = capturarSalvo();
+        salvo.setId(10L);
+        salvo.setUsadoEm(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.buscarPorHash(salvo.getTokenHash())).thenReturn(Optional.of(salvo));
+        when(refreshTokenRepository.marcarUsado(eq(10L), any())).thenReturn(0);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotacionar(token));
+        verify(refreshTokenRepository).revogarFamilia(salvo.getFamilia());
+    }
+
+    @Test
+    @DisplayName("Token desconhecido é rejeitado")
+    void rotacionar_Desconhecido() {
+        when(refreshTokenRepository.buscarPorHash(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotacionar("nao-existe"));
+    }
+
+    private RefreshToken capturarSalvo() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        clearInvocations(refreshTokenRepository);
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,184 @@
+package com.deliverytech.delivery.servicesImpl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.deliverytech.delivery.cache.CacheInvalidationBus;
+import com.deliverytech.delivery.cache.LoopbackInvalidationTransport;
+import com.deliverytech.delivery.cache.RestauranteCatalogCache;
+import com.deliverytech.delivery.dto.request.RestauranteRequestDTO;
+import com.deliverytech.delivery.dto.response.RestauranteResponseDTO;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.exceptions.BusinessException;
+import com.deliverytech.delivery.geo.CepGeocoder;
+import com.deliverytech.delivery.geo.RestauranteSpatialIndex;
+import com.deliverytech.delivery.ranking.PopularidadeTracker;
+import com.deliverytech.delivery.repository.restauranteRepository;
+import com.deliverytech.delivery.service.impl.restauranteServiceImpl;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DisplayName("Testes Unitário Restaurante Service")
+@ExtendWith(MockitoExtension.class)
+class RestauranteServiceImplTest {
+
+    @Mock
+    private restauranteRepository restauranteRepository;
+
+    @Mock
+    private ModelMapper modelMapper;
+
+    @Mock
+    private CepGeocoder cepGeocoder;
+
+    @Mock
+    private RestauranteSpatialIndex restauranteSpatialIndex;
+
+    @Mock
+    private RestauranteCatalogCache restauranteCatalogCache;
+
+    @Mock
+    private PopularidadeTracker popularidadeTracker;
+
+    @InjectMocks
+    private restauranteServiceImpl restauranteService;
+
+    private Restaurante restaurante;
+
+    @BeforeEach
+    void setUp() {
+        // Cache e barramento reais: o que se testa é a contagem em cache e a sua invalidação
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+        ReflectionTestUtils.setField(restauranteService, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(restauranteService, "cacheInvalidationBus", new CacheInvalidationBus(
+                cacheManager, new LoopbackInvalidationTransport("restaurantes_" + System.nanoTime()), "A"));
+
+        restaurante = new Restaurante();
+        restaurante.setId(1L);
+        restaurante.setNome("Pizzaria Bella");
+        restaurante.setCategoria("Italiana");
+        restaurante.setAtivo(true);
+    }
+
+    @Test
+    @DisplayName("Página usa a ordenação pedida com desempate por id e o total em cache")
+    void listarAtivosPaginado_OrdenaEDesempataPorId() {
+        when(restauranteRepository.findByAtivoTrue(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(restaurante)));
+        when(restauranteRepository.countByAtivoTrue()).thenReturn(21L);
+        when(modelMapper.map(any(Restaurante.class), eq(RestauranteResponseDTO.class))).thenReturn(new RestauranteResponseDTO());
+
+        Page<RestauranteResponseDTO> pagina = restauranteService.listarAtivosPaginado(null,
+                PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "avaliacao")));
+
+        verify(restauranteRepository).findByAtivoTrue(
+                PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "avaliacao").and(Sort.by("id"))));
+        assertEquals(21, pagina.getTotalElements());
+        assertEquals(3, pagina.getTotalPages());
+        assertEquals(1, pagina.getContent().size());
+    }
+
+    @Test
+    @DisplayName("Página além da última volta vazia, com o total preservado")
+    void listarAtivosPaginado_PaginaAlemDaUltima() {
+        when(restauranteRepository.findByAtivoTrue(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+        when(restauranteRepository.countByAtivoTrue()).thenReturn(21L);
+
+        Page<RestauranteResponseDTO> pagina = restauranteService.listarAtivosPaginado("", PageRequest.of(7, 10));
+
+        assertTrue(pagina.getContent().isEmpty());
+        assertEquals(21, pagina.getTotalElements());
+        assertFalse(pagina.hasNext());
+    }
+
+    @Test
+    @DisplayName("Ordenação fora da lista permitida é rejeitada sem consultar o banco")
+    void listarAtivosPaginado_OrdenacaoInvalida() {
+        assertThrows(BusinessException.class, () -> restauranteService.listarAtivosPaginado(null,
+                PageRequest.of(0, 10, Sort.by("telefone"))));
+
+        verifyNoInteractions(restauranteRepository);
+    }
+
+    @Test
+    @DisplayName("Filtro por categoria pagina e conta só a categoria, com contagem em cache por filtro")
+    void listarAtivosPaginado_ContagemPorCategoriaEmCache() {
+        when(restauranteRepository.findByAtivoTrueAndCategoria(eq("Italiana"), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+        when(restauranteRepository.countByAtivoTrueAndCategoria("Italiana")).thenReturn(4L);
+
+        restauranteService.listarAtivosPaginado("Italiana", PageRequest.of(0, 10));
+        Page<RestauranteResponseDTO> pagina = restauranteService.listarAtivosPaginado("Italiana", PageRequest.of(0, 10));
+
+        assertEquals(4, pagina.getTotalElements());
+        verify(restauranteRepository, times(1)).countByAtivoTrueAndCategoria("Italiana");
+        verify(restauranteRepository, never()).countByAtivoTrue();
+    }
+
+    @Test
+    @DisplayName("Cadastro invalida a contagem em cache")
+    void cadastrar_InvalidaContagem() {
+        RestauranteRequestDTO dto = new RestauranteRequestDTO();
+        dto.setNome("Burger House");
+        when(restauranteRepository.findByNome("Burger House")).thenReturn(Optional.empty());
+        when(modelMapper.map(dto, Restaurante.class)).thenReturn(restaurante);
+        when(restauranteRepository.save(restaurante)).thenReturn(restaurante);
+
+        assertContagemRecalculadaApos(() -> restauranteService.cadastrar(dto));
+    }
+
+    @Test
+    @DisplayName("Inativação invalida a contagem em cache")
+    void inativarRestaurante_InvalidaContagem() {
+        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
+        when(restauranteRepository.save(restaurante)).thenReturn(restaurante);
+
+        assertContagemRecalculadaApos(() -> restauranteService.inativarRestaurante(1L));
+    }
+
+    @Test
+    @DisplayName("Ativação invalida a contagem em cache")
+    void ativarDesativarRestaurante_InvalidaContagem() {
+        restaurante.setAtivo(false);
+        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
+        when(restauranteRepository.save(restaurante)).thenReturn(restaurante);
+
+        assertContagemRecalculadaApos(() -> restauranteService.ativarDesativarRestaurante(1L));
+        assertTrue(restaurante.getAtivo());
+    }
+
+    // Conta uma vez, confirma o acerto do cache, executa a escrita e espera uma nova contagem
+    private void assertContagemRecalculadaApos(Runnable escrita) {
+        when(restauranteRepository.findByAtivoTrue(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+        when(restauranteRepository.countByAtivoTrue()).thenReturn(3L, 4L);
+
+        restauranteService.listarAtivosPaginado(null, PageRequest.of(0, 10));
+        assertEquals(3, restauranteService.listarAtivosPaginado(null, PageRequest.of(0, 10)).getTotalElements());
+        verify(restauranteRepository, times(1)).countByAtivoTrue();
+
+        escrita.run();
+
+        assertEquals(4, restauranteService.listarAtivosPaginado(null, PageRequest.of(0, 10)).getTotalElements());
+        verify(restauranteRepository, times(2)).countByAtivoTrue();
+    }
+}
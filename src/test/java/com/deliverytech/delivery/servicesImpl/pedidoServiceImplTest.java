@@ -1,5 +1,7 @@
 package com.deliverytech.delivery.servicesImpl;
 
+import com.deliverytech.delivery.cache.RestauranteCatalogCache;
+import com.deliverytech.delivery.cache.RestauranteCatalogado;
 import com.deliverytech.delivery.dto.request.ItemPedidoRequestDTO;
 import com.deliverytech.delivery.dto.request.PedidoRequestDTO;
 import com.deliverytech.delivery.dto.response.PedidoResponseDTO;
@@ -7,7 +9,10 @@ import com.deliverytech.delivery.entity.*;
 import com.deliverytech.delivery.enums.StatusPedido;
 import com.deliverytech.delivery.exceptions.BusinessException;
 import com.deliverytech.delivery.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery.monitoramento.MetricasNegocio;
+import com.deliverytech.delivery.ranking.PedidoCriadoEvent;
 import com.deliverytech.delivery.repository.*;
+import com.deliverytech.delivery.security.ClienteVinculoCache;
 import com.deliverytech.delivery.service.impl.pedidoServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +22,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
@@ -40,6 +46,10 @@ class PedidoServiceImplTest {
     @Mock private restauranteRepository restauranteRepository;
     @Mock private produtoRepository produtoRepository;
     @Mock private ModelMapper modelMapper;
+    @Mock private RestauranteCatalogCache restauranteCatalogCache;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private ClienteVinculoCache clienteVinculoCache;
+    @Mock private MetricasNegocio metricasNegocio;
 
     private PedidoRequestDTO pedidoDTO;
     private Cliente cliente;
@@ -81,7 +91,8 @@ class PedidoServiceImplTest {
     void criarPedido_ComSucesso() {
         // Given
         when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
-        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
+        when(restauranteCatalogCache.buscarPorId(1L)).thenReturn(Optional.of(RestauranteCatalogado.de(restaurante)));
+        when(restauranteRepository.getReferenceById(1L)).thenReturn(restaurante);
         when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
         
         Pedido pedidoSalvo = new Pedido();
@@ -99,7 +110,9 @@ class PedidoServiceImplTest {
         // Then
         assertNotNull(resultado);
         assertEquals(new BigDecimal("45.00"), resultado.getValorTotal());
-        verify(pedidoRepository, times(1)).save(any(Pedido.class));
+        verify(pedidoRepository, times(1)).save(argThat(pedido -> pedido.getRestaurante() == restaurante));
+        // A métrica de pedidos criados sai do evento, entregue só depois do commit
+        verify(eventPublisher).publishEvent(any(PedidoCriadoEvent.class));
     }
 
     @Test
@@ -112,6 +125,8 @@ class PedidoServiceImplTest {
         // When & Then
         assertThrows(BusinessException.class, () -> pedidoService.criarPedido(pedidoDTO));
         verify(pedidoRepository, never()).save(any());
+        verify(metricasNegocio).pedidoRecusado("cliente_inativo");
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -120,7 +135,7 @@ class PedidoServiceImplTest {
         // Given
         produto.setDisponivel(false); // Produto indisponível
         when(clienteRepository.findById(any())).thenReturn(Optional.of(cliente));
-        when(restauranteRepository.findById(any())).thenReturn(Optional.of(restaurante));
+        when(restauranteCatalogCache.buscarPorId(any())).thenReturn(Optional.of(RestauranteCatalogado.de(restaurante)));
         when(produtoRepository.findById(any())).thenReturn(Optional.of(produto));
 
         // When & Then
@@ -137,7 +152,7 @@ class PedidoServiceImplTest {
         produto.setRestaurante(outroRestaurante);
 
         when(clienteRepository.findById(any())).thenReturn(Optional.of(cliente));
-        when(restauranteRepository.findById(any())).thenReturn(Optional.of(restaurante));
+        when(restauranteCatalogCache.buscarPorId(any())).thenReturn(Optional.of(RestauranteCatalogado.de(restaurante)));
         when(produtoRepository.findById(any())).thenReturn(Optional.of(produto));
 
         // When & Then